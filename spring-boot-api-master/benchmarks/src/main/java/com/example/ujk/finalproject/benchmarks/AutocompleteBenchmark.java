@@ -0,0 +1,75 @@
+package com.example.ujk.finalproject.benchmarks;
+
+import com.example.ujk.finalproject.engine.autocomplete.CompletionTrie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// The uncached part of AutoCompleteService.getCompletions: top 10 completions
+// of 2-4 letter prefixes typed toward Zipf-popular words, over a vocabulary
+// whose weights follow the same skew.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutocompleteBenchmark {
+
+    private static final int PREFIXES = 1024;
+
+    @Param({"1000", "100000"})
+    public int terms;
+
+    private CompletionTrie trie;
+    private String[] prefixes;
+
+    @Setup
+    public void setup() {
+        List<String> words = DictionaryGenerator.words(terms, CatalogGenerator.DEFAULT_SEED);
+        Map<String, Long> vocabulary = new HashMap<>();
+        for (int i = 0; i < words.size(); i++) {
+            vocabulary.put(words.get(i), 1_000_000L / (i + 1));
+        }
+        trie = CompletionTrie.build(vocabulary, 10);
+
+        Random random = new Random(11);
+        String[] typed = DictionaryGenerator.zipf(words.toArray(new String[0]), PREFIXES, 1.0, random);
+        prefixes = new String[PREFIXES];
+        for (int i = 0; i < PREFIXES; i++) {
+            prefixes[i] = typed[i].substring(0, Math.min(typed[i].length(), 2 + random.nextInt(3)));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next = ThreadLocalRandom.current().nextInt(PREFIXES);
+    }
+
+    @Benchmark
+    public List<String> complete(Cursor cursor) {
+        return trie.complete(prefixes[cursor.next++ & (PREFIXES - 1)], 10);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<String> contended(Cursor cursor) {
+        return trie.complete(prefixes[cursor.next++ & (PREFIXES - 1)], 10);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.ujk.finalproject.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// Entry point of benchmarks.jar. Takes the usual JMH command line, but unless
+// told otherwise adds the gc profiler (allocation rate and bytes per op next
+// to every score) and writes the results as JSON to
+// results/yyyyMMdd-HHmmss.json, so two runs can be put side by side with
+// CompareResults. Passing -prof or -rf/-rff replaces the defaults.
+public final class BenchmarkRunner {
+
+    private static final DateTimeFormatter RUN_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp() || cli.shouldList() || cli.shouldListWithParams()
+                || cli.shouldListProfilers() || cli.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        if (cli.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!cli.getResult().hasValue() && !cli.getResultFormat().hasValue()) {
+            Path results = Path.of("results");
+            Files.createDirectories(results);
+            Path file = results.resolve(LocalDateTime.now().format(RUN_NAME) + ".json");
+            options.resultFormat(ResultFormatType.JSON).result(file.toString());
+            System.out.println("Results go to " + file);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.ujk.finalproject.benchmarks;
+
+import com.example.ujk.finalproject.engine.search.Analyzer;
+import com.example.ujk.finalproject.engine.search.IndexSegment;
+import com.example.ujk.finalproject.engine.search.IndexSnapshot;
+import com.example.ujk.finalproject.engine.search.LiveSegment;
+import com.example.ujk.finalproject.model.Course;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Reproducible synthetic course catalogs. Course i depends only on (seed, i),
+// so any range can be generated on its own and a 10M catalog never has to be
+// held as Course objects all at once.
+//
+// Title words are drawn from a DictionaryGenerator vocabulary with Zipf(1.0)
+// frequencies, so postings are skewed like the real catalog: vocabulary(0)
+// is in about 1 title in 5, most words in a handful. About 1 title in 20 has
+// a price, 1 in 50 a contact email and 1 in 100 courses a broken url, so the
+// pattern and validation scans have something to find.
+public final class CatalogGenerator {
+
+    public static final long DEFAULT_SEED = 20251004L;
+
+    // segments of at most this many docs, like a catalog imported in batches
+    private static final int SEGMENT_DOCS = 250_000;
+
+    private static final String[] PLATFORMS = {"coursera", "udemy", "edx", "udacity", "skillshare", "futurelearn"};
+    private static final String[] LEVELS = {"Beginner", "Intermediate", "Advanced"};
+    private static final String[] TYPES = {"Course", "Specialization", "Certificate", "Degree"};
+
+    private final long seed;
+    private final String[] vocabulary;
+    private final double[] cdf;
+
+    public CatalogGenerator(int vocabularySize, long seed) {
+        this.seed = seed;
+        this.vocabulary = DictionaryGenerator.words(vocabularySize, seed).toArray(new String[0]);
+        this.cdf = DictionaryGenerator.zipfCdf(vocabulary.length, 1.0);
+    }
+
+    // title words, most frequent first
+    public String word(int rank) {
+        return vocabulary[rank];
+    }
+
+    public Course course(int i) {
+        SplittableRandom random = new SplittableRandom(seed ^ (i * 0x9E3779B97F4A7C15L));
+        StringBuilder title = new StringBuilder();
+        int words = 3 + random.nextInt(4);
+        for (int w = 0; w < words; w++) {
+            if (w > 0) title.append(' ');
+            String word = vocabulary[DictionaryGenerator.zipfRank(cdf, random.nextDouble())];
+            title.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+        }
+        if (random.nextInt(20) == 0) {
+            title.append(" - $").append(10 + random.nextInt(190)).append(".99");
+        }
+        if (random.nextInt(50) == 0) {
+            title.append(" (contact support").append(i % 97).append("@example.org)");
+        }
+
+        String platform = PLATFORMS[random.nextInt(PLATFORMS.length)];
+        String url = (random.nextInt(100) == 0 ? "htp:/" : "https://") + "www." + platform + ".example/course/"
+                + vocabulary[random.nextInt(vocabulary.length)] + "-" + i;
+        String university = "University of " + vocabulary[random.nextInt(Math.min(500, vocabulary.length))];
+        String category = vocabulary[DictionaryGenerator.zipfRank(cdf, random.nextDouble())];
+        String scrapedAt = (1 + random.nextInt(12)) + "/" + (1 + random.nextInt(28)) + "/202" + random.nextInt(6)
+                + " " + (1 + random.nextInt(12)) + ":" + (10 + random.nextInt(50)) + ":00 " + (random.nextBoolean() ? "AM" : "PM");
+        return new Course(title.toString(), url, university, LEVELS[random.nextInt(LEVELS.length)],
+                TYPES[random.nextInt(TYPES.length)], category, "https://img.example/" + i + ".jpg", scrapedAt);
+    }
+
+    public List<Course> courses(int from, int to) {
+        List<Course> courses = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            courses.add(course(i));
+        }
+        return courses;
+    }
+
+    // Index over courses 0..docs-1, built a segment at a time
+    public IndexSnapshot snapshot(int docs, Analyzer analyzer) {
+        List<LiveSegment> segments = new ArrayList<>();
+        for (int from = 0; from < docs; from += SEGMENT_DOCS) {
+            int to = Math.min(docs, from + SEGMENT_DOCS);
+            segments.add(LiveSegment.of(IndexSegment.build(courses(from, to), analyzer)));
+        }
+        return new IndexSnapshot(1, segments);
+    }
+}
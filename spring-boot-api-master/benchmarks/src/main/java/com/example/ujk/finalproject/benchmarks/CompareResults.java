@@ -0,0 +1,104 @@
+package com.example.ujk.finalproject.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Compares two JMH JSON result files, benchmark by benchmark:
+//
+//   java -cp target/benchmarks.jar com.example.ujk.finalproject.benchmarks.CompareResults \
+//       results/before.json results/after.json
+//
+// A row is matched on benchmark, mode and params. The change is marked `~`
+// when the two 99.9% confidence intervals overlap, since JMH can't tell those
+// apart. Allocation per op is shown when both runs had the gc profiler.
+// Benchmarks present in only one file are listed at the end.
+public final class CompareResults {
+
+    private static final String ALLOC = "gc.alloc.rate.norm";
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: CompareResults <baseline.json> <current.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        System.out.printf(Locale.ROOT, "%-70s %14s %14s %9s %14s%n", "benchmark", "baseline", "current", "change", "alloc B/op");
+        for (Map.Entry<String, JsonNode> entry : baseline.entrySet()) {
+            JsonNode after = current.get(entry.getKey());
+            if (after != null) {
+                System.out.println(row(entry.getKey(), entry.getValue(), after));
+            }
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) System.out.println("only in baseline: " + key);
+        }
+        for (String key : current.keySet()) {
+            if (!baseline.containsKey(key)) System.out.println("only in current:  " + key);
+        }
+    }
+
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> runs = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            runs.put(key(run), run);
+        }
+        return runs;
+    }
+
+    // short benchmark name, mode and params, e.g. SearchBenchmark.term thrpt docs=1000
+    private static String key(JsonNode run) {
+        String name = run.path("benchmark").asText();
+        name = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+        StringBuilder key = new StringBuilder(name).append(' ').append(run.path("mode").asText());
+        Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+        while (params.hasNext()) {
+            Map.Entry<String, JsonNode> param = params.next();
+            key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+        }
+        return key.toString();
+    }
+
+    private static String row(String key, JsonNode before, JsonNode after) {
+        JsonNode a = before.path("primaryMetric");
+        JsonNode b = after.path("primaryMetric");
+        double scoreA = a.path("score").asDouble();
+        double scoreB = b.path("score").asDouble();
+        double change = scoreA == 0 ? 0 : (scoreB - scoreA) / scoreA * 100;
+        boolean overlap = Math.abs(scoreB - scoreA) <= error(a) + error(b);
+        String unit = b.path("scoreUnit").asText();
+        return String.format(Locale.ROOT, "%-70s %14s %14s %+8.1f%%%s %14s",
+                key, score(scoreA, unit), score(scoreB, unit), change, overlap ? "~" : " ",
+                alloc(before, after));
+    }
+
+    // JMH writes NaN as a string when there were too few iterations for an error
+    private static double error(JsonNode metric) {
+        double error = metric.path("scoreError").asDouble(0);
+        return Double.isNaN(error) ? 0 : error;
+    }
+
+    private static String score(double score, String unit) {
+        return String.format(Locale.ROOT, "%.3f %s", score, unit);
+    }
+
+    private static String alloc(JsonNode before, JsonNode after) {
+        JsonNode a = before.path("secondaryMetrics").path(ALLOC);
+        JsonNode b = after.path("secondaryMetrics").path(ALLOC);
+        if (a.isMissingNode() || b.isMissingNode()) {
+            return "";
+        }
+        return String.format(Locale.ROOT, "%.0f -> %.0f", a.path("score").asDouble(), b.path("score").asDouble());
+    }
+}
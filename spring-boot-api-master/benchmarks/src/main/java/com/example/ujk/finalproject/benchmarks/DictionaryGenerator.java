@@ -0,0 +1,88 @@
+package com.example.ujk.finalproject.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+// Reproducible word lists for the benchmarks: the same (size, seed) always
+// gives the same words in the same order. Words are 4 to 14 letters built
+// from syllables, so they look enough like English for edit distances and
+// shared prefixes to behave like the real dictionary's.
+public final class DictionaryGenerator {
+
+    private static final String[] SYLLABLES = {
+            "ka", "ti", "ro", "man", "de", "sen", "pro", "gram", "lu", "ver", "da", "ta",
+            "sci", "en", "ce", "ja", "va", "py", "thon", "web", "dev", "lo", "ment", "ma",
+            "chi", "ne", "lear", "ning", "cloud", "se", "cu", "ri", "ty", "de", "sign", "mar",
+            "ket", "fi", "nan", "re", "act", "no", "sql", "al", "go", "rith", "net", "work"};
+
+    private DictionaryGenerator() {
+    }
+
+    public static List<String> words(int count, long seed) {
+        Random random = new Random(seed);
+        Set<String> words = new LinkedHashSet<>(count * 2);
+        StringBuilder word = new StringBuilder();
+        while (words.size() < count) {
+            word.setLength(0);
+            int syllables = 2 + random.nextInt(4);
+            for (int i = 0; i < syllables && word.length() < 12; i++) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            if (word.length() >= 4 && word.length() <= 14) {
+                words.add(word.toString());
+            }
+        }
+        return new ArrayList<>(words);
+    }
+
+    // one swap, drop or substitution
+    public static String typo(Random random, String word) {
+        StringBuilder sb = new StringBuilder(word);
+        int pos = random.nextInt(sb.length() - 1);
+        switch (random.nextInt(3)) {
+            case 0 -> {
+                char c = sb.charAt(pos);
+                sb.setCharAt(pos, sb.charAt(pos + 1));
+                sb.setCharAt(pos + 1, c);
+            }
+            case 1 -> sb.deleteCharAt(pos);
+            default -> sb.setCharAt(pos, (char) ('a' + random.nextInt(26)));
+        }
+        return sb.toString();
+    }
+
+    // `samples` draws from Zipf(s) over `items`, by inverting the CDF: the
+    // first item is the most frequent, as with search terms or title words
+    public static String[] zipf(String[] items, int samples, double s, Random random) {
+        double[] cdf = zipfCdf(items.length, s);
+        String[] draws = new String[samples];
+        for (int i = 0; i < samples; i++) {
+            draws[i] = items[zipfRank(cdf, random.nextDouble())];
+        }
+        return draws;
+    }
+
+    // cumulative weights of ranks 1..n, normalized to end at 1
+    static double[] zipfCdf(int n, double s) {
+        double[] cdf = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += 1 / Math.pow(i + 1, s);
+            cdf[i] = total;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= total;
+        }
+        return cdf;
+    }
+
+    // 0-based rank for a uniform draw in [0, 1)
+    static int zipfRank(double[] cdf, double uniform) {
+        int rank = Arrays.binarySearch(cdf, uniform);
+        return Math.min(cdf.length - 1, rank < 0 ? -rank - 1 : rank);
+    }
+}
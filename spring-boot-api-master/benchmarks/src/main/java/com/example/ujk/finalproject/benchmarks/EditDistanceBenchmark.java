@@ -0,0 +1,104 @@
+package com.example.ujk.finalproject.benchmarks;
+
+import com.example.ujk.finalproject.engine.spell.EditDistance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Compares the rolling-row kernel against the original full-matrix implementation
+// on query/dictionary pairs of typical course-search length (4-14 chars).
+// Each invocation measures one pass over PAIRS pairs.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EditDistanceBenchmark {
+
+    private static final int PAIRS = 1024;
+
+    private static final String[] VOCABULARY = {
+            "python", "javascript", "programming", "development", "beginner",
+            "intermediate", "professional", "science", "machine", "learning",
+            "database", "kubernetes", "architecture", "statistics", "analytics",
+            "coursera", "udemy", "react", "node", "design", "marketing", "finance"
+    };
+
+    private String[] left;
+    private String[] right;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(20251004L);
+        left = new String[PAIRS];
+        right = new String[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            String word = VOCABULARY[random.nextInt(VOCABULARY.length)];
+            left[i] = DictionaryGenerator.typo(random, word);
+            // mostly unrelated words, like a dictionary scan sees
+            right[i] = random.nextInt(4) == 0 ? word : VOCABULARY[random.nextInt(VOCABULARY.length)];
+        }
+    }
+
+    @Benchmark
+    public void legacyMatrix(Blackhole bh) {
+        for (int i = 0; i < PAIRS; i++) {
+            bh.consume(legacyLevenshtein(left[i], right[i]));
+        }
+    }
+
+    @Benchmark
+    public void rollingFull(Blackhole bh) {
+        for (int i = 0; i < PAIRS; i++) {
+            bh.consume(EditDistance.levenshtein(left[i], right[i]));
+        }
+    }
+
+    @Benchmark
+    public void rollingBounded2(Blackhole bh) {
+        for (int i = 0; i < PAIRS; i++) {
+            bh.consume(EditDistance.bounded(left[i], right[i], 2, false));
+        }
+    }
+
+    @Benchmark
+    public void damerauBounded2(Blackhole bh) {
+        for (int i = 0; i < PAIRS; i++) {
+            bh.consume(EditDistance.bounded(left[i], right[i], 2, true));
+        }
+    }
+
+    // The implementation SpellCheckService used before the rolling-row kernel.
+    private static int legacyLevenshtein(String a, String b) {
+        int[][] dp = new int[a.length() + 1][b.length() + 1];
+
+        for (int i = 0; i <= a.length(); i++) dp[i][0] = i;
+        for (int j = 0; j <= b.length(); j++) dp[0][j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                if (a.charAt(i - 1) == b.charAt(j - 1)) {
+                    dp[i][j] = dp[i - 1][j - 1];
+                } else {
+                    dp[i][j] = 1 + Math.min(
+                            dp[i - 1][j - 1],
+                            Math.min(dp[i - 1][j], dp[i][j - 1])
+                    );
+                }
+            }
+        }
+        return dp[a.length()][b.length()];
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.ujk.finalproject.benchmarks;
+
+import com.example.ujk.finalproject.engine.frequency.FrequencyCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 64 threads counting search terms drawn from a Zipf distribution over 10k
+// terms (s = 1.1: the top term is ~10% of all searches, like "python").
+// `map` is the ConcurrentHashMap.merge counter /api/freq used to have,
+// `striped` the StripedCounterTable, `sketch` the CountMinSketch with the
+// default error bounds. Throughput is total increments per microsecond across
+// all threads; it only shows the contention difference on a machine with many
+// cores. `uncontended` is the same stream from a single thread.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+public class FrequencyCounterBenchmark {
+
+    private static final int TERMS = 10_000;
+    private static final int SAMPLES = 1 << 16;
+
+    @Param({"map", "striped", "sketch"})
+    public String counter;
+
+    private FrequencyCounter frequencies;
+    private String[] stream;
+
+    @Setup
+    public void setup() {
+        frequencies = FrequencyCounter.create(counter, 0.0001, 0.001);
+        String[] terms = new String[TERMS];
+        for (int i = 0; i < TERMS; i++) terms[i] = "term" + i;
+        stream = DictionaryGenerator.zipf(terms, SAMPLES, 1.1, new Random(42));
+        // every term already known, as in steady state
+        for (String term : terms) frequencies.increment(term);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next = ThreadLocalRandom.current().nextInt(SAMPLES);
+    }
+
+    @Benchmark
+    public long increment(Cursor cursor) {
+        String term = stream[cursor.next++ & (SAMPLES - 1)];
+        return frequencies.increment(term);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long uncontended(Cursor cursor) {
+        String term = stream[cursor.next++ & (SAMPLES - 1)];
+        return frequencies.increment(term);
+    }
+}
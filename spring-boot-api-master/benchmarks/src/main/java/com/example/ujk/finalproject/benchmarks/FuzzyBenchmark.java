@@ -0,0 +1,112 @@
+package com.example.ujk.finalproject.benchmarks;
+
+import com.example.ujk.finalproject.engine.search.Analyzer;
+import com.example.ujk.finalproject.engine.search.Bm25;
+import com.example.ujk.finalproject.engine.search.IndexSearcher;
+import com.example.ujk.finalproject.engine.search.IndexSnapshot;
+import com.example.ujk.finalproject.engine.search.LevenshteinAutomaton;
+import com.example.ujk.finalproject.engine.search.LiveSegment;
+import com.example.ujk.finalproject.engine.search.Query;
+import com.example.ujk.finalproject.engine.search.QueryParser;
+import com.example.ujk.finalproject.engine.search.TopDocs;
+import com.example.ujk.finalproject.engine.spell.EditDistance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Typo-tolerant search over a CatalogGenerator catalog, for misspellings of
+// title words that are not index terms themselves. `expand` is finding the
+// terms within 2 edits by running the Levenshtein automaton over the term
+// dictionaries, `scan` is the same answer from an edit distance check of
+// every term, and `search` is the whole top-50 search with the expansion.
+// The term count is printed once in setup.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FuzzyBenchmark {
+
+    private static final int TYPOS = 1024;
+
+    @Param({"100000"})
+    public int docs;
+
+    private final Analyzer analyzer = new Analyzer();
+    private final QueryParser parser = new QueryParser(analyzer);
+    private final IndexSearcher searcher =
+            new IndexSearcher(new Bm25(1.2f, 0.75f, new float[]{3.0f, 1.5f, 0.5f, 1.0f}));
+    private IndexSnapshot snapshot;
+    private String[] typos;
+
+    @Setup
+    public void setup() {
+        CatalogGenerator catalog = new CatalogGenerator(20_000, CatalogGenerator.DEFAULT_SEED);
+        snapshot = catalog.snapshot(docs, analyzer);
+        Random random = new Random(7);
+        String[] vocabulary = new String[2_000];
+        for (int i = 0; i < vocabulary.length; i++) vocabulary[i] = catalog.word(i);
+        String[] words = DictionaryGenerator.zipf(vocabulary, TYPOS * 4, 1.0, random);
+        typos = new String[TYPOS];
+        for (int i = 0, w = 0; i < TYPOS; w++) {
+            String typo = DictionaryGenerator.typo(random, words[w % words.length]);
+            List<String> terms = analyzer.analyze(typo);
+            if (terms.size() == 1 && terms.get(0).length() >= 6 && snapshot.docFreq(terms.get(0)) == 0) {
+                typos[i++] = terms.get(0);
+            }
+        }
+        long terms = 0;
+        for (LiveSegment live : snapshot.segments()) terms += live.segment().termCount();
+        System.out.printf("%n%d terms%n", terms);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next = ThreadLocalRandom.current().nextInt(TYPOS);
+
+        String next(String[] typos) {
+            return typos[next++ & (TYPOS - 1)];
+        }
+    }
+
+    @Benchmark
+    public int expand(Cursor cursor) {
+        LevenshteinAutomaton automaton = new LevenshteinAutomaton(cursor.next(typos), 2, true);
+        int[] found = new int[1];
+        for (LiveSegment live : snapshot.segments()) {
+            automaton.intersect(live.segment(), (term, edits) -> found[0]++);
+        }
+        return found[0];
+    }
+
+    @Benchmark
+    public int scan(Cursor cursor) {
+        String typo = cursor.next(typos);
+        int found = 0;
+        for (LiveSegment live : snapshot.segments()) {
+            for (String term : live.segment().terms()) {
+                if (EditDistance.bounded(typo, term, 2, true) <= 2) found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public TopDocs search(Cursor cursor) {
+        return searcher.search(snapshot, parser.parse(cursor.next(typos), Query.Operator.AND), 50);
+    }
+}
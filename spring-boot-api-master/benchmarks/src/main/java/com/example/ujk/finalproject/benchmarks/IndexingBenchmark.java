@@ -0,0 +1,94 @@
+package com.example.ujk.finalproject.benchmarks;
+
+import com.example.ujk.finalproject.engine.search.Analyzer;
+import com.example.ujk.finalproject.engine.search.IndexSegment;
+import com.example.ujk.finalproject.engine.search.SegmentWriter;
+import com.example.ujk.finalproject.engine.search.analysis.LowercaseFilter;
+import com.example.ujk.finalproject.model.Course;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Building one 50k course segment (IndexSegment.build, as a refresh or an
+// import batch does) with the tokenize + lowercase chain the index used to
+// have (`lowercase`) and with the standard chain (`standard`: stop words and
+// the Porter stemmer). Titles are English course titles with inflections and
+// stop words, which the syllable words of CatalogGenerator do not have. The
+// term count and segment file size of each are printed once in setup.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndexingBenchmark {
+
+    private static final int COURSES = 50_000;
+    private static final String[] WORDS = {
+            "introduction", "to", "python", "programming", "for", "beginners", "the", "complete", "guide",
+            "data", "science", "and", "machine", "learning", "with", "developing", "web", "applications",
+            "in", "java", "designing", "databases", "of", "analysis", "analyzing", "programs", "developers",
+            "learn", "build", "building", "cloud", "computing", "modern", "a", "an", "your", "first",
+            "application", "developer", "development", "designs", "design", "engineering", "engineers",
+            "networks", "networking", "security", "secure", "marketing", "markets", "finance", "financial",
+            "statistics", "statistical", "models", "modeling", "visualization", "visualizing", "react",
+            "node", "javascript", "sql", "queries", "querying", "deep", "neural", "algorithms", "structures"};
+    private static final String[] LEVELS = {"Beginner", "Intermediate", "Advanced"};
+    private static final String[] CATEGORIES = {"programming", "data-science", "web-development",
+            "business", "machine-learning", "cloud-computing", "design"};
+
+    @Param({"lowercase", "standard"})
+    public String analyzer;
+
+    private Analyzer chain;
+    private List<Course> courses;
+
+    @Setup
+    public void setup() throws IOException {
+        chain = analyzer.equals("standard") ? new Analyzer() : new Analyzer(List.of(new LowercaseFilter()));
+        Random random = new Random(42);
+        String[] words = DictionaryGenerator.zipf(WORDS, COURSES * 8, 0.8, random);
+        courses = new ArrayList<>(COURSES);
+        for (int i = 0; i < COURSES; i++) {
+            StringBuilder title = new StringBuilder();
+            int length = 4 + random.nextInt(5);
+            for (int w = 0; w < length; w++) {
+                if (w > 0) title.append(' ');
+                title.append(words[i * 8 + w]);
+            }
+            courses.add(new Course(title.toString(), "https://www.example.org/course/" + i,
+                    "University of " + WORDS[random.nextInt(WORDS.length)], LEVELS[random.nextInt(LEVELS.length)],
+                    "Course", CATEGORIES[random.nextInt(CATEGORIES.length)], null, null));
+        }
+
+        IndexSegment segment = build();
+        Path file = Files.createTempFile("indexing-benchmark", ".seg");
+        try {
+            SegmentWriter.write(segment, file);
+            System.out.printf("%n%s: %d terms, segment file %d bytes%n", analyzer, segment.termCount(), Files.size(file));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Benchmark
+    public IndexSegment build() {
+        return IndexSegment.build(courses, chain);
+    }
+}
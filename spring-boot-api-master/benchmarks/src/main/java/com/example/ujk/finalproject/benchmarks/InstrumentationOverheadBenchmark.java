@@ -0,0 +1,113 @@
+package com.example.ujk.finalproject.benchmarks;
+
+import com.example.ujk.finalproject.engine.search.Analyzer;
+import com.example.ujk.finalproject.engine.search.Bm25;
+import com.example.ujk.finalproject.engine.search.IndexSearcher;
+import com.example.ujk.finalproject.engine.search.IndexSegment;
+import com.example.ujk.finalproject.engine.search.IndexSnapshot;
+import com.example.ujk.finalproject.engine.search.Query;
+import com.example.ujk.finalproject.engine.search.QueryParser;
+import com.example.ujk.finalproject.engine.search.TopDocs;
+import com.example.ujk.finalproject.metrics.StageTimers;
+import com.example.ujk.finalproject.model.Course;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Cost of the stage timers on an uncached search (tokenize + postings +
+// scoring) over a 50k course catalog, and on tokenizing alone, which is the
+// only timed stage a search-cache hit goes through. `off` is IndexSearcher
+// without a SearchTimer, so it never reads the clock; `on` records into
+// Prometheus histogram timers exactly as SearchService does.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentationOverheadBenchmark {
+
+    private static final int COURSES = 50_000;
+    private static final String[] WORDS = {
+            "python", "java", "data", "science", "web", "development", "machine", "learning",
+            "cloud", "security", "design", "marketing", "finance", "react", "node", "sql"};
+    private static final String[] LEVELS = {"Beginner", "Intermediate", "Advanced"};
+    private static final String[] QUERIES = {
+            "python", "java programming", "data science", "machine learning", "web OR cloud",
+            "\"full stack\"", "sql beginner", "react node", "security", "finance marketing"};
+
+    @Param({"off", "on"})
+    public String timers;
+
+    private final Analyzer analyzer = new Analyzer();
+    private final QueryParser parser = new QueryParser(analyzer);
+    private IndexSnapshot snapshot;
+    private IndexSearcher searcher;
+    private Timer tokenizeTimer;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        List<Course> courses = new ArrayList<>(COURSES);
+        for (int i = 0; i < COURSES; i++) {
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)]
+                    + " " + WORDS[random.nextInt(WORDS.length)] + " course " + i;
+            courses.add(new Course(title, "https://example.com/course/" + i, "University " + (i % 200),
+                    LEVELS[i % LEVELS.length], "Course", WORDS[i % WORDS.length], "", "01/15/2024 9:00:00 AM"));
+        }
+        snapshot = IndexSnapshot.of(IndexSegment.build(courses, analyzer));
+        Bm25 bm25 = new Bm25(1.2f, 0.75f, new float[]{3.0f, 1.5f, 0.5f, 1.0f});
+
+        if (timers.equals("on")) {
+            PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+            tokenizeTimer = StageTimers.timer(registry, "search", "tokenize");
+            Timer postingsTimer = StageTimers.timer(registry, "search", "postings");
+            Timer scoringTimer = StageTimers.timer(registry, "search", "scoring");
+            searcher = new IndexSearcher(bm25, IndexSearcher.DEFAULT_PROXIMITY_WEIGHT, IndexSearcher.DEFAULT_MAX_EDITS,
+                    (postingsNanos, scoringNanos) -> {
+                        postingsTimer.record(postingsNanos, TimeUnit.NANOSECONDS);
+                        scoringTimer.record(scoringNanos, TimeUnit.NANOSECONDS);
+                    });
+        } else {
+            searcher = new IndexSearcher(bm25);
+        }
+    }
+
+    @Benchmark
+    public TopDocs search() {
+        return searcher.search(snapshot, tokenize(), 50);
+    }
+
+    @Benchmark
+    public Query tokenizeOnly() {
+        return tokenize();
+    }
+
+    private Query tokenize() {
+        String text = QUERIES[next++ % QUERIES.length];
+        if (tokenizeTimer == null) {
+            return parser.parse(text, Query.Operator.AND);
+        }
+        long start = System.nanoTime();
+        Query query = parser.parse(text, Query.Operator.AND);
+        tokenizeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return query;
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.ujk.finalproject.benchmarks;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Closed-loop HTTP load generator for the running app, used to compare
+// spring.threads.virtual.enabled=false (Tomcat's platform-thread pool) with
+// true. Every connection is a virtual thread with one keep-alive socket that
+// sends the same request again as soon as the previous response is read, so
+// `connections` is the number of requests in flight. Connections are opened
+// over the warmup period, and only the requests that complete after it count.
+//
+//   java -cp target/benchmarks.jar com.example.ujk.finalproject.benchmarks.LoadTest \
+//       --url http://localhost:8081/api/query --body '{"search":"java"}' \
+//       --connections 10000 --warmup 20 --duration 60
+//
+// Without --body a GET is sent. The server needs server.tomcat.max-connections
+// at least `connections`, and both sides enough file descriptors (ulimit -n).
+// Latencies go into log-scale buckets 1% wide, so percentiles are within 1%.
+public final class LoadTest {
+
+    private static final double BUCKET_RATIO = Math.log(1.01);
+    private static final int BUCKETS = 2048;   // 1.01^2048 us is far beyond any timeout
+
+    private final URI uri;
+    private final String method;
+    private final byte[] request;
+    private final int connections;
+    private final long warmupNanos;
+    private final long durationNanos;
+
+    private final AtomicLongArray latencies = new AtomicLongArray(BUCKETS);
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder connectFailures = new LongAdder();
+    private volatile long maxMicros;
+
+    private LoadTest(URI uri, String body, int connections, long warmupSeconds, long durationSeconds) {
+        this.uri = uri;
+        this.method = body == null ? "GET" : "POST";
+        this.request = request(uri, method, body);
+        this.connections = connections;
+        this.warmupNanos = TimeUnit.SECONDS.toNanos(warmupSeconds);
+        this.durationNanos = TimeUnit.SECONDS.toNanos(durationSeconds);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("expected --option value, got " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        LoadTest test = new LoadTest(
+                URI.create(options.getOrDefault("url", "http://localhost:8081/api/query")),
+                options.get("body"),
+                Integer.parseInt(options.getOrDefault("connections", "10000")),
+                Long.parseLong(options.getOrDefault("warmup", "20")),
+                Long.parseLong(options.getOrDefault("duration", "60")));
+        test.run();
+    }
+
+    private void run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                // spread connects over the warmup instead of flooding the accept queue
+                long connectAt = start + warmupNanos / 2 * i / connections;
+                threads.execute(() -> connection(connectAt, measureFrom, end));
+            }
+        }
+        report();
+    }
+
+    private void connection(long connectAt, long measureFrom, long end) {
+        sleepUntil(connectAt);
+        byte[] buffer = new byte[8192];
+        while (System.nanoTime() < end) {
+            try (Socket socket = new Socket()) {
+                socket.setTcpNoDelay(true);
+                socket.connect(new InetSocketAddress(uri.getHost(), port(uri)), 30_000);
+                socket.setSoTimeout(60_000);
+                OutputStream out = socket.getOutputStream();
+                InputStream in = new BufferedInputStream(socket.getInputStream());
+                long sent;
+                while ((sent = System.nanoTime()) < end) {
+                    out.write(request);
+                    out.flush();
+                    int status = readResponse(in, buffer);
+                    long done = System.nanoTime();
+                    if (done >= measureFrom && done < end) {
+                        if (status >= 200 && status < 300) {
+                            record(done - sent);
+                        } else {
+                            failed.increment();
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                if (System.nanoTime() >= measureFrom) {
+                    connectFailures.increment();
+                }
+                sleepUntil(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100));
+            }
+        }
+    }
+
+    private void record(long nanos) {
+        long micros = Math.max(1, nanos / 1000);
+        latencies.incrementAndGet(Math.min(BUCKETS - 1, (int) (Math.log(micros) / BUCKET_RATIO)));
+        completed.increment();
+        if (micros > maxMicros) {
+            maxMicros = micros;   // racy, but only ever off by a concurrent sample
+        }
+    }
+
+    private void report() {
+        long count = completed.sum();
+        double seconds = durationNanos / 1e9;
+        System.out.printf(Locale.ROOT, "%s %s, %d connections, %.0f s measured after %.0f s warmup%n",
+                method, uri, connections, seconds, warmupNanos / 1e9);
+        System.out.printf(Locale.ROOT, "requests %d, failed %d, connection errors %d%n",
+                count, failed.sum(), connectFailures.sum());
+        System.out.printf(Locale.ROOT, "throughput %.0f req/s%n", count / seconds);
+        System.out.printf(Locale.ROOT, "latency ms  p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f%n",
+                percentile(count, 0.50), percentile(count, 0.90), percentile(count, 0.99),
+                percentile(count, 0.999), maxMicros / 1000.0);
+    }
+
+    // upper bound of the bucket holding the q-th latency, in milliseconds
+    private double percentile(long count, double q) {
+        long rank = (long) Math.ceil(count * q);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += latencies.get(i);
+            if (seen >= rank && seen > 0) {
+                return Math.exp((i + 1) * BUCKET_RATIO) / 1000.0;
+            }
+        }
+        return 0;
+    }
+
+    // Reads one response and returns its status; the body is skipped, either
+    // by Content-Length or chunk by chunk
+    private static int readResponse(InputStream in, byte[] buffer) throws IOException {
+        String statusLine = readLine(in);
+        if (statusLine.length() < 12) {
+            throw new IOException("bad status line: " + statusLine);
+        }
+        int status = Integer.parseInt(statusLine.substring(9, 12));
+        long length = -1;
+        boolean chunked = false;
+        String line;
+        while (!(line = readLine(in)).isEmpty()) {
+            String lower = line.toLowerCase(Locale.ROOT);
+            if (lower.startsWith("content-length:")) {
+                length = Long.parseLong(lower.substring(15).trim());
+            } else if (lower.startsWith("transfer-encoding:") && lower.contains("chunked")) {
+                chunked = true;
+            }
+        }
+        if (chunked) {
+            long size;
+            while ((size = Long.parseLong(readLine(in).split(";")[0].trim(), 16)) > 0) {
+                skip(in, size + 2, buffer);
+            }
+            while (!readLine(in).isEmpty()) {
+                // trailers
+            }
+        } else if (length > 0) {
+            skip(in, length, buffer);
+        }
+        return status;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = in.read()) != '\n') {
+            if (c < 0) throw new IOException("connection closed");
+            if (c != '\r') line.append((char) c);
+        }
+        return line.toString();
+    }
+
+    private static void skip(InputStream in, long n, byte[] buffer) throws IOException {
+        while (n > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(buffer.length, n));
+            if (read < 0) throw new IOException("connection closed");
+            n -= read;
+        }
+    }
+
+    private static byte[] request(URI uri, String method, String body) {
+        String path = uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        if (uri.getRawQuery() != null) {
+            path += "?" + uri.getRawQuery();
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add(method + " " + path + " HTTP/1.1");
+        lines.add("Host: " + uri.getHost() + ":" + port(uri));
+        lines.add("Connection: keep-alive");
+        byte[] content = body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8);
+        if (body != null) {
+            lines.add("Content-Type: application/json");
+            lines.add("Content-Length: " + content.length);
+        }
+        byte[] head = (String.join("\r\n", lines) + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+        byte[] request = new byte[head.length + content.length];
+        System.arraycopy(head, 0, request, 0, head.length);
+        System.arraycopy(content, 0, request, head.length, content.length);
+        return request;
+    }
+
+    private static int port(URI uri) {
+        return uri.getPort() > 0 ? uri.getPort() : 80;
+    }
+
+    private static void sleepUntil(long nanoTime) {
+        long wait;
+        while ((wait = nanoTime - System.nanoTime()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
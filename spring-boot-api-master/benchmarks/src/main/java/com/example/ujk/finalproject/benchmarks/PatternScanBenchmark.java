@@ -0,0 +1,96 @@
+package com.example.ujk.finalproject.benchmarks;
+
+import com.example.ujk.finalproject.engine.patterns.PatternScanner;
+import com.example.ujk.finalproject.engine.patterns.PatternType;
+import com.example.ujk.finalproject.engine.validation.CourseValidator;
+import com.example.ujk.finalproject.model.Course;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// One pass over the titles and urls of 10k generated courses: PatternScanner
+// for all pattern types, the three regexes /api/courses/patterns used before
+// it, and CourseValidator as the validation index runs it at import. Each
+// invocation is the whole batch, so the unit is batches, not documents.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternScanBenchmark {
+
+    private static final int COURSES = 10_000;
+
+    private static final Pattern EMAIL = Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}");
+    private static final Pattern URL = Pattern.compile("https?://[\\w\\-._~:/?#\\[\\]@!$&'()*+,;=%]+",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern PHONE = Pattern.compile("\\+?[0-9][0-9()\\-\\s]{6,}");
+
+    private final PatternScanner scanner = new PatternScanner();
+    private final CourseValidator validator = new CourseValidator();
+    private List<Course> courses;
+
+    @Setup
+    public void setup() {
+        courses = new CatalogGenerator(20_000, CatalogGenerator.DEFAULT_SEED).courses(0, COURSES);
+    }
+
+    @Benchmark
+    public int scanner() {
+        int[] matches = new int[1];
+        PatternScanner.Sink sink = (type, start, end) -> matches[0]++;
+        for (Course course : courses) {
+            scanner.scan(course.getTitle(), PatternType.ALL, sink);
+            scanner.scan(course.getUrl(), PatternType.ALL, sink);
+        }
+        return matches[0];
+    }
+
+    @Benchmark
+    public int legacyRegex() {
+        int matches = 0;
+        for (Course course : courses) {
+            matches += count(course.getTitle()) + count(course.getUrl());
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int validator() {
+        int failed = 0;
+        for (Course course : courses) {
+            failed += Integer.bitCount(validator.failures(course));
+        }
+        return failed;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int contended() {
+        return scanner();
+    }
+
+    private static int count(String text) {
+        return count(EMAIL.matcher(text)) + count(URL.matcher(text)) + count(PHONE.matcher(text));
+    }
+
+    private static int count(Matcher matcher) {
+        int n = 0;
+        while (matcher.find()) n++;
+        return n;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.ujk.finalproject.benchmarks;
+
+import com.example.ujk.finalproject.engine.search.postings.ConjunctionIterator;
+import com.example.ujk.finalproject.engine.search.postings.DocIdIterator;
+import com.example.ujk.finalproject.engine.search.postings.Postings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+// AND of two terms over a 2M doc catalog: the old HashSet<Integer> postings
+// against the compressed postings, both through a leapfrog conjunction and
+// through the container-wise Postings.intersect.
+// `selectivity` is the fraction of docs containing the rarer term; the
+// common term always matches ~25% of docs (e.g. "beginner").
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostingsBenchmark {
+
+    private static final int MAX_DOC = 2_000_000;
+
+    @Param({"0.001", "0.05"})
+    public double selectivity;
+
+    private Set<Integer> rareSet;
+    private Set<Integer> commonSet;
+    private Postings rare;
+    private Postings common;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        int[] rareDocs = sample(random, (int) (MAX_DOC * selectivity));
+        int[] commonDocs = sample(random, MAX_DOC / 4);
+        rareSet = boxed(rareDocs);
+        commonSet = boxed(commonDocs);
+        rare = Postings.encode(rareDocs, rareDocs.length, new byte[rareDocs.length]);
+        common = Postings.encode(commonDocs, commonDocs.length, new byte[commonDocs.length]);
+    }
+
+    @Benchmark
+    public int hashSetRetainAll() {
+        Set<Integer> result = new HashSet<>(rareSet);
+        result.retainAll(commonSet);
+        return result.size();
+    }
+
+    @Benchmark
+    public int conjunction() {
+        DocIdIterator it = new ConjunctionIterator(List.of(rare.iterator(), common.iterator()));
+        int count = 0;
+        while (it.nextDoc() != DocIdIterator.NO_MORE_DOCS) count++;
+        return count;
+    }
+
+    @Benchmark
+    public int intersect() {
+        return Postings.intersect(List.of(rare, common)).length;
+    }
+
+    private static int[] sample(Random random, int size) {
+        int[] docs = random.ints(size * 2L, 0, MAX_DOC).distinct().limit(size).toArray();
+        Arrays.sort(docs);
+        return docs;
+    }
+
+    private static Set<Integer> boxed(int[] docs) {
+        Set<Integer> set = new HashSet<>(docs.length * 2);
+        for (int d : docs) set.add(d);
+        return set;
+    }
+}
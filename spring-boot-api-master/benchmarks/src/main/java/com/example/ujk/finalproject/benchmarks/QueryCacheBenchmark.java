@@ -0,0 +1,68 @@
+package com.example.ujk.finalproject.benchmarks;
+
+import com.example.ujk.finalproject.engine.cache.QueryCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// QueryCache lookups for Zipf(1.0) keys over 100k distinct queries with room
+// for 10k, so hits, misses, admission and eviction are all exercised. The
+// loader is free, so this is the cache's own overhead; `shards` shows what
+// splitting the lock buys once several threads share the cache.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryCacheBenchmark {
+
+    private static final int KEYS = 100_000;
+    private static final int SAMPLES = 1 << 16;
+    private static final Function<String, String> LOADER = key -> key;
+
+    @Param({"1", "16"})
+    public int shards;
+
+    private QueryCache<String, String> cache;
+    private String[] stream;
+
+    @Setup
+    public void setup() {
+        cache = new QueryCache<>(10_000, shards, 0);
+        String[] keys = new String[KEYS];
+        for (int i = 0; i < KEYS; i++) keys[i] = "50|query " + i;
+        stream = DictionaryGenerator.zipf(keys, SAMPLES, 1.0, new Random(42));
+        for (String key : stream) cache.get(key, 0, LOADER);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next = ThreadLocalRandom.current().nextInt(SAMPLES);
+    }
+
+    @Benchmark
+    public String get(Cursor cursor) {
+        return cache.get(stream[cursor.next++ & (SAMPLES - 1)], 0, LOADER);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String contended(Cursor cursor) {
+        return cache.get(stream[cursor.next++ & (SAMPLES - 1)], 0, LOADER);
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.ujk.finalproject.benchmarks;
+
+import com.example.ujk.finalproject.engine.search.Analyzer;
+import com.example.ujk.finalproject.engine.search.Bm25;
+import com.example.ujk.finalproject.engine.search.FacetFilter;
+import com.example.ujk.finalproject.engine.search.IndexSearcher;
+import com.example.ujk.finalproject.engine.search.IndexSnapshot;
+import com.example.ujk.finalproject.engine.search.Query;
+import com.example.ujk.finalproject.engine.search.QueryParser;
+import com.example.ujk.finalproject.engine.search.TopDocs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// SearchService.search without its result cache: parse, then BM25F top-50
+// over a CatalogGenerator catalog. Query words are drawn with the catalog's
+// own Zipf skew, so most queries hit long postings lists, as real traffic
+// does. 1M and 10M docs are left out of the default run for time and heap;
+// add them with -p docs=1000000,10000000 (10M needs -jvmArgsAppend -Xmx of
+// several GB). `contended` runs the term queries from 4 threads on one
+// shared snapshot. `phrase` is the pair as an exact phrase and `sloppy` the
+// same phrase with slop 3; both are checked against term positions, as is
+// the proximity boost of `and` and `or`. `filtered` is the term query
+// restricted to one level with facet counts; `browse` is no query at all, one
+// university selected and facet counts, i.e. a pass over every doc of the catalog.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SearchBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"1000", "100000"})
+    public int docs;
+
+    private final Analyzer analyzer = new Analyzer();
+    private final QueryParser parser = new QueryParser(analyzer);
+    private final IndexSearcher searcher =
+            new IndexSearcher(new Bm25(1.2f, 0.75f, new float[]{3.0f, 1.5f, 0.5f, 1.0f}));
+    private IndexSnapshot snapshot;
+    private String[] terms;
+    private String[] pairs;
+    private String[] ors;
+    private String[] phrases;
+    private String[] sloppyPhrases;
+    private final FacetFilter beginner = FacetFilter.of(Map.of("level", List.of("Beginner")));
+    private FacetFilter university;
+
+    @Setup
+    public void setup() {
+        CatalogGenerator catalog = new CatalogGenerator(20_000, CatalogGenerator.DEFAULT_SEED);
+        snapshot = catalog.snapshot(docs, analyzer);
+        university = FacetFilter.of(Map.of("university", List.of(catalog.course(0).getUniversity())));
+
+        String[] vocabulary = new String[2_000];
+        for (int i = 0; i < vocabulary.length; i++) vocabulary[i] = catalog.word(i);
+        String[] a = DictionaryGenerator.zipf(vocabulary, QUERIES, 1.0, new Random(1));
+        String[] b = DictionaryGenerator.zipf(vocabulary, QUERIES, 1.0, new Random(2));
+        terms = a;
+        pairs = new String[QUERIES];
+        ors = new String[QUERIES];
+        phrases = new String[QUERIES];
+        sloppyPhrases = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            pairs[i] = a[i] + " " + b[i];
+            ors[i] = a[i] + " OR " + b[i];
+            phrases[i] = "\"" + a[i] + " " + b[i] + "\"";
+            sloppyPhrases[i] = phrases[i] + "~3";
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next = ThreadLocalRandom.current().nextInt(QUERIES);
+
+        String next(String[] queries) {
+            return queries[next++ & (QUERIES - 1)];
+        }
+    }
+
+    @Benchmark
+    public TopDocs term(Cursor cursor) {
+        return search(cursor.next(terms));
+    }
+
+    @Benchmark
+    public TopDocs and(Cursor cursor) {
+        return search(cursor.next(pairs));
+    }
+
+    @Benchmark
+    public TopDocs or(Cursor cursor) {
+        return search(cursor.next(ors));
+    }
+
+    @Benchmark
+    public TopDocs phrase(Cursor cursor) {
+        return search(cursor.next(phrases));
+    }
+
+    @Benchmark
+    public TopDocs sloppy(Cursor cursor) {
+        return search(cursor.next(sloppyPhrases));
+    }
+
+    @Benchmark
+    public TopDocs filtered(Cursor cursor) {
+        return searcher.search(snapshot, parser.parse(cursor.next(terms), Query.Operator.AND), 50, null, beginner, true);
+    }
+
+    @Benchmark
+    public TopDocs browse() {
+        return searcher.search(snapshot, parser.parse("", Query.Operator.AND), 50, null, university, true);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public TopDocs contended(Cursor cursor) {
+        return search(cursor.next(terms));
+    }
+
+    private TopDocs search(String text) {
+        return searcher.search(snapshot, parser.parse(text, Query.Operator.AND), 50);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.ujk.finalproject.benchmarks;
+
+import com.example.ujk.finalproject.engine.spell.Correction;
+import com.example.ujk.finalproject.engine.spell.SpellIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// The uncached part of SpellCheckService.getCorrectedWord: the closest word
+// within 2 edits, for a misspelling of a random dictionary word, from the
+// BK-tree and from the linear reference scan.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpellCheckBenchmark {
+
+    private static final int TYPOS = 1024;
+
+    @Param({"bk-tree", "linear"})
+    public String index;
+
+    @Param({"1000", "100000"})
+    public int words;
+
+    private SpellIndex spellIndex;
+    private String[] typos;
+
+    @Setup
+    public void setup() {
+        List<String> dictionary = DictionaryGenerator.words(words, CatalogGenerator.DEFAULT_SEED);
+        spellIndex = SpellIndex.create(index, dictionary, 2, false);
+        Random random = new Random(7);
+        typos = new String[TYPOS];
+        for (int i = 0; i < TYPOS; i++) {
+            typos[i] = DictionaryGenerator.typo(random, dictionary.get(random.nextInt(dictionary.size())));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next = ThreadLocalRandom.current().nextInt(TYPOS);
+    }
+
+    @Benchmark
+    public Correction closest(Cursor cursor) {
+        return spellIndex.closest(typos[cursor.next++ & (TYPOS - 1)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Correction contended(Cursor cursor) {
+        return spellIndex.closest(typos[cursor.next++ & (TYPOS - 1)]);
+    }
+}
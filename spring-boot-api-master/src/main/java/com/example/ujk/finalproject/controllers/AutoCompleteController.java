@@ -18,7 +18,8 @@ public class AutoCompleteController {
 
     @PostMapping
     public AutoCompleteResponse getCompletions( @Valid @RequestBody AutoCompleteRequest req) {
-        List<String> results = autocompleteService.getCompletions(req.getWord());
+        int limit = req.getLimit() == null ? AutoCompleteService.DEFAULT_LIMIT : req.getLimit();
+        List<String> results = autocompleteService.getCompletions(req.getWord(), limit);
         AutoCompleteResponse res = new AutoCompleteResponse(results);
         res.setStatusCode(200);
         res.setMessage("Success");
@@ -0,0 +1,35 @@
+package com.example.ujk.finalproject.controllers;
+
+import com.example.ujk.finalproject.services.AutoCompleteService;
+import com.example.ujk.finalproject.services.SearchService;
+import com.example.ujk.finalproject.services.SpellCheckService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Hit rate, evictions and load latency of the query caches
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private SpellCheckService spellCheckService;
+
+    @Autowired
+    private AutoCompleteService autoCompleteService;
+
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("search", searchService.cacheStats());
+        out.put("spellcheck", spellCheckService.cacheStats());
+        out.put("autocomplete", autoCompleteService.cacheStats());
+        return out;
+    }
+}
@@ -1,16 +1,27 @@
-package main.java.com.example.ujk.finalproject.controllers;
-
-import com.example.ujk.finalproject.model.FrequencyCountResponse;
+package com.example.ujk.finalproject.controllers;
+
+import com.example.ujk.finalproject.engine.frequency.TrendWindow;
+import com.example.ujk.finalproject.engine.ingest.JsonLinesCourseWriter;
+import com.example.ujk.finalproject.engine.frequency.TrendingTerm;
+import com.example.ujk.finalproject.engine.patterns.PatternType;
+import com.example.ujk.finalproject.engine.validation.InvalidEntryPage;
+import com.example.ujk.finalproject.engine.validation.ValidationRule;
+import com.example.ujk.finalproject.engine.validation.ValidationStats;
 import com.example.ujk.finalproject.model.Course;
 import com.example.ujk.finalproject.services.FrequencyCountService;
+import com.example.ujk.finalproject.services.PatternService;
 import com.example.ujk.finalproject.services.SearchService;
+import com.example.ujk.finalproject.services.ValidationService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.Instant;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @RestController
 @RequestMapping("/api/courses")
@@ -20,126 +31,141 @@ public class CoursesController {
     @Autowired
     private FrequencyCountService frequencyService;
 
+    @Autowired
+    private PatternService patternService;
+
+    @Autowired
+    private ValidationService validationService;
+
     @Autowired
     private SearchService searchService;
 
-    // Return trending searches based on frequency counts
+    // The catalog in url order, a page at a time; pass nextCursor back as
+    // cursor. Pages keep their place when courses are added or removed.
+    @GetMapping
+    public ResponseEntity<Object> getCourses(@RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "" + SearchService.DEFAULT_LIMIT) int size) {
+        try {
+            if (size < 1 || size > SearchService.MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException();
+            }
+            return ResponseEntity.ok(searchService.listCourses(cursor, size));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("message", "size must be 1 to " + SearchService.MAX_PAGE_SIZE + ", and cursor one returned by this endpoint");
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    // The whole catalog, or the rest of it after `cursor`, as JSON lines in url
+    // order. Courses are written as they are read from the index, so the first
+    // one goes out at once and memory does not grow with the catalog. The
+    // output can be loaded back with /api/ingest/import?format=jsonl.
+    @GetMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamCourses(@RequestParam(required = false) String cursor) {
+        Iterator<Course> courses;
+        try {
+            courses = searchService.coursesAfter(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "cursor must be one returned by /api/courses");
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> JsonLinesCourseWriter.write(courses, out));
+    }
+
+    // Trending searches over the last hour, day or week. Counts decay with
+    // age, so searchCount is roughly the number of searches in that window.
     @GetMapping("/search-frequency")
-    public Map<String, Object> getTrending() {
-        Map<String, Integer> snapshot = frequencyService.getFrequencySnapshot();
+    public ResponseEntity<Object> getTrending(@RequestParam(defaultValue = "day") String window,
+                                              @RequestParam(defaultValue = "" + FrequencyCountService.DEFAULT_TRENDING) int limit) {
+        TrendWindow trendWindow;
+        try {
+            trendWindow = TrendWindow.parse(window);
+        } catch (IllegalArgumentException e) {
+            trendWindow = null;
+        }
+        if (trendWindow == null || limit < 1 || limit > 100) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("message", "window must be hour, day or week, and limit 1 to 100");
+            return ResponseEntity.badRequest().body(error);
+        }
 
-        // Build a list of trending keywords sorted by count desc
         List<Map<String, Object>> trending = new ArrayList<>();
-        snapshot.entrySet().stream()
-                .sorted((a, b) -> Integer.compare(b.getValue(), a.getValue()))
-                .limit(20)
-                .forEach(e -> {
-                    Map<String, Object> item = new HashMap<>();
-                    item.put("keyword", e.getKey());
-                    item.put("searchCount", e.getValue());
-                    item.put("lastSearched", "just now");
-                    trending.add(item);
-                });
+        for (TrendingTerm term : frequencyService.getTrending(trendWindow, limit)) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("keyword", term.getTerm());
+            item.put("searchCount", Math.round(term.getCount()));
+            item.put("lastSearched", Instant.ofEpochMilli(term.getLastSeen()).toString());
+            trending.add(item);
+        }
 
         Map<String, Object> out = new HashMap<>();
+        out.put("window", trendWindow.key());
         out.put("trendingSearches", trending);
-        return out;
+        return ResponseEntity.ok(out);
     }
 
-    // Basic pattern finder: scans available course titles/urls for simple patterns.
-    // For now this returns lightweight results from in-memory mock data.
+    // Pattern finder over the whole catalog: type is one of email, url, phone,
+    // price, date, a comma-separated list of them, or "all". Every type is found
+    // in the same pass, so asking for several costs about the same as one.
     @GetMapping("/patterns")
-    public Map<String, Object> findPatterns(@RequestParam String type) {
-        // get all available courses
-        List<Course> courses = searchService.searchAll();
-
-        List<Map<String, Object>> results = new ArrayList<>();
-        Map<String, Integer> stats = new HashMap<>();
-
-        Pattern emailRe = Pattern.compile("[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}");
-        Pattern urlRe = Pattern.compile("https?://[\\w\\-._~:/?#[\\]@!$&'()*+,;=%]+", Pattern.CASE_INSENSITIVE);
-        Pattern phoneRe = Pattern.compile("\\+?[0-9][0-9()\\-\\s]{6,}");
-
-        for (Course c : courses) {
-            List<String> matches = new ArrayList<>();
-            String combined = (c.getTitle() + " " + c.getUrl() + " " + (c.getUniversity()==null?"":c.getUniversity())).toLowerCase();
-
-            if ("email".equalsIgnoreCase(type)) {
-                Matcher m = emailRe.matcher(combined);
-                while (m.find()) matches.add(m.group());
-            } else if ("url".equalsIgnoreCase(type)) {
-                Matcher m = urlRe.matcher(combined);
-                while (m.find()) matches.add(m.group());
-            } else if ("phone".equalsIgnoreCase(type)) {
-                Matcher m = phoneRe.matcher(combined);
-                while (m.find()) matches.add(m.group());
-            } else if ("price".equalsIgnoreCase(type) || "date".equalsIgnoreCase(type)) {
-                // Not implemented in mock data — return empty
-            }
-
-            if (!matches.isEmpty()) {
-                Map<String, Object> row = new HashMap<>();
-                row.put("courseId", UUID.randomUUID().toString());
-                row.put("title", c.getTitle());
-                row.put("platform", c.getUniversity() == null ? c.getType() : c.getUniversity());
-                row.put("matches", matches);
-                results.add(row);
-                stats.put(type, stats.getOrDefault(type, 0) + matches.size());
-            }
+    public ResponseEntity<Object> findPatterns(@RequestParam String type,
+                                               @RequestParam(defaultValue = "" + PatternService.DEFAULT_LIMIT) int limit) {
+        Set<PatternType> types;
+        try {
+            types = PatternType.parse(type);
+        } catch (IllegalArgumentException e) {
+            types = Collections.emptySet();
         }
-
-        Map<String, Object> out = new HashMap<>();
-        out.put("results", results);
-        out.put("totalCount", results.size());
-        out.put("stats", stats);
-        return out;
+        if (types.isEmpty() || limit < 0) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("message", "type must be email, url, phone, price, date or all, and limit must not be negative");
+            return ResponseEntity.badRequest().body(error);
+        }
+        return ResponseEntity.ok(patternService.findPatterns(types, limit));
     }
 
-    // Data validation stats endpoint used by frontend DataValidation page
+    // Data validation stats endpoint used by frontend DataValidation page. The
+    // counters are kept up to date at ingest time, so this does not scan the
+    // catalog; invalidEntries is the first page of /validation/invalid.
     @GetMapping("/validation/stats")
     public Map<String, Object> getValidationStats() {
-        List<Course> courses = searchService.searchAll();
-
-        int validUrls = 0, invalidUrls = 0;
-        int validEmails = 0, invalidEmails = 0;
-        int validPrices = 0, invalidPrices = 0;
-
-        List<Map<String, String>> invalidEntries = new ArrayList<>();
-
-        Pattern urlRe = Pattern.compile("^https?://[^\\s]+$");
-        Pattern emailRe = Pattern.compile("^[a-zA-Z0-9._%+-]+@[a-zA-Z0-9.-]+\\.[a-zA-Z]{2,}$");
-        Pattern priceRe = Pattern.compile("^\\$?\\d+(\\.\\d{2})?$");
-
-        for (int i = 0; i < courses.size(); i++) {
-            Course c = courses.get(i);
-            String url = c.getUrl() == null ? "" : c.getUrl();
-            String title = c.getTitle() == null ? "" : c.getTitle();
-
-            // URL
-            if (urlRe.matcher(url).matches()) validUrls++; else { invalidUrls++; Map<String,String> e = new HashMap<>(); e.put("id", String.valueOf(i)); e.put("type","URL"); e.put("value", url); e.put("reason","Invalid URL"); invalidEntries.add(e);} 
-
-            // Email check: scan title/url for emails
-            Matcher m = emailRe.matcher((title + " " + url));
-            boolean foundEmail = m.find();
-            if (foundEmail) validEmails++; else { invalidEmails++; Map<String,String> e = new HashMap<>(); e.put("id", String.valueOf(i)); e.put("type","Email"); e.put("value", title); e.put("reason","No email found"); invalidEntries.add(e);} 
-
-            // Price: not available in mock data, mark all as validPrice for now
-            // Attempt to detect $ in title
-            if (title.contains("$")) validPrices++; else { invalidPrices++; Map<String,String> e = new HashMap<>(); e.put("id", String.valueOf(i)); e.put("type","Price"); e.put("value", title); e.put("reason","No price found"); invalidEntries.add(e);} 
-        }
-
+        ValidationStats counts = validationService.stats();
         Map<String, Object> stats = new HashMap<>();
-        stats.put("validUrls", validUrls);
-        stats.put("invalidUrls", invalidUrls);
-        stats.put("validEmails", validEmails);
-        stats.put("invalidEmails", invalidEmails);
-        stats.put("validPrices", validPrices);
-        stats.put("invalidPrices", invalidPrices);
-        stats.put("totalRecords", courses.size());
-
+        stats.put("validUrls", counts.valid(ValidationRule.URL));
+        stats.put("invalidUrls", counts.invalid(ValidationRule.URL));
+        stats.put("validEmails", counts.valid(ValidationRule.EMAIL));
+        stats.put("invalidEmails", counts.invalid(ValidationRule.EMAIL));
+        stats.put("validPrices", counts.valid(ValidationRule.PRICE));
+        stats.put("invalidPrices", counts.invalid(ValidationRule.PRICE));
+        stats.put("totalRecords", counts.totalRecords());
+
+        InvalidEntryPage page = validationService.invalidEntries(
+                EnumSet.allOf(ValidationRule.class), null, ValidationService.DEFAULT_PAGE_SIZE);
         Map<String, Object> out = new HashMap<>();
         out.put("stats", stats);
-        out.put("invalidEntries", invalidEntries);
+        out.put("invalidEntries", page.getEntries());
+        out.put("nextCursor", page.getNextCursor());
         return out;
     }
+
+    // Invalid entries in url order, a page at a time; rule is url, email, price,
+    // a comma-separated list of them or "all"
+    @GetMapping("/validation/invalid")
+    public ResponseEntity<Object> getInvalidEntries(@RequestParam(defaultValue = "all") String rule,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "" + ValidationService.DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            Set<ValidationRule> rules = ValidationRule.parse(rule);
+            if (rules.isEmpty() || limit < 1 || limit > 1000) {
+                throw new IllegalArgumentException();
+            }
+            return ResponseEntity.ok(validationService.invalidEntries(rules, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("message", "rule must be url, email, price or all, limit 1 to 1000, and cursor one returned by this endpoint");
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
 }
@@ -2,6 +2,7 @@ package com.example.ujk.finalproject.controllers;
 
 import com.example.ujk.finalproject.model.SpellCheckResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import com.example.ujk.finalproject.model.FrequencyCountRequest;
@@ -9,6 +10,11 @@ import com.example.ujk.finalproject.model.FrequencyCountResponse;
 import com.example.ujk.finalproject.services.FrequencyCountService;
 import com.example.ujk.finalproject.services.SpellCheckService;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/freq")
 @CrossOrigin(origins = "*")
@@ -32,11 +38,41 @@ public class FrequencyCountController {
                     .status(400)
                     .body(resp);
         }
-        int updatedFrequency = service.incrementAndGetFrequency(word);
+        long updatedFrequency = service.incrementAndGetFrequency(word);
 
         FrequencyCountResponse success =
                 new FrequencyCountResponse(word, updatedFrequency, "Success", 200);
 
         return ResponseEntity.ok(success);
     }
+
+    // Binary summary of this instance's counts and trending (sketch mode only),
+    // to be POSTed to another instance's /summary to combine the two
+    @GetMapping(value = "/summary", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Object> exportSummary() throws IOException {
+        try {
+            return ResponseEntity.ok(service.exportSummary());
+        } catch (IllegalStateException e) {
+            return error(409, e.getMessage());
+        }
+    }
+
+    @PostMapping(value = "/summary", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<Object> mergeSummary(InputStream body) {
+        try {
+            service.mergeSummary(body);
+        } catch (IllegalStateException e) {
+            return error(409, e.getMessage());
+        } catch (IllegalArgumentException | IOException e) {
+            return error(400, "Invalid summary: " + e.getMessage());
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    private static ResponseEntity<Object> error(int status, String message) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("statusCode", status);
+        body.put("message", message);
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
 }
@@ -0,0 +1,88 @@
+package com.example.ujk.finalproject.controllers;
+
+import com.example.ujk.finalproject.engine.ingest.CatalogFormat;
+import com.example.ujk.finalproject.engine.ingest.LoadReport;
+import com.example.ujk.finalproject.engine.search.IndexSnapshot;
+import com.example.ujk.finalproject.model.Course;
+import com.example.ujk.finalproject.services.SearchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Write side of the catalog for the scrapers. Changes are applied in batches,
+// so a 202 means "queued": they show up in search after the next refresh.
+@RestController
+@RequestMapping("/api/ingest")
+@CrossOrigin(origins = "*")
+public class IngestController {
+
+    @Autowired
+    private SearchService searchService;
+
+    // Adds or replaces courses, keyed by url
+    @PostMapping("/courses")
+    public ResponseEntity<Map<String, Object>> upsert(@RequestBody List<Course> courses) {
+        try {
+            searchService.addOrUpdateAll(courses);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+        Map<String, Object> out = new HashMap<>();
+        out.put("accepted", courses.size());
+        out.put("pending", searchService.pendingChanges());
+        return ResponseEntity.accepted().body(out);
+    }
+
+    @DeleteMapping("/courses")
+    public ResponseEntity<Map<String, Object>> delete(@RequestParam String url) {
+        searchService.delete(url);
+        Map<String, Object> out = new HashMap<>();
+        out.put("pending", searchService.pendingChanges());
+        return ResponseEntity.accepted().body(out);
+    }
+
+    // Bulk load of a CSV or JSON-lines dump sent as the raw request body.
+    // The body is streamed, never buffered whole; the response is the load report.
+    @PostMapping("/import")
+    public ResponseEntity<Object> importCatalog(@RequestParam String format, InputStream body) throws IOException {
+        CatalogFormat catalogFormat;
+        try {
+            catalogFormat = CatalogFormat.parse(format);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("message", "format must be csv or jsonl");
+            return ResponseEntity.badRequest().body(error);
+        }
+        LoadReport report = searchService.importCatalog(body, catalogFormat);
+        return ResponseEntity.ok(report);
+    }
+
+    // Makes queued changes searchable immediately
+    @PostMapping("/refresh")
+    public Map<String, Object> refresh() {
+        return stats(searchService.refresh());
+    }
+
+    @GetMapping("/stats")
+    public Map<String, Object> stats() {
+        return stats(searchService.snapshot());
+    }
+
+    private Map<String, Object> stats(IndexSnapshot snapshot) {
+        Map<String, Object> out = new HashMap<>();
+        out.put("version", snapshot.version());
+        out.put("segments", snapshot.segments().size());
+        out.put("numDocs", snapshot.numDocs());
+        out.put("maxDoc", snapshot.maxDoc());
+        out.put("pending", searchService.pendingChanges());
+        return out;
+    }
+}
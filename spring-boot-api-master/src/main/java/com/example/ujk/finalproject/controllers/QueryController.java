@@ -0,0 +1,29 @@
+package com.example.ujk.finalproject.controllers;
+
+import com.example.ujk.finalproject.engine.search.FacetFilter;
+import com.example.ujk.finalproject.engine.search.Query;
+import com.example.ujk.finalproject.model.QueryRequest;
+import com.example.ujk.finalproject.model.QueryResponse;
+import com.example.ujk.finalproject.services.QueryService;
+import com.example.ujk.finalproject.services.SearchService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+// Spell check, search and frequency count in one round trip; see QueryService
+@RestController
+@RequestMapping("/api/query")
+@CrossOrigin(origins = "*")
+public class QueryController {
+
+    @Autowired
+    private QueryService queryService;
+
+    @PostMapping
+    public QueryResponse query(@Valid @RequestBody QueryRequest req) {
+        int limit = req.getLimit() == null ? SearchService.DEFAULT_LIMIT : Math.min(req.getLimit(), SearchService.MAX_PAGE_SIZE);
+        Query.Operator operator = "or".equalsIgnoreCase(req.getOperator()) ? Query.Operator.OR : Query.Operator.AND;
+        return queryService.query(req.getSearch(), limit, operator, req.getCursor(),
+                FacetFilter.of(req.getFilters()), req.isFacets());
+    }
+}
@@ -1,14 +1,22 @@
 package com.example.ujk.finalproject.controllers;
 
 
+import com.example.ujk.finalproject.engine.ingest.JsonLinesCourseWriter;
+import com.example.ujk.finalproject.engine.search.FacetFilter;
+import com.example.ujk.finalproject.engine.search.Query;
+import com.example.ujk.finalproject.engine.search.TopDocs;
 import com.example.ujk.finalproject.model.Course;
 import com.example.ujk.finalproject.model.SearchRequest;
 import com.example.ujk.finalproject.model.SearchResponse;
 import com.example.ujk.finalproject.services.SearchService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.Iterator;
 import java.util.List;
 
 @RestController
@@ -19,10 +27,42 @@ public class SearchController {
     @Autowired
     private SearchService service;
 
+    @Value("${search.stream.max-hits:10000}")
+    private int maxStreamHits;
+
+    // One page of hits; pass nextCursor back as cursor for the next one.
+    // limit is capped at SearchService.MAX_PAGE_SIZE.
     @PostMapping
     public SearchResponse search(@RequestBody SearchRequest req) {
-        List<Course> searched_courses =service.search(req.getSearch());
+        int limit = req.getLimit() == null ? SearchService.DEFAULT_LIMIT : Math.min(req.getLimit(), SearchService.MAX_PAGE_SIZE);
+        TopDocs topDocs = service.searchTopDocs(service.parseQuery(req.getSearch(), operator(req)), limit,
+                req.getCursor(), FacetFilter.of(req.getFilters()), req.isFacets());
+        List<Course> searched_courses = service.toCourses(topDocs);
         SearchResponse searchResponse = new SearchResponse(searched_courses, 200,"Success");
+        searchResponse.setTotalHits(topDocs.getTotalHits());
+        searchResponse.setNextCursor(SearchService.nextCursor(topDocs, limit));
+        if (topDocs.getFacets() != null) {
+            searchResponse.setFacets(topDocs.getFacets().top(SearchService.FACET_VALUES));
+        }
         return searchResponse;
     }
+
+    // The hits as JSON lines, best first, each course written as it is looked
+    // up; the total is in the X-Total-Hits header. limit defaults to, and is
+    // capped at, search.stream.max-hits.
+    @PostMapping(value = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> stream(@RequestBody SearchRequest req) {
+        int limit = req.getLimit() == null ? maxStreamHits : Math.min(req.getLimit(), maxStreamHits);
+        TopDocs topDocs = service.searchTopDocs(service.parseQuery(req.getSearch(), operator(req)), limit,
+                req.getCursor(), FacetFilter.of(req.getFilters()), false);
+        Iterator<Course> courses = topDocs.getHits().stream().map(topDocs::document).iterator();
+        return ResponseEntity.ok()
+                .header("X-Total-Hits", String.valueOf(topDocs.getTotalHits()))
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> JsonLinesCourseWriter.write(courses, out));
+    }
+
+    private static Query.Operator operator(SearchRequest req) {
+        return "or".equalsIgnoreCase(req.getOperator()) ? Query.Operator.OR : Query.Operator.AND;
+    }
 }
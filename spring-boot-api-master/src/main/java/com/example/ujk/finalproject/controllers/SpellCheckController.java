@@ -18,7 +18,7 @@ public class SpellCheckController {
     public SpellCheckResponse checkWord( @Valid @RequestBody SpellCheckRequest req) {
         String corrected = spellCheckService.getCorrectedWord(req.getWord());
 
-        boolean correct = corrected.equalsIgnoreCase(req.getWord());
+        boolean correct = spellCheckService.isCorrectlySpelt(req.getWord());
 
         SpellCheckResponse res = new SpellCheckResponse(corrected, correct);
         res.setStatusCode(200);
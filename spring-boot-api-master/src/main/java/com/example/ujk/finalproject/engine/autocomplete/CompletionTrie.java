@@ -0,0 +1,288 @@
+package com.example.ujk.finalproject.engine.autocomplete;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// Immutable radix trie packed into parallel int arrays.
+// Terms are kept sorted, so every node covers a contiguous range of term ids,
+// and siblings are laid out next to each other (BFS order) so a child lookup
+// is a binary search over a small slice of firstChar[].
+// Each node caches its best `topK` term ids by weight, which makes the common
+// "give me the best 10 for this prefix" query independent of how many terms
+// share the prefix.
+public final class CompletionTrie {
+
+    private final String[] terms;     // sorted, lowercased
+    private final long[] weights;     // aligned with terms
+    private final int topK;
+
+    // node arrays
+    private final int[] depth;        // number of chars consumed at the end of the node label
+    private final int[] rangeStart;   // first term id under the node (also the label source)
+    private final int[] rangeEnd;     // exclusive
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final char[] firstChar;   // first char of the node label
+    private final int[] topStart;     // offsets into topIds, length nodeCount + 1
+    private final int[] topIds;
+
+    private CompletionTrie(String[] terms, long[] weights, int topK, NodeBuffer nodes, int[] topStart, int[] topIds) {
+        this.terms = terms;
+        this.weights = weights;
+        this.topK = topK;
+        this.depth = Arrays.copyOf(nodes.depth, nodes.size);
+        this.rangeStart = Arrays.copyOf(nodes.rangeStart, nodes.size);
+        this.rangeEnd = Arrays.copyOf(nodes.rangeEnd, nodes.size);
+        this.firstChild = Arrays.copyOf(nodes.firstChild, nodes.size);
+        this.childCount = Arrays.copyOf(nodes.childCount, nodes.size);
+        this.firstChar = Arrays.copyOf(nodes.firstChar, nodes.size);
+        this.topStart = topStart;
+        this.topIds = topIds;
+    }
+
+    // Builds the trie from term -> weight. Terms are lowercased; duplicates after
+    // lowercasing keep the highest weight. Blank terms are ignored.
+    public static CompletionTrie build(Map<String, Long> vocabulary, int topK) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("topK must be positive");
+        }
+        Map<String, Long> normalized = new java.util.HashMap<>(vocabulary.size() * 2);
+        for (Map.Entry<String, Long> e : vocabulary.entrySet()) {
+            String term = e.getKey() == null ? "" : e.getKey().trim().toLowerCase();
+            if (term.isEmpty()) continue;
+            long weight = e.getValue() == null ? 0L : e.getValue();
+            normalized.merge(term, weight, Math::max);
+        }
+
+        String[] terms = normalized.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        long[] weights = new long[terms.length];
+        for (int i = 0; i < terms.length; i++) {
+            weights[i] = normalized.get(terms[i]);
+        }
+
+        NodeBuffer nodes = new NodeBuffer(Math.max(16, terms.length * 2));
+        // root: consumes nothing and covers every term
+        nodes.add(0, 0, terms.length, '\0');
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(0);
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            int lo = nodes.rangeStart[node];
+            int hi = nodes.rangeEnd[node];
+            int d = nodes.depth[node];
+            // a term equal to the node string sorts first in the range
+            if (lo < hi && terms[lo].length() == d) lo++;
+            if (lo >= hi) continue;
+
+            nodes.firstChild[node] = nodes.size;
+            int children = 0;
+            int start = lo;
+            while (start < hi) {
+                char c = terms[start].charAt(d);
+                int end = upperBound(terms, start, hi, d, c);
+                int childDepth = d + 1 + commonPrefix(terms[start], terms[end - 1], d + 1);
+                int child = nodes.add(childDepth, start, end, c);
+                queue.add(child);
+                children++;
+                start = end;
+            }
+            nodes.childCount[node] = children;
+        }
+
+        // children always come after their parent, so a reverse sweep sees them first
+        int[][] tops = new int[nodes.size][];
+        for (int node = nodes.size - 1; node >= 0; node--) {
+            tops[node] = mergeTop(terms, weights, topK, nodes, node, tops);
+        }
+        int[] topStart = new int[nodes.size + 1];
+        int total = 0;
+        for (int node = 0; node < nodes.size; node++) {
+            topStart[node] = total;
+            total += tops[node].length;
+        }
+        topStart[nodes.size] = total;
+        int[] topIds = new int[total];
+        for (int node = 0; node < nodes.size; node++) {
+            System.arraycopy(tops[node], 0, topIds, topStart[node], tops[node].length);
+        }
+        return new CompletionTrie(terms, weights, topK, nodes, topStart, topIds);
+    }
+
+    public int size() {
+        return terms.length;
+    }
+
+    public int nodeCount() {
+        return depth.length;
+    }
+
+    public int topK() {
+        return topK;
+    }
+
+    // Returns up to `limit` completions of an already lowercased prefix, best first.
+    public List<String> complete(String prefix, int limit) {
+        if (limit <= 0 || terms.length == 0) {
+            return Collections.emptyList();
+        }
+        int node = find(prefix);
+        if (node < 0) {
+            return Collections.emptyList();
+        }
+
+        if (limit <= topK) {
+            int from = topStart[node];
+            int to = Math.min(topStart[node + 1], from + limit);
+            List<String> out = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                out.add(terms[topIds[i]]);
+            }
+            return out;
+        }
+        return scanRange(rangeStart[node], rangeEnd[node], limit);
+    }
+
+    public long weight(String term) {
+        int id = Arrays.binarySearch(terms, term);
+        return id < 0 ? -1 : weights[id];
+    }
+
+    // Locates the node whose string starts with `prefix` and whose parent's string
+    // is shorter than the prefix. Returns -1 when nothing matches.
+    private int find(String prefix) {
+        int node = 0;
+        int pos = 0;
+        int len = prefix.length();
+        while (pos < len) {
+            int child = findChild(node, prefix.charAt(pos));
+            if (child < 0) return -1;
+            String label = terms[rangeStart[child]];
+            int end = Math.min(depth[child], len);
+            for (int i = pos + 1; i < end; i++) {
+                if (label.charAt(i) != prefix.charAt(i)) return -1;
+            }
+            pos = end;
+            node = child;
+        }
+        return node;
+    }
+
+    private int findChild(int node, char c) {
+        int lo = firstChild[node];
+        int hi = lo + childCount[node] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char m = firstChar[mid];
+            if (m < c) lo = mid + 1;
+            else if (m > c) hi = mid - 1;
+            else return mid;
+        }
+        return -1;
+    }
+
+    // Slow path for limits larger than the cached top-k: bounded heap over the node's range.
+    private List<String> scanRange(int lo, int hi, int limit) {
+        PriorityQueue<Integer> heap = new PriorityQueue<>(limit + 1, (a, b) -> -compare(weights, a, b));
+        for (int id = lo; id < hi; id++) {
+            heap.add(id);
+            if (heap.size() > limit) heap.poll();
+        }
+        Integer[] ids = heap.toArray(new Integer[0]);
+        Arrays.sort(ids, (a, b) -> compare(weights, a, b));
+        List<String> out = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            out.add(terms[id]);
+        }
+        return out;
+    }
+
+    // best first: higher weight, then alphabetical (lower id)
+    private static int compare(long[] weights, int a, int b) {
+        int c = Long.compare(weights[b], weights[a]);
+        return c != 0 ? c : Integer.compare(a, b);
+    }
+
+    private static int[] mergeTop(String[] terms, long[] weights, int topK, NodeBuffer nodes, int node, int[][] tops) {
+        int d = nodes.depth[node];
+        int lo = nodes.rangeStart[node];
+        int[] buf = new int[topK * (nodes.childCount[node] + 1) + 1];
+        int n = 0;
+        if (node != 0 && lo < nodes.rangeEnd[node] && terms[lo].length() == d) {
+            buf[n++] = lo;
+        }
+        int first = nodes.firstChild[node];
+        for (int i = 0; i < nodes.childCount[node]; i++) {
+            int[] childTop = tops[first + i];
+            System.arraycopy(childTop, 0, buf, n, childTop.length);
+            n += childTop.length;
+        }
+        Integer[] boxed = new Integer[n];
+        for (int i = 0; i < n; i++) boxed[i] = buf[i];
+        Arrays.sort(boxed, (a, b) -> compare(weights, a, b));
+        int keep = Math.min(topK, n);
+        int[] top = new int[keep];
+        for (int i = 0; i < keep; i++) top[i] = boxed[i];
+        return top;
+    }
+
+    // first index in [from, to) whose char at `pos` is greater than c
+    private static int upperBound(String[] terms, int from, int to, int pos, char c) {
+        int lo = from, hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (terms[mid].charAt(pos) <= c) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static int commonPrefix(String a, String b, int from) {
+        int max = Math.min(a.length(), b.length());
+        int i = from;
+        while (i < max && a.charAt(i) == b.charAt(i)) i++;
+        return i - from;
+    }
+
+    // growable column storage used only while building
+    private static final class NodeBuffer {
+        int size;
+        int[] depth;
+        int[] rangeStart;
+        int[] rangeEnd;
+        int[] firstChild;
+        int[] childCount;
+        char[] firstChar;
+
+        NodeBuffer(int capacity) {
+            depth = new int[capacity];
+            rangeStart = new int[capacity];
+            rangeEnd = new int[capacity];
+            firstChild = new int[capacity];
+            childCount = new int[capacity];
+            firstChar = new char[capacity];
+        }
+
+        int add(int d, int lo, int hi, char c) {
+            if (size == depth.length) {
+                int cap = size * 2;
+                depth = Arrays.copyOf(depth, cap);
+                rangeStart = Arrays.copyOf(rangeStart, cap);
+                rangeEnd = Arrays.copyOf(rangeEnd, cap);
+                firstChild = Arrays.copyOf(firstChild, cap);
+                childCount = Arrays.copyOf(childCount, cap);
+                firstChar = Arrays.copyOf(firstChar, cap);
+            }
+            depth[size] = d;
+            rangeStart[size] = lo;
+            rangeEnd[size] = hi;
+            firstChar[size] = c;
+            return size++;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.ujk.finalproject.engine.cache;
+
+// Approximate access counts for TinyLFU admission: a Count-Min Sketch of 4-bit
+// counters, 16 to a long, with 4 hash functions. Counters saturate at 15; after
+// 10 * capacity increments every counter is halved, so old popularity fades
+// and a key that was hot yesterday cannot keep newcomers out forever.
+// Not thread-safe: each cache shard owns one and uses it under its lock.
+final class AdmissionSketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    AdmissionSketch(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.table = new long[size];
+        this.mask = size - 1;
+        this.sampleSize = 10 * Math.max(1, capacity);
+    }
+
+    int frequency(int hash) {
+        int min = 15;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int h = rehash(hash, i);
+            min = Math.min(min, (int) (table[h & mask] >>> shift(h)) & 15);
+        }
+        return min;
+    }
+
+    void increment(int hash) {
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            int h = rehash(hash, i);
+            int index = h & mask;
+            int shift = shift(h);
+            if (((table[index] >>> shift) & 15) != 15) {
+                table[index] += 1L << shift;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+
+    private static int rehash(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h;
+    }
+
+    // which of the 16 counters in the long: top bits, independent of the index
+    private static int shift(int h) {
+        return (h >>> 28) << 2;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.ujk.finalproject.engine.cache;
+
+// Counters of one QueryCache since it was created
+public final class CacheStats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long loads;
+    private final long totalLoadNanos;
+    private final int size;
+
+    CacheStats(long hits, long misses, long evictions, long loads, long totalLoadNanos, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.loads = loads;
+        this.totalLoadNanos = totalLoadNanos;
+        this.size = size;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    // entries dropped to stay within the size bound; invalidation is not counted
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public long getLoads() {
+        return loads;
+    }
+
+    public long getTotalLoadNanos() {
+        return totalLoadNanos;
+    }
+
+    public double getAverageLoadMillis() {
+        return loads == 0 ? 0 : totalLoadNanos / 1e6 / loads;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
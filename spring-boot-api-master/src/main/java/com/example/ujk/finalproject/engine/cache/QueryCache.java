@@ -0,0 +1,297 @@
+package com.example.ujk.finalproject.engine.cache;
+
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Size-bounded cache for query results, tied to a version of the data behind them.
+//
+// Keys are spread over a power-of-two number of shards, each a small W-TinyLFU
+// cache behind its own lock: new entries land in an LRU window (1% of the
+// shard), and when the window overflows its oldest entry only gets into the
+// main area if the AdmissionSketch has seen it more often than the entry it
+// would push out. The main area is a segmented LRU, where an entry hit again in
+// probation moves to protected (80%). A burst of one-off queries therefore
+// cannot flush the head queries that make up most traffic.
+//
+// Every value belongs to the version it was computed from. get() is passed the
+// version the caller is reading (e.g. the index snapshot version); moving to a
+// newer version drops everything cached so far, and a load for an older
+// version is returned but never cached, so a result computed from a snapshot
+// that has just been replaced cannot be served afterwards.
+//
+// Concurrent misses on the same key may both load it; the loads are cheap
+// enough that blocking one behind the other is not worth it.
+public final class QueryCache<K, V> {
+
+    private final Shard<K, V>[] shards;
+    private final int shardMask;
+    private final long ttlNanos;
+    private final AtomicLong version = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    // capacity 0 disables caching; ttlMillis 0 means entries only leave by
+    // eviction or a version change
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public QueryCache(int capacity, int shardCount, long ttlMillis) {
+        if (capacity < 0 || shardCount < 1 || ttlMillis < 0) {
+            throw new IllegalArgumentException("capacity and ttl must not be negative, shards must be positive");
+        }
+        int n = capacity == 0 ? 0 : Integer.highestOneBit(Math.min(shardCount, capacity));
+        this.shards = new Shard[n];
+        for (int i = 0; i < n; i++) {
+            shards[i] = new Shard<>((capacity + n - 1) / n);
+        }
+        this.shardMask = n - 1;
+        this.ttlNanos = ttlMillis * 1_000_000;
+    }
+
+    public V get(K key, long version, Function<? super K, ? extends V> loader) {
+        if (version > this.version.get()) {
+            invalidate(version);
+        }
+        if (shards.length == 0) {
+            return load(key, loader);
+        }
+        int hash = spread(key.hashCode());
+        Shard<K, V> shard = shards[hash & shardMask];
+        long now = System.nanoTime();
+
+        V value;
+        synchronized (shard) {
+            value = shard.get(key, hash, version, now);
+        }
+        if (value != null) {
+            hits.increment();
+            return value;
+        }
+        misses.increment();
+
+        value = load(key, loader);
+        if (value != null) {
+            synchronized (shard) {
+                // re-checked under the lock, as invalidate() clears under it too
+                if (version == this.version.get()) {
+                    evictions.add(shard.put(key, hash, value, version, ttlNanos == 0 ? 0 : now + ttlNanos));
+                }
+            }
+        }
+        return value;
+    }
+
+    // Moves to `version` and drops every entry of older ones
+    public void invalidate(long version) {
+        long current;
+        do {
+            current = this.version.get();
+            if (version <= current) {
+                return;
+            }
+        } while (!this.version.compareAndSet(current, version));
+        for (Shard<K, V> shard : shards) {
+            synchronized (shard) {
+                shard.clear();
+            }
+        }
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public CacheStats stats() {
+        int size = 0;
+        for (Shard<K, V> shard : shards) {
+            synchronized (shard) {
+                size += shard.map.size();
+            }
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), loads.sum(), loadNanos.sum(), size);
+    }
+
+    private V load(K key, Function<? super K, ? extends V> loader) {
+        long start = System.nanoTime();
+        try {
+            return loader.apply(key);
+        } finally {
+            loads.increment();
+            loadNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        return h * 0x9E3779B9;
+    }
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    // one W-TinyLFU cache; every method is called with the shard locked
+    private static final class Shard<K, V> {
+        final int capacity;
+        final int windowMax;
+        final int protectedMax;
+        final HashMap<K, Node<K, V>> map;
+        final AdmissionSketch sketch;
+        final NodeList<K, V> window = new NodeList<>();
+        final NodeList<K, V> probation = new NodeList<>();
+        final NodeList<K, V> protectedList = new NodeList<>();
+
+        Shard(int capacity) {
+            this.capacity = capacity;
+            this.windowMax = Math.max(1, capacity / 100);
+            this.protectedMax = (capacity - windowMax) * 8 / 10;
+            this.map = new HashMap<>();
+            this.sketch = new AdmissionSketch(capacity);
+        }
+
+        V get(K key, int hash, long version, long now) {
+            // misses count too: a query asked for twice is a candidate for admission
+            sketch.increment(hash);
+            Node<K, V> node = map.get(key);
+            if (node == null) {
+                return null;
+            }
+            if (node.version > version) {
+                // the caller is still reading an older version
+                return null;
+            }
+            if (node.version < version || (node.expiresAt != 0 && now - node.expiresAt >= 0)) {
+                remove(node);
+                return null;
+            }
+            switch (node.queue) {
+                case WINDOW -> window.moveToTail(node);
+                case PROBATION -> {
+                    probation.remove(node);
+                    node.queue = PROTECTED;
+                    protectedList.add(node);
+                    if (protectedList.size > protectedMax) {
+                        Node<K, V> demoted = protectedList.first();
+                        protectedList.remove(demoted);
+                        demoted.queue = PROBATION;
+                        probation.add(demoted);
+                    }
+                }
+                default -> protectedList.moveToTail(node);
+            }
+            return node.value;
+        }
+
+        // returns the number of entries evicted
+        int put(K key, int hash, V value, long version, long expiresAt) {
+            Node<K, V> node = map.get(key);
+            if (node != null) {
+                node.value = value;
+                node.version = version;
+                node.expiresAt = expiresAt;
+                return 0;
+            }
+            node = new Node<>(key, hash, value, version, expiresAt);
+            map.put(key, node);
+            window.add(node);
+            if (window.size <= windowMax) {
+                return 0;
+            }
+
+            Node<K, V> candidate = window.first();
+            window.remove(candidate);
+            candidate.queue = PROBATION;
+            probation.add(candidate);
+            if (map.size() <= capacity) {
+                return 0;
+            }
+            Node<K, V> victim = probation.first() != candidate ? probation.first() : protectedList.first();
+            if (victim == null || sketch.frequency(candidate.hash) <= sketch.frequency(victim.hash)) {
+                victim = candidate;
+            }
+            remove(victim);
+            return 1;
+        }
+
+        void remove(Node<K, V> node) {
+            map.remove(node.key);
+            switch (node.queue) {
+                case WINDOW -> window.remove(node);
+                case PROBATION -> probation.remove(node);
+                default -> protectedList.remove(node);
+            }
+        }
+
+        void clear() {
+            map.clear();
+            window.clear();
+            probation.clear();
+            protectedList.clear();
+        }
+    }
+
+    private static final class Node<K, V> {
+        final K key;
+        final int hash;
+        V value;
+        long version;
+        long expiresAt;
+        int queue = WINDOW;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key, int hash, V value, long version, long expiresAt) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.version = version;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    // LRU order, least recent first, around a sentinel
+    private static final class NodeList<K, V> {
+        final Node<K, V> head = new Node<>(null, 0, null, 0, 0);
+        int size;
+
+        NodeList() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        Node<K, V> first() {
+            return size == 0 ? null : head.next;
+        }
+
+        void add(Node<K, V> node) {
+            node.prev = head.prev;
+            node.next = head;
+            head.prev.next = node;
+            head.prev = node;
+            size++;
+        }
+
+        void remove(Node<K, V> node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+            size--;
+        }
+
+        void moveToTail(Node<K, V> node) {
+            remove(node);
+            add(node);
+        }
+
+        void clear() {
+            head.prev = head;
+            head.next = head;
+            size = 0;
+        }
+    }
+}
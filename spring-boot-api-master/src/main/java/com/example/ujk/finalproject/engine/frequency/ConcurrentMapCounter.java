@@ -0,0 +1,59 @@
+package com.example.ujk.finalproject.engine.frequency;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Exact counts in a ConcurrentHashMap. Every increment of a term locks its
+// bin and boxes a new Long, so a hot term serializes all its callers.
+public final class ConcurrentMapCounter implements FrequencyCounter {
+
+    private final ConcurrentHashMap<String, Long> counts = new ConcurrentHashMap<>();
+
+    @Override
+    public long increment(String term) {
+        return counts.merge(term, 1L, Long::sum);
+    }
+
+    @Override
+    public long get(String term) {
+        return counts.getOrDefault(term, 0L);
+    }
+
+    @Override
+    public void add(String term, long delta) {
+        counts.merge(term, delta, Long::sum);
+    }
+
+    @Override
+    public FrequencyCounter copy() {
+        ConcurrentMapCounter copy = new ConcurrentMapCounter();
+        copy.counts.putAll(counts);
+        return copy;
+    }
+
+    // entry count, then (term, count) pairs
+    @Override
+    public void writeSnapshot(DataOutput out) throws IOException {
+        out.writeInt(counts.size());
+        for (Map.Entry<String, Long> e : counts.entrySet()) {
+            out.writeUTF(e.getKey());
+            out.writeLong(e.getValue());
+        }
+    }
+
+    @Override
+    public void readSnapshot(DataInput in) throws IOException {
+        int n = in.readInt();
+        for (int i = 0; i < n; i++) {
+            add(in.readUTF(), in.readLong());
+        }
+    }
+
+    // number of distinct terms counted
+    public int size() {
+        return counts.size();
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.ujk.finalproject.engine.frequency;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Approximate counts in fixed memory: `depth` rows of `width` counters, a term
+// mapping to one counter per row. A count is never underestimated and, with
+// probability 1 - delta, overestimated by at most epsilon * (total count),
+// for width >= e / epsilon and depth >= ln(1 / delta).
+//
+// Updates are conservative: only the counters at the term's current minimum
+// are raised, which keeps collisions from inflating counts much further than
+// they have to. Two increments of the same term must not both read the same
+// minimum, so they are serialized on one of LOCK_STRIPES locks chosen by the
+// term; different terms only ever raise counters with a CAS max.
+//
+// Sketches with the same dimensions merge by adding counters, so instances
+// can combine their counts (see FrequencySummary).
+public final class CountMinSketch implements FrequencyCounter {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final int width;    // power of two
+    private final int depth;
+    private final AtomicLongArray cells;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public CountMinSketch(double epsilon, double delta) {
+        this(widthFor(epsilon), depthFor(delta));
+    }
+
+    CountMinSketch(int width, int depth) {
+        if (Integer.bitCount(width) != 1 || depth < 1 || (long) width * depth > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("bad sketch dimensions " + width + "x" + depth);
+        }
+        this.width = width;
+        this.depth = depth;
+        this.cells = new AtomicLongArray(width * depth);
+        for (int i = 0; i < LOCK_STRIPES; i++) locks[i] = new Object();
+    }
+
+    @Override
+    public long increment(String term) {
+        return raise(term, 1);
+    }
+
+    @Override
+    public void add(String term, long delta) {
+        raise(term, delta);
+    }
+
+    @Override
+    public FrequencyCounter copy() {
+        CountMinSketch copy = new CountMinSketch(width, depth);
+        copy.merge(this);
+        return copy;
+    }
+
+    @Override
+    public void writeSnapshot(DataOutput out) throws IOException {
+        writeTo(out);
+    }
+
+    @Override
+    public void readSnapshot(DataInput in) throws IOException {
+        merge(readFrom(in));
+    }
+
+    // conservative update by `delta`; returns the new estimate
+    private long raise(String term, long delta) {
+        long hash = hash(term);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        synchronized (locks[h1 & (LOCK_STRIPES - 1)]) {
+            long target = estimate(h1, h2) + delta;
+            for (int row = 0; row < depth; row++) {
+                int i = index(row, h1, h2);
+                long current;
+                while ((current = cells.get(i)) < target && !cells.compareAndSet(i, current, target)) {
+                    // another term raised it meanwhile; retry against the new value
+                }
+            }
+            return target;
+        }
+    }
+
+    @Override
+    public long get(String term) {
+        long hash = hash(term);
+        return estimate((int) hash, (int) (hash >>> 32) | 1);
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    // adds `other`'s counts into this sketch
+    public void merge(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("cannot merge a " + other.width + "x" + other.depth
+                    + " sketch into a " + width + "x" + depth + " one");
+        }
+        for (int i = 0; i < cells.length(); i++) {
+            long add = other.cells.get(i);
+            if (add != 0) cells.addAndGet(i, add);
+        }
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(width);
+        out.writeInt(depth);
+        for (int i = 0; i < cells.length(); i++) out.writeLong(cells.get(i));
+    }
+
+    public static CountMinSketch readFrom(DataInput in) throws IOException {
+        int width = in.readInt();
+        return readCells(in, width, in.readInt());
+    }
+
+    // the rest of writeTo()'s output once the dimensions have been read
+    static CountMinSketch readCells(DataInput in, int width, int depth) throws IOException {
+        CountMinSketch sketch = new CountMinSketch(width, depth);
+        for (int i = 0; i < sketch.cells.length(); i++) sketch.cells.set(i, in.readLong());
+        return sketch;
+    }
+
+    private long estimate(int h1, int h2) {
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, cells.get(index(row, h1, h2)));
+        }
+        return min;
+    }
+
+    // double hashing: row i uses h1 + i * h2
+    private int index(int row, int h1, int h2) {
+        return row * width + ((h1 + row * h2) & (width - 1));
+    }
+
+    // FNV-1a over the chars, then the murmur3 finalizer; stable across JVMs so
+    // that sketches built by different instances line up
+    private static long hash(String term) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < term.length(); i++) {
+            h ^= term.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static int widthFor(double epsilon) {
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("epsilon must be in (0, 1)");
+        }
+        int width = (int) Math.ceil(Math.E / epsilon);
+        return width <= 1 ? 1 : Integer.highestOneBit(width - 1) << 1;
+    }
+
+    private static int depthFor(double delta) {
+        if (!(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException("delta must be in (0, 1)");
+        }
+        return Math.max(1, (int) Math.ceil(Math.log(1 / delta)));
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.ujk.finalproject.engine.frequency;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// Space-Saving heavy hitters over exponentially decayed counts.
+//
+// At most `capacity` terms are tracked. A term that is not tracked takes over
+// the slot of the lowest-scored one and inherits its score as error, so any
+// term with a true decayed count above total / capacity is guaranteed to be
+// tracked and its count is overestimated by at most that much.
+//
+// Decay is done with a landmark instead of touching every entry: a search at
+// time t adds exp((t - landmark) / tau), and a score is read by multiplying by
+// exp(-(now - landmark) / tau). Relative order never changes with time, so the
+// slots stay in a plain min-heap; when the weights grow too large everything
+// is rescaled once and the landmark moves to now. Updates are O(log capacity).
+public final class DecayedTopK {
+
+    // rescale before exp() gets anywhere near overflowing a double
+    private static final double MAX_EXPONENT = 50;
+
+    private final int capacity;
+    private final double tau;
+    private final Map<String, Entry> entries;
+    private final Entry[] heap;
+    private int size;
+    private long landmark;
+
+    public DecayedTopK(int capacity, long tauMillis) {
+        if (capacity < 1 || tauMillis < 1) {
+            throw new IllegalArgumentException("capacity and tau must be positive");
+        }
+        this.capacity = capacity;
+        this.tau = tauMillis;
+        this.entries = new HashMap<>(capacity * 2);
+        this.heap = new Entry[capacity];
+        this.landmark = -1;
+    }
+
+    public synchronized void offer(String term, long now) {
+        add(term, 1, 0, now, now);
+    }
+
+    // Folds in a term from another instance's summary, with its count and
+    // error as of `now`. Weighted Space-Saving keeps the same guarantees.
+    public synchronized void merge(TrendingTerm term, long now) {
+        add(term.getTerm(), term.getCount(), term.getError(), term.getLastSeen(), now);
+    }
+
+    // `count` and `error` are decayed counts as of `now`
+    private void add(String term, double count, double error, long lastSeen, long now) {
+        if (landmark < 0) {
+            landmark = now;
+        }
+        double exponent = (now - landmark) / tau;
+        if (exponent > MAX_EXPONENT) {
+            rescale(now);
+            exponent = 0;
+        }
+        double scale = Math.exp(exponent);
+
+        Entry entry = entries.get(term);
+        if (entry == null && size < capacity) {
+            entry = new Entry(term);
+            entry.score = count * scale;
+            entry.error = error * scale;
+            entry.lastSeen = lastSeen;
+            entries.put(term, entry);
+            heap[size] = entry;
+            siftUp(size++);
+            return;
+        }
+        if (entry == null) {
+            // evict the lowest score; the newcomer may have been counted there
+            entry = heap[0];
+            entries.remove(entry.term);
+            entry.term = term;
+            entry.error = entry.score;
+            entry.lastSeen = lastSeen;
+            entries.put(term, entry);
+        }
+        entry.score += count * scale;
+        entry.error += error * scale;
+        entry.lastSeen = Math.max(entry.lastSeen, lastSeen);
+        siftDown(entry.index);
+    }
+
+    // the k highest decayed counts as of `now`, highest first
+    public synchronized List<TrendingTerm> top(int k, long now) {
+        PriorityQueue<Entry> best = new PriorityQueue<>(Math.max(1, Math.min(k, size)), Comparator.comparingDouble(e -> e.score));
+        for (int i = 0; i < size && k > 0; i++) {
+            if (best.size() < k) {
+                best.add(heap[i]);
+            } else if (heap[i].score > best.peek().score) {
+                best.poll();
+                best.add(heap[i]);
+            }
+        }
+        double decay = landmark < 0 ? 1 : Math.exp(-(now - landmark) / tau);
+        List<TrendingTerm> result = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            Entry e = best.poll();
+            result.add(new TrendingTerm(e.term, e.score * decay, e.error * decay, e.lastSeen));
+        }
+        Collections.reverse(result);
+        return result;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void rescale(long now) {
+        double factor = Math.exp(-(now - landmark) / tau);
+        for (int i = 0; i < size; i++) {
+            heap[i].score *= factor;
+            heap[i].error *= factor;
+        }
+        landmark = now;
+    }
+
+    private void siftUp(int i) {
+        Entry entry = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent].score <= entry.score) break;
+            heap[i] = heap[parent];
+            heap[i].index = i;
+            i = parent;
+        }
+        heap[i] = entry;
+        entry.index = i;
+    }
+
+    // scores only grow, so an updated entry can only move down
+    private void siftDown(int i) {
+        Entry entry = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heap[child + 1].score < heap[child].score) child++;
+            if (heap[child].score >= entry.score) break;
+            heap[i] = heap[child];
+            heap[i].index = i;
+            i = child;
+        }
+        heap[i] = entry;
+        entry.index = i;
+    }
+
+    private static final class Entry {
+        String term;
+        double score;
+        double error;
+        long lastSeen;
+        int index;
+
+        Entry(String term) {
+            this.term = term;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.ujk.finalproject.engine.frequency;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+// Per-term search counts. Implementations are thread-safe.
+public interface FrequencyCounter {
+
+    // Counts one more occurrence and returns the term's count including it.
+    // Under concurrent increments of the same term the value may lag others'
+    // in-flight increments, but successive calls never go backwards.
+    long increment(String term);
+
+    // current count, 0 for unseen terms
+    long get(String term);
+
+    // counts `delta` more occurrences at once, e.g. when replaying a log
+    void add(String term, long delta);
+
+    // an independent counter with the same counts
+    FrequencyCounter copy();
+
+    // Saves all counts; must not run concurrently with updates. readSnapshot()
+    // on a counter of the same type and settings adds them back.
+    void writeSnapshot(DataOutput out) throws IOException;
+
+    void readSnapshot(DataInput in) throws IOException;
+
+    // epsilon and delta only apply to "sketch": see CountMinSketch
+    static FrequencyCounter create(String type, double epsilon, double delta) {
+        switch (type.toLowerCase()) {
+            case "striped":
+                return new StripedCounterTable(1024);
+            case "map":
+                return new ConcurrentMapCounter();
+            case "sketch":
+                return new CountMinSketch(epsilon, delta);
+            default:
+                throw new IllegalArgumentException("Unknown frequency counter type: " + type);
+        }
+    }
+}
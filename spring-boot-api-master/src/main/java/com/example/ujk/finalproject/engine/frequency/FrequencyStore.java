@@ -0,0 +1,384 @@
+package com.example.ujk.finalproject.engine.frequency;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+// Write-behind persistence for search frequencies.
+//
+// offer() only queues the term; it never waits on disk and drops the term
+// (counting it in dropped()) once queueCapacity terms are waiting. Every
+// fsyncIntervalMs a background thread drains the queue, sums it per term and
+// appends the result as one checksummed batch to the current log file, then
+// forces it to disk: one fsync per interval however many searches came in.
+//
+// The store keeps its own FrequencyCounter and TrendingTracker holding exactly
+// what has been logged. Every snapshotIntervalMs the thread starts a new log
+// file n and writes them out as snapshot-n, which covers every log before n;
+// older files are then deleted. Recovery loads the latest snapshot and replays
+// the logs after it; a batch torn by a crash fails its checksum and is cut off.
+//
+// Files: log-<n> is a sequence of batches [BATCH_MAGIC, payload length, crc32,
+// payload: time, entry count, (term, delta)...]. snapshot-<n> is [SNAPSHOT_MAGIC,
+// VERSION, counter class, time, counter snapshot, trending per window].
+public final class FrequencyStore implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(FrequencyStore.class);
+
+    private static final int BATCH_MAGIC = 0x46424154;     // "FBAT"
+    private static final int SNAPSHOT_MAGIC = 0x46534e50;  // "FSNP"
+    private static final int VERSION = 1;
+    private static final String LOG_PREFIX = "log-";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    // keeps every term within writeUTF's 64 KB limit
+    private static final int MAX_TERM_LENGTH = 1024;
+
+    private final Path dir;
+    private final FrequencyCounter counts;
+    private final TrendingTracker trending;
+    private final int queueCapacity;
+    private final long snapshotIntervalMs;
+
+    private final ConcurrentLinkedQueue<String> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final ScheduledExecutorService writer;
+
+    // writer thread only
+    private Map<String, Long> unwritten = new HashMap<>();
+    private FileChannel logChannel;
+    private long logSeq;
+    private long lastSnapshot;
+
+    private FrequencyStore(Path dir, FrequencyCounter counts, TrendingTracker trending,
+                           int queueCapacity, long snapshotIntervalMs) {
+        this.dir = dir;
+        this.counts = counts;
+        this.trending = trending;
+        this.queueCapacity = queueCapacity;
+        this.snapshotIntervalMs = snapshotIntervalMs;
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "frequency-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Loads what `dir` holds into `counts` and `trending`, which must be empty
+    // and from then on belong to the store: serve requests from copies.
+    public static FrequencyStore open(Path dir, FrequencyCounter counts, TrendingTracker trending,
+                                      int queueCapacity, long fsyncIntervalMs, long snapshotIntervalMs)
+            throws IOException {
+        if (queueCapacity < 1 || fsyncIntervalMs < 1 || snapshotIntervalMs < 1) {
+            throw new IllegalArgumentException("queue capacity and intervals must be positive");
+        }
+        Files.createDirectories(dir);
+        FrequencyStore store = new FrequencyStore(dir, counts, trending, queueCapacity, snapshotIntervalMs);
+        store.recover();
+        store.writer.scheduleWithFixedDelay(store::flush, fsyncIntervalMs, fsyncIntervalMs, TimeUnit.MILLISECONDS);
+        return store;
+    }
+
+    // Queues one search of `term`; false if it was dropped because the queue
+    // is full or the term is longer than MAX_TERM_LENGTH
+    public boolean offer(String term) {
+        if (term.length() > MAX_TERM_LENGTH) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            dropped.incrementAndGet();
+            return false;
+        }
+        queue.add(term);
+        return true;
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    // Writes out what is queued plus a final snapshot, so the next start has no log to replay
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(30, TimeUnit.SECONDS)) {
+                log.warn("Frequency log writer did not stop in time");
+                return;
+            }
+            write(System.currentTimeMillis());
+            snapshot(System.currentTimeMillis());
+            logChannel.close();
+        } catch (IOException e) {
+            log.error("Could not persist search frequencies on shutdown", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // package-private so tests can force a write without waiting for the timer
+    void flush() {
+        long now = System.currentTimeMillis();
+        try {
+            write(now);
+            if (now - lastSnapshot >= snapshotIntervalMs) {
+                snapshot(now);
+            }
+        } catch (IOException | RuntimeException e) {
+            // the batch stays in `unwritten` and goes out with the next one
+            log.error("Could not write search frequencies to {}", dir, e);
+        }
+    }
+
+    // appends and fsyncs one batch with everything queued so far
+    private void write(long now) throws IOException {
+        String term;
+        int drained = 0;
+        while ((term = queue.poll()) != null) {
+            unwritten.merge(term, 1L, Long::sum);
+            drained++;
+        }
+        queued.addAndGet(-drained);
+        if (unwritten.isEmpty()) {
+            return;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + unwritten.size() * 16);
+        DataOutputStream payload = new DataOutputStream(bytes);
+        payload.writeLong(now);
+        payload.writeInt(unwritten.size());
+        for (Map.Entry<String, Long> e : unwritten.entrySet()) {
+            payload.writeUTF(e.getKey());
+            payload.writeLong(e.getValue());
+        }
+        payload.flush();
+        byte[] body = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        ByteBuffer batch = ByteBuffer.allocate(12 + body.length);
+        batch.putInt(BATCH_MAGIC).putInt(body.length).putInt((int) crc.getValue()).put(body).flip();
+
+        long start = logChannel.position();
+        try {
+            while (batch.hasRemaining()) logChannel.write(batch);
+            logChannel.force(false);
+        } catch (IOException e) {
+            // drop the partial batch so later ones are not stuck behind it
+            logChannel.truncate(start);
+            logChannel.position(start);
+            throw e;
+        }
+        Map<String, Long> written = unwritten;
+        unwritten = new HashMap<>();
+        apply(written, now);
+    }
+
+    private void apply(Map<String, Long> batch, long time) {
+        List<TrendingTerm> terms = new ArrayList<>(batch.size());
+        for (Map.Entry<String, Long> e : batch.entrySet()) {
+            counts.add(e.getKey(), e.getValue());
+            terms.add(new TrendingTerm(e.getKey(), e.getValue(), 0, time));
+        }
+        for (TrendWindow window : TrendWindow.values()) {
+            trending.merge(window, terms, time);
+        }
+    }
+
+    // starts log n + 1 and writes snapshot n + 1 of everything logged before it
+    private void snapshot(long now) throws IOException {
+        long seq = logSeq + 1;
+        FileChannel next = openLog(seq);
+        logChannel.close();
+        logChannel = next;
+        logSeq = seq;
+
+        Path file = dir.resolve(SNAPSHOT_PREFIX + seq);
+        Path tmp = dir.resolve(SNAPSHOT_PREFIX + seq + ".tmp");
+        try (FileOutputStream fos = new FileOutputStream(tmp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos, 1 << 16))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(counts.getClass().getSimpleName());
+            out.writeLong(now);
+            counts.writeSnapshot(out);
+            FrequencySummary.writeTrending(out, trending, now);
+            out.flush();
+            fos.getChannel().force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+        lastSnapshot = now;
+
+        for (Map.Entry<Long, Path> e : files(SNAPSHOT_PREFIX).headMap(seq).entrySet()) Files.deleteIfExists(e.getValue());
+        for (Map.Entry<Long, Path> e : files(LOG_PREFIX).headMap(seq).entrySet()) Files.deleteIfExists(e.getValue());
+    }
+
+    private void recover() throws IOException {
+        long start = System.nanoTime();
+        try (DirectoryStream<Path> tmps = Files.newDirectoryStream(dir, "*.tmp")) {
+            for (Path tmp : tmps) Files.deleteIfExists(tmp);
+        }
+
+        TreeMap<Long, Path> snapshots = files(SNAPSHOT_PREFIX);
+        long from = 0;
+        if (!snapshots.isEmpty()) {
+            from = snapshots.lastKey();
+            loadSnapshot(snapshots.lastEntry().getValue());
+        }
+        long batches = 0;
+        TreeMap<Long, Path> logs = files(LOG_PREFIX);
+        for (Map.Entry<Long, Path> e : logs.tailMap(from).entrySet()) {
+            long replayed = replay(e.getValue());
+            if (replayed < 0) {
+                batches += -replayed - 1;
+                // later logs are dropped too, or the next start would replay
+                // them past the batches lost here
+                for (Path later : logs.tailMap(e.getKey(), false).values()) Files.deleteIfExists(later);
+                break;
+            }
+            batches += replayed;
+        }
+
+        logSeq = Math.max(from, logs.isEmpty() ? 0 : logs.lastKey()) + 1;
+        logChannel = openLog(logSeq);
+        lastSnapshot = System.currentTimeMillis();
+        log.info("Search frequencies recovered from {}: snapshot {}, {} log batches in {} ms",
+                dir, from, batches, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void loadSnapshot(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a frequency snapshot: " + file);
+            }
+            String type = in.readUTF();
+            if (!type.equals(counts.getClass().getSimpleName())) {
+                throw new IllegalStateException(file + " holds " + type + " counts but the counter is "
+                        + counts.getClass().getSimpleName() + "; switch back or remove " + dir);
+            }
+            long time = in.readLong();
+            counts.readSnapshot(in);
+            List<List<TrendingTerm>> windows = FrequencySummary.readTrending(in);
+            for (TrendWindow window : TrendWindow.values()) {
+                trending.merge(window, windows.get(window.ordinal()), time);
+            }
+        }
+    }
+
+    // Applies every intact batch of `file` and returns how many there were, or
+    // -(count + 1) if it stopped at a torn or corrupt batch, which is cut off.
+    private long replay(Path file) throws IOException {
+        long size = Files.size(file);
+        long batches = 0;
+        long valid = 0;
+        boolean torn = false;
+        try (InputStream raw = new BufferedInputStream(Files.newInputStream(file), 1 << 16);
+             DataInputStream in = new DataInputStream(raw)) {
+            while (true) {
+                int magic;
+                try {
+                    magic = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                int length;
+                int crc;
+                byte[] body;
+                try {
+                    length = in.readInt();
+                    crc = in.readInt();
+                    if (magic != BATCH_MAGIC || length < 12 || length > size - valid - 12) {
+                        torn = true;
+                        break;
+                    }
+                    body = new byte[length];
+                    in.readFully(body);
+                } catch (EOFException e) {
+                    torn = true;
+                    break;
+                }
+                CRC32 check = new CRC32();
+                check.update(body);
+                if ((int) check.getValue() != crc) {
+                    torn = true;
+                    break;
+                }
+                DataInputStream batch = new DataInputStream(new ByteArrayInputStream(body));
+                long time = batch.readLong();
+                int n = batch.readInt();
+                Map<String, Long> deltas = new HashMap<>(n * 2);
+                for (int i = 0; i < n; i++) {
+                    deltas.put(batch.readUTF(), batch.readLong());
+                }
+                apply(deltas, time);
+                valid += 12 + length;
+                batches++;
+            }
+        }
+        if (!torn) {
+            return batches;
+        }
+        log.warn("Truncating {} after {} intact batches: the rest is torn or corrupt", file, batches);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(valid);
+            channel.force(true);
+        }
+        return -(batches + 1);
+    }
+
+    private FileChannel openLog(long seq) throws IOException {
+        FileChannel channel = FileChannel.open(dir.resolve(LOG_PREFIX + seq),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        return channel;
+    }
+
+    // files named <prefix><n> by n
+    private TreeMap<Long, Path> files(String prefix) throws IOException {
+        TreeMap<Long, Path> result = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, prefix + "*")) {
+            for (Path file : stream) {
+                String suffix = file.getFileName().toString().substring(prefix.length());
+                try {
+                    result.put(Long.parseLong(suffix), file);
+                } catch (NumberFormatException e) {
+                    // not ours (e.g. a .tmp file)
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.ujk.finalproject.engine.frequency;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Binary exchange format for combining search frequencies across instances:
+// the Count-Min Sketch followed by every tracked trending term per window.
+// Trending counts are written decayed to the writer's clock and read as of
+// the reader's, so instances should have roughly synchronized clocks.
+//
+// Layout: MAGIC, VERSION, sketch (CountMinSketch.writeTo), then for each
+// TrendWindow in order an entry count and (term, count, error, lastSeen) entries.
+public final class FrequencySummary {
+
+    private static final int MAGIC = 0x46535532; // "FSU2"
+    private static final int VERSION = 1;
+
+    private FrequencySummary() {
+    }
+
+    public static void write(DataOutput out, CountMinSketch sketch, TrendingTracker trending, long now)
+            throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        sketch.writeTo(out);
+        writeTrending(out, trending, now);
+    }
+
+    // Adds a summary written by write() into `sketch` and `trending`. The
+    // whole summary is read before anything is merged, so a truncated or
+    // mismatched one leaves both untouched.
+    public static void merge(DataInput in, CountMinSketch sketch, TrendingTracker trending, long now)
+            throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IllegalArgumentException("not a frequency summary");
+        }
+        int width = in.readInt();
+        int depth = in.readInt();
+        if (width != sketch.width() || depth != sketch.depth()) {
+            throw new IllegalArgumentException("sketch dimensions differ: " + width + "x" + depth
+                    + " vs " + sketch.width() + "x" + sketch.depth());
+        }
+        CountMinSketch other = CountMinSketch.readCells(in, width, depth);
+        List<List<TrendingTerm>> windows = readTrending(in);
+        sketch.merge(other);
+        for (TrendWindow window : TrendWindow.values()) {
+            trending.merge(window, windows.get(window.ordinal()), now);
+        }
+    }
+
+    // every tracked term per window, decayed to `now`
+    static void writeTrending(DataOutput out, TrendingTracker trending, long now) throws IOException {
+        for (TrendWindow window : TrendWindow.values()) {
+            List<TrendingTerm> terms = trending.export(window, now);
+            out.writeInt(terms.size());
+            for (TrendingTerm term : terms) {
+                out.writeUTF(term.getTerm());
+                out.writeDouble(term.getCount());
+                out.writeDouble(term.getError());
+                out.writeLong(term.getLastSeen());
+            }
+        }
+    }
+
+    // writeTrending()'s output, indexed by TrendWindow ordinal
+    static List<List<TrendingTerm>> readTrending(DataInput in) throws IOException {
+        List<List<TrendingTerm>> windows = new ArrayList<>();
+        for (TrendWindow window : TrendWindow.values()) {
+            int count = in.readInt();
+            List<TrendingTerm> terms = new ArrayList<>(Math.min(count, 1 << 16));
+            for (int i = 0; i < count; i++) {
+                terms.add(new TrendingTerm(in.readUTF(), in.readDouble(), in.readDouble(), in.readLong()));
+            }
+            windows.add(terms);
+        }
+        return windows;
+    }
+}
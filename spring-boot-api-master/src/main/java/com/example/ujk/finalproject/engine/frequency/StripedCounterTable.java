@@ -0,0 +1,228 @@
+package com.example.ujk.finalproject.engine.frequency;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts for hot keys under heavy contention.
+//
+// An open-addressed, linear-probing table of slots, each holding a term and a
+// LongAdder. A slot is claimed once with a CAS and never changes afterwards, so
+// incrementing a known term is a lock-free probe plus LongAdder.increment(),
+// which spreads contended updates of one term over per-thread cells instead
+// of serializing them on one lock or CAS.
+//
+// The table doubles when it is 3/4 full. One thread migrates it under a lock,
+// marking every old slot MOVED as it goes; a thread that runs into MOVED waits
+// for the lock and retries on the new table. Counters move by reference, so an
+// increment that lands on an adder mid-resize is never lost.
+public final class StripedCounterTable implements FrequencyCounter {
+
+    private static final Object MOVED = new Object();
+
+    private final Object resizeLock = new Object();
+    private volatile Table table;
+
+    public StripedCounterTable(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(16, initialCapacity - 1)) << 1;
+        this.table = new Table(capacity);
+    }
+
+    @Override
+    public long increment(String term) {
+        LongAdder adder = adder(term);
+        adder.increment();
+        return adder.sum();
+    }
+
+    @Override
+    public void add(String term, long delta) {
+        adder(term).add(delta);
+    }
+
+    @Override
+    public long get(String term) {
+        int hash = spread(term.hashCode());
+        while (true) {
+            Table t = table;
+            int mask = t.slots.length() - 1;
+            boolean moved = false;
+            for (int i = hash & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+                Object slot = t.slots.get(i);
+                if (slot == null) {
+                    return 0;
+                }
+                if (slot == MOVED) {
+                    moved = true;
+                    break;
+                }
+                Counter counter = (Counter) slot;
+                if (counter.hash == hash && counter.term.equals(term)) {
+                    return counter.adder.sum();
+                }
+            }
+            if (!moved) {
+                return 0;
+            }
+            awaitResize();
+        }
+    }
+
+    // number of distinct terms counted
+    public int size() {
+        return table.size.get();
+    }
+
+    @Override
+    public FrequencyCounter copy() {
+        StripedCounterTable copy = new StripedCounterTable(table.slots.length());
+        Table t = table;
+        for (int i = 0; i < t.slots.length(); i++) {
+            if (t.slots.get(i) instanceof Counter) {
+                Counter counter = (Counter) t.slots.get(i);
+                copy.add(counter.term, counter.adder.sum());
+            }
+        }
+        return copy;
+    }
+
+    // entry count, then (term, count) pairs
+    @Override
+    public void writeSnapshot(DataOutput out) throws IOException {
+        Table t = table;
+        out.writeInt(t.size.get());
+        for (int i = 0; i < t.slots.length(); i++) {
+            if (t.slots.get(i) instanceof Counter) {
+                Counter counter = (Counter) t.slots.get(i);
+                out.writeUTF(counter.term);
+                out.writeLong(counter.adder.sum());
+            }
+        }
+    }
+
+    @Override
+    public void readSnapshot(DataInput in) throws IOException {
+        int n = in.readInt();
+        // grow once up front instead of doubling all the way while loading
+        while (table.threshold < table.size.get() + n) {
+            resize(table);
+        }
+        for (int i = 0; i < n; i++) {
+            add(in.readUTF(), in.readLong());
+        }
+    }
+
+    // the term's adder, creating it on first use
+    private LongAdder adder(String term) {
+        int hash = spread(term.hashCode());
+        while (true) {
+            Table t = table;
+            Counter counter = t.findOrInsert(term, hash);
+            if (counter != null) {
+                if (t.size.get() > t.threshold) {
+                    resize(t);
+                }
+                return counter.adder;
+            }
+            // probe ran into MOVED or a full table
+            resize(t);
+        }
+    }
+
+    // Grows `from` unless another thread already replaced it
+    private void resize(Table from) {
+        synchronized (resizeLock) {
+            if (table != from) {
+                return;
+            }
+            Table to = new Table(from.slots.length() << 1);
+            for (int i = 0; i < from.slots.length(); i++) {
+                Object slot;
+                // a racing insert may claim the slot first; it is then moved with the rest
+                while ((slot = from.slots.get(i)) == null && !from.slots.compareAndSet(i, null, MOVED)) {
+                    Thread.onSpinWait();
+                }
+                if (slot != null) {
+                    from.slots.set(i, MOVED);
+                    to.put((Counter) slot);
+                }
+            }
+            table = to;
+        }
+    }
+
+    private void awaitResize() {
+        synchronized (resizeLock) {
+            // the resizing thread publishes the new table before releasing the lock
+        }
+    }
+
+    private static int spread(int h) {
+        return (h ^ (h >>> 16)) * 0x9E3779B9;
+    }
+
+    private static final class Counter {
+        final String term;
+        final int hash;
+        final LongAdder adder = new LongAdder();
+
+        Counter(String term, int hash) {
+            this.term = term;
+            this.hash = hash;
+        }
+    }
+
+    private static final class Table {
+        final AtomicReferenceArray<Object> slots;
+        final AtomicInteger size = new AtomicInteger();
+        final int threshold;
+
+        Table(int capacity) {
+            this.slots = new AtomicReferenceArray<>(capacity);
+            this.threshold = capacity - (capacity >>> 2);
+        }
+
+        // the term's counter, claiming a free slot for it if needed; null if
+        // the probe hit MOVED or found no free slot
+        Counter findOrInsert(String term, int hash) {
+            int mask = slots.length() - 1;
+            Counter created = null;
+            for (int i = hash & mask, probes = 0; probes <= mask; probes++) {
+                Object slot = slots.get(i);
+                if (slot == null) {
+                    if (created == null) {
+                        created = new Counter(term, hash);
+                    }
+                    if (slots.compareAndSet(i, null, created)) {
+                        size.incrementAndGet();
+                        return created;
+                    }
+                    continue; // lost the race for this slot; look at what won it
+                }
+                if (slot == MOVED) {
+                    return null;
+                }
+                Counter counter = (Counter) slot;
+                if (counter.hash == hash && counter.term.equals(term)) {
+                    return counter;
+                }
+                i = (i + 1) & mask;
+            }
+            return null;
+        }
+
+        // single-threaded, before the table is published
+        void put(Counter counter) {
+            int mask = slots.length() - 1;
+            int i = counter.hash & mask;
+            while (slots.get(i) != null) {
+                i = (i + 1) & mask;
+            }
+            slots.set(i, counter);
+            size.incrementAndGet();
+        }
+    }
+}
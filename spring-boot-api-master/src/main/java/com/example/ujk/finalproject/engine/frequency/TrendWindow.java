@@ -0,0 +1,31 @@
+package com.example.ujk.finalproject.engine.frequency;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// How far back "trending" looks. Counts decay exponentially with the window
+// length as time constant, so a search counts fully now, about a third
+// (1/e) one window later and is negligible after a few windows.
+public enum TrendWindow {
+    HOUR(TimeUnit.HOURS.toMillis(1)),
+    DAY(TimeUnit.DAYS.toMillis(1)),
+    WEEK(TimeUnit.DAYS.toMillis(7));
+
+    private final long millis;
+
+    TrendWindow(long millis) {
+        this.millis = millis;
+    }
+
+    public long millis() {
+        return millis;
+    }
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static TrendWindow parse(String window) {
+        return valueOf(window.trim().toUpperCase(Locale.ROOT));
+    }
+}
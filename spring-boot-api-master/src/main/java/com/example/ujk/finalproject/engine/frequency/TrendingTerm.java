@@ -0,0 +1,34 @@
+package com.example.ujk.finalproject.engine.frequency;
+
+public final class TrendingTerm {
+
+    private final String term;
+    private final double count;
+    private final double error;
+    private final long lastSeen;
+
+    TrendingTerm(String term, double count, double error, long lastSeen) {
+        this.term = term;
+        this.count = count;
+        this.error = error;
+        this.lastSeen = lastSeen;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    // decayed search count; may overestimate by up to getError()
+    public double getCount() {
+        return count;
+    }
+
+    public double getError() {
+        return error;
+    }
+
+    // epoch millis of the latest search
+    public long getLastSeen() {
+        return lastSeen;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.ujk.finalproject.engine.frequency;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+// One DecayedTopK per TrendWindow. Memory is fixed by `capacity` whatever the
+// number of distinct terms searched.
+//
+// record() is on the search path, so it does not take the top-K lock. Terms go
+// into small ring buffers, striped by thread, and whichever thread finds a
+// buffer half full drains all of them into the top-Ks if nobody else is. When
+// a buffer is full the term is dropped from trending (never from counts);
+// top() drains first, so reads see everything that was kept.
+public final class TrendingTracker {
+
+    private static final int BUFFER_SIZE = 128;
+    private static final int STRIPES =
+            Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1);
+
+    private final int capacity;
+    private final Map<TrendWindow, DecayedTopK> windows = new EnumMap<>(TrendWindow.class);
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final AtomicReferenceArray<String>[] buffers;
+    private final AtomicLong[] tails = new AtomicLong[STRIPES];
+    private final AtomicLong[] heads = new AtomicLong[STRIPES];
+    private final AtomicLong dropped = new AtomicLong();
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public TrendingTracker(int capacity) {
+        this.capacity = capacity;
+        for (TrendWindow window : TrendWindow.values()) {
+            windows.put(window, new DecayedTopK(capacity, window.millis()));
+        }
+        buffers = new AtomicReferenceArray[STRIPES];
+        for (int s = 0; s < STRIPES; s++) {
+            buffers[s] = new AtomicReferenceArray<>(BUFFER_SIZE);
+            tails[s] = new AtomicLong();
+            heads[s] = new AtomicLong();
+        }
+    }
+
+    public void record(String term, long now) {
+        int s = Thread.currentThread().hashCode() & (STRIPES - 1);
+        AtomicLong tail = tails[s];
+        while (true) {
+            long t = tail.get();
+            long pending = t - heads[s].get();
+            if (pending >= BUFFER_SIZE) {
+                dropped.incrementAndGet();
+                tryDrain(now);
+                return;
+            }
+            if (tail.compareAndSet(t, t + 1)) {
+                buffers[s].set((int) (t & (BUFFER_SIZE - 1)), term);
+                if (pending + 1 >= BUFFER_SIZE / 2) {
+                    tryDrain(now);
+                }
+                return;
+            }
+        }
+    }
+
+    public List<TrendingTerm> top(TrendWindow window, int k, long now) {
+        drainLock.lock();
+        try {
+            drain(now);
+            return windows.get(window).top(k, now);
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    // every tracked term of the window, for FrequencySummary
+    public List<TrendingTerm> export(TrendWindow window, long now) {
+        return top(window, Integer.MAX_VALUE, now);
+    }
+
+    public void merge(TrendWindow window, List<TrendingTerm> terms, long now) {
+        drainLock.lock();
+        try {
+            drain(now);
+            DecayedTopK topK = windows.get(window);
+            for (TrendingTerm term : terms) topK.merge(term, now);
+        } finally {
+            drainLock.unlock();
+        }
+    }
+
+    // an independent tracker with the same terms and counts as of `now`
+    public TrendingTracker copy(long now) {
+        TrendingTracker copy = new TrendingTracker(capacity);
+        for (TrendWindow window : TrendWindow.values()) {
+            copy.merge(window, export(window, now), now);
+        }
+        return copy;
+    }
+
+    // terms left out of trending because their buffer was full
+    public long dropped() {
+        return dropped.get();
+    }
+
+    private void tryDrain(long now) {
+        if (drainLock.tryLock()) {
+            try {
+                drain(now);
+            } finally {
+                drainLock.unlock();
+            }
+        }
+    }
+
+    private void drain(long now) {
+        for (int s = 0; s < STRIPES; s++) {
+            AtomicReferenceArray<String> buffer = buffers[s];
+            long head = heads[s].get();
+            long tail = tails[s].get();
+            for (; head < tail; head++) {
+                int i = (int) (head & (BUFFER_SIZE - 1));
+                String term = buffer.get(i);
+                if (term == null) {
+                    break; // claimed but not written yet; next drain picks it up
+                }
+                buffer.set(i, null);
+                for (DecayedTopK topK : windows.values()) {
+                    topK.offer(term, now);
+                }
+            }
+            heads[s].set(head);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.ujk.finalproject.engine.ingest;
+
+import java.io.BufferedReader;
+import java.util.Locale;
+
+// Scrape dump formats the loader understands.
+public enum CatalogFormat {
+    // header row naming Course properties, RFC 4180 quoting
+    CSV,
+    // one JSON Course object per line
+    JSONL;
+
+    public static CatalogFormat fromFileName(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".csv")) return CSV;
+        if (lower.endsWith(".jsonl") || lower.endsWith(".ndjson") || lower.endsWith(".json")) return JSONL;
+        throw new IllegalArgumentException("unknown catalog format: " + name);
+    }
+
+    public static CatalogFormat parse(String value) {
+        return valueOf(value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    CourseReader open(BufferedReader in) {
+        return this == CSV ? new CsvCourseReader(in) : new JsonLinesCourseReader(in);
+    }
+}
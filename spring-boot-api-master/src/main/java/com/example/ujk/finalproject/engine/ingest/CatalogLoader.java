@@ -0,0 +1,111 @@
+package com.example.ujk.finalproject.engine.ingest;
+
+import com.example.ujk.finalproject.engine.search.IndexSegment;
+import com.example.ujk.finalproject.engine.search.IndexWriter;
+import com.example.ujk.finalproject.model.Course;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+
+// Streams a scrape dump into the index.
+//
+// Records are read one at a time and cut into batches of batchSize courses
+// (a url seen twice in a batch keeps its last record). Each batch is analyzed
+// and turned into its own segment on a ForkJoinPool, while the reader goes on
+// with the next batch. Finished segments are added to the IndexWriter in file
+// order, so when a url appears in several batches the last one wins, and the
+// writer's merge policy then compacts them.
+//
+// At most maxInFlight batches are being built at once; the reader waits for
+// the oldest before starting another. Peak heap for a load is therefore about
+// (maxInFlight + 1) * batchSize courses plus their segments under
+// construction, whatever the size of the file. With an index directory a
+// segment leaves the heap once it is written.
+public final class CatalogLoader {
+
+    private final IndexWriter writer;
+    private final ForkJoinPool pool;
+    private final int batchSize;
+    private final int maxInFlight;
+
+    public CatalogLoader(IndexWriter writer, ForkJoinPool pool, int batchSize, int maxInFlight) {
+        if (batchSize < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("batchSize and maxInFlight must be positive");
+        }
+        this.writer = writer;
+        this.pool = pool;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+    }
+
+    // `progress` gets the running totals after every published segment, on the calling thread.
+    public LoadReport load(BufferedReader in, CatalogFormat format, Consumer<LoadReport> progress) throws IOException {
+        CourseReader reader = format.open(in);
+        LoadReport report = new LoadReport();
+        long start = System.nanoTime();
+        Deque<ForkJoinTask<IndexSegment>> inFlight = new ArrayDeque<>(maxInFlight);
+        boolean done = false;
+        try {
+            Map<String, Course> batch = new LinkedHashMap<>();
+            Course course;
+            while ((course = reader.next()) != null) {
+                report.setRecordsRead(report.getRecordsRead() + 1);
+                if (course.getUrl() == null || course.getUrl().isBlank()) {
+                    report.setMissingUrl(report.getMissingUrl() + 1);
+                    continue;
+                }
+                batch.put(course.getUrl(), course);
+                if (batch.size() == batchSize) {
+                    if (inFlight.size() == maxInFlight) {
+                        publishOldest(inFlight, report, start, progress);
+                    }
+                    inFlight.add(submit(batch));
+                    batch = new LinkedHashMap<>();
+                }
+            }
+            if (!batch.isEmpty()) {
+                inFlight.add(submit(batch));
+            }
+            while (!inFlight.isEmpty()) {
+                publishOldest(inFlight, report, start, progress);
+            }
+            report.setMalformed(reader.malformed());
+            report.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+            done = true;
+            return report;
+        } finally {
+            if (!done) {
+                for (ForkJoinTask<IndexSegment> task : inFlight) {
+                    try {
+                        writer.discardSegment(task.join());
+                    } catch (RuntimeException ignored) {
+                        // that batch failed too; nothing was written
+                    }
+                }
+            }
+        }
+    }
+
+    private ForkJoinTask<IndexSegment> submit(Map<String, Course> batch) {
+        ArrayList<Course> courses = new ArrayList<>(batch.values());
+        return pool.submit(() -> writer.prepareSegment(courses));
+    }
+
+    private void publishOldest(Deque<ForkJoinTask<IndexSegment>> inFlight, LoadReport report,
+                               long start, Consumer<LoadReport> progress) {
+        IndexSegment segment = inFlight.poll().join();
+        writer.addSegment(segment);
+        report.setDocsIndexed(report.getDocsIndexed() + segment.maxDoc());
+        report.setSegments(report.getSegments() + 1);
+        report.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        progress.accept(report);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.ujk.finalproject.engine.ingest;
+
+import com.example.ujk.finalproject.model.Course;
+
+import java.io.IOException;
+
+// Pulls one course at a time out of a dump; nothing is read ahead beyond the
+// current record, so memory does not depend on the size of the file.
+interface CourseReader {
+
+    // null at end of input; malformed records are skipped and counted
+    Course next() throws IOException;
+
+    long malformed();
+}
@@ -0,0 +1,120 @@
+package com.example.ujk.finalproject.engine.ingest;
+
+import com.example.ujk.finalproject.model.Course;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+
+// RFC 4180 CSV: comma separated, fields optionally in double quotes, "" for a
+// quote inside them, and quoted fields may span lines. The first record is a
+// header naming Course properties (camelCase or snake_case, any case); other
+// columns are ignored. A record with more fields than the header is malformed.
+final class CsvCourseReader implements CourseReader {
+
+    private final BufferedReader in;
+    private List<BiConsumer<Course, String>> columns;
+    private long malformed;
+
+    CsvCourseReader(BufferedReader in) {
+        this.in = in;
+    }
+
+    @Override
+    public Course next() throws IOException {
+        if (columns == null) {
+            List<String> header = readRecord();
+            if (header == null) {
+                return null;
+            }
+            columns = new ArrayList<>(header.size());
+            for (String name : header) columns.add(setter(name));
+        }
+        List<String> fields;
+        while ((fields = readRecord()) != null) {
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue; // blank line
+            }
+            if (fields.size() > columns.size()) {
+                malformed++;
+                continue;
+            }
+            Course course = new Course();
+            for (int i = 0; i < fields.size(); i++) {
+                String value = fields.get(i);
+                columns.get(i).accept(course, value.isEmpty() ? null : value);
+            }
+            return course;
+        }
+        return null;
+    }
+
+    @Override
+    public long malformed() {
+        return malformed;
+    }
+
+    // one record, possibly over several lines; null at end of input
+    private List<String> readRecord() throws IOException {
+        String line = in.readLine();
+        if (line == null) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) break;
+                // quoted field continues on the next line
+                line = in.readLine();
+                if (line == null) {
+                    malformed++;
+                    break;
+                }
+                field.append('\n');
+                i = 0;
+                continue;
+            }
+            char c = line.charAt(i++);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i < line.length() && line.charAt(i) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static BiConsumer<Course, String> setter(String column) {
+        // a UTF-8 BOM sticks to the first header name
+        switch (column.replace("\uFEFF", "").trim().replace("_", "").toLowerCase(Locale.ROOT)) {
+            case "title": return Course::setTitle;
+            case "url": return Course::setUrl;
+            case "university": return Course::setUniversity;
+            case "level": return Course::setLevel;
+            case "type": return Course::setType;
+            case "category": return Course::setCategory;
+            case "imageurl": return Course::setImageUrl;
+            case "scrapedat": return Course::setScrapedAt;
+            default: return (course, value) -> { };
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.ujk.finalproject.engine.ingest;
+
+import com.example.ujk.finalproject.model.Course;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+final class JsonLinesCourseReader implements CourseReader {
+
+    // scrapers add fields of their own; they are ignored
+    private static final ObjectReader READER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .readerFor(Course.class);
+
+    private final BufferedReader in;
+    private long malformed;
+
+    JsonLinesCourseReader(BufferedReader in) {
+        this.in = in;
+    }
+
+    @Override
+    public Course next() throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            if (line.isBlank()) continue;
+            try {
+                Course course = READER.readValue(line);
+                if (course != null) return course;
+            } catch (JsonProcessingException e) {
+                malformed++;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public long malformed() {
+        return malformed;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.ujk.finalproject.engine.ingest;
+
+import com.example.ujk.finalproject.model.Course;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+// Writes courses in the format JsonLinesCourseReader reads, one object per
+// line, through a single generator. Each course is serialized straight into
+// the generator's buffer as it comes off the iterator and nothing is flushed
+// per course, so memory stays at one buffer however many courses there are.
+public final class JsonLinesCourseWriter {
+
+    private static final ObjectWriter WRITER = new ObjectMapper(JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build())
+            .disable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+            .writerFor(Course.class);
+
+    private JsonLinesCourseWriter() {
+    }
+
+    // returns how many courses were written; `out` is flushed, not closed
+    public static long write(Iterator<Course> courses, OutputStream out) throws IOException {
+        long written = 0;
+        try (JsonGenerator generator = WRITER.createGenerator(out)) {
+            // lines end in '\n' instead of values being separated by ' '
+            generator.setRootValueSeparator(null);
+            while (courses.hasNext()) {
+                WRITER.writeValue(generator, courses.next());
+                generator.writeRaw('\n');
+                written++;
+            }
+        }
+        return written;
+    }
+}
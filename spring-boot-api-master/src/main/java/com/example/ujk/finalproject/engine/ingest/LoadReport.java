@@ -0,0 +1,72 @@
+package com.example.ujk.finalproject.engine.ingest;
+
+// Counters for one catalog load; also sent as progress while the load runs.
+public class LoadReport {
+
+    private long recordsRead;
+    private long docsIndexed;
+    private long malformed;
+    private long missingUrl;
+    private int segments;
+    private long elapsedMillis;
+
+    public long getRecordsRead() {
+        return recordsRead;
+    }
+
+    public void setRecordsRead(long recordsRead) {
+        this.recordsRead = recordsRead;
+    }
+
+    // after de-duplicating urls within a batch
+    public long getDocsIndexed() {
+        return docsIndexed;
+    }
+
+    public void setDocsIndexed(long docsIndexed) {
+        this.docsIndexed = docsIndexed;
+    }
+
+    public long getMalformed() {
+        return malformed;
+    }
+
+    public void setMalformed(long malformed) {
+        this.malformed = malformed;
+    }
+
+    public long getMissingUrl() {
+        return missingUrl;
+    }
+
+    public void setMissingUrl(long missingUrl) {
+        this.missingUrl = missingUrl;
+    }
+
+    public int getSegments() {
+        return segments;
+    }
+
+    public void setSegments(int segments) {
+        this.segments = segments;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public double getDocsPerSecond() {
+        return elapsedMillis == 0 ? 0 : docsIndexed * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d records read, %d indexed into %d segments, %d malformed, %d without url, "
+                        + "%.1f s (%.0f docs/sec)", recordsRead, docsIndexed, segments, malformed, missingUrl,
+                elapsedMillis / 1000.0, getDocsPerSecond());
+    }
+}
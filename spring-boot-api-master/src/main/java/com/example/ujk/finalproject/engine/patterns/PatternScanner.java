@@ -0,0 +1,361 @@
+package com.example.ujk.finalproject.engine.patterns;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Finds emails, URLs, phone numbers, prices and dates in one left-to-right pass.
+//
+// Every recognizer can only start on a few characters (a letter or digit at the
+// start of a word, '+', '(' or a currency symbol), so the scanner looks up the
+// class of the current char in one shared table and only runs the recognizers
+// that can start there, in a fixed priority order: URL, email, date, price,
+// phone. The first to match consumes its text and scanning resumes after it,
+// so a phone-like run of digits inside a URL is never reported twice. When
+// nothing matches, the scanner skips the rest of the word, so recognizers never
+// start mid-word and each char is looked at a bounded number of times.
+// There is no backtracking regex involved and nothing is allocated per char.
+//
+// The scanner is immutable and safe to share between threads.
+public final class PatternScanner {
+
+    // Receives matches as [start, end) offsets into the scanned text.
+    public interface Sink {
+        void match(PatternType type, int start, int end);
+    }
+
+    private static final int LETTER = 1;
+    private static final int DIGIT = 2;
+    private static final int LOCAL = 4;      // also allowed in an email local part: . _ % + -
+    private static final int URL_CHAR = 8;
+    private static final int PHONE_SEP = 16; // space - . ( )
+
+    private static final byte[] CLASS = new byte[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) CLASS[c] |= LETTER | LOCAL | URL_CHAR;
+        for (char c = 'A'; c <= 'Z'; c++) CLASS[c] |= LETTER | LOCAL | URL_CHAR;
+        for (char c = '0'; c <= '9'; c++) CLASS[c] |= DIGIT | LOCAL | URL_CHAR;
+        for (char c : "._%+-".toCharArray()) CLASS[c] |= LOCAL;
+        for (char c : "-._~:/?#[]@!$&'()*+,;=%".toCharArray()) CLASS[c] |= URL_CHAR;
+        for (char c : " -.()".toCharArray()) CLASS[c] |= PHONE_SEP;
+    }
+
+    private static final String[] MONTHS = {
+            "january", "february", "march", "april", "may", "june",
+            "july", "august", "september", "october", "november", "december"
+    };
+    private static final String[] CURRENCY_CODES = {"usd", "eur", "gbp", "inr", "cad", "aud"};
+
+    // Reports matches of the types in `mask` (bits by PatternType ordinal).
+    public void scan(CharSequence text, int mask, Sink sink) {
+        int n = text.length();
+        int i = 0;
+        while (i < n) {
+            char c = text.charAt(i);
+            int cls = c < 128 ? CLASS[c] : 0;
+            PatternType type = null;
+            int end = -1;
+            if ((cls & (LETTER | DIGIT)) != 0) {
+                if ((end = url(text, i)) > 0) {
+                    type = PatternType.URL;
+                } else if ((end = email(text, i)) > 0) {
+                    type = PatternType.EMAIL;
+                } else if ((cls & DIGIT) != 0) {
+                    if ((end = numericDate(text, i)) > 0 || (end = dayMonthDate(text, i)) > 0) {
+                        type = PatternType.DATE;
+                    } else if ((end = suffixPrice(text, i)) > 0) {
+                        type = PatternType.PRICE;
+                    } else if ((end = phone(text, i)) > 0) {
+                        type = PatternType.PHONE;
+                    }
+                } else if ((end = monthDayDate(text, i)) > 0) {
+                    type = PatternType.DATE;
+                }
+            } else if (c == '+' || c == '(') {
+                if ((end = phone(text, i)) > 0) type = PatternType.PHONE;
+            } else if (isCurrencySymbol(c)) {
+                if ((end = prefixPrice(text, i)) > 0) type = PatternType.PRICE;
+            }
+
+            if (type != null) {
+                if ((mask & (1 << type.ordinal())) != 0) {
+                    sink.match(type, i, end);
+                }
+                i = end;
+            } else if ((cls & LOCAL) != 0) {
+                while (i < n && has(text.charAt(i), LOCAL)) i++;
+            } else {
+                i++;
+            }
+        }
+    }
+
+    // Convenience for callers that want the matched text.
+    public List<Match> findAll(CharSequence text, int mask) {
+        List<Match> matches = new ArrayList<>();
+        scan(text, mask, (type, start, end) -> matches.add(new Match(type, text.subSequence(start, end).toString())));
+        return matches;
+    }
+
+    public static final class Match {
+        private final PatternType type;
+        private final String text;
+
+        public Match(PatternType type, String text) {
+            this.type = type;
+            this.text = text;
+        }
+
+        public PatternType getType() {
+            return type;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+
+    // http://, https:// or www. followed by URL chars; trailing punctuation is
+    // left out since it usually belongs to the sentence
+    private static int url(CharSequence s, int i) {
+        int j;
+        if (startsWithIgnoreCase(s, i, "https://")) {
+            j = i + 8;
+        } else if (startsWithIgnoreCase(s, i, "http://")) {
+            j = i + 7;
+        } else if (startsWithIgnoreCase(s, i, "www.")) {
+            j = i + 4;
+        } else {
+            return -1;
+        }
+        int start = j;
+        while (j < s.length() && has(s.charAt(j), URL_CHAR)) j++;
+        while (j > start && ".,;:!?)]'".indexOf(s.charAt(j - 1)) >= 0) j--;
+        return j > start ? j : -1;
+    }
+
+    // local@label.label...tld with a tld of at least two letters
+    private static int email(CharSequence s, int i) {
+        int n = s.length();
+        int at = i;
+        while (at < n && has(s.charAt(at), LOCAL)) at++;
+        if (at == i || at + 1 >= n || s.charAt(at) != '@' || s.charAt(at - 1) == '.') {
+            return -1;
+        }
+        int end = -1;
+        int k = at + 1;
+        while (true) {
+            int labelStart = k;
+            boolean letters = true;
+            while (k < n && (has(s.charAt(k), LETTER | DIGIT) || s.charAt(k) == '-')) {
+                letters &= has(s.charAt(k), LETTER);
+                k++;
+            }
+            if (k == labelStart) break;
+            if (labelStart > at + 1 && letters && k - labelStart >= 2) end = k;
+            if (k + 1 < n && s.charAt(k) == '.' && has(s.charAt(k + 1), LETTER | DIGIT)) {
+                k++;
+            } else {
+                break;
+            }
+        }
+        return end;
+    }
+
+    // 2024-01-15, 10/4/2025, 4.10.25: three numbers with the same separator
+    private static int numericDate(CharSequence s, int i) {
+        int aEnd = digits(s, i, 4);
+        if (aEnd < 0 || aEnd >= s.length()) return -1;
+        char sep = s.charAt(aEnd);
+        if (sep != '/' && sep != '-' && sep != '.') return -1;
+        int bEnd = digits(s, aEnd + 1, 2);
+        if (bEnd < 0 || bEnd >= s.length() || s.charAt(bEnd) != sep) return -1;
+        int cEnd = digits(s, bEnd + 1, 4);
+        if (cEnd < 0 || (cEnd < s.length() && has(s.charAt(cEnd), DIGIT))) return -1;
+
+        int aLen = aEnd - i;
+        int cLen = cEnd - bEnd - 1;
+        int a = parse(s, i, aEnd);
+        int b = parse(s, aEnd + 1, bEnd);
+        int c = parse(s, bEnd + 1, cEnd);
+        if (aLen == 4) {
+            return cLen <= 2 && month(b) && day(c) ? cEnd : -1;
+        }
+        if (aLen <= 2 && (cLen == 2 || cLen == 4)) {
+            return (month(a) && day(b)) || (day(a) && month(b)) ? cEnd : -1;
+        }
+        return -1;
+    }
+
+    // 5 Jan 2024, 5th March 2024
+    private static int dayMonthDate(CharSequence s, int i) {
+        int dEnd = digits(s, i, 2);
+        if (dEnd < 0 || !day(parse(s, i, dEnd))) return -1;
+        int j = ordinalSuffix(s, dEnd);
+        if (j >= s.length() || s.charAt(j) != ' ') return -1;
+        int mEnd = monthName(s, j + 1);
+        if (mEnd < 0) return -1;
+        return year(s, mEnd);
+    }
+
+    // Jan 5, 2024 / January 5th 2024 / Jan 2024
+    private static int monthDayDate(CharSequence s, int i) {
+        int mEnd = monthName(s, i);
+        if (mEnd < 0 || mEnd >= s.length() || s.charAt(mEnd) != ' ') return -1;
+        int yearOnly = year(s, mEnd);
+        if (yearOnly > 0) return yearOnly;
+        int dEnd = digits(s, mEnd + 1, 2);
+        if (dEnd < 0 || !day(parse(s, mEnd + 1, dEnd))) return -1;
+        int j = ordinalSuffix(s, dEnd);
+        if (j < s.length() && s.charAt(j) == ',') j++;
+        return year(s, j);
+    }
+
+    // $49, € 1,299.00
+    private static int prefixPrice(CharSequence s, int i) {
+        int j = i + 1;
+        if (j < s.length() && s.charAt(j) == ' ') j++;
+        return amount(s, j);
+    }
+
+    // 49.99 USD, 49,99 €
+    private static int suffixPrice(CharSequence s, int i) {
+        int j = amount(s, i);
+        if (j < 0) return -1;
+        if (j < s.length() && s.charAt(j) == ' ') j++;
+        if (j < s.length() && isCurrencySymbol(s.charAt(j))) return j + 1;
+        for (String code : CURRENCY_CODES) {
+            if (startsWithIgnoreCase(s, j, code)
+                    && (j + 3 == s.length() || !has(s.charAt(j + 3), LETTER | DIGIT))) {
+                return j + 3;
+            }
+        }
+        return -1;
+    }
+
+    // +1 (555) 123-4567, 555.123.4567: 7 to 15 digits in at most 5 groups split
+    // by single separators; groups have 2+ digits except a country code after '+'
+    private static int phone(CharSequence s, int i) {
+        int n = s.length();
+        int j = i;
+        boolean plus = s.charAt(j) == '+';
+        if (plus) j++;
+        int digits = 0;
+        int groups = 0;
+        int lastDigit = -1;
+        while (j < n) {
+            int groupStart = j;
+            if (s.charAt(j) == '(') j++;
+            int dStart = j;
+            while (j < n && has(s.charAt(j), DIGIT)) j++;
+            int len = j - dStart;
+            if (len == 0 || (len == 1 && !(plus && groups == 0))) {
+                j = groupStart;
+                break;
+            }
+            digits += len;
+            groups++;
+            lastDigit = j;
+            if (j < n && s.charAt(j) == ')') j++;
+            if (j + 1 < n && has(s.charAt(j), PHONE_SEP) && s.charAt(j) != '(' && s.charAt(j) != ')') {
+                j++;
+            } else if (j < n && s.charAt(j) == '(') {
+                // "+1(555)": the group opens immediately
+            } else {
+                break;
+            }
+        }
+        if (digits < 7 || digits > 15 || groups > 5) return -1;
+        if (lastDigit < n && has(s.charAt(lastDigit), LETTER | DIGIT)) return -1;
+        return lastDigit;
+    }
+
+    // 1,299.00 / 49.99 / 49,99 / 120
+    private static int amount(CharSequence s, int i) {
+        int j = digits(s, i, 9);
+        if (j < 0) return -1;
+        while (j + 3 < s.length() && s.charAt(j) == ','
+                && digitsExactly(s, j + 1, 3) && (j + 4 == s.length() || !has(s.charAt(j + 4), DIGIT))) {
+            j += 4;
+        }
+        if (j + 1 < s.length() && (s.charAt(j) == '.' || s.charAt(j) == ',')) {
+            int f = digits(s, j + 1, 2);
+            if (f > 0 && (f == s.length() || !has(s.charAt(f), DIGIT))) j = f;
+        }
+        return j < s.length() && has(s.charAt(j), LETTER | DIGIT) ? -1 : j;
+    }
+
+    private static int year(CharSequence s, int i) {
+        if (i >= s.length() || s.charAt(i) != ' ') return -1;
+        int end = digits(s, i + 1, 4);
+        if (end - i - 1 != 4 || (end < s.length() && has(s.charAt(end), DIGIT))) return -1;
+        return end;
+    }
+
+    // full month name or its first three letters (plus "sept"), optionally with '.'
+    private static int monthName(CharSequence s, int i) {
+        int j = i;
+        while (j < s.length() && has(s.charAt(j), LETTER)) j++;
+        int len = j - i;
+        if (len < 3) return -1;
+        for (String month : MONTHS) {
+            if ((len == month.length() || len == 3 || (len == 4 && month.equals("september")))
+                    && len <= month.length() && startsWithIgnoreCase(s, i, month.substring(0, len))) {
+                return len < month.length() && j < s.length() && s.charAt(j) == '.' ? j + 1 : j;
+            }
+        }
+        return -1;
+    }
+
+    private static int ordinalSuffix(CharSequence s, int i) {
+        for (String suffix : new String[]{"st", "nd", "rd", "th"}) {
+            if (startsWithIgnoreCase(s, i, suffix)) return i + 2;
+        }
+        return i;
+    }
+
+    // end of a run of 1..max digits at i, -1 if none or longer
+    private static int digits(CharSequence s, int i, int max) {
+        int j = i;
+        while (j < s.length() && j - i <= max && has(s.charAt(j), DIGIT)) j++;
+        return j == i || j - i > max ? -1 : j;
+    }
+
+    private static boolean digitsExactly(CharSequence s, int i, int count) {
+        if (i + count > s.length()) return false;
+        for (int j = i; j < i + count; j++) {
+            if (!has(s.charAt(j), DIGIT)) return false;
+        }
+        return true;
+    }
+
+    private static int parse(CharSequence s, int start, int end) {
+        int value = 0;
+        for (int j = start; j < end; j++) value = value * 10 + (s.charAt(j) - '0');
+        return value;
+    }
+
+    private static boolean month(int value) {
+        return value >= 1 && value <= 12;
+    }
+
+    private static boolean day(int value) {
+        return value >= 1 && value <= 31;
+    }
+
+    private static boolean isCurrencySymbol(char c) {
+        return c == '$' || c == '€' || c == '£' || c == '¥' || c == '₹';
+    }
+
+    private static boolean has(char c, int cls) {
+        return c < 128 && (CLASS[c] & cls) != 0;
+    }
+
+    private static boolean startsWithIgnoreCase(CharSequence s, int i, String prefix) {
+        if (i + prefix.length() > s.length()) return false;
+        for (int k = 0; k < prefix.length(); k++) {
+            if (Character.toLowerCase(s.charAt(i + k)) != prefix.charAt(k)) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.ujk.finalproject.engine.patterns;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+public enum PatternType {
+    EMAIL, URL, PHONE, PRICE, DATE;
+
+    public static final int ALL = (1 << values().length) - 1;
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    // "email", "email,url" or "all"
+    public static Set<PatternType> parse(String types) {
+        Set<PatternType> result = EnumSet.noneOf(PatternType.class);
+        for (String type : types.split(",")) {
+            String t = type.trim().toUpperCase(Locale.ROOT);
+            if (t.isEmpty()) continue;
+            if (t.equals("ALL")) return EnumSet.allOf(PatternType.class);
+            result.add(valueOf(t));
+        }
+        return result;
+    }
+
+    public static int mask(Set<PatternType> types) {
+        int mask = 0;
+        for (PatternType type : types) mask |= 1 << type.ordinal();
+        return mask;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.ujk.finalproject.engine.search;
+
+import com.example.ujk.finalproject.engine.search.analysis.LowercaseFilter;
+import com.example.ujk.finalproject.engine.search.analysis.PorterStemFilter;
+import com.example.ujk.finalproject.engine.search.analysis.StopFilter;
+import com.example.ujk.finalproject.engine.search.analysis.SynonymFilter;
+import com.example.ujk.finalproject.engine.search.analysis.TokenFilter;
+import com.example.ujk.finalproject.engine.search.analysis.TokenStream;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Turns field values and query strings into index terms. The same instance is
+// used by IndexSegment.build and QueryParser so both sides agree on terms.
+// Text is tokenized by TokenStream and each token goes through the filters in
+// order; the standard chain is lowercase -> stop words -> synonyms -> Porter
+// stemmer. Synonyms run before the stemmer so that rules are written as plain
+// words. Segments are built from a reusable TokenStream; analyze() is for
+// the odd query or field.
+public final class Analyzer {
+
+    public static final Set<String> DEFAULT_STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "how", "in", "into",
+            "is", "of", "on", "or", "the", "to", "with", "your");
+
+    private final List<TokenFilter> filters;
+    private final String id;
+
+    // the standard chain with the default stop words and no synonyms
+    public Analyzer() {
+        this(standard(DEFAULT_STOP_WORDS, Map.of(), true));
+    }
+
+    public Analyzer(List<TokenFilter> filters) {
+        this.filters = List.copyOf(filters);
+        this.id = Integer.toHexString(this.filters.toString().hashCode());
+    }
+
+    public static List<TokenFilter> standard(Collection<String> stopWords, Map<String, String> synonyms, boolean stemming) {
+        List<TokenFilter> filters = new ArrayList<>();
+        filters.add(new LowercaseFilter());
+        if (!stopWords.isEmpty()) filters.add(new StopFilter(stopWords));
+        if (!synonyms.isEmpty()) filters.add(new SynonymFilter(synonyms));
+        if (stemming) filters.add(new PorterStemFilter());
+        return filters;
+    }
+
+    // Identifies the chain's configuration. An index stored by one analyzer is
+    // rebuilt when opened with another (IndexWriter).
+    public String id() {
+        return id;
+    }
+
+    // a stream for one thread to reuse across many texts, caching filter results
+    public TokenStream tokenStream() {
+        return new TokenStream(filters, true);
+    }
+
+    public List<String> analyze(String text) {
+        List<String> tokens = new ArrayList<>();
+        TokenStream stream = new TokenStream(filters, false).reset(text);
+        while (stream.next()) {
+            tokens.add(stream.term().toString());
+        }
+        return tokens;
+    }
+}
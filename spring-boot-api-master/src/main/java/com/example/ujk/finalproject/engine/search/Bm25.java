@@ -0,0 +1,38 @@
+package com.example.ujk.finalproject.engine.search;
+
+// BM25F: each field's term frequency is length-normalised and weighted, the
+// weighted frequencies are summed, and the sum goes through a single BM25
+// saturation. This keeps a term repeated across title and category from being
+// counted as two independent matches.
+public final class Bm25 {
+
+    private final float k1;
+    private final float b;
+    private final float[] fieldWeights;
+
+    public Bm25(float k1, float b, float[] fieldWeights) {
+        if (fieldWeights.length != CourseField.COUNT) {
+            throw new IllegalArgumentException("Expected " + CourseField.COUNT + " field weights");
+        }
+        this.k1 = k1;
+        this.b = b;
+        this.fieldWeights = fieldWeights.clone();
+    }
+
+    public float idf(int docFreq, int docCount) {
+        return (float) Math.log(1 + (docCount - docFreq + 0.5) / (docFreq + 0.5));
+    }
+
+    // weighted, length-normalised frequency contribution of one field
+    public float fieldFreq(int field, int freq, int fieldLength, float avgFieldLength) {
+        if (freq == 0) {
+            return 0f;
+        }
+        float norm = avgFieldLength <= 0 ? 1f : 1 - b + b * fieldLength / avgFieldLength;
+        return fieldWeights[field] * freq / norm;
+    }
+
+    public float score(float idf, float weightedFreq) {
+        return idf * weightedFreq * (k1 + 1) / (k1 + weightedFreq);
+    }
+}
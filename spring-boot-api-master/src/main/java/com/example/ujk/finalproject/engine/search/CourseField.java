@@ -0,0 +1,25 @@
+package com.example.ujk.finalproject.engine.search;
+
+import com.example.ujk.finalproject.model.Course;
+
+import java.util.function.Function;
+
+// Course fields that are analyzed into the inverted index.
+public enum CourseField {
+    TITLE(Course::getTitle),
+    CATEGORY(Course::getCategory),
+    LEVEL(Course::getLevel),
+    UNIVERSITY(Course::getUniversity);
+
+    public static final int COUNT = values().length;
+
+    private final Function<Course, String> accessor;
+
+    CourseField(Function<Course, String> accessor) {
+        this.accessor = accessor;
+    }
+
+    public String value(Course course) {
+        return accessor.apply(course);
+    }
+}
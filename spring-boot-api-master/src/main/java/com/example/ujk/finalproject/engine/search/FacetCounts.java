@@ -0,0 +1,44 @@
+package com.example.ujk.finalproject.engine.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Hits per facet value for one search. Each field is counted without its own
+// filter, the usual multi-select behaviour: with university=Coursera selected,
+// the other universities still show how many hits selecting them would add.
+public final class FacetCounts {
+
+    private static final Comparator<FacetValue> MOST_FIRST = Comparator
+            .comparingLong(FacetValue::getCount).reversed()
+            .thenComparing(FacetValue::getValue);
+
+    private final Map<FacetField, Map<String, Long>> counts = new EnumMap<>(FacetField.class);
+
+    FacetCounts() {
+        for (FacetField field : FacetField.values()) counts.put(field, new HashMap<>());
+    }
+
+    void add(FacetField field, String value, long count) {
+        counts.get(field).merge(value, count, Long::sum);
+    }
+
+    // the `limit` most frequent values of `field`, ties by value
+    public List<FacetValue> top(FacetField field, int limit) {
+        List<FacetValue> values = new ArrayList<>();
+        counts.get(field).forEach((value, count) -> values.add(new FacetValue(value, count)));
+        values.sort(MOST_FIRST);
+        return values.size() > limit ? new ArrayList<>(values.subList(0, limit)) : values;
+    }
+
+    // top(field, limit) for every field, keyed by FacetField.key()
+    public Map<String, List<FacetValue>> top(int limit) {
+        Map<String, List<FacetValue>> out = new LinkedHashMap<>();
+        for (FacetField field : FacetField.values()) out.put(field.key(), top(field, limit));
+        return out;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.ujk.finalproject.engine.search;
+
+import com.example.ujk.finalproject.model.Course;
+
+import java.util.Locale;
+import java.util.function.Function;
+
+// Course fields with a small set of exact values, kept per segment as
+// dictionary-encoded columns (SegmentFacets) for filtering and counting.
+// Unlike CourseField they are not analyzed: "Data Science" is one value.
+public enum FacetField {
+    UNIVERSITY(Course::getUniversity),
+    CATEGORY(Course::getCategory),
+    LEVEL(Course::getLevel),
+    TYPE(Course::getType);
+
+    public static final int COUNT = values().length;
+
+    private final Function<Course, String> accessor;
+
+    FacetField(Function<Course, String> accessor) {
+        this.accessor = accessor;
+    }
+
+    // trimmed; null when the course has no value
+    public String value(Course course) {
+        String value = accessor.apply(course);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    // the name used in requests and responses, e.g. "university"
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static FacetField parse(String key) {
+        try {
+            return valueOf(key.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown facet: " + key);
+        }
+    }
+}
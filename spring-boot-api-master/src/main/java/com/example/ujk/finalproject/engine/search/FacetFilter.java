@@ -0,0 +1,65 @@
+package com.example.ujk.finalproject.engine.search;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+// Selected facet values: a doc passes when, for every filtered field, its
+// value is one of the selected ones (OR within a field, AND across fields).
+// Values match ignoring case. Immutable.
+public final class FacetFilter {
+
+    public static final FacetFilter NONE = new FacetFilter(new EnumMap<>(FacetField.class));
+
+    private final Map<FacetField, Set<String>> selected;
+
+    private FacetFilter(Map<FacetField, Set<String>> selected) {
+        this.selected = selected;
+    }
+
+    // keys are FacetField keys; fields with no values are ignored
+    public static FacetFilter of(Map<String, ? extends Collection<String>> filters) {
+        if (filters == null || filters.isEmpty()) {
+            return NONE;
+        }
+        Map<FacetField, Set<String>> selected = new EnumMap<>(FacetField.class);
+        filters.forEach((key, values) -> {
+            FacetField field = FacetField.parse(key);
+            if (values == null) return;
+            for (String value : values) {
+                if (value != null && !value.isBlank()) {
+                    selected.computeIfAbsent(field, f -> new TreeSet<>(String.CASE_INSENSITIVE_ORDER)).add(value.trim());
+                }
+            }
+        });
+        return selected.isEmpty() ? NONE : new FacetFilter(selected);
+    }
+
+    public boolean isEmpty() {
+        return selected.isEmpty();
+    }
+
+    public Set<FacetField> fields() {
+        return Collections.unmodifiableSet(selected.keySet());
+    }
+
+    public Set<String> values(FacetField field) {
+        return selected.getOrDefault(field, Collections.emptySet());
+    }
+
+    // canonical form, for cache keys
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        selected.forEach((field, values) -> {
+            out.append(field.key()).append('=');
+            for (String value : values) out.append(value.toLowerCase(Locale.ROOT)).append('\u0001');
+            out.append(';');
+        });
+        return out.toString();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.ujk.finalproject.engine.search;
+
+// One facet value and how many hits have it, e.g. Coursera (1,204)
+public final class FacetValue {
+    private final String value;
+    private final long count;
+
+    public FacetValue(String value, long count) {
+        this.value = value;
+        this.count = count;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.ujk.finalproject.engine.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+// An immutable list of strings stored as front-coded UTF-8: each entry keeps
+// only the bytes that differ from the previous one, as (shared prefix length,
+// suffix length, suffix). Every 16th entry starts a block and is stored in
+// full, so a lookup decodes at most 16 entries. Urls that share a scheme and
+// host ("https://www.coursera.org/learn/...") shrink to their last path part,
+// and there is no object per string. Nulls are allowed.
+final class FrontCodedStrings {
+
+    private static final int BLOCK_SIZE = 16;
+
+    private final byte[] data;
+    private final int[] blockOffsets;
+    private final int size;
+    private final int maxLength;   // longest entry in bytes, the decode buffer size
+    private final String[] heads;  // first entry of every block, for indexOf; null if unsorted
+
+    private FrontCodedStrings(byte[] data, int[] blockOffsets, int size, int maxLength, String[] heads) {
+        this.data = data;
+        this.blockOffsets = blockOffsets;
+        this.size = size;
+        this.maxLength = maxLength;
+        this.heads = heads;
+    }
+
+    // values.apply(0..size-1), in that order
+    static FrontCodedStrings of(int size, IntFunction<String> values) {
+        return of(size, values, false);
+    }
+
+    // As above, for values in String order (nulls first) that will be looked up
+    // with indexOf. The block heads are also kept as Strings, one per 16
+    // entries, so the binary search does not decode anything.
+    static FrontCodedStrings sorted(int size, IntFunction<String> values) {
+        return of(size, values, true);
+    }
+
+    private static FrontCodedStrings of(int size, IntFunction<String> values, boolean sorted) {
+        int[] blockOffsets = new int[(size + BLOCK_SIZE - 1) / BLOCK_SIZE];
+        String[] heads = sorted ? new String[blockOffsets.length] : null;
+        byte[] out = new byte[Math.max(16, size * 8)];
+        int pos = 0;
+        int maxLength = 0;
+        byte[] previous = new byte[0];
+        for (int i = 0; i < size; i++) {
+            String value = values.apply(i);
+            byte[] utf8 = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+            int prefix = 0;
+            if (i % BLOCK_SIZE == 0) {
+                blockOffsets[i / BLOCK_SIZE] = pos;
+                if (sorted) heads[i / BLOCK_SIZE] = value;
+            } else if (utf8 != null) {
+                int max = Math.min(previous.length, utf8.length);
+                while (prefix < max && previous[prefix] == utf8[prefix]) prefix++;
+            }
+            int suffix = utf8 == null ? 0 : utf8.length - prefix;
+            if (pos + 10 + suffix > out.length) out = Arrays.copyOf(out, Math.max(out.length * 2, pos + 10 + suffix));
+            pos = writeVInt(out, pos, prefix);
+            // 0 is null, otherwise the suffix length + 1
+            pos = writeVInt(out, pos, utf8 == null ? 0 : suffix + 1);
+            if (utf8 != null) {
+                System.arraycopy(utf8, prefix, out, pos, suffix);
+                pos += suffix;
+                maxLength = Math.max(maxLength, utf8.length);
+            }
+            previous = utf8 == null ? new byte[0] : utf8;
+        }
+        return new FrontCodedStrings(Arrays.copyOf(out, pos), blockOffsets, size, maxLength, heads);
+    }
+
+    int size() {
+        return size;
+    }
+
+    String get(int index) {
+        BlockReader reader = new BlockReader(index / BLOCK_SIZE);
+        for (int i = index - index % BLOCK_SIZE; i <= index; i++) reader.next();
+        return reader.length < 0 ? null : new String(reader.value, 0, reader.length, StandardCharsets.UTF_8);
+    }
+
+    // Index of `value` in a list built with sorted(), -1 if absent: a binary
+    // search over the block heads, then a byte comparison per entry of one block.
+    int indexOf(String value) {
+        if (size == 0) {
+            return -1;
+        }
+        if (value == null) {
+            return heads[0] == null ? 0 : -1;
+        }
+        int lo = 0;
+        int hi = blockOffsets.length - 1;
+        while (lo < hi) {
+            // last block whose head is <= value
+            int mid = (lo + hi + 1) >>> 1;
+            String head = heads[mid];
+            if (head == null || head.compareTo(value) <= 0) lo = mid; else hi = mid - 1;
+        }
+        byte[] target = value.getBytes(StandardCharsets.UTF_8);
+        BlockReader reader = new BlockReader(lo);
+        for (int i = lo * BLOCK_SIZE, end = Math.min(size, i + BLOCK_SIZE); i < end; i++) {
+            reader.next();
+            if (reader.length == target.length && Arrays.equals(reader.value, 0, reader.length, target, 0, target.length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // decodes the entries of one block in order, each into the same buffer
+    private final class BlockReader {
+        final byte[] value = new byte[maxLength];
+        int length;   // of the last entry read, -1 for null
+        private int pos;
+
+        BlockReader(int block) {
+            this.pos = blockOffsets[block];
+        }
+
+        void next() {
+            int prefix = readVInt();
+            int suffix = readVInt();
+            if (suffix == 0) {
+                length = -1;
+                return;
+            }
+            System.arraycopy(data, pos, value, prefix, suffix - 1);
+            pos += suffix - 1;
+            length = prefix + suffix - 1;
+        }
+
+        private int readVInt() {
+            int result = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = data[pos++];
+                result |= (b & 0x7F) << shift;
+                if (b >= 0) return result;
+            }
+        }
+    }
+
+    private static int writeVInt(byte[] out, int pos, int value) {
+        while ((value & ~0x7F) != 0) {
+            out[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[pos++] = (byte) value;
+        return pos;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.ujk.finalproject.engine.search;
+
+import com.example.ujk.finalproject.engine.search.analysis.TermInterner;
+import com.example.ujk.finalproject.engine.search.analysis.TokenStream;
+import com.example.ujk.finalproject.engine.search.postings.Positions;
+import com.example.ujk.finalproject.engine.search.postings.Postings;
+import com.example.ujk.finalproject.model.Course;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// In-memory segment built straight from a list of courses. Documents are
+// numbered by their position in the list. For every term it keeps compressed
+// Postings (sorted doc ids plus packed per-field frequencies, and the term's
+// positions in each field, for phrase and proximity scoring); field lengths are
+// kept per document, saturated to a byte, for BM25 length normalisation. The
+// courses themselves are kept column by column in StoredCourses.
+final class HeapSegment extends IndexSegment {
+
+    private final StoredCourses stored;
+    private final Map<String, Postings> postings;
+    private final byte[][] fieldLengths;   // [field][doc], 0..255
+    private final long[] fieldLengthTotals;
+    private volatile List<String> sortedTerms;
+
+    private HeapSegment(StoredCourses stored, Map<String, Postings> postings, byte[][] fieldLengths) {
+        this.stored = stored;
+        this.postings = postings;
+        this.fieldLengths = fieldLengths;
+        this.fieldLengthTotals = new long[CourseField.COUNT];
+        for (int f = 0; f < CourseField.COUNT; f++) {
+            for (byte len : fieldLengths[f]) fieldLengthTotals[f] += len & 0xFF;
+        }
+    }
+
+    static HeapSegment of(List<Course> courses, Analyzer analyzer) {
+        // terms are interned to ids straight from the token buffer, so no
+        // String is made per token, only one per distinct term at the end
+        TokenStream tokens = analyzer.tokenStream();
+        TermInterner terms = new TermInterner();
+        List<PostingsBuilder> builders = new ArrayList<>();
+        byte[][] fieldLengths = new byte[CourseField.COUNT][courses.size()];
+
+        for (int doc = 0; doc < courses.size(); doc++) {
+            Course c = courses.get(doc);
+            for (CourseField field : CourseField.values()) {
+                tokens.reset(field.value(c));
+                int length = 0;
+                while (tokens.next()) {
+                    int id = terms.intern(tokens.term().chars(), tokens.term().length());
+                    if (id == builders.size()) builders.add(new PostingsBuilder());
+                    builders.get(id).add(doc, field.ordinal(), length);
+                    length++;
+                }
+                fieldLengths[field.ordinal()][doc] = (byte) Math.min(255, length);
+            }
+        }
+
+        Map<String, Postings> postings = new HashMap<>(builders.size() * 2);
+        for (int id = 0; id < builders.size(); id++) {
+            postings.put(terms.term(id), builders.get(id).build());
+        }
+        return new HeapSegment(StoredCourses.of(courses), postings, fieldLengths);
+    }
+
+    @Override
+    public int maxDoc() {
+        return stored.size();
+    }
+
+    @Override
+    public Course document(int doc) {
+        return stored.course(doc);
+    }
+
+    @Override
+    public String url(int doc) {
+        return stored.url(doc);
+    }
+
+    @Override
+    public Postings postings(String term) {
+        return postings.get(term);
+    }
+
+    @Override
+    public boolean hasPositions() {
+        return true;
+    }
+
+    @Override
+    public int termCount() {
+        return postings.size();
+    }
+
+    @Override
+    public List<String> terms() {
+        List<String> sorted = sortedTerms;
+        if (sorted == null) {
+            synchronized (this) {
+                sorted = sortedTerms;
+                if (sorted == null) {
+                    List<String> terms = new ArrayList<>(postings.keySet());
+                    terms.sort(null);
+                    sortedTerms = sorted = List.copyOf(terms);
+                }
+            }
+        }
+        return sorted;
+    }
+
+    @Override
+    public String term(int ord) {
+        return terms().get(ord);
+    }
+
+    @Override
+    public int fieldLength(int field, int doc) {
+        return fieldLengths[field][doc] & 0xFF;
+    }
+
+    @Override
+    public long fieldLengthTotal(int field) {
+        return fieldLengthTotals[field];
+    }
+
+    @Override
+    public int findDoc(String url) {
+        return stored.findDoc(url);
+    }
+
+    @Override
+    public int docByUrl(int rank) {
+        return stored.docByUrl(rank);
+    }
+
+    // Collects one term's postings while documents are added in increasing order.
+    private static final class PostingsBuilder {
+        private int[] docs = new int[4];
+        private byte[] freqs = new byte[4];
+        private final Positions.Builder positions = new Positions.Builder();
+        private int size;
+
+        void add(int doc, int field, int position) {
+            if (size == 0 || docs[size - 1] != doc) {
+                if (size == docs.length) {
+                    docs = Arrays.copyOf(docs, size * 2);
+                    freqs = Arrays.copyOf(freqs, size * 2);
+                }
+                docs[size++] = doc;
+            }
+            freqs[size - 1] = Postings.packFreq(freqs[size - 1], field, 1);
+            positions.add(doc, field, position);
+        }
+
+        Postings build() {
+            return Postings.encode(docs, size, Arrays.copyOf(freqs, size), positions.build());
+        }
+    }
+}
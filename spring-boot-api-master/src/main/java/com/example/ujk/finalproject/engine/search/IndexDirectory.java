@@ -0,0 +1,244 @@
+package com.example.ujk.finalproject.engine.search;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// On-disk home of the index:
+//
+//   <name>.seg                 immutable segment files (SegmentWriter)
+//   <name>_<deleteCount>.del   deletion bitset of a segment; deletions only
+//                              grow, so the count identifies the bitset
+//   segments_<version>         commit point: the analyzer id, and the segments
+//                              and deletions of one published snapshot
+//
+// Every file is written under a temp name, fsynced and renamed, and the commit
+// point goes last, so a crash leaves the previous commit intact. Files that no
+// commit point refers to are removed after each commit.
+public final class IndexDirectory {
+
+    private static final String COMMIT_PREFIX = "segments_";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String DELETES_SUFFIX = ".del";
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private final Path dir;
+    private final AtomicLong nextSegment;
+    // written but not yet part of a commit, so cleanup must leave them alone
+    private final Set<String> uncommitted = ConcurrentHashMap.newKeySet();
+    // a lock, not synchronized: commit fsyncs, and a virtual thread blocked in a
+    // monitor would hold on to its carrier thread for the whole write
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private volatile String analyzerId = "";
+
+    private IndexDirectory(Path dir, long nextSegment) {
+        this.dir = dir;
+        this.nextSegment = new AtomicLong(nextSegment);
+    }
+
+    public static IndexDirectory open(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        long next = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TMP_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                } else if (name.endsWith(SEGMENT_SUFFIX)) {
+                    next = Math.max(next, Long.parseLong(name.substring(1, name.length() - 4), 36) + 1);
+                }
+            }
+        }
+        return new IndexDirectory(dir, next);
+    }
+
+    public Path path() {
+        return dir;
+    }
+
+    // The latest commit, with its segments mapped; an empty snapshot for a new directory.
+    public IndexSnapshot readLatest() throws IOException {
+        Path commit = latestCommit();
+        if (commit == null) {
+            return IndexSnapshot.empty();
+        }
+        List<String> lines = Files.readAllLines(commit, StandardCharsets.UTF_8);
+        // "<version> <analyzer id>"; commits from before analyzer ids have no id
+        String[] header = lines.get(0).trim().split(" ");
+        long version = Long.parseLong(header[0]);
+        analyzerId = header.length > 1 ? header[1] : "";
+        List<LiveSegment> segments = new ArrayList<>(lines.size() - 1);
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) continue;
+            String[] parts = line.trim().split(" ");
+            MappedSegment segment = MappedSegment.open(dir.resolve(parts[0] + SEGMENT_SUFFIX));
+            int deleteCount = Integer.parseInt(parts[1]);
+            segments.add(deleteCount == 0
+                    ? LiveSegment.of(segment)
+                    : LiveSegment.of(segment, readDeletes(deletesFile(parts[0], deleteCount), segment.maxDoc())));
+        }
+        removeUnreferenced(commit, referencedBy(lines));
+        return new IndexSnapshot(version, segments);
+    }
+
+    // Analyzer.id() of the analyzer that built the latest commit's segments, as
+    // read by readLatest; "" for a new directory
+    public String analyzerId() {
+        return analyzerId;
+    }
+
+    // Writes the segment to a new file and returns it mapped from there.
+    IndexSegment write(IndexSegment segment) throws IOException {
+        String name = "_" + Long.toString(nextSegment.getAndIncrement(), 36);
+        uncommitted.add(name);
+        Path file = dir.resolve(name + SEGMENT_SUFFIX);
+        try {
+            SegmentWriter.write(segment, file);
+            return MappedSegment.open(file);
+        } catch (IOException | RuntimeException e) {
+            uncommitted.remove(name);
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    // Forgets a segment returned by write() that will not be committed.
+    void abandon(IndexSegment segment) {
+        if (segment instanceof MappedSegment) {
+            String name = ((MappedSegment) segment).name();
+            uncommitted.remove(name);
+            try {
+                Files.deleteIfExists(dir.resolve(name + SEGMENT_SUFFIX));
+            } catch (IOException ignored) {
+                // picked up by the next cleanup
+            }
+        }
+    }
+
+    // Makes `snapshot` the commit a restart will open. All its segments must come
+    // from write() and have been built by the analyzer with this id.
+    void commit(IndexSnapshot snapshot, String analyzerId) throws IOException {
+        commitLock.lock();
+        try {
+            writeCommit(snapshot, analyzerId);
+            this.analyzerId = analyzerId;
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    private void writeCommit(IndexSnapshot snapshot, String analyzerId) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(snapshot.version() + " " + analyzerId);
+        for (LiveSegment live : snapshot.segments()) {
+            if (!(live.segment() instanceof MappedSegment)) {
+                throw new IllegalStateException("segment was not written to " + dir);
+            }
+            String name = ((MappedSegment) live.segment()).name();
+            if (live.hasDeletions()) {
+                Path deletes = deletesFile(name, live.deleteCount());
+                if (!Files.exists(deletes)) writeDeletes(deletes, live.deletedBits());
+            }
+            lines.add(name + " " + live.deleteCount());
+        }
+        Path commit = dir.resolve(COMMIT_PREFIX + snapshot.version());
+        Path tmp = dir.resolve(commit.getFileName() + TMP_SUFFIX);
+        try (FileOutputStream out = new FileOutputStream(tmp.toFile())) {
+            out.write(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+            out.getChannel().force(true);
+        }
+        Files.move(tmp, commit, StandardCopyOption.ATOMIC_MOVE);
+        for (String line : lines.subList(1, lines.size())) {
+            uncommitted.remove(line.substring(0, line.indexOf(' ')));
+        }
+        removeUnreferenced(commit, referencedBy(lines));
+    }
+
+    private Path latestCommit() throws IOException {
+        Path latest = null;
+        long latestVersion = -1;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, COMMIT_PREFIX + "*")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TMP_SUFFIX)) continue;
+                long version = Long.parseLong(name.substring(COMMIT_PREFIX.length()));
+                if (version > latestVersion) {
+                    latestVersion = version;
+                    latest = file;
+                }
+            }
+        }
+        return latest;
+    }
+
+    private Set<String> referencedBy(List<String> commitLines) {
+        Set<String> files = new HashSet<>();
+        for (String line : commitLines.subList(1, commitLines.size())) {
+            if (line.isBlank()) continue;
+            String[] parts = line.trim().split(" ");
+            files.add(parts[0] + SEGMENT_SUFFIX);
+            if (!"0".equals(parts[1])) files.add(deletesFile(parts[0], Integer.parseInt(parts[1])).getFileName().toString());
+        }
+        return files;
+    }
+
+    // Old commit points, dropped segments and superseded deletions. Failures are
+    // ignored: the file is simply retried after the next commit.
+    private void removeUnreferenced(Path commit, Set<String> referenced) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                boolean stale;
+                if (name.startsWith(COMMIT_PREFIX)) {
+                    stale = !name.endsWith(TMP_SUFFIX) && !file.equals(commit);
+                } else if (name.endsWith(SEGMENT_SUFFIX)) {
+                    stale = !referenced.contains(name) && !uncommitted.contains(name.substring(0, name.length() - 4));
+                } else {
+                    stale = name.endsWith(DELETES_SUFFIX) && !referenced.contains(name);
+                }
+                if (stale) {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException ignored) {
+                        // still mapped on some platforms; retried after the next commit
+                    }
+                }
+            }
+        }
+    }
+
+    private Path deletesFile(String segment, int deleteCount) {
+        return dir.resolve(segment + "_" + deleteCount + DELETES_SUFFIX);
+    }
+
+    private static void writeDeletes(Path file, long[] bits) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + TMP_SUFFIX);
+        try (FileOutputStream fos = new FileOutputStream(tmp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+            for (long word : bits) out.writeLong(word);
+            out.flush();
+            fos.getChannel().force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static long[] readDeletes(Path file, int maxDoc) throws IOException {
+        long[] bits = new long[(maxDoc + 63) >>> 6];
+        ByteBuffer.wrap(Files.readAllBytes(file)).asLongBuffer().get(bits);
+        return bits;
+    }
+}
@@ -0,0 +1,648 @@
+package com.example.ujk.finalproject.engine.search;
+
+import com.example.ujk.finalproject.engine.search.postings.AllDocsIterator;
+import com.example.ujk.finalproject.engine.search.postings.ConjunctionIterator;
+import com.example.ujk.finalproject.engine.search.postings.DisjunctionIterator;
+import com.example.ujk.finalproject.engine.search.postings.DocIdIterator;
+import com.example.ujk.finalproject.engine.search.postings.FilterIterator;
+import com.example.ujk.finalproject.engine.search.postings.IntArrayIterator;
+import com.example.ujk.finalproject.engine.search.postings.Positions;
+import com.example.ujk.finalproject.engine.search.postings.Postings;
+import com.example.ujk.finalproject.engine.search.postings.PostingsIterator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+// Executes parsed queries against an IndexSnapshot, one segment at a time.
+//
+// Every clause becomes a scorer over a postings iterator (phrases are a
+// conjunction of their terms, verified against the terms' positions). The
+// clauses are combined with a leapfrog conjunction (AND) or a heap-based
+// disjunction (OR), and each matching live doc is scored with BM25F using
+// snapshot-wide statistics. An AND of plain terms is resolved up front with
+// Postings.intersect, so term iterators are only moved for docs that actually
+// match. Only the best `limit` hits are kept, in a min-heap shared by all
+// segments, so the cost of ranking grows with log(limit), not with the match count.
+//
+// Later pages pass the last hit of the previous one as `after`: hits that rank
+// at or above it are counted but not collected, so page n costs the same as
+// page 1. Ranks are (score desc, url asc): urls are unique and, unlike doc
+// ids, do not move when a refresh drops a segment or a merge rewrites some, so
+// hits with equal scores (every hit of a browse) page the same way across
+// them. A url is only read for a doc that ties the score it is compared with.
+// Across a refresh a hit whose score moved can still be seen twice or not at all.
+//
+// Positions are only decoded for docs that already matched the boolean query:
+// a phrase is checked once the conjunction of its terms lands on a doc, and a
+// query with two or more plain terms gets a proximity boost (terms close
+// together in one field score higher) only for a hit that could still enter
+// the heap with the largest possible boost. Single-term queries and queries
+// with proximityWeight 0 never read positions.
+//
+// A plain term that is in no segment is replaced by the terms within a few
+// edits of it (LevenshteinAutomaton over each segment's term dictionary): up
+// to MAX_EXPANSIONS of them, fewest edits and then most docs first, as one
+// clause matching any of them. A doc scores for the best of them, scaled by
+// 1 - edits / length, so a corrected term always scores below an exact one
+// with the same statistics. Terms that are in the index are never expanded,
+// so a correctly spelt query pays nothing for this.
+//
+// A FacetFilter is checked against per-field bitsets (SegmentFacets) before a
+// doc is scored, so filtered-out docs cost a few bit tests. Facet counts are
+// taken in the same pass: a doc that fails no filter counts for every field,
+// one that fails exactly one filter counts only for that field (so each
+// field's counts ignore its own filter), and any other doc is skipped. An
+// empty query with a filter or facet counts matches every live doc, scored 0.
+public final class IndexSearcher {
+
+    private static final Comparator<String> URL_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+    private static final Comparator<ScoredDoc> WORST_FIRST =
+            Comparator.comparingDouble(ScoredDoc::getScore).thenComparing(ScoredDoc::getUrl, URL_ORDER.reversed());
+
+    public static final float DEFAULT_PROXIMITY_WEIGHT = 1f;
+    public static final int DEFAULT_MAX_EDITS = 2;
+    static final int MAX_EXPANSIONS = 50;
+
+    private final Bm25 bm25;
+    private final float proximityWeight;
+    private final int maxEdits;
+    private final SearchTimer timer;
+
+    public IndexSearcher(Bm25 bm25) {
+        this(bm25, DEFAULT_PROXIMITY_WEIGHT, DEFAULT_MAX_EDITS, SearchTimer.NOOP);
+    }
+
+    // proximityWeight: the boost for plain terms found next to each other, in
+    // units of their idf; 0 turns the proximity boost off. maxEdits: the most
+    // edits a missing term is expanded by; 0 turns expansion off
+    public IndexSearcher(Bm25 bm25, float proximityWeight, int maxEdits, SearchTimer timer) {
+        if (proximityWeight < 0) {
+            throw new IllegalArgumentException("proximityWeight must not be negative");
+        }
+        if (maxEdits < 0) {
+            throw new IllegalArgumentException("maxEdits must not be negative");
+        }
+        this.bm25 = bm25;
+        this.proximityWeight = proximityWeight;
+        this.maxEdits = maxEdits;
+        this.timer = timer;
+    }
+
+    public TopDocs search(IndexSnapshot snapshot, Query query, int limit) {
+        return search(snapshot, query, limit, null);
+    }
+
+    // the `limit` best hits ranked below `after`, or from the top when it is null
+    public TopDocs search(IndexSnapshot snapshot, Query query, int limit, ScoredDoc after) {
+        return search(snapshot, query, limit, after, FacetFilter.NONE, false);
+    }
+
+    // as above, restricted to `filter`, with facet counts over all hits when
+    // countFacets is set; limit may then be 0 for counts only
+    public TopDocs search(IndexSnapshot snapshot, Query query, int limit, ScoredDoc after,
+                          FacetFilter filter, boolean countFacets) {
+        boolean browse = query.isEmpty() && (countFacets || !filter.isEmpty());
+        if ((query.isEmpty() && !browse) || limit < 0 || (limit == 0 && !countFacets)) {
+            return empty(snapshot, countFacets);
+        }
+        // [postings, scoring] nanos; the clock is only read when someone listens
+        long[] stages = timer == SearchTimer.NOOP ? null : new long[2];
+        long start = stages == null ? 0 : System.nanoTime();
+
+        // idf per clause term, from the whole snapshot; a plain term missing
+        // everywhere is expanded, and a phrase term or a term with no expansion
+        // drops its clause (OR) or the whole query (AND)
+        List<List<String>> clauses = new ArrayList<>();
+        List<Integer> slops = new ArrayList<>();
+        List<float[]> idfs = new ArrayList<>();
+        List<float[]> weights = new ArrayList<>();   // per expanded term, null for exact clauses
+        for (int c = 0; c < query.getClauses().size(); c++) {
+            List<String> terms = query.getClauses().get(c);
+            float[] idf = new float[terms.size()];
+            boolean missing = false;
+            for (int t = 0; t < terms.size() && !missing; t++) {
+                int df = snapshot.docFreq(terms.get(t));
+                missing = df == 0;
+                idf[t] = bm25.idf(df, snapshot.maxDoc());
+            }
+            if (missing && terms.size() == 1) {
+                Expansion expansion = expand(snapshot, terms.get(0));
+                if (expansion != null) {
+                    clauses.add(expansion.terms);
+                    slops.add(0);
+                    idfs.add(expansion.idf);
+                    weights.add(expansion.weights);
+                    continue;
+                }
+            }
+            if (missing) {
+                if (query.getOperator() == Query.Operator.AND) {
+                    return postingsOnly(stages, start, empty(snapshot, countFacets));
+                }
+                continue;
+            }
+            clauses.add(terms);
+            slops.add(query.getSlop(c));
+            idfs.add(idf);
+            weights.add(null);
+        }
+        if (clauses.isEmpty() && !browse) {
+            return postingsOnly(stages, start, empty(snapshot, countFacets));
+        }
+        if (stages != null) {
+            stages[0] += System.nanoTime() - start;
+        }
+
+        PriorityQueue<ScoredDoc> heap = new PriorityQueue<>(limit + 1, WORST_FIRST);
+        FacetCounts counts = countFacets ? new FacetCounts() : null;
+        int totalHits = 0;
+        for (int i = 0; i < snapshot.segments().size(); i++) {
+            totalHits += searchSegment(snapshot, i, query.getOperator(), clauses, slops, idfs, weights, browse, filter, counts,
+                    heap, limit, after, stages);
+        }
+
+        long sortStart = stages == null ? 0 : System.nanoTime();
+        ScoredDoc[] hits = heap.toArray(new ScoredDoc[0]);
+        Arrays.sort(hits, WORST_FIRST.reversed());
+        if (stages != null) {
+            stages[1] += System.nanoTime() - sortStart;
+            timer.searched(stages[0], stages[1]);
+        }
+        return new TopDocs(snapshot, totalHits, Arrays.asList(hits), counts);
+    }
+
+    private static TopDocs empty(IndexSnapshot snapshot, boolean countFacets) {
+        return new TopDocs(snapshot, 0, Collections.emptyList(), countFacets ? new FacetCounts() : null);
+    }
+
+    // a search that ended before any scoring
+    private TopDocs postingsOnly(long[] stages, long start, TopDocs topDocs) {
+        if (stages != null) {
+            timer.searched(System.nanoTime() - start, 0);
+        }
+        return topDocs;
+    }
+
+    // Collects the segment's hits into `heap`, adds its facet counts to `counts`
+    // (when not null) and returns how many matched.
+    private int searchSegment(IndexSnapshot snapshot, int segmentIndex, Query.Operator operator,
+                              List<List<String>> clauseTerms, List<Integer> slops, List<float[]> idfs,
+                              List<float[]> weights, boolean browse,
+                              FacetFilter filter, FacetCounts counts,
+                              PriorityQueue<ScoredDoc> heap, int limit, ScoredDoc after, long[] stages) {
+        long start = stages == null ? 0 : System.nanoTime();
+        LiveSegment live = snapshot.segments().get(segmentIndex);
+        IndexSegment segment = live.segment();
+        if (browse) {
+            if (stages != null) stages[0] += System.nanoTime() - start;
+            return collect(snapshot, segmentIndex, new AllDocsIterator(segment.maxDoc()), List.of(), null,
+                    filter, counts, heap, limit, after, stages);
+        }
+
+        List<ClauseScorer> clauses = new ArrayList<>(clauseTerms.size());
+        for (int c = 0; c < clauseTerms.size(); c++) {
+            ClauseScorer clause = clauseScorer(snapshot, segment, clauseTerms.get(c), slops.get(c), idfs.get(c),
+                    weights.get(c));
+            if (clause == null) {
+                if (operator == Query.Operator.AND) {
+                    if (stages != null) stages[0] += System.nanoTime() - start;
+                    return 0;
+                }
+                continue;
+            }
+            clauses.add(clause);
+        }
+        if (clauses.isEmpty()) {
+            if (stages != null) stages[0] += System.nanoTime() - start;
+            return 0;
+        }
+
+        List<DocIdIterator> iterators = new ArrayList<>(clauses.size());
+        boolean allTerms = true;
+        for (ClauseScorer clause : clauses) {
+            iterators.add(clause.iterator);
+            allTerms &= clause.postings.length == 1;
+        }
+        DocIdIterator matches;
+        if (iterators.size() == 1) {
+            matches = iterators.get(0);
+        } else if (operator == Query.Operator.OR) {
+            matches = new DisjunctionIterator(iterators);
+        } else if (allTerms) {
+            List<Postings> lists = new ArrayList<>(clauses.size());
+            for (ClauseScorer clause : clauses) lists.add(clause.postings[0]);
+            matches = new IntArrayIterator(Postings.intersect(lists));
+        } else {
+            matches = new ConjunctionIterator(iterators);
+        }
+
+        Proximity proximity = proximityWeight > 0 && segment.hasPositions() ? Proximity.of(clauses, proximityWeight) : null;
+        if (stages != null) {
+            stages[0] += System.nanoTime() - start;
+        }
+        return collect(snapshot, segmentIndex, matches, clauses, proximity, filter, counts, heap, limit, after, stages);
+    }
+
+    // Scores the live docs of `matches` that pass the filter into `heap`,
+    // counting facets on the way; returns how many passed. proximity may be null.
+    private int collect(IndexSnapshot snapshot, int segmentIndex, DocIdIterator matches, List<ClauseScorer> clauses,
+                        Proximity proximity, FacetFilter filter, FacetCounts counts,
+                        PriorityQueue<ScoredDoc> heap, int limit, ScoredDoc after, long[] stages) {
+        long start = stages == null ? 0 : System.nanoTime();
+        LiveSegment live = snapshot.segments().get(segmentIndex);
+        IndexSegment segment = live.segment();
+        SegmentFacets facets = filter.isEmpty() && counts == null ? null : segment.facets();
+        // per FacetField, the docs passing its filter; null for unfiltered fields
+        long[][] allowed = new long[FacetField.COUNT][];
+        for (FacetField field : filter.fields()) {
+            allowed[field.ordinal()] = facets.filter(field, filter.values(field));
+        }
+        int[][] segmentCounts = null;
+        if (counts != null) {
+            segmentCounts = new int[FacetField.COUNT][];
+            for (FacetField field : FacetField.values()) {
+                segmentCounts[field.ordinal()] = new int[facets.valueCount(field)];
+            }
+        }
+
+        int docBase = snapshot.docBase(segmentIndex);
+        int totalHits = 0;
+        for (int doc = matches.nextDoc(); doc != DocIdIterator.NO_MORE_DOCS; doc = matches.nextDoc()) {
+            if (live.isDeleted(doc)) {
+                continue;
+            }
+            if (facets != null) {
+                int failed = failedFilter(allowed, doc);
+                if (segmentCounts != null && failed != FacetField.COUNT) {
+                    for (int f = 0; f < FacetField.COUNT; f++) {
+                        if (failed >= 0 && f != failed) continue;
+                        int ord = facets.ord(f, doc);
+                        if (ord != SegmentFacets.MISSING) segmentCounts[f][ord]++;
+                    }
+                }
+                if (failed != -1) {
+                    continue;
+                }
+            }
+            totalHits++;
+            if (limit == 0) {
+                continue;
+            }
+            float score = 0f;
+            for (ClauseScorer clause : clauses) {
+                DocIdIterator it = clause.iterator;
+                if (it.docID() < doc) {
+                    it.advance(doc);
+                }
+                if (it.docID() == doc) {
+                    score += clause.score(doc);
+                }
+            }
+            if (proximity != null) {
+                // the boost is at most maxBoost, so a hit that cannot make the
+                // heap even with it is dropped without reading positions
+                if (heap.size() == limit && score + proximity.maxBoost < heap.peek().getScore()) {
+                    continue;
+                }
+                score += proximity.boost(doc);
+            }
+            if (after != null && !ranksBelow(score, segment, doc, after)) {
+                continue;
+            }
+            if (heap.size() < limit) {
+                heap.add(new ScoredDoc(docBase + doc, score, segment.url(doc)));
+            } else if (!ranksBelow(score, segment, doc, heap.peek())) {
+                heap.poll();
+                heap.add(new ScoredDoc(docBase + doc, score, segment.url(doc)));
+            }
+        }
+        if (segmentCounts != null) {
+            for (FacetField field : FacetField.values()) {
+                int[] byOrd = segmentCounts[field.ordinal()];
+                for (int ord = 0; ord < byOrd.length; ord++) {
+                    if (byOrd[ord] > 0) counts.add(field, facets.value(field, ord), byOrd[ord]);
+                }
+            }
+        }
+        if (stages != null) {
+            stages[1] += System.nanoTime() - start;
+        }
+        return totalHits;
+    }
+
+    // -1 when `doc` passes every filter, the field it fails when it fails just
+    // one, FacetField.COUNT when it fails more
+    private static int failedFilter(long[][] allowed, int doc) {
+        int failed = -1;
+        for (int f = 0; f < allowed.length; f++) {
+            long[] bits = allowed[f];
+            if (bits != null && (bits[doc >>> 6] & (1L << doc)) == 0) {
+                if (failed >= 0) return FacetField.COUNT;
+                failed = f;
+            }
+        }
+        return failed;
+    }
+
+    // whether `doc` of `segment`, scored `score`, ranks below `hit`; urls are
+    // unique, so otherwise it ranks above
+    private static boolean ranksBelow(float score, IndexSegment segment, int doc, ScoredDoc hit) {
+        return score < hit.getScore()
+                || (score == hit.getScore() && URL_ORDER.compare(segment.url(doc), hit.getUrl()) > 0);
+    }
+
+    // null when one of the terms (any of them, for an expansion) is not in this segment
+    private ClauseScorer clauseScorer(IndexSnapshot snapshot, IndexSegment segment, List<String> terms, int slop,
+                                      float[] idf, float[] weights) {
+        if (weights != null) {
+            return expansionScorer(snapshot, segment, terms, idf, weights);
+        }
+        Postings[] postings = new Postings[terms.size()];
+        PostingsIterator[] termIterators = new PostingsIterator[terms.size()];
+        for (int t = 0; t < terms.size(); t++) {
+            postings[t] = segment.postings(terms.get(t));
+            if (postings[t] == null) {
+                return null;
+            }
+            termIterators[t] = postings[t].iterator();
+        }
+        DocIdIterator iterator = termIterators[0];
+        if (terms.size() > 1) {
+            Positions.Reader[] positions = new Positions.Reader[terms.size()];
+            for (int t = 0; t < terms.size(); t++) {
+                if (postings[t].positions() == null) {
+                    throw new IllegalStateException("segment has no positions for phrase queries");
+                }
+                positions[t] = postings[t].positions().reader();
+            }
+            iterator = new FilterIterator(new ConjunctionIterator(Arrays.asList(termIterators)),
+                    doc -> containsPhrase(termIterators, positions, slop));
+        }
+        return new ClauseScorer(snapshot, segment, terms, postings, termIterators, idf, null, iterator);
+    }
+
+    // the expanded terms this segment has, as a disjunction
+    private ClauseScorer expansionScorer(IndexSnapshot snapshot, IndexSegment segment, List<String> terms,
+                                         float[] idf, float[] weights) {
+        List<String> present = new ArrayList<>(terms.size());
+        List<Postings> postings = new ArrayList<>(terms.size());
+        float[] presentIdf = new float[terms.size()];
+        float[] presentWeights = new float[terms.size()];
+        for (int t = 0; t < terms.size(); t++) {
+            Postings p = segment.postings(terms.get(t));
+            if (p != null) {
+                presentIdf[present.size()] = idf[t];
+                presentWeights[present.size()] = weights[t];
+                present.add(terms.get(t));
+                postings.add(p);
+            }
+        }
+        if (present.isEmpty()) {
+            return null;
+        }
+        PostingsIterator[] termIterators = new PostingsIterator[present.size()];
+        for (int t = 0; t < termIterators.length; t++) termIterators[t] = postings.get(t).iterator();
+        DocIdIterator iterator = termIterators.length == 1
+                ? termIterators[0] : new DisjunctionIterator(Arrays.asList(termIterators));
+        return new ClauseScorer(snapshot, segment, present, postings.toArray(new Postings[0]), termIterators,
+                Arrays.copyOf(presentIdf, present.size()), Arrays.copyOf(presentWeights, present.size()), iterator);
+    }
+
+    // The terms of any segment within maxEdits of `word` (fewer for short
+    // words: none under 3 chars, 1 under 6), best MAX_EXPANSIONS first, with
+    // their idf and score weight; null when there are none.
+    private Expansion expand(IndexSnapshot snapshot, String word) {
+        int edits = Math.min(maxEdits, word.length() < 3 ? 0 : word.length() < 6 ? 1 : 2);
+        if (edits == 0) {
+            return null;
+        }
+        LevenshteinAutomaton automaton = new LevenshteinAutomaton(word, edits, true);
+        Map<String, Integer> distances = new HashMap<>();
+        for (LiveSegment live : snapshot.segments()) {
+            automaton.intersect(live.segment(), distances::put);
+        }
+        if (distances.isEmpty()) {
+            return null;
+        }
+        Map<String, Integer> docFreqs = new HashMap<>();
+        for (String term : distances.keySet()) docFreqs.put(term, snapshot.docFreq(term));
+        List<String> terms = new ArrayList<>(distances.keySet());
+        terms.sort(Comparator.<String>comparingInt(distances::get)
+                .thenComparing(docFreqs::get, Comparator.reverseOrder())
+                .thenComparing(Comparator.naturalOrder()));
+        terms = terms.subList(0, Math.min(MAX_EXPANSIONS, terms.size()));
+        float[] idf = new float[terms.size()];
+        float[] weights = new float[terms.size()];
+        for (int t = 0; t < terms.size(); t++) {
+            String term = terms.get(t);
+            idf[t] = bm25.idf(docFreqs.get(term), snapshot.maxDoc());
+            weights[t] = 1f - (float) distances.get(term) / Math.min(word.length(), term.length());
+        }
+        return new Expansion(List.copyOf(terms), idf, weights);
+    }
+
+    private static final class Expansion {
+        final List<String> terms;
+        final float[] idf;
+        final float[] weights;
+
+        Expansion(List<String> terms, float[] idf, float[] weights) {
+            this.terms = terms;
+            this.idf = idf;
+            this.weights = weights;
+        }
+    }
+
+    // Whether the terms occur in order in one field, spread over at most
+    // `slop` positions more than they need; the iterators are on the doc. For
+    // each occurrence of the first term, each next term is matched to its
+    // first occurrence after the previous one, which gives the narrowest
+    // window starting there.
+    private static boolean containsPhrase(PostingsIterator[] termIterators, Positions.Reader[] positions, int slop) {
+        for (int t = 0; t < positions.length; t++) {
+            positions[t].seek(termIterators[t].index());
+        }
+        int last = positions.length - 1;
+        int[] next = new int[positions.length];
+        for (int f = 0; f < CourseField.COUNT; f++) {
+            Arrays.fill(next, 0);
+            boolean inField = true;
+            for (Positions.Reader reader : positions) inField &= reader.count(f) > 0;
+            if (!inField) {
+                continue;
+            }
+            starts:
+            for (int i = 0; i < positions[0].count(f); i++) {
+                int first = positions[0].position(f, i);
+                int previous = first;
+                for (int t = 1; t <= last; t++) {
+                    Positions.Reader reader = positions[t];
+                    while (next[t] < reader.count(f) && reader.position(f, next[t]) <= previous) next[t]++;
+                    if (next[t] == reader.count(f)) {
+                        // later starts would need later positions still
+                        break starts;
+                    }
+                    previous = reader.position(f, next[t]);
+                }
+                if (previous - first - last <= slop) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // One clause: the iterator over docs that satisfy it, and BM25F over its
+    // terms for the doc the iterator is currently on: the sum over all of them,
+    // or for an expansion (weights set) the best weighted one on the doc.
+    private final class ClauseScorer {
+        final IndexSnapshot snapshot;
+        final IndexSegment segment;
+        final List<String> terms;
+        final Postings[] postings;
+        final PostingsIterator[] termIterators;
+        final float[] idf;
+        final float[] weights;
+        final DocIdIterator iterator;
+
+        ClauseScorer(IndexSnapshot snapshot, IndexSegment segment, List<String> terms, Postings[] postings,
+                     PostingsIterator[] termIterators, float[] idf, float[] weights, DocIdIterator iterator) {
+            this.snapshot = snapshot;
+            this.segment = segment;
+            this.terms = terms;
+            this.postings = postings;
+            this.termIterators = termIterators;
+            this.idf = idf;
+            this.weights = weights;
+            this.iterator = iterator;
+        }
+
+        float score(int doc) {
+            float score = 0f;
+            for (int t = 0; t < postings.length; t++) {
+                if (weights == null) {
+                    score += termScore(t, doc);
+                } else if (termIterators[t].docID() == doc) {
+                    score = Math.max(score, weights[t] * termScore(t, doc));
+                }
+            }
+            return score;
+        }
+
+        private float termScore(int t, int doc) {
+            int index = termIterators[t].index();
+            float weighted = 0f;
+            for (int f = 0; f < CourseField.COUNT; f++) {
+                weighted += bm25.fieldFreq(f, postings[t].freq(index, f),
+                        segment.fieldLength(f, doc), snapshot.avgFieldLength(f));
+            }
+            return bm25.score(idf[t], weighted);
+        }
+    }
+
+    // Proximity boost over the plain-term clauses of a query, once per distinct
+    // term. For a hit, each field holding k >= 2 of those terms is scored by its
+    // narrowest window holding all k of them, spanning w positions:
+    //   weight * (sum of the k terms' idf) * (k - 1) / (w - 1)
+    // which is the full idf sum for adjacent terms and falls off with the gap.
+    // The best field counts. Terms spread over separate fields get nothing.
+    private static final class Proximity {
+        final ClauseScorer[] clauses;
+        final Positions.Reader[] positions;
+        final float weight;
+        final float maxBoost;
+        private final int[] next;
+
+        private Proximity(List<ClauseScorer> clauses, float weight) {
+            this.clauses = clauses.toArray(new ClauseScorer[0]);
+            this.positions = new Positions.Reader[clauses.size()];
+            float idfSum = 0f;
+            for (int c = 0; c < positions.length; c++) {
+                positions[c] = this.clauses[c].postings[0].positions().reader();
+                idfSum += this.clauses[c].idf[0];
+            }
+            this.weight = weight;
+            this.maxBoost = weight * idfSum;
+            this.next = new int[clauses.size()];
+        }
+
+        // null unless there are two distinct plain terms with positions
+        static Proximity of(List<ClauseScorer> clauses, float weight) {
+            List<ClauseScorer> terms = new ArrayList<>();
+            List<String> seen = new ArrayList<>();
+            for (ClauseScorer clause : clauses) {
+                if (clause.weights == null && clause.postings.length == 1 && clause.postings[0].positions() != null
+                        && !seen.contains(clause.terms.get(0))) {
+                    terms.add(clause);
+                    seen.add(clause.terms.get(0));
+                }
+            }
+            return terms.size() < 2 ? null : new Proximity(terms, weight);
+        }
+
+        // the clause iterators have already been moved to `doc` by scoring
+        float boost(int doc) {
+            int matched = 0;
+            for (int c = 0; c < clauses.length; c++) {
+                if (clauses[c].iterator.docID() == doc) {
+                    positions[c].seek(clauses[c].termIterators[0].index());
+                    matched++;
+                }
+            }
+            if (matched < 2) {
+                return 0f;
+            }
+            float best = 0f;
+            for (int f = 0; f < CourseField.COUNT; f++) {
+                int k = 0;
+                float idfSum = 0f;
+                for (int c = 0; c < clauses.length; c++) {
+                    if (clauses[c].iterator.docID() == doc && positions[c].count(f) > 0) {
+                        next[c] = 0;
+                        k++;
+                        idfSum += clauses[c].idf[0];
+                    } else {
+                        next[c] = -1;
+                    }
+                }
+                if (k < 2) {
+                    continue;
+                }
+                int window = narrowestWindow(f);
+                best = Math.max(best, idfSum * (k - 1) / (window - 1));
+            }
+            return weight * best;
+        }
+
+        // Positions spanned by the narrowest window holding one occurrence of
+        // every term with next[c] >= 0: keep one occurrence per term, and
+        // move the smallest forward until one term runs out.
+        private int narrowestWindow(int field) {
+            int best = Integer.MAX_VALUE;
+            while (true) {
+                int min = Integer.MAX_VALUE;
+                int max = -1;
+                int minClause = -1;
+                for (int c = 0; c < clauses.length; c++) {
+                    if (next[c] < 0) continue;
+                    int position = positions[c].position(field, next[c]);
+                    if (position < min) {
+                        min = position;
+                        minClause = c;
+                    }
+                    max = Math.max(max, position);
+                }
+                best = Math.min(best, max - min + 1);
+                if (++next[minClause] == positions[minClause].count(field)) {
+                    return best;
+                }
+            }
+        }
+    }
+}
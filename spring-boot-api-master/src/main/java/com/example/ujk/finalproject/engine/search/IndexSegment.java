@@ -0,0 +1,66 @@
+package com.example.ujk.finalproject.engine.search;
+
+import com.example.ujk.finalproject.engine.search.postings.Postings;
+import com.example.ujk.finalproject.model.Course;
+
+import java.util.List;
+
+// Immutable inverted index over a fixed set of courses, numbered 0..maxDoc-1.
+// Segments are never modified once built; deletions live in LiveSegment.
+// HeapSegment is what ingestion builds, MappedSegment is the same data read in
+// place from a file written by SegmentWriter.
+public abstract class IndexSegment {
+
+    private volatile SegmentFacets facets;
+
+    public static IndexSegment build(List<Course> courses, Analyzer analyzer) {
+        return HeapSegment.of(courses, analyzer);
+    }
+
+    public abstract int maxDoc();
+
+    public abstract Course document(int doc);
+
+    // document(doc).getUrl() without building the Course
+    public abstract String url(int doc);
+
+    // null when the term does not occur
+    public abstract Postings postings(String term);
+
+    // whether postings() carry Positions; false only for segment files written
+    // before positions were indexed, which IndexWriter rebuilds on open
+    public abstract boolean hasPositions();
+
+    public abstract int termCount();
+
+    // every term, in String order
+    public abstract Iterable<String> terms();
+
+    // the ord-th of terms(), 0 <= ord < termCount()
+    public abstract String term(int ord);
+
+    public abstract int fieldLength(int field, int doc);
+
+    // sum of fieldLength over all docs, deleted or not; averaged by IndexSnapshot
+    public abstract long fieldLengthTotal(int field);
+
+    // doc holding the course with this url, -1 if none; deleted docs are not excluded
+    public abstract int findDoc(String url);
+
+    // the doc with the rank-th smallest url (nulls first), deleted or not
+    public abstract int docByUrl(int rank);
+
+    // facet columns, built from the stored documents the first time a search asks
+    final SegmentFacets facets() {
+        SegmentFacets built = facets;
+        if (built == null) {
+            synchronized (this) {
+                built = facets;
+                if (built == null) {
+                    facets = built = SegmentFacets.build(this);
+                }
+            }
+        }
+        return built;
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.ujk.finalproject.engine.search;
+
+import com.example.ujk.finalproject.engine.search.postings.Postings;
+import com.example.ujk.finalproject.model.Course;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// A point-in-time view of the index: an immutable list of segments with their
+// deletions. Doc ids are global; segment i owns [docBase(i), docBase(i) + maxDoc).
+// Readers grab one snapshot and use it for the whole request, so concurrent
+// ingestion can never show them a half-applied update.
+public final class IndexSnapshot {
+
+    private static final IndexSnapshot EMPTY = new IndexSnapshot(0, Collections.emptyList());
+
+    private final long version;
+    private final List<LiveSegment> segments;
+    private final int[] docBases;
+    private final int maxDoc;
+    private final int numDocs;
+    private final float[] avgFieldLengths;
+
+    public IndexSnapshot(long version, List<LiveSegment> segments) {
+        this.version = version;
+        this.segments = List.copyOf(segments);
+        this.docBases = new int[segments.size()];
+        int base = 0;
+        int live = 0;
+        long[] totals = new long[CourseField.COUNT];
+        for (int i = 0; i < segments.size(); i++) {
+            LiveSegment segment = segments.get(i);
+            docBases[i] = base;
+            base += segment.segment().maxDoc();
+            live += segment.liveDocs();
+            for (int f = 0; f < CourseField.COUNT; f++) {
+                totals[f] += segment.segment().fieldLengthTotal(f);
+            }
+        }
+        this.maxDoc = base;
+        this.numDocs = live;
+        this.avgFieldLengths = new float[CourseField.COUNT];
+        for (int f = 0; f < CourseField.COUNT; f++) {
+            avgFieldLengths[f] = base == 0 ? 0f : (float) totals[f] / base;
+        }
+    }
+
+    public static IndexSnapshot empty() {
+        return EMPTY;
+    }
+
+    // single-segment snapshot, mostly for tests and tools
+    public static IndexSnapshot of(IndexSegment segment) {
+        return new IndexSnapshot(1, List.of(LiveSegment.of(segment)));
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public List<LiveSegment> segments() {
+        return segments;
+    }
+
+    public int docBase(int segment) {
+        return docBases[segment];
+    }
+
+    // doc id space, including deleted docs
+    public int maxDoc() {
+        return maxDoc;
+    }
+
+    public int numDocs() {
+        return numDocs;
+    }
+
+    // Collection statistics span all segments, deleted docs included (they only
+    // leave the stats when a merge drops them), so a doc scores the same no
+    // matter which segment it sits in.
+    public float avgFieldLength(int field) {
+        return avgFieldLengths[field];
+    }
+
+    public int docFreq(String term) {
+        int df = 0;
+        for (LiveSegment segment : segments) {
+            Postings postings = segment.segment().postings(term);
+            if (postings != null) df += postings.docFreq();
+        }
+        return df;
+    }
+
+    public Course document(int doc) {
+        int i = segmentIndex(doc);
+        return segments.get(i).segment().document(doc - docBases[i]);
+    }
+
+    public boolean isDeleted(int doc) {
+        int i = segmentIndex(doc);
+        return segments.get(i).isDeleted(doc - docBases[i]);
+    }
+
+    public List<Course> liveDocuments() {
+        List<Course> courses = new ArrayList<>(numDocs);
+        for (LiveSegment segment : segments) {
+            for (int doc = 0; doc < segment.segment().maxDoc(); doc++) {
+                if (!segment.isDeleted(doc)) courses.add(segment.segment().document(doc));
+            }
+        }
+        return courses;
+    }
+
+    private int segmentIndex(int doc) {
+        if (doc < 0 || doc >= maxDoc) {
+            throw new IndexOutOfBoundsException("doc " + doc + " out of range [0, " + maxDoc + ")");
+        }
+        int i = Arrays.binarySearch(docBases, doc);
+        if (i >= 0) {
+            // empty segments share a docBase with the next one
+            while (i + 1 < docBases.length && docBases[i + 1] == doc) i++;
+            return i;
+        }
+        return -i - 2;
+    }
+}
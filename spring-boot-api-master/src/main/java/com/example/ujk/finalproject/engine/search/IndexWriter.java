@@ -0,0 +1,433 @@
+package com.example.ujk.finalproject.engine.search;
+
+import com.example.ujk.finalproject.model.Course;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+// Single-writer ingestion for the course index, keyed by course URL.
+//
+// Adds, updates and deletes are buffered; refresh() turns the buffer into a new
+// segment plus copy-on-write deletions of the replaced docs, and publishes the
+// result as a new IndexSnapshot with one volatile write. Searches only ever read
+// that reference, so they never wait on ingestion and never see part of a batch.
+// Refreshes run on a timer and as soon as maxBufferedDocs changes are pending.
+//
+// With an IndexDirectory every new segment is written to disk and searched
+// through its mapping, and every published snapshot is committed first, so a
+// restart reopens the last refresh instead of rebuilding; if the analyzer has
+// changed since, the segments are rebuilt from their stored courses once, as
+// their terms would no longer match the queries'. Merges chosen by the
+// TieredMergePolicy run on their own thread and only take the publish lock to
+// swap the merged segment in.
+public final class IndexWriter implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(IndexWriter.class);
+
+    private final Analyzer analyzer;
+    private final IndexDirectory directory;   // null: heap only
+    private final TieredMergePolicy mergePolicy;
+    private final int maxBufferedDocs;
+
+    // pending changes; a url is in at most one of the two
+    private final Object bufferLock = new Object();
+    private Map<String, Course> pendingUpserts = new LinkedHashMap<>();
+    private Set<String> pendingDeletes = new HashSet<>();
+
+    // serialises publishing; a refresh holds it throughout, a merge only to swap
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final ReentrantLock mergeLock = new ReentrantLock();
+
+    private volatile IndexSnapshot snapshot;
+    private final List<Consumer<IndexSnapshot>> listeners = new CopyOnWriteArrayList<>();
+
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService merger;
+    private final AtomicBoolean refreshQueued = new AtomicBoolean();
+    private final AtomicBoolean mergeQueued = new AtomicBoolean();
+
+    // refreshIntervalMs <= 0 disables background refreshes and merges; callers
+    // then use refresh() and maybeMerge() themselves
+    public IndexWriter(Analyzer analyzer, IndexDirectory directory, TieredMergePolicy mergePolicy,
+                       int maxBufferedDocs, long refreshIntervalMs) throws IOException {
+        if (maxBufferedDocs < 1) {
+            throw new IllegalArgumentException("maxBufferedDocs must be positive");
+        }
+        this.analyzer = analyzer;
+        this.directory = directory;
+        this.mergePolicy = mergePolicy;
+        this.maxBufferedDocs = maxBufferedDocs;
+        this.snapshot = directory == null ? IndexSnapshot.empty() : directory.readLatest();
+        if (directory != null && snapshot.numDocs() > 0
+                && (!analyzer.id().equals(directory.analyzerId()) || !hasPositions(snapshot))) {
+            reanalyze();
+        }
+        if (refreshIntervalMs > 0) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(daemon("index-refresh"));
+            this.merger = Executors.newSingleThreadExecutor(daemon("index-merge"));
+            scheduler.scheduleWithFixedDelay(this::backgroundRefresh,
+                    refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            this.scheduler = null;
+            this.merger = null;
+        }
+    }
+
+    // the latest published snapshot
+    public IndexSnapshot snapshot() {
+        return snapshot;
+    }
+
+    // Called with every snapshot right after it is published, in version order and
+    // under the publish lock, so listeners must be quick and hand real work off.
+    public void addListener(Consumer<IndexSnapshot> listener) {
+        listeners.add(listener);
+    }
+
+    // Adds the course, or replaces the one with the same URL. Visible after the next refresh.
+    public void addOrUpdate(Course course) {
+        String url = key(course);
+        int pending;
+        synchronized (bufferLock) {
+            pendingDeletes.remove(url);
+            pendingUpserts.put(url, course);
+            pending = pendingUpserts.size() + pendingDeletes.size();
+        }
+        maybeQueueRefresh(pending);
+    }
+
+    public void addOrUpdateAll(Collection<Course> courses) {
+        for (Course course : courses) key(course);
+        int pending;
+        synchronized (bufferLock) {
+            for (Course course : courses) {
+                pendingDeletes.remove(course.getUrl());
+                pendingUpserts.put(course.getUrl(), course);
+            }
+            pending = pendingUpserts.size() + pendingDeletes.size();
+        }
+        maybeQueueRefresh(pending);
+    }
+
+    // Visible after the next refresh. Unknown URLs are ignored.
+    public void delete(String url) {
+        if (url == null) {
+            return;
+        }
+        int pending;
+        synchronized (bufferLock) {
+            pendingUpserts.remove(url);
+            pendingDeletes.add(url);
+            pending = pendingUpserts.size() + pendingDeletes.size();
+        }
+        maybeQueueRefresh(pending);
+    }
+
+    public int pendingChanges() {
+        synchronized (bufferLock) {
+            return pendingUpserts.size() + pendingDeletes.size();
+        }
+    }
+
+    // Applies everything buffered so far and publishes the new snapshot. If
+    // writing or committing fails the batch goes back into the buffer, behind
+    // any newer change to the same URLs.
+    public IndexSnapshot refresh() {
+        publishLock.lock();
+        try {
+            Map<String, Course> upserts;
+            Set<String> deletes;
+            synchronized (bufferLock) {
+                if (pendingUpserts.isEmpty() && pendingDeletes.isEmpty()) {
+                    return snapshot;
+                }
+                upserts = pendingUpserts;
+                deletes = pendingDeletes;
+                pendingUpserts = new LinkedHashMap<>();
+                pendingDeletes = new HashSet<>();
+            }
+
+            IndexSegment added = null;
+            try {
+                if (!upserts.isEmpty()) {
+                    added = persist(IndexSegment.build(new ArrayList<>(upserts.values()), analyzer));
+                }
+                IndexSnapshot current = snapshot;
+                List<LiveSegment> segments = applyDeletes(current.segments(), deletes, upserts.keySet());
+                if (added != null) {
+                    segments.add(LiveSegment.of(added));
+                }
+                publish(new IndexSnapshot(current.version() + 1, segments));
+            } catch (IOException | RuntimeException e) {
+                if (added != null && directory != null) directory.abandon(added);
+                requeue(upserts, deletes);
+                throw e instanceof IOException ? new UncheckedIOException((IOException) e) : (RuntimeException) e;
+            }
+        } finally {
+            publishLock.unlock();
+        }
+        maybeQueueMerge();
+        return snapshot;
+    }
+
+    // Bulk loading: builds a segment (and writes it, with a directory) without
+    // publishing it. Safe to call from many threads at once; `courses` must not
+    // repeat a url.
+    public IndexSegment prepareSegment(List<Course> courses) throws IOException {
+        for (Course course : courses) key(course);
+        return persist(IndexSegment.build(courses, analyzer));
+    }
+
+    // Publishes a prepared segment; docs already in the index with the same urls
+    // are deleted. Buffered changes are not touched, so they still win once refreshed.
+    public IndexSnapshot addSegment(IndexSegment segment) {
+        Set<String> urls = new HashSet<>(segment.maxDoc() * 2);
+        for (int doc = 0; doc < segment.maxDoc(); doc++) {
+            urls.add(segment.url(doc));
+        }
+        publishLock.lock();
+        try {
+            IndexSnapshot current = snapshot;
+            List<LiveSegment> segments = applyDeletes(current.segments(), Collections.emptySet(), urls);
+            segments.add(LiveSegment.of(segment));
+            publish(new IndexSnapshot(current.version() + 1, segments));
+        } catch (IOException e) {
+            discardSegment(segment);
+            throw new UncheckedIOException(e);
+        } finally {
+            publishLock.unlock();
+        }
+        maybeQueueMerge();
+        return snapshot;
+    }
+
+    // Drops a prepared segment that will not be added.
+    public void discardSegment(IndexSegment segment) {
+        if (directory != null) {
+            directory.abandon(segment);
+        }
+    }
+
+    // Runs one merge if the policy asks for one. Returns whether it did.
+    public boolean maybeMerge() {
+        mergeLock.lock();
+        try {
+            List<LiveSegment> merging = mergePolicy.findMerge(snapshot.segments());
+            if (merging.isEmpty()) {
+                return false;
+            }
+            // copy the live docs now, remembering where each came from, so docs
+            // deleted while the merge runs can be deleted in the result too
+            List<Course> courses = new ArrayList<>();
+            List<int[]> sources = new ArrayList<>();
+            for (int s = 0; s < merging.size(); s++) {
+                LiveSegment live = merging.get(s);
+                for (int doc = 0; doc < live.segment().maxDoc(); doc++) {
+                    if (!live.isDeleted(doc)) {
+                        courses.add(live.segment().document(doc));
+                        sources.add(new int[]{s, doc});
+                    }
+                }
+            }
+            IndexSegment merged = persist(IndexSegment.build(courses, analyzer));
+
+            publishLock.lock();
+            try {
+                IndexSnapshot current = snapshot;
+                Map<IndexSegment, LiveSegment> byCore = new IdentityHashMap<>();
+                for (LiveSegment live : current.segments()) byCore.put(live.segment(), live);
+
+                List<Integer> deletedSince = new ArrayList<>();
+                for (int doc = 0; doc < sources.size(); doc++) {
+                    LiveSegment now = byCore.get(merging.get(sources.get(doc)[0]).segment());
+                    // a source dropped from the snapshot had every doc deleted
+                    if (now == null || now.isDeleted(sources.get(doc)[1])) deletedSince.add(doc);
+                }
+                Set<IndexSegment> replaced = Collections.newSetFromMap(new IdentityHashMap<>());
+                for (LiveSegment live : merging) replaced.add(live.segment());
+
+                List<LiveSegment> segments = new ArrayList<>();
+                for (LiveSegment live : current.segments()) {
+                    if (!replaced.contains(live.segment())) segments.add(live);
+                }
+                LiveSegment result = LiveSegment.of(merged);
+                if (!deletedSince.isEmpty()) {
+                    result = result.withDeletions(deletedSince.stream().mapToInt(Integer::intValue).toArray());
+                }
+                if (result.liveDocs() > 0) {
+                    segments.add(result);
+                } else if (directory != null) {
+                    directory.abandon(merged);
+                }
+                publish(new IndexSnapshot(current.version() + 1, segments));
+            } catch (IOException | RuntimeException e) {
+                if (directory != null) directory.abandon(merged);
+                throw e;
+            } finally {
+                publishLock.unlock();
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            mergeLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            merger.shutdownNow();
+        }
+    }
+
+    private static boolean hasPositions(IndexSnapshot snapshot) {
+        for (LiveSegment live : snapshot.segments()) {
+            if (!live.segment().hasPositions()) return false;
+        }
+        return true;
+    }
+
+    // Rebuilds every segment from its live courses with the current analyzer,
+    // for an index built with another analyzer or without positions.
+    private void reanalyze() throws IOException {
+        log.info("Index was built with analyzer '{}' (positions: {}), now '{}': rebuilding {} docs",
+                directory.analyzerId(), hasPositions(snapshot), analyzer.id(), snapshot.numDocs());
+        List<LiveSegment> rebuilt = new ArrayList<>(snapshot.segments().size());
+        for (LiveSegment live : snapshot.segments()) {
+            List<Course> courses = new ArrayList<>(live.liveDocs());
+            for (int doc = 0; doc < live.segment().maxDoc(); doc++) {
+                if (!live.isDeleted(doc)) courses.add(live.segment().document(doc));
+            }
+            rebuilt.add(LiveSegment.of(persist(IndexSegment.build(courses, analyzer))));
+        }
+        publish(new IndexSnapshot(snapshot.version() + 1, rebuilt));
+    }
+
+    private IndexSegment persist(IndexSegment segment) throws IOException {
+        return directory == null ? segment : directory.write(segment);
+    }
+
+    private void publish(IndexSnapshot next) throws IOException {
+        if (directory != null) {
+            directory.commit(next, analyzer.id());
+        }
+        snapshot = next;
+        for (Consumer<IndexSnapshot> listener : listeners) {
+            try {
+                listener.accept(next);
+            } catch (RuntimeException e) {
+                log.warn("Snapshot listener failed for version {}", next.version(), e);
+            }
+        }
+    }
+
+    // Marks the live doc of every deleted or replaced url as deleted and drops
+    // segments with no live docs left. Each url is live in at most one segment.
+    private List<LiveSegment> applyDeletes(List<LiveSegment> segments, Set<String> deletes, Set<String> replaced) {
+        Map<IndexSegment, List<Integer>> deletions = new IdentityHashMap<>();
+        for (Set<String> urls : List.of(deletes, replaced)) {
+            for (String url : urls) {
+                for (LiveSegment live : segments) {
+                    int doc = live.segment().findDoc(url);
+                    if (doc >= 0 && !live.isDeleted(doc)) {
+                        deletions.computeIfAbsent(live.segment(), k -> new ArrayList<>()).add(doc);
+                        break;
+                    }
+                }
+            }
+        }
+
+        List<LiveSegment> result = new ArrayList<>(segments.size() + 1);
+        for (LiveSegment segment : segments) {
+            List<Integer> docs = deletions.get(segment.segment());
+            if (docs != null) {
+                segment = segment.withDeletions(docs.stream().mapToInt(Integer::intValue).toArray());
+            }
+            if (segment.liveDocs() > 0) {
+                result.add(segment);
+            }
+        }
+        return result;
+    }
+
+    private void requeue(Map<String, Course> upserts, Set<String> deletes) {
+        synchronized (bufferLock) {
+            for (String url : deletes) {
+                if (!pendingUpserts.containsKey(url)) pendingDeletes.add(url);
+            }
+            for (Map.Entry<String, Course> e : upserts.entrySet()) {
+                if (!pendingUpserts.containsKey(e.getKey()) && !pendingDeletes.contains(e.getKey())) {
+                    pendingUpserts.put(e.getKey(), e.getValue());
+                }
+            }
+        }
+    }
+
+    private void maybeQueueRefresh(int pending) {
+        if (scheduler != null && pending >= maxBufferedDocs && refreshQueued.compareAndSet(false, true)) {
+            scheduler.execute(this::backgroundRefresh);
+        }
+    }
+
+    private void maybeQueueMerge() {
+        if (merger != null && mergeQueued.compareAndSet(false, true)) {
+            merger.execute(() -> {
+                mergeQueued.set(false);
+                try {
+                    while (maybeMerge()) {
+                        // a merge can fill up the next tier
+                    }
+                } catch (RuntimeException e) {
+                    log.error("Segment merge failed", e);
+                }
+            });
+        }
+    }
+
+    private void backgroundRefresh() {
+        refreshQueued.set(false);
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            // keep the timer alive; the batch was put back and is retried next time
+            log.error("Index refresh failed", e);
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private static String key(Course course) {
+        if (course == null || course.getUrl() == null || course.getUrl().isBlank()) {
+            throw new IllegalArgumentException("course url is required");
+        }
+        return course.getUrl();
+    }
+}
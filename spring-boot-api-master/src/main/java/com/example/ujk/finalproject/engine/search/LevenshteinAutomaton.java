@@ -0,0 +1,123 @@
+package com.example.ujk.finalproject.engine.search;
+
+import java.util.function.ObjIntConsumer;
+
+// Accepts the strings within maxEdits of one word: insertions, deletions,
+// substitutions and, when asked, swaps of two adjacent chars ("pyhton").
+//
+// A state is the last row of the edit distance matrix between the word and
+// the chars read so far (plus the row before it and the last char, for
+// swaps), every entry capped at maxEdits + 1. That is the Levenshtein
+// automaton computed lazily, one row per input char: a state is accepting
+// when the row's last entry is <= maxEdits and dead when every entry is over
+// it, at which point no longer input can be accepted either.
+//
+// intersect() runs it over a segment's sorted term dictionary as if that were
+// a trie, so only prefixes the automaton is still alive on are visited.
+public final class LevenshteinAutomaton {
+
+    private final char[] word;
+    private final int maxEdits;
+    private final boolean transpositions;
+
+    public LevenshteinAutomaton(String word, int maxEdits, boolean transpositions) {
+        if (maxEdits < 0) {
+            throw new IllegalArgumentException("maxEdits must not be negative");
+        }
+        this.word = word.toCharArray();
+        this.maxEdits = maxEdits;
+        this.transpositions = transpositions;
+    }
+
+    public State start() {
+        int[] row = new int[word.length + 1];
+        for (int j = 0; j < row.length; j++) row[j] = Math.min(j, maxEdits + 1);
+        return new State(row, null, (char) 0);
+    }
+
+    // the state after reading `c`, null when it is dead
+    public State step(State state, char c) {
+        int cap = maxEdits + 1;
+        int[] previous = state.row;
+        int[] row = new int[previous.length];
+        row[0] = Math.min(previous[0] + 1, cap);
+        int min = row[0];
+        for (int j = 1; j < row.length; j++) {
+            int edits = Math.min(previous[j - 1] + (word[j - 1] == c ? 0 : 1), Math.min(previous[j], row[j - 1]) + 1);
+            if (transpositions && state.previous != null && j > 1
+                    && c == word[j - 2] && state.last == word[j - 1]) {
+                edits = Math.min(edits, state.previous[j - 2] + 1);
+            }
+            row[j] = Math.min(edits, cap);
+            min = Math.min(min, row[j]);
+        }
+        return min > maxEdits ? null : new State(row, previous, c);
+    }
+
+    // edits between the word and the input that led to `state`; more than
+    // maxEdits when the state does not accept
+    public int distance(State state) {
+        return state.row[word.length];
+    }
+
+    // Calls `matches` with every term of `segment` the automaton accepts and
+    // its distance, in term order. The terms under a prefix are a range of
+    // ords; the range is split by the next char with a galloping search, and a
+    // sub-range is skipped as soon as the automaton dies on its prefix, so the
+    // work is bounded by the live prefixes, not the dictionary size.
+    public void intersect(IndexSegment segment, ObjIntConsumer<String> matches) {
+        if (segment.termCount() > 0) {
+            walk(segment, 0, start(), 0, segment.termCount(), matches);
+        }
+    }
+
+    // every term in [lo, hi) shares its first `depth` chars, on which the
+    // automaton is in `state`
+    private void walk(IndexSegment segment, int depth, State state, int lo, int hi, ObjIntConsumer<String> matches) {
+        String first = segment.term(lo);
+        if (first.length() == depth) {
+            if (distance(state) <= maxEdits) matches.accept(first, distance(state));
+            lo++;
+        }
+        while (lo < hi) {
+            char c = segment.term(lo).charAt(depth);
+            int end = rangeEnd(segment, depth, c, lo, hi);
+            State next = step(state, c);
+            if (next != null) {
+                walk(segment, depth + 1, next, lo, end, matches);
+            }
+            lo = end;
+        }
+    }
+
+    // first ord in (lo, hi) whose char at `depth` is past c, hi if none; terms
+    // in the range are sorted by that char
+    private static int rangeEnd(IndexSegment segment, int depth, char c, int lo, int hi) {
+        int step = 1;
+        int bound = lo + 1;
+        while (bound < hi && segment.term(bound).charAt(depth) <= c) {
+            lo = bound;
+            step <<= 1;
+            bound = lo + step;
+        }
+        hi = Math.min(bound, hi);
+        // now term(lo) is in the c range and term(hi) is not (or hi is the end)
+        while (lo + 1 < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (segment.term(mid).charAt(depth) <= c) lo = mid; else hi = mid;
+        }
+        return hi;
+    }
+
+    public static final class State {
+        private final int[] row;
+        private final int[] previous;   // row before `row`, null at the start
+        private final char last;        // char that led to `row`
+
+        private State(int[] row, int[] previous, char last) {
+            this.row = row;
+            this.previous = previous;
+            this.last = last;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.ujk.finalproject.engine.search;
+
+import java.util.Arrays;
+
+// An IndexSegment as one snapshot sees it. The segment is shared between
+// snapshots; deletions are a bitset that is copied, never modified, once the
+// LiveSegment holding it has been published.
+public final class LiveSegment {
+
+    private final IndexSegment segment;
+    private final long[] deleted;   // null when nothing is deleted
+    private final int deleteCount;
+
+    private LiveSegment(IndexSegment segment, long[] deleted, int deleteCount) {
+        this.segment = segment;
+        this.deleted = deleted;
+        this.deleteCount = deleteCount;
+    }
+
+    public static LiveSegment of(IndexSegment segment) {
+        return new LiveSegment(segment, null, 0);
+    }
+
+    // deletions as read back from disk; `deleted` is owned by the result
+    static LiveSegment of(IndexSegment segment, long[] deleted) {
+        int count = 0;
+        for (long word : deleted) count += Long.bitCount(word);
+        return count == 0 ? of(segment) : new LiveSegment(segment, deleted, count);
+    }
+
+    // null when nothing is deleted; callers must not modify it
+    long[] deletedBits() {
+        return deleted;
+    }
+
+    public IndexSegment segment() {
+        return segment;
+    }
+
+    public boolean isDeleted(int doc) {
+        return deleted != null && (deleted[doc >>> 6] & (1L << doc)) != 0;
+    }
+
+    public boolean hasDeletions() {
+        return deleteCount > 0;
+    }
+
+    public int deleteCount() {
+        return deleteCount;
+    }
+
+    public int liveDocs() {
+        return segment.maxDoc() - deleteCount;
+    }
+
+    // docs deleted here but not in `earlier`, an older LiveSegment of the same segment
+    public int[] deletedSince(LiveSegment earlier) {
+        if (earlier.segment != segment) {
+            throw new IllegalArgumentException("not the same segment");
+        }
+        if (deleted == null || deleteCount == earlier.deleteCount) {
+            return new int[0];
+        }
+        int[] docs = new int[deleteCount - earlier.deleteCount];
+        int n = 0;
+        for (int w = 0; w < deleted.length; w++) {
+            long word = earlier.deleted == null ? deleted[w] : deleted[w] & ~earlier.deleted[w];
+            while (word != 0) {
+                docs[n++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return docs;
+    }
+
+    // copy with `docs` additionally marked as deleted
+    public LiveSegment withDeletions(int[] docs) {
+        long[] bits = deleted == null
+                ? new long[(segment.maxDoc() + 63) >>> 6]
+                : Arrays.copyOf(deleted, deleted.length);
+        int count = deleteCount;
+        for (int doc : docs) {
+            long mask = 1L << doc;
+            if ((bits[doc >>> 6] & mask) == 0) {
+                bits[doc >>> 6] |= mask;
+                count++;
+            }
+        }
+        return new LiveSegment(segment, bits, count);
+    }
+}
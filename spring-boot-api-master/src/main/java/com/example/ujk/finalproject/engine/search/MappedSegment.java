@@ -0,0 +1,227 @@
+package com.example.ujk.finalproject.engine.search;
+
+import com.example.ujk.finalproject.engine.search.postings.Postings;
+import com.example.ujk.finalproject.model.Course;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// A segment file written by SegmentWriter, opened through FileChannel.map.
+//
+// Opening reads only the footer, so it costs the same for 10 docs or 10M.
+// Norms, the term dictionary, stored courses and the url table are read in
+// place from the page cache; a term's postings are copied out of the mapping
+// when the term is looked up, which is a few bytes per posting and only for
+// the terms of the current query. Their positions are not copied: they are
+// read from the mapping, and only for the docs a phrase or proximity check
+// asks about. Courses are decoded one at a time, so only the hits that get
+// returned are ever materialized on the heap.
+//
+// The mapping is released by the GC once no snapshot references the segment;
+// on Linux the file can be deleted while still mapped.
+final class MappedSegment extends IndexSegment {
+
+    private final String name;
+    private final ByteBuffer data;   // read-only; absolute gets only, so it can be shared
+    private final int version;
+    private final int maxDoc;
+    private final int termCount;
+    private final long[] fieldLengthTotals = new long[CourseField.COUNT];
+    private final int normsOffset;
+    private final int termIndexOffset;
+    private final int storedIndexOffset;
+    private final int urlIndexOffset;
+
+    private MappedSegment(String name, ByteBuffer data) throws IOException {
+        this.name = name;
+        this.data = data;
+        int limit = data.limit();
+        if (limit < SegmentWriter.FOOTER_BYTES + 8 || data.getInt(0) != SegmentWriter.MAGIC
+                || data.getInt(limit - 4) != SegmentWriter.MAGIC) {
+            throw new IOException("not a segment file: " + name);
+        }
+        this.version = data.getInt(4);
+        if (version < SegmentWriter.MIN_VERSION || version > SegmentWriter.VERSION
+                || data.getInt(limit - 8) != version) {
+            throw new IOException("unsupported segment version: " + name);
+        }
+        int pos = limit - SegmentWriter.FOOTER_BYTES;
+        this.maxDoc = data.getInt(pos);
+        this.termCount = data.getInt(pos + 4);
+        pos += 8;
+        for (int f = 0; f < CourseField.COUNT; f++, pos += 8) {
+            fieldLengthTotals[f] = data.getLong(pos);
+        }
+        this.normsOffset = data.getInt(pos);
+        this.termIndexOffset = data.getInt(pos + 4);
+        this.storedIndexOffset = data.getInt(pos + 8);
+        // pos + 12 is the stored data offset, implied by the stored index
+        this.urlIndexOffset = data.getInt(pos + 16);
+    }
+
+    static MappedSegment open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("segment larger than 2 GB: " + file);
+            }
+            String name = file.getFileName().toString();
+            return new MappedSegment(name.substring(0, name.lastIndexOf('.')),
+                    channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    // file name without extension
+    String name() {
+        return name;
+    }
+
+    @Override
+    public int maxDoc() {
+        return maxDoc;
+    }
+
+    @Override
+    public Course document(int doc) {
+        int pos = data.getInt(storedIndexOffset + 4 * doc);
+        String[] values = new String[SegmentWriter.STORED_FIELDS];
+        for (int i = 0; i < values.length; i++) {
+            int length = data.getInt(pos);
+            pos += 4;
+            if (length >= 0) {
+                values[i] = string(pos, length);
+                pos += length;
+            }
+        }
+        return new Course(values[0], values[1], values[2], values[3],
+                values[4], values[5], values[6], values[7]);
+    }
+
+    @Override
+    public String url(int doc) {
+        return storedField(doc, 1);
+    }
+
+    @Override
+    public Postings postings(String term) {
+        int t = findTerm(term);
+        if (t < 0) {
+            return null;
+        }
+        ByteBuffer in = data.duplicate();
+        in.position(data.getInt(termIndexOffset + 8 * t + 4));
+        return Postings.readFrom(in);
+    }
+
+    @Override
+    public boolean hasPositions() {
+        return version >= 2;
+    }
+
+    @Override
+    public int termCount() {
+        return termCount;
+    }
+
+    @Override
+    public Iterable<String> terms() {
+        return () -> new Iterator<>() {
+            private int t;
+
+            @Override
+            public boolean hasNext() {
+                return t < termCount;
+            }
+
+            @Override
+            public String next() {
+                if (t >= termCount) throw new NoSuchElementException();
+                return term(t++);
+            }
+        };
+    }
+
+    @Override
+    public int fieldLength(int field, int doc) {
+        return data.get(normsOffset + field * maxDoc + doc) & 0xFF;
+    }
+
+    @Override
+    public long fieldLengthTotal(int field) {
+        return fieldLengthTotals[field];
+    }
+
+    @Override
+    public int findDoc(String url) {
+        if (url == null) {
+            return -1;
+        }
+        int lo = 0;
+        int hi = maxDoc - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int doc = data.getInt(urlIndexOffset + 4 * mid);
+            String candidate = storedField(doc, 1);
+            int cmp = candidate == null ? -1 : candidate.compareTo(url);
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return doc;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int docByUrl(int rank) {
+        return data.getInt(urlIndexOffset + 4 * rank);
+    }
+
+    private int findTerm(String term) {
+        int lo = 0;
+        int hi = termCount - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = term(mid).compareTo(term);
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String term(int t) {
+        int start = data.getInt(termIndexOffset + 8 * t);
+        int end = data.getInt(termIndexOffset + 8 * (t + 1));
+        return string(start, end - start);
+    }
+
+    private String storedField(int doc, int field) {
+        int pos = data.getInt(storedIndexOffset + 4 * doc);
+        for (int i = 0; i < field; i++) {
+            int length = data.getInt(pos);
+            pos += 4 + Math.max(0, length);
+        }
+        int length = data.getInt(pos);
+        return length < 0 ? null : string(pos + 4, length);
+    }
+
+    private String string(int pos, int length) {
+        byte[] bytes = new byte[length];
+        data.get(pos, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.ujk.finalproject.engine.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Opaque cursors handed to clients: the position to resume after, base64url
+// encoded. Malformed cursors are an IllegalArgumentException with a message
+// fit for the client.
+public final class PageCursor {
+
+    private PageCursor() {
+    }
+
+    // the last course of a UrlOrderIterator page
+    public static String afterUrl(String url) {
+        return encode("u:" + url);
+    }
+
+    public static String url(String cursor) {
+        String decoded = decode(cursor);
+        if (!decoded.startsWith("u:")) {
+            throw badCursor();
+        }
+        return decoded.substring(2);
+    }
+
+    // the last hit of a page of ranked results: its score and url, "h:<score>"
+    // alone when the url is null
+    public static String afterHit(ScoredDoc hit) {
+        String score = "h:" + Integer.toHexString(Float.floatToIntBits(hit.getScore()));
+        return encode(hit.getUrl() == null ? score : score + ":" + hit.getUrl());
+    }
+
+    public static ScoredDoc hit(String cursor) {
+        String decoded = decode(cursor);
+        if (!decoded.startsWith("h:")) {
+            throw badCursor();
+        }
+        int colon = decoded.indexOf(':', 2);
+        try {
+            float score = Float.intBitsToFloat(Integer.parseUnsignedInt(
+                    colon < 0 ? decoded.substring(2) : decoded.substring(2, colon), 16));
+            return new ScoredDoc(-1, score, colon < 0 ? null : decoded.substring(colon + 1));
+        } catch (NumberFormatException e) {
+            throw badCursor();
+        }
+    }
+
+    private static String encode(String cursor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw badCursor();
+        }
+    }
+
+    private static IllegalArgumentException badCursor() {
+        return new IllegalArgumentException("cursor must be a nextCursor from an earlier page");
+    }
+}
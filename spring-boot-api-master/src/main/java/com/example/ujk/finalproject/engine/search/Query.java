@@ -0,0 +1,46 @@
+package com.example.ujk.finalproject.engine.search;
+
+import java.util.Collections;
+import java.util.List;
+
+// A parsed query: a list of clauses combined with AND or OR.
+// A clause with one term is a plain term query; more than one term is a phrase,
+// whose slop is how many extra positions its terms may be spread over.
+public final class Query {
+
+    public enum Operator { AND, OR }
+
+    private final List<List<String>> clauses;
+    private final List<Integer> slops;
+    private final Operator operator;
+
+    public Query(List<List<String>> clauses, Operator operator) {
+        this(clauses, Collections.nCopies(clauses.size(), 0), operator);
+    }
+
+    // slops: one per clause
+    public Query(List<List<String>> clauses, List<Integer> slops, Operator operator) {
+        if (slops.size() != clauses.size()) {
+            throw new IllegalArgumentException("Expected " + clauses.size() + " slops");
+        }
+        this.clauses = clauses;
+        this.slops = slops;
+        this.operator = operator;
+    }
+
+    public List<List<String>> getClauses() {
+        return clauses;
+    }
+
+    public int getSlop(int clause) {
+        return slops.get(clause);
+    }
+
+    public Operator getOperator() {
+        return operator;
+    }
+
+    public boolean isEmpty() {
+        return clauses.isEmpty();
+    }
+}
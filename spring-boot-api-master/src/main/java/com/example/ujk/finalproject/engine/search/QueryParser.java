@@ -0,0 +1,73 @@
+package com.example.ujk.finalproject.engine.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Parses user input such as:  java programming   "data science"   python OR java
+// Quoted text becomes a phrase clause; a ~n right after the closing quote
+// ("data science"~2) lets its terms be up to n extra positions apart. A bare
+// word the analyzer splits into several terms ("full-stack") is treated as a
+// phrase too. An uppercase OR/AND between words switches the operator for the
+// whole query.
+public final class QueryParser {
+
+    private static final int MAX_SLOP = 100;
+
+    private final Analyzer analyzer;
+
+    public QueryParser(Analyzer analyzer) {
+        this.analyzer = analyzer;
+    }
+
+    public Query parse(String text, Query.Operator defaultOperator) {
+        List<List<String>> clauses = new ArrayList<>();
+        List<Integer> slops = new ArrayList<>();
+        Query.Operator operator = defaultOperator;
+        if (text == null) {
+            return new Query(clauses, slops, operator);
+        }
+
+        int i = 0;
+        int len = text.length();
+        while (i < len) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '"') {
+                int start = i + 1;
+                int close = text.indexOf('"', start);
+                int end = close < 0 ? len : close;
+                i = end + 1;
+                int slop = 0;
+                if (i + 1 < len && text.charAt(i) == '~' && Character.isDigit(text.charAt(i + 1))) {
+                    i++;
+                    while (i < len && Character.isDigit(text.charAt(i))) {
+                        slop = Math.min(MAX_SLOP, slop * 10 + (text.charAt(i++) - '0'));
+                    }
+                }
+                addClause(clauses, slops, text.substring(start, end), slop);
+            } else {
+                int end = i;
+                while (end < len && !Character.isWhitespace(text.charAt(end)) && text.charAt(end) != '"') end++;
+                String word = text.substring(i, end);
+                if (word.equals("OR")) {
+                    operator = Query.Operator.OR;
+                } else if (word.equals("AND")) {
+                    operator = Query.Operator.AND;
+                } else {
+                    addClause(clauses, slops, word, 0);
+                }
+                i = end;
+            }
+        }
+        return new Query(clauses, slops, operator);
+    }
+
+    private void addClause(List<List<String>> clauses, List<Integer> slops, String text, int slop) {
+        List<String> terms = analyzer.analyze(text);
+        if (!terms.isEmpty()) {
+            clauses.add(terms);
+            slops.add(terms.size() > 1 ? slop : 0);
+        }
+    }
+}
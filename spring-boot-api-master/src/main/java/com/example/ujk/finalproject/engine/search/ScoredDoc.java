@@ -0,0 +1,29 @@
+package com.example.ujk.finalproject.engine.search;
+
+// A hit: its doc id in the snapshot searched, its score and its url, which
+// breaks ties in the ranking (doc ids move when segments are dropped or merged).
+// A hit decoded from a PageCursor has no doc id (-1).
+public final class ScoredDoc {
+    private final int doc;
+    private final float score;
+    private final String url;
+
+    public ScoredDoc(int doc, float score, String url) {
+        this.doc = doc;
+        this.score = score;
+        this.url = url;
+    }
+
+    public int getDoc() {
+        return doc;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    // may be null, which ranks before every url
+    public String getUrl() {
+        return url;
+    }
+}
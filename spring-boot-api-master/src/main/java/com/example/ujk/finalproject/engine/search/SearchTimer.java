@@ -0,0 +1,13 @@
+package com.example.ujk.finalproject.engine.search;
+
+// Told how long the stages of each search took, to feed metrics. Postings is
+// term statistics plus opening and intersecting postings lists; scoring is
+// walking the matches, BM25F and ranking. Called on the searching thread, so
+// implementations must be cheap.
+public interface SearchTimer {
+
+    // also tells IndexSearcher not to read the clock at all
+    SearchTimer NOOP = (postingsNanos, scoringNanos) -> { };
+
+    void searched(long postingsNanos, long scoringNanos);
+}
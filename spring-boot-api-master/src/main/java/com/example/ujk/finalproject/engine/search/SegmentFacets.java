@@ -0,0 +1,126 @@
+package com.example.ujk.finalproject.engine.search;
+
+import com.example.ujk.finalproject.model.Course;
+
+import java.util.Set;
+import java.util.TreeMap;
+
+// Dictionary-encoded facet columns of one segment, deleted docs included.
+// Per field the distinct values are sorted into a dictionary and every doc
+// holds the ordinal of its value (a char per doc while there are fewer than
+// 65535 values). Every value also has its doc set: a bitset when at least 1
+// doc in 32 has it, where that is the smaller form, else a sorted doc id
+// array. Filters OR the selected values' sets into one bitset per field, and
+// counting is an ordinal lookup per hit. Built once per segment, on first use.
+final class SegmentFacets {
+
+    static final int MISSING = -1;
+
+    private static final char CHAR_MISSING = Character.MAX_VALUE;
+
+    private final int maxDoc;
+    private final String[][] dictionaries;   // [field][ord], sorted
+    private final char[][] smallOrds;        // [field][doc] when the dictionary fits a char
+    private final int[][] ords;              // [field][doc] otherwise
+    private final Object[][] docSets;        // [field][ord]: long[] bitset or int[] docs
+
+    private SegmentFacets(int maxDoc, String[][] dictionaries, char[][] smallOrds, int[][] ords, Object[][] docSets) {
+        this.maxDoc = maxDoc;
+        this.dictionaries = dictionaries;
+        this.smallOrds = smallOrds;
+        this.ords = ords;
+        this.docSets = docSets;
+    }
+
+    static SegmentFacets build(IndexSegment segment) {
+        int maxDoc = segment.maxDoc();
+        String[][] values = new String[FacetField.COUNT][maxDoc];
+        for (int doc = 0; doc < maxDoc; doc++) {
+            Course course = segment.document(doc);
+            for (FacetField field : FacetField.values()) {
+                values[field.ordinal()][doc] = field.value(course);
+            }
+        }
+
+        String[][] dictionaries = new String[FacetField.COUNT][];
+        char[][] smallOrds = new char[FacetField.COUNT][];
+        int[][] ords = new int[FacetField.COUNT][];
+        Object[][] docSets = new Object[FacetField.COUNT][];
+        for (int f = 0; f < FacetField.COUNT; f++) {
+            // value -> [ordinal, doc count]
+            TreeMap<String, int[]> dictionary = new TreeMap<>();
+            for (String value : values[f]) {
+                if (value != null) dictionary.computeIfAbsent(value, v -> new int[2])[1]++;
+            }
+            String[] sorted = dictionary.keySet().toArray(new String[0]);
+            int[][] docs = new int[sorted.length][];
+            int ord = 0;
+            for (int[] entry : dictionary.values()) {
+                entry[0] = ord;
+                docs[ord++] = new int[entry[1]];
+            }
+
+            boolean small = sorted.length < CHAR_MISSING;
+            char[] smallColumn = small ? new char[maxDoc] : null;
+            int[] column = small ? null : new int[maxDoc];
+            int[] filled = new int[sorted.length];
+            for (int doc = 0; doc < maxDoc; doc++) {
+                String value = values[f][doc];
+                int o = value == null ? MISSING : dictionary.get(value)[0];
+                if (small) smallColumn[doc] = o == MISSING ? CHAR_MISSING : (char) o;
+                else column[doc] = o;
+                if (o != MISSING) docs[o][filled[o]++] = doc;
+            }
+
+            Object[] sets = new Object[sorted.length];
+            for (int o = 0; o < sorted.length; o++) {
+                sets[o] = docs[o].length >= maxDoc / 32 ? toBitset(docs[o], maxDoc) : docs[o];
+            }
+            dictionaries[f] = sorted;
+            smallOrds[f] = smallColumn;
+            ords[f] = column;
+            docSets[f] = sets;
+        }
+        return new SegmentFacets(maxDoc, dictionaries, smallOrds, ords, docSets);
+    }
+
+    int valueCount(FacetField field) {
+        return dictionaries[field.ordinal()].length;
+    }
+
+    String value(FacetField field, int ord) {
+        return dictionaries[field.ordinal()][ord];
+    }
+
+    // ordinal of the doc's value, MISSING when it has none
+    int ord(int field, int doc) {
+        char[] small = smallOrds[field];
+        if (small != null) {
+            char o = small[doc];
+            return o == CHAR_MISSING ? MISSING : o;
+        }
+        return ords[field][doc];
+    }
+
+    // docs whose value is one of `selected` (ignoring case), as a bitset over maxDoc
+    long[] filter(FacetField field, Set<String> selected) {
+        long[] bits = new long[(maxDoc + 63) >>> 6];
+        String[] dictionary = dictionaries[field.ordinal()];
+        for (int o = 0; o < dictionary.length; o++) {
+            if (!selected.contains(dictionary[o])) continue;
+            Object set = docSets[field.ordinal()][o];
+            if (set instanceof long[] words) {
+                for (int w = 0; w < words.length; w++) bits[w] |= words[w];
+            } else {
+                for (int doc : (int[]) set) bits[doc >>> 6] |= 1L << doc;
+            }
+        }
+        return bits;
+    }
+
+    private static long[] toBitset(int[] docs, int maxDoc) {
+        long[] bits = new long[(maxDoc + 63) >>> 6];
+        for (int doc : docs) bits[doc >>> 6] |= 1L << doc;
+        return bits;
+    }
+}
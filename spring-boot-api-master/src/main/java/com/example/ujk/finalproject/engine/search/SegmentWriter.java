@@ -0,0 +1,155 @@
+package com.example.ujk.finalproject.engine.search;
+
+import com.example.ujk.finalproject.engine.search.postings.Postings;
+import com.example.ujk.finalproject.model.Course;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+// Writes a segment as one immutable file that MappedSegment reads in place.
+//
+//   header   magic, format version
+//   norms    fieldLength bytes, field-major: [field][doc]
+//   terms    (termCount + 1) x (int term bytes offset, int postings offset),
+//            then the UTF-8 bytes of every term, in String order
+//   postings Postings.writeTo for each term, in term order, positions
+//            included (version 2; version 1 lists have no positions)
+//   stored   (maxDoc + 1) int offsets, then each course as STORED_FIELDS
+//            (int length or -1 for null, UTF-8 bytes)
+//   urls     maxDoc doc ids sorted by url, for findDoc
+//   footer   maxDoc, termCount, field length totals, section offsets,
+//            format version, magic
+//
+// Offsets are absolute ints, so a segment file is capped at 2 GB, which is
+// also the most a single MappedByteBuffer can address.
+public final class SegmentWriter {
+
+    static final int MAGIC = 0x43534547; // "CSEG"
+    static final int VERSION = 2;
+    // oldest version MappedSegment still opens
+    static final int MIN_VERSION = 1;
+    static final int STORED_FIELDS = 8;
+    static final int FOOTER_BYTES = 4 + 4 + 8 * CourseField.COUNT + 4 * 6 + 4;
+
+    private SegmentWriter() {
+    }
+
+    // Writes to a temp file, fsyncs, then renames into place, so `file` either
+    // does not exist or is complete.
+    public static void write(IndexSegment segment, Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileOutputStream fos = new FileOutputStream(tmp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos, 1 << 16))) {
+            writeTo(segment, out);
+            out.flush();
+            fos.getChannel().force(true);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeTo(IndexSegment segment, DataOutputStream out) throws IOException {
+        int maxDoc = segment.maxDoc();
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+
+        int normsOffset = out.size();
+        for (int f = 0; f < CourseField.COUNT; f++) {
+            for (int doc = 0; doc < maxDoc; doc++) {
+                out.writeByte(segment.fieldLength(f, doc));
+            }
+        }
+
+        List<String> terms = new ArrayList<>();
+        for (String term : segment.terms()) terms.add(term);
+        List<byte[]> termBytes = new ArrayList<>(terms.size());
+        for (String term : terms) termBytes.add(term.getBytes(StandardCharsets.UTF_8));
+
+        // postings offsets are only known once written, so lay the index out
+        // from the sizes first: index, term bytes, then postings
+        int termIndexOffset = out.size();
+        int termDataOffset = termIndexOffset + 8 * (terms.size() + 1);
+        long postingsStart = termDataOffset;
+        for (byte[] bytes : termBytes) postingsStart += bytes.length;
+        byte[][] postingsBytes = new byte[terms.size()][];
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        for (int t = 0; t < terms.size(); t++) {
+            buffer.reset();
+            segment.postings(terms.get(t)).writeTo(new DataOutputStream(buffer));
+            postingsBytes[t] = buffer.toByteArray();
+        }
+        long termOff = termDataOffset;
+        long postingsOff = postingsStart;
+        for (int t = 0; t <= terms.size(); t++) {
+            out.writeInt(checked(termOff));
+            out.writeInt(checked(postingsOff));
+            if (t < terms.size()) {
+                termOff += termBytes.get(t).length;
+                postingsOff += postingsBytes[t].length;
+            }
+        }
+        for (byte[] bytes : termBytes) out.write(bytes);
+        for (byte[] bytes : postingsBytes) out.write(bytes);
+
+        int storedIndexOffset = checked(postingsOff);
+        int storedDataOffset = storedIndexOffset + 4 * (maxDoc + 1);
+        byte[][] stored = new byte[maxDoc][];
+        long docOff = storedDataOffset;
+        for (int doc = 0; doc < maxDoc; doc++) {
+            stored[doc] = storedFields(segment.document(doc));
+            out.writeInt(checked(docOff));
+            docOff += stored[doc].length;
+        }
+        out.writeInt(checked(docOff));
+        for (byte[] bytes : stored) out.write(bytes);
+
+        int urlIndexOffset = checked(docOff);
+        for (int rank = 0; rank < maxDoc; rank++) out.writeInt(segment.docByUrl(rank));
+
+        out.writeInt(maxDoc);
+        out.writeInt(terms.size());
+        for (int f = 0; f < CourseField.COUNT; f++) out.writeLong(segment.fieldLengthTotal(f));
+        out.writeInt(normsOffset);
+        out.writeInt(termIndexOffset);
+        out.writeInt(storedIndexOffset);
+        out.writeInt(storedDataOffset);
+        out.writeInt(urlIndexOffset);
+        out.writeInt(VERSION);
+        out.writeInt(MAGIC);
+        checked((long) urlIndexOffset + 4L * maxDoc + FOOTER_BYTES);
+    }
+
+    private static byte[] storedFields(Course c) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (String value : new String[]{c.getTitle(), c.getUrl(), c.getUniversity(), c.getLevel(),
+                c.getType(), c.getCategory(), c.getImageUrl(), c.getScrapedAt()}) {
+            if (value == null) {
+                out.writeInt(-1);
+            } else {
+                byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(utf8.length);
+                out.write(utf8);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static int checked(long offset) throws IOException {
+        if (offset > Integer.MAX_VALUE) {
+            throw new IOException("segment larger than 2 GB");
+        }
+        return (int) offset;
+    }
+}
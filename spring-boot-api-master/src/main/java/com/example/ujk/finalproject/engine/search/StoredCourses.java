@@ -0,0 +1,198 @@
+package com.example.ujk.finalproject.engine.search;
+
+import com.example.ujk.finalproject.model.Course;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+// The courses of a HeapSegment, stored by column instead of as Course objects.
+//
+//   title, imageUrl               front-coded UTF-8 in doc order
+//   url                           front-coded UTF-8 in url order, which is
+//                                 also the findDoc index and docByUrl
+//   university, level, type,      a dictionary of the distinct values and an
+//   category                      ordinal per doc (a char while it fits)
+//   scrapedAt                     epoch millis and the format it was written in
+//
+// A Course is only built when document() is called, which for a search is
+// once per returned hit. Compared with a list of Courses this drops the nine
+// objects per doc (the Course and its eight strings) and the url -> doc map,
+// and stores each university or level once per segment rather than once per doc.
+final class StoredCourses {
+
+    // scrapedAt formats seen in the scraped catalogs. Times carry no zone, so
+    // they are read and written as UTC; a value is only stored as millis if
+    // formatting it again gives back the exact text.
+    private static final DateTimeFormatter[] TIME_FORMATS = {
+            DateTimeFormatter.ofPattern("M/d/yyyy h:mm:ss a", Locale.US),
+            DateTimeFormatter.ofPattern("MM/dd/yyyy h:mm:ss a", Locale.US),
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME};
+    private static final byte NO_TIME = 0;
+    private static final byte OTHER_TIME = -1;   // kept as text in otherTimes
+
+    private final int size;
+    private final FrontCodedStrings titles;
+    private final FrontCodedStrings urls;        // by url rank
+    private final int[] docByUrl;                // rank -> doc
+    private final int[] urlRanks;                // doc -> rank
+    private final DictionaryColumn universities;
+    private final DictionaryColumn levels;
+    private final DictionaryColumn types;
+    private final DictionaryColumn categories;
+    private final FrontCodedStrings imageUrls;
+    private final long[] times;
+    private final byte[] timeFormats;            // NO_TIME, OTHER_TIME or TIME_FORMATS index + 1
+    private final FrontCodedStrings otherTimes;  // null unless some time matched no format
+
+    private StoredCourses(List<Course> courses) {
+        this.size = courses.size();
+        this.titles = FrontCodedStrings.of(size, doc -> courses.get(doc).getTitle());
+        this.docByUrl = IntStream.range(0, size).boxed()
+                .sorted(Comparator.comparing(doc -> courses.get(doc).getUrl(),
+                        Comparator.nullsFirst(Comparator.naturalOrder())))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        this.urlRanks = new int[size];
+        for (int rank = 0; rank < size; rank++) urlRanks[docByUrl[rank]] = rank;
+        this.urls = FrontCodedStrings.sorted(size, rank -> courses.get(docByUrl[rank]).getUrl());
+        this.universities = DictionaryColumn.of(courses, Course::getUniversity);
+        this.levels = DictionaryColumn.of(courses, Course::getLevel);
+        this.types = DictionaryColumn.of(courses, Course::getType);
+        this.categories = DictionaryColumn.of(courses, Course::getCategory);
+        this.imageUrls = FrontCodedStrings.of(size, doc -> courses.get(doc).getImageUrl());
+
+        this.times = new long[size];
+        this.timeFormats = new byte[size];
+        boolean other = false;
+        int lastFormat = 0;
+        for (int doc = 0; doc < size; doc++) {
+            String text = courses.get(doc).getScrapedAt();
+            if (text == null) {
+                continue;
+            }
+            // a catalog is usually in one format, so try the last one first
+            int format = parseTime(text, lastFormat, doc);
+            if (format < 0) {
+                for (int f = 0; f < TIME_FORMATS.length && format < 0; f++) {
+                    if (f != lastFormat) format = parseTime(text, f, doc);
+                }
+            }
+            if (format < 0) {
+                timeFormats[doc] = OTHER_TIME;
+                other = true;
+            } else {
+                timeFormats[doc] = (byte) (format + 1);
+                lastFormat = format;
+            }
+        }
+        this.otherTimes = other ? FrontCodedStrings.of(size,
+                doc -> timeFormats[doc] == OTHER_TIME ? courses.get(doc).getScrapedAt() : null) : null;
+    }
+
+    static StoredCourses of(List<Course> courses) {
+        return new StoredCourses(courses);
+    }
+
+    int size() {
+        return size;
+    }
+
+    Course course(int doc) {
+        return new Course(titles.get(doc), url(doc), universities.get(doc), levels.get(doc),
+                types.get(doc), categories.get(doc), imageUrls.get(doc), scrapedAt(doc));
+    }
+
+    String url(int doc) {
+        return urls.get(urlRanks[doc]);
+    }
+
+    // doc with this url, -1 if none
+    int findDoc(String url) {
+        int rank = urls.indexOf(url);
+        return rank < 0 ? -1 : docByUrl[rank];
+    }
+
+    int docByUrl(int rank) {
+        return docByUrl[rank];
+    }
+
+    private String scrapedAt(int doc) {
+        byte format = timeFormats[doc];
+        if (format == NO_TIME) {
+            return null;
+        }
+        if (format == OTHER_TIME) {
+            return otherTimes.get(doc);
+        }
+        return formatTime(times[doc], format - 1);
+    }
+
+    private static String formatTime(long millis, int f) {
+        return TIME_FORMATS[f].format(LocalDateTime.ofEpochSecond(
+                Math.floorDiv(millis, 1000), Math.floorMod(millis, 1000) * 1_000_000, ZoneOffset.UTC));
+    }
+
+    // stores `text` as millis if it round-trips through format f; the format, or -1
+    private int parseTime(String text, int f, int doc) {
+        try {
+            long millis = LocalDateTime.parse(text, TIME_FORMATS[f]).toInstant(ZoneOffset.UTC).toEpochMilli();
+            if (!formatTime(millis, f).equals(text)) {
+                return -1;
+            }
+            times[doc] = millis;
+            return f;
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    // Distinct values in first-seen order, ordinal 0 being null, and the
+    // ordinal of every doc.
+    private static final class DictionaryColumn {
+        private final String[] values;
+        private final char[] smallOrds;   // when there are at most 65536 ordinals
+        private final int[] ords;         // otherwise
+
+        private DictionaryColumn(String[] values, char[] smallOrds, int[] ords) {
+            this.values = values;
+            this.smallOrds = smallOrds;
+            this.ords = ords;
+        }
+
+        static DictionaryColumn of(List<Course> courses, Function<Course, String> field) {
+            Map<String, Integer> ordinals = new HashMap<>();
+            List<String> values = new ArrayList<>();
+            values.add(null);
+            int[] ords = new int[courses.size()];
+            for (int doc = 0; doc < ords.length; doc++) {
+                String value = field.apply(courses.get(doc));
+                if (value != null) {
+                    ords[doc] = ordinals.computeIfAbsent(value, v -> {
+                        values.add(v);
+                        return values.size() - 1;
+                    });
+                }
+            }
+            if (values.size() > Character.MAX_VALUE + 1) {
+                return new DictionaryColumn(values.toArray(new String[0]), null, ords);
+            }
+            char[] smallOrds = new char[ords.length];
+            for (int doc = 0; doc < ords.length; doc++) smallOrds[doc] = (char) ords[doc];
+            return new DictionaryColumn(values.toArray(new String[0]), smallOrds, null);
+        }
+
+        String get(int doc) {
+            return values[smallOrds != null ? smallOrds[doc] : ords[doc]];
+        }
+    }
+}
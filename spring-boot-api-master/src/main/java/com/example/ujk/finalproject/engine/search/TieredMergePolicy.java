@@ -0,0 +1,68 @@
+package com.example.ujk.finalproject.engine.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+// Picks segments to merge so their number stays logarithmic in the doc count.
+//
+// Segments are grouped into tiers by live doc count: tier 0 holds everything
+// up to floorDocs, tier k everything up to floorDocs * mergeFactor^k. Once a
+// tier has mergeFactor segments, its smallest mergeFactor are merged into one
+// segment of the next tier. A segment with more than maxDeletedRatio of its
+// docs deleted is rewritten on its own to reclaim the space. Merges that would
+// produce more than maxMergedDocs docs are never proposed.
+public final class TieredMergePolicy {
+
+    private final int mergeFactor;
+    private final int floorDocs;
+    private final int maxMergedDocs;
+    private final double maxDeletedRatio;
+
+    public TieredMergePolicy(int mergeFactor, int floorDocs, int maxMergedDocs, double maxDeletedRatio) {
+        if (mergeFactor < 2 || floorDocs < 1 || maxMergedDocs < 1) {
+            throw new IllegalArgumentException("mergeFactor must be >= 2, floorDocs and maxMergedDocs >= 1");
+        }
+        this.mergeFactor = mergeFactor;
+        this.floorDocs = floorDocs;
+        this.maxMergedDocs = maxMergedDocs;
+        this.maxDeletedRatio = maxDeletedRatio;
+    }
+
+    // segments to merge into one, or an empty list when nothing needs merging
+    public List<LiveSegment> findMerge(List<LiveSegment> segments) {
+        List<List<LiveSegment>> tiers = new ArrayList<>();
+        for (LiveSegment segment : segments) {
+            int tier = tier(segment.liveDocs());
+            while (tiers.size() <= tier) tiers.add(new ArrayList<>());
+            tiers.get(tier).add(segment);
+        }
+        for (List<LiveSegment> tier : tiers) {
+            if (tier.size() < mergeFactor) continue;
+            tier.sort(Comparator.comparingInt(LiveSegment::liveDocs));
+            List<LiveSegment> candidate = tier.subList(0, mergeFactor);
+            long docs = 0;
+            for (LiveSegment segment : candidate) docs += segment.liveDocs();
+            if (docs <= maxMergedDocs) {
+                return new ArrayList<>(candidate);
+            }
+        }
+        for (LiveSegment segment : segments) {
+            if (segment.deleteCount() > maxDeletedRatio * segment.segment().maxDoc()) {
+                return List.of(segment);
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private int tier(int liveDocs) {
+        int tier = 0;
+        long bound = floorDocs;
+        while (liveDocs > bound) {
+            bound *= mergeFactor;
+            tier++;
+        }
+        return tier;
+    }
+}
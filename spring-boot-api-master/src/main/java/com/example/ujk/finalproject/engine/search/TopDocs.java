@@ -0,0 +1,48 @@
+package com.example.ujk.finalproject.engine.search;
+
+import com.example.ujk.finalproject.model.Course;
+
+import java.util.List;
+
+// Best hits in descending score order, plus how many documents matched in total
+// and, when asked for, the facet counts over all of them. Doc ids are only
+// meaningful in the snapshot that produced them, so it is kept alongside to
+// resolve them.
+public final class TopDocs {
+    private final IndexSnapshot snapshot;
+    private final int totalHits;
+    private final List<ScoredDoc> hits;
+    private final FacetCounts facets;
+
+    public TopDocs(IndexSnapshot snapshot, int totalHits, List<ScoredDoc> hits) {
+        this(snapshot, totalHits, hits, null);
+    }
+
+    public TopDocs(IndexSnapshot snapshot, int totalHits, List<ScoredDoc> hits, FacetCounts facets) {
+        this.snapshot = snapshot;
+        this.totalHits = totalHits;
+        this.hits = hits;
+        this.facets = facets;
+    }
+
+    public IndexSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public Course document(ScoredDoc hit) {
+        return snapshot.document(hit.getDoc());
+    }
+
+    public int getTotalHits() {
+        return totalHits;
+    }
+
+    public List<ScoredDoc> getHits() {
+        return hits;
+    }
+
+    // null unless the search counted facets
+    public FacetCounts getFacets() {
+        return facets;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.ujk.finalproject.engine.search;
+
+import com.example.ujk.finalproject.model.Course;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+// The live courses of one snapshot in url order, starting after a given url.
+// Urls are unique among live docs, so the last url returned is an exact place
+// to resume from, in this snapshot or a later one, however the segments have
+// been merged in between. The segments' url orders are merged with a heap of
+// one position per segment, so memory does not grow with the catalog.
+public final class UrlOrderIterator implements Iterator<Course> {
+
+    private static final Comparator<Source> ORDER = Comparator.comparing((Source s) -> s.url,
+            Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final PriorityQueue<Source> queue = new PriorityQueue<>(ORDER);
+
+    // afterUrl null: from the first course
+    public UrlOrderIterator(IndexSnapshot snapshot, String afterUrl) {
+        for (LiveSegment live : snapshot.segments()) {
+            Source source = new Source(live);
+            if (afterUrl != null) source.rank = source.upperBound(afterUrl);
+            if (source.advance()) queue.add(source);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !queue.isEmpty();
+    }
+
+    @Override
+    public Course next() {
+        Source source = queue.poll();
+        if (source == null) {
+            throw new NoSuchElementException();
+        }
+        Course course = source.segment.document(source.doc);
+        source.rank++;
+        if (source.advance()) queue.add(source);
+        return course;
+    }
+
+    // position in one segment's url order
+    private static final class Source {
+        final LiveSegment live;
+        final IndexSegment segment;
+        int rank;
+        int doc;
+        String url;
+
+        Source(LiveSegment live) {
+            this.live = live;
+            this.segment = live.segment();
+        }
+
+        String urlAt(int rank) {
+            return segment.url(segment.docByUrl(rank));
+        }
+
+        // first rank whose url is > `url`; null urls sort first
+        int upperBound(String url) {
+            int lo = 0;
+            int hi = segment.maxDoc();
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                String candidate = urlAt(mid);
+                if (candidate == null || candidate.compareTo(url) <= 0) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+
+        // moves to the first live doc at or after `rank`; false when exhausted
+        boolean advance() {
+            for (; rank < segment.maxDoc(); rank++) {
+                doc = segment.docByUrl(rank);
+                if (!live.isDeleted(doc)) {
+                    url = segment.url(doc);
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.ujk.finalproject.engine.search.analysis;
+
+// Lowercases char by char, the same in every locale.
+public final class LowercaseFilter implements TokenFilter {
+
+    @Override
+    public boolean process(TermBuffer term) {
+        char[] chars = term.chars();
+        for (int i = 0; i < term.length(); i++) {
+            chars[i] = Character.toLowerCase(chars[i]);
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "lowercase";
+    }
+}
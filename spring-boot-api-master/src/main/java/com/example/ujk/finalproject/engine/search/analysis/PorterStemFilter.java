@@ -0,0 +1,252 @@
+package com.example.ujk.finalproject.engine.search.analysis;
+
+// Reduces English words to their stem with Porter's algorithm, so that
+// "programming", "programs" and "program" are all indexed as "program".
+// Stems are not always words ("machine" -> "machin"); they only have to agree
+// between index and query. Terms of two letters or less, or with anything
+// other than a-z in them, are left alone.
+public final class PorterStemFilter implements TokenFilter {
+
+    @Override
+    public boolean process(TermBuffer term) {
+        char[] chars = term.chars();
+        int length = term.length();
+        if (length <= 2) {
+            return true;
+        }
+        for (int i = 0; i < length; i++) {
+            if (chars[i] < 'a' || chars[i] > 'z') return true;
+        }
+        term.setLength(new Stemmer(chars, length).stem());
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "porter";
+    }
+
+    // The reference implementation's steps over b[0..k]; j marks the end of the
+    // stem while a suffix is being tested. One per term, as filters are shared.
+    private static final class Stemmer {
+        private final char[] b;
+        private int k;
+        private int j;
+
+        Stemmer(char[] b, int length) {
+            this.b = b;
+            this.k = length - 1;
+        }
+
+        int stem() {
+            step1();
+            step2();
+            step3();
+            step4();
+            step5();
+            step6();
+            return k + 1;
+        }
+
+        private boolean cons(int i) {
+            switch (b[i]) {
+                case 'a', 'e', 'i', 'o', 'u':
+                    return false;
+                case 'y':
+                    return i == 0 || !cons(i - 1);
+                default:
+                    return true;
+            }
+        }
+
+        // number of consonant-vowel sequences in b[0..j]
+        private int m() {
+            int n = 0;
+            int i = 0;
+            while (true) {
+                if (i > j) return n;
+                if (!cons(i)) break;
+                i++;
+            }
+            i++;
+            while (true) {
+                while (true) {
+                    if (i > j) return n;
+                    if (cons(i)) break;
+                    i++;
+                }
+                i++;
+                n++;
+                while (true) {
+                    if (i > j) return n;
+                    if (!cons(i)) break;
+                    i++;
+                }
+                i++;
+            }
+        }
+
+        private boolean vowelInStem() {
+            for (int i = 0; i <= j; i++) {
+                if (!cons(i)) return true;
+            }
+            return false;
+        }
+
+        private boolean doubleConsonant(int i) {
+            return i >= 1 && b[i] == b[i - 1] && cons(i);
+        }
+
+        // consonant-vowel-consonant ending at i, the last not w, x or y ("hop", not "snow")
+        private boolean cvc(int i) {
+            if (i < 2 || !cons(i) || cons(i - 1) || !cons(i - 2)) return false;
+            return b[i] != 'w' && b[i] != 'x' && b[i] != 'y';
+        }
+
+        private boolean ends(String s) {
+            int length = s.length();
+            int offset = k - length + 1;
+            if (offset < 0) return false;
+            for (int i = 0; i < length; i++) {
+                if (b[offset + i] != s.charAt(i)) return false;
+            }
+            j = k - length;
+            return true;
+        }
+
+        // replaces b[j+1..k] with s; never longer than what a step removed
+        private void setTo(String s) {
+            for (int i = 0; i < s.length(); i++) b[j + 1 + i] = s.charAt(i);
+            k = j + s.length();
+        }
+
+        private void r(String s) {
+            if (m() > 0) setTo(s);
+        }
+
+        // plurals, -ed and -ing
+        private void step1() {
+            if (b[k] == 's') {
+                if (ends("sses")) k -= 2;
+                else if (ends("ies")) setTo("i");
+                else if (b[k - 1] != 's') k--;
+            }
+            if (ends("eed")) {
+                if (m() > 0) k--;
+            } else if ((ends("ed") || ends("ing")) && vowelInStem()) {
+                k = j;
+                if (ends("at")) setTo("ate");
+                else if (ends("bl")) setTo("ble");
+                else if (ends("iz")) setTo("ize");
+                else if (doubleConsonant(k)) {
+                    if (b[k] != 'l' && b[k] != 's' && b[k] != 'z') k--;
+                } else if (m() == 1 && cvc(k)) setTo("e");
+            }
+        }
+
+        // final y to i when the stem has another vowel
+        private void step2() {
+            if (ends("y") && vowelInStem()) b[k] = 'i';
+        }
+
+        // double suffixes to single ones: -ization to -ize, -fulness to -ful
+        private void step3() {
+            if (k == 0) return;
+            switch (b[k - 1]) {
+                case 'a' -> {
+                    if (ends("ational")) r("ate");
+                    else if (ends("tional")) r("tion");
+                }
+                case 'c' -> {
+                    if (ends("enci")) r("ence");
+                    else if (ends("anci")) r("ance");
+                }
+                case 'e' -> {
+                    if (ends("izer")) r("ize");
+                }
+                case 'l' -> {
+                    if (ends("bli")) r("ble");
+                    else if (ends("alli")) r("al");
+                    else if (ends("entli")) r("ent");
+                    else if (ends("eli")) r("e");
+                    else if (ends("ousli")) r("ous");
+                }
+                case 'o' -> {
+                    if (ends("ization")) r("ize");
+                    else if (ends("ation")) r("ate");
+                    else if (ends("ator")) r("ate");
+                }
+                case 's' -> {
+                    if (ends("alism")) r("al");
+                    else if (ends("iveness")) r("ive");
+                    else if (ends("fulness")) r("ful");
+                    else if (ends("ousness")) r("ous");
+                }
+                case 't' -> {
+                    if (ends("aliti")) r("al");
+                    else if (ends("iviti")) r("ive");
+                    else if (ends("biliti")) r("ble");
+                }
+                case 'g' -> {
+                    if (ends("logi")) r("log");
+                }
+                default -> {
+                }
+            }
+        }
+
+        // -ic-, -full, -ness and the like
+        private void step4() {
+            switch (b[k]) {
+                case 'e' -> {
+                    if (ends("icate")) r("ic");
+                    else if (ends("ative")) r("");
+                    else if (ends("alize")) r("al");
+                }
+                case 'i' -> {
+                    if (ends("iciti")) r("ic");
+                }
+                case 'l' -> {
+                    if (ends("ical")) r("ic");
+                    else if (ends("ful")) r("");
+                }
+                case 's' -> {
+                    if (ends("ness")) r("");
+                }
+                default -> {
+                }
+            }
+        }
+
+        // -ant, -ence, -ment and so on, when enough stem is left
+        private void step5() {
+            if (k == 0) return;
+            boolean found = switch (b[k - 1]) {
+                case 'a' -> ends("al");
+                case 'c' -> ends("ance") || ends("ence");
+                case 'e' -> ends("er");
+                case 'i' -> ends("ic");
+                case 'l' -> ends("able") || ends("ible");
+                case 'n' -> ends("ant") || ends("ement") || ends("ment") || ends("ent");
+                case 'o' -> (ends("ion") && j >= 0 && (b[j] == 's' || b[j] == 't')) || ends("ou");
+                case 's' -> ends("ism");
+                case 't' -> ends("ate") || ends("iti");
+                case 'u' -> ends("ous");
+                case 'v' -> ends("ive");
+                case 'z' -> ends("ize");
+                default -> false;
+            };
+            if (found && m() > 1) k = j;
+        }
+
+        // a final -e, and -ll to -l, on longer stems
+        private void step6() {
+            j = k;
+            if (b[k] == 'e') {
+                int m = m();
+                if (m > 1 || (m == 1 && !cvc(k - 1))) k--;
+            }
+            if (b[k] == 'l' && doubleConsonant(k) && m() > 1) k--;
+        }
+    }
+}
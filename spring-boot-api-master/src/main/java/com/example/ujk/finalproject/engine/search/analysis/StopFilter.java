@@ -0,0 +1,27 @@
+package com.example.ujk.finalproject.engine.search.analysis;
+
+import java.util.Collection;
+import java.util.TreeSet;
+
+// Drops words too common to tell courses apart ("the", "for", "of"). Runs
+// after LowercaseFilter, so the words are given in lowercase.
+public final class StopFilter implements TokenFilter {
+
+    private final TermInterner words = new TermInterner();
+    private final String description;
+
+    public StopFilter(Collection<String> words) {
+        for (String word : words) this.words.intern(word);
+        this.description = "stop" + new TreeSet<>(words);
+    }
+
+    @Override
+    public boolean process(TermBuffer term) {
+        return words.find(term.chars(), term.length()) < 0;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
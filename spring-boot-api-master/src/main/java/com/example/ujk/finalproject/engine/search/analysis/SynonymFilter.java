@@ -0,0 +1,33 @@
+package com.example.ujk.finalproject.engine.search.analysis;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// Replaces a word with its canonical form ("js" -> "javascript"), at index and
+// query time alike, so either spelling finds both. One word to one word only.
+public final class SynonymFilter implements TokenFilter {
+
+    private final TermInterner words = new TermInterner();
+    private final String[] replacements;
+    private final String description;
+
+    public SynonymFilter(Map<String, String> synonyms) {
+        this.replacements = new String[synonyms.size()];
+        synonyms.forEach((word, replacement) -> replacements[words.intern(word)] = replacement);
+        this.description = "synonyms" + new TreeMap<>(synonyms);
+    }
+
+    @Override
+    public boolean process(TermBuffer term) {
+        int id = words.find(term.chars(), term.length());
+        if (id >= 0) {
+            term.set(replacements[id]);
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return description;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.ujk.finalproject.engine.search.analysis;
+
+import java.util.Arrays;
+
+// The characters of the token a TokenStream is on. Filters edit it in place,
+// so a token only becomes a String if the caller asks for one.
+public final class TermBuffer {
+
+    private char[] chars = new char[32];
+    private int length;
+
+    public char[] chars() {
+        return chars;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    // shortens the term; chars past the new length are ignored
+    public void setLength(int length) {
+        this.length = length;
+    }
+
+    public void set(String term) {
+        length = 0;
+        for (int i = 0; i < term.length(); i++) append(term.charAt(i));
+    }
+
+    void set(char[] source, int offset, int length) {
+        if (length > chars.length) chars = new char[Math.max(length, chars.length * 2)];
+        System.arraycopy(source, offset, chars, 0, length);
+        this.length = length;
+    }
+
+    void append(char c) {
+        if (length == chars.length) chars = Arrays.copyOf(chars, length * 2);
+        chars[length++] = c;
+    }
+
+    void clear() {
+        length = 0;
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+}
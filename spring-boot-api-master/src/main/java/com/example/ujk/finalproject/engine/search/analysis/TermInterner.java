@@ -0,0 +1,99 @@
+package com.example.ujk.finalproject.engine.search.analysis;
+
+import java.util.Arrays;
+
+// Assigns dense ids 0, 1, 2, ... to distinct terms, looked up straight from a
+// char buffer. The chars of every term go into one shared array, so adding
+// a term allocates nothing per term and a repeat costs one probe of an
+// open-addressing table. Strings are only made by term(id). Not thread-safe.
+public final class TermInterner {
+
+    private int[] table = new int[64];     // id + 1 per slot, 0 for empty
+    private int[] hashes = new int[32];    // [id]
+    private int[] starts = new int[33];    // [id], and [size] is the pool size
+    private char[] pool = new char[256];
+    private int size;
+
+    // id of the term, adding it if new
+    public int intern(char[] chars, int length) {
+        int hash = hash(chars, length);
+        int mask = table.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int id = table[slot] - 1;
+            if (id < 0) {
+                table[slot] = add(chars, length, hash) + 1;
+                if (size * 2 > table.length) rehash();
+                return size - 1;
+            }
+            if (hashes[id] == hash && matches(id, chars, length)) {
+                return id;
+            }
+        }
+    }
+
+    public int intern(String term) {
+        return intern(term.toCharArray(), term.length());
+    }
+
+    // id of the term, -1 if it was never added
+    public int find(char[] chars, int length) {
+        int hash = hash(chars, length);
+        int mask = table.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int id = table[slot] - 1;
+            if (id < 0) {
+                return -1;
+            }
+            if (hashes[id] == hash && matches(id, chars, length)) {
+                return id;
+            }
+        }
+    }
+
+    public String term(int id) {
+        return new String(pool, starts[id], starts[id + 1] - starts[id]);
+    }
+
+    // replaces the contents of `term` with term `id`
+    void copyTo(int id, TermBuffer term) {
+        term.set(pool, starts[id], starts[id + 1] - starts[id]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int add(char[] chars, int length, int hash) {
+        if (size + 1 == hashes.length) {
+            hashes = Arrays.copyOf(hashes, hashes.length * 2);
+            starts = Arrays.copyOf(starts, hashes.length + 1);
+        }
+        int start = starts[size];
+        if (start + length > pool.length) pool = Arrays.copyOf(pool, Math.max(pool.length * 2, start + length));
+        System.arraycopy(chars, 0, pool, start, length);
+        hashes[size] = hash;
+        starts[size + 1] = start + length;
+        return size++;
+    }
+
+    private boolean matches(int id, char[] chars, int length) {
+        int start = starts[id];
+        return starts[id + 1] - start == length && Arrays.equals(pool, start, start + length, chars, 0, length);
+    }
+
+    private void rehash() {
+        table = new int[table.length * 2];
+        int mask = table.length - 1;
+        for (int id = 0; id < size; id++) {
+            int slot = hashes[id] & mask;
+            while (table[slot] != 0) slot = (slot + 1) & mask;
+            table[slot] = id + 1;
+        }
+    }
+
+    private static int hash(char[] chars, int length) {
+        int h = 0;
+        for (int i = 0; i < length; i++) h = 31 * h + chars[i];
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.ujk.finalproject.engine.search.analysis;
+
+// One step of an Analyzer chain. A filter is shared by every thread that
+// analyzes text, so it must not keep per-token state in fields. Its toString
+// describes its configuration: the analyzer id, and so whether a stored index
+// still matches the analyzer, is derived from it.
+public interface TokenFilter {
+
+    // Edits the term in place; false drops the token.
+    boolean process(TermBuffer term);
+}
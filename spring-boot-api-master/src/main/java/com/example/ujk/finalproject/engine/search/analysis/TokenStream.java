@@ -0,0 +1,94 @@
+package com.example.ujk.finalproject.engine.search.analysis;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Splits text into tokens on anything that is not a letter, digit or
+// underscore (like "\\W+", without a regex) and runs each through the filters.
+// One stream is reused for many texts and keeps a single TermBuffer, so
+// tokenizing allocates nothing; it is not thread-safe.
+//
+// A caching stream runs the filters once per distinct token: a filter's output
+// depends only on its input (TokenFilter), so later occurrences copy the
+// remembered result. Course text repeats the same few thousand words, so
+// this takes the stemmer out of bulk indexing almost entirely.
+public final class TokenStream {
+
+    // distinct tokens remembered per stream; later new tokens are filtered every time
+    private static final int MAX_CACHED = 1 << 16;
+    private static final int DROPPED = -1;
+
+    private final TokenFilter[] filters;
+    private final TermBuffer term = new TermBuffer();
+    private final TermInterner tokens;    // raw tokens seen, null when not caching
+    private final TermInterner results;   // what the filters made of them
+    private int[] resultIds;              // [token id] -> result id or DROPPED
+    private CharSequence text = "";
+    private int pos;
+
+    public TokenStream(List<TokenFilter> filters, boolean cache) {
+        this.filters = filters.toArray(new TokenFilter[0]);
+        this.tokens = cache ? new TermInterner() : null;
+        this.results = cache ? new TermInterner() : null;
+        this.resultIds = cache ? new int[256] : null;
+    }
+
+    // starts over on `text`; null is treated as empty
+    public TokenStream reset(CharSequence text) {
+        this.text = text == null ? "" : text;
+        this.pos = 0;
+        return this;
+    }
+
+    // moves to the next token the filters keep; false at the end of the text
+    public boolean next() {
+        int length = text.length();
+        while (true) {
+            while (pos < length && !isWordChar(text.charAt(pos))) pos++;
+            if (pos == length) {
+                return false;
+            }
+            term.clear();
+            while (pos < length && isWordChar(text.charAt(pos))) term.append(text.charAt(pos++));
+            if (keep()) {
+                return true;
+            }
+        }
+    }
+
+    // the current token, valid until the next call to next() or reset()
+    public TermBuffer term() {
+        return term;
+    }
+
+    private boolean keep() {
+        if (tokens == null) {
+            return filter();
+        }
+        int token = tokens.find(term.chars(), term.length());
+        if (token >= 0) {
+            int result = resultIds[token];
+            if (result != DROPPED) results.copyTo(result, term);
+            return result != DROPPED;
+        }
+        if (tokens.size() >= MAX_CACHED) {
+            return filter();
+        }
+        token = tokens.intern(term.chars(), term.length());
+        boolean kept = filter();
+        if (token == resultIds.length) resultIds = Arrays.copyOf(resultIds, token * 2);
+        resultIds[token] = kept ? results.intern(term.chars(), term.length()) : DROPPED;
+        return kept;
+    }
+
+    private boolean filter() {
+        for (TokenFilter filter : filters) {
+            if (!filter.process(term)) return false;
+        }
+        return term.length() > 0;
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '_';
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.ujk.finalproject.engine.search.postings;
+
+// Every doc id from 0 to maxDoc - 1.
+public final class AllDocsIterator extends DocIdIterator {
+    private final int maxDoc;
+    private int doc = -1;
+
+    public AllDocsIterator(int maxDoc) {
+        this.maxDoc = maxDoc;
+    }
+
+    @Override
+    public int docID() {
+        return doc;
+    }
+
+    @Override
+    public int nextDoc() {
+        return doc = doc + 1 < maxDoc ? doc + 1 : NO_MORE_DOCS;
+    }
+
+    @Override
+    public int advance(int target) {
+        return doc = target < maxDoc ? target : NO_MORE_DOCS;
+    }
+
+    @Override
+    public long cost() {
+        return maxDoc;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.ujk.finalproject.engine.search.postings;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// Intersection by leapfrogging: the cheapest iterator leads, every other one is
+// advanced to its doc, and any overshoot becomes the new target. Each advance
+// gallops inside the postings, so the cost follows the shortest list rather
+// than the sum of all lists.
+public final class ConjunctionIterator extends DocIdIterator {
+    private final DocIdIterator lead;
+    private final DocIdIterator[] others;
+    private int doc = -1;
+
+    public ConjunctionIterator(List<? extends DocIdIterator> iterators) {
+        List<DocIdIterator> sorted = new ArrayList<>(iterators);
+        sorted.sort(Comparator.comparingLong(DocIdIterator::cost));
+        this.lead = sorted.get(0);
+        this.others = sorted.subList(1, sorted.size()).toArray(new DocIdIterator[0]);
+    }
+
+    @Override
+    public int docID() {
+        return doc;
+    }
+
+    @Override
+    public int nextDoc() {
+        return doc = align(lead.nextDoc());
+    }
+
+    @Override
+    public int advance(int target) {
+        return doc = align(lead.advance(target));
+    }
+
+    private int align(int target) {
+        outer:
+        while (target != NO_MORE_DOCS) {
+            for (DocIdIterator other : others) {
+                int d = other.docID() < target ? other.advance(target) : other.docID();
+                if (d > target) {
+                    target = lead.advance(d);
+                    continue outer;
+                }
+            }
+            return target;
+        }
+        return NO_MORE_DOCS;
+    }
+
+    @Override
+    public long cost() {
+        return lead.cost();
+    }
+}
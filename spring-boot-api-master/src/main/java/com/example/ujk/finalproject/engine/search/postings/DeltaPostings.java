@@ -0,0 +1,162 @@
+package com.example.ujk.finalproject.engine.search.postings;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Doc ids in blocks of BLOCK_SIZE. For each block the first doc is kept in a
+// skip table and the rest are varint-encoded gaps, so advance() can jump over
+// whole blocks with an exponential search on the skip table and only decode
+// the block that can contain the target.
+final class DeltaPostings extends Postings {
+    static final int BLOCK_SIZE = 128;
+
+    private final byte[] data;
+    private final int[] blockFirstDoc;
+    private final int[] blockOffset;   // start of the gaps that follow blockFirstDoc
+    private final int size;
+
+    private DeltaPostings(byte[] data, int[] blockFirstDoc, int[] blockOffset, int size, byte[] freqs) {
+        super(freqs);
+        this.data = data;
+        this.blockFirstDoc = blockFirstDoc;
+        this.blockOffset = blockOffset;
+        this.size = size;
+    }
+
+    static DeltaPostings of(int[] docs, int size, byte[] freqs) {
+        int blocks = (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        int[] firstDoc = new int[blocks];
+        int[] offsets = new int[blocks];
+        byte[] out = new byte[Math.max(16, size * 2)];
+        int pos = 0;
+        for (int i = 0; i < size; i++) {
+            if (i % BLOCK_SIZE == 0) {
+                firstDoc[i / BLOCK_SIZE] = docs[i];
+                offsets[i / BLOCK_SIZE] = pos;
+                continue;
+            }
+            if (pos + 5 > out.length) out = Arrays.copyOf(out, out.length * 2);
+            pos = writeVInt(out, pos, docs[i] - docs[i - 1]);
+        }
+        return new DeltaPostings(Arrays.copyOf(out, pos), firstDoc, offsets, size, freqs);
+    }
+
+    private static int writeVInt(byte[] out, int pos, int value) {
+        while ((value & ~0x7F) != 0) {
+            out[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[pos++] = (byte) value;
+        return pos;
+    }
+
+    @Override
+    void writeBody(DataOutput out) throws IOException {
+        out.writeInt(blockFirstDoc.length);
+        for (int b = 0; b < blockFirstDoc.length; b++) {
+            out.writeInt(blockFirstDoc[b]);
+            out.writeInt(blockOffset[b]);
+        }
+        out.writeInt(data.length);
+        out.write(data);
+    }
+
+    static DeltaPostings readBody(ByteBuffer in, byte[] freqs) {
+        int blocks = in.getInt();
+        int[] firstDoc = new int[blocks];
+        int[] offsets = new int[blocks];
+        for (int b = 0; b < blocks; b++) {
+            firstDoc[b] = in.getInt();
+            offsets[b] = in.getInt();
+        }
+        byte[] data = new byte[in.getInt()];
+        in.get(data);
+        return new DeltaPostings(data, firstDoc, offsets, freqs.length, freqs);
+    }
+
+    @Override
+    public PostingsIterator iterator() {
+        return new Iterator();
+    }
+
+    @Override
+    public long ramBytesUsed() {
+        return super.ramBytesUsed() + data.length + 8L * blockFirstDoc.length + 48;
+    }
+
+    private final class Iterator extends PostingsIterator {
+        private int doc = -1;
+        private int index = -1;
+        private int block = -1;
+        private int pos;
+
+        @Override
+        public int docID() {
+            return doc;
+        }
+
+        @Override
+        public int index() {
+            return index;
+        }
+
+        @Override
+        public int nextDoc() {
+            if (++index >= size) {
+                return doc = NO_MORE_DOCS;
+            }
+            if (index % BLOCK_SIZE == 0) {
+                enterBlock(index / BLOCK_SIZE);
+                return doc;
+            }
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[pos++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return doc += value;
+        }
+
+        @Override
+        public int advance(int target) {
+            int last = blockFirstDoc.length - 1;
+            if (block < last && blockFirstDoc[block + 1] <= target) {
+                // gallop over the skip table, then binary search the bracket
+                int lo = block + 1;
+                int step = 1;
+                int hi = lo + step;
+                while (hi <= last && blockFirstDoc[hi] <= target) {
+                    lo = hi;
+                    step <<= 1;
+                    hi = lo + step;
+                }
+                int found = Arrays.binarySearch(blockFirstDoc, lo, Math.min(hi, last + 1), target);
+                int b = found >= 0 ? found : -found - 2;
+                enterBlock(b);
+                index = block * BLOCK_SIZE;
+                if (doc >= target) return doc;
+            }
+            int d;
+            do {
+                d = nextDoc();
+            } while (d < target);
+            return d;
+        }
+
+        private void enterBlock(int b) {
+            block = b;
+            doc = blockFirstDoc[b];
+            pos = blockOffset[b];
+        }
+
+        @Override
+        public long cost() {
+            return size;
+        }
+    }
+}
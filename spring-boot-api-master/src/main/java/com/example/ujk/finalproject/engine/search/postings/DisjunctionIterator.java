@@ -0,0 +1,67 @@
+package com.example.ujk.finalproject.engine.search.postings;
+
+import java.util.List;
+
+// Union of several iterators, kept in a binary min-heap ordered by their
+// current doc. Callers can check which sub-iterators sit on docID() to find out
+// which clauses matched.
+public final class DisjunctionIterator extends DocIdIterator {
+    private final DocIdIterator[] heap;
+    private final long cost;
+    private final int size;
+    private boolean started;
+    private int doc = -1;
+
+    public DisjunctionIterator(List<? extends DocIdIterator> iterators) {
+        this.heap = iterators.toArray(new DocIdIterator[0]);
+        this.size = heap.length;
+        long total = 0;
+        for (DocIdIterator it : heap) total += it.cost();
+        this.cost = total;
+    }
+
+    @Override
+    public int docID() {
+        return doc;
+    }
+
+    @Override
+    public int nextDoc() {
+        return doc == NO_MORE_DOCS ? doc : advance(doc + 1);
+    }
+
+    @Override
+    public int advance(int target) {
+        if (!started) {
+            // first call: position everything, then heapify
+            started = true;
+            for (int i = 0; i < size; i++) heap[i].advance(target);
+            for (int i = size / 2 - 1; i >= 0; i--) siftDown(i);
+        } else {
+            while (size > 0 && heap[0].docID() < target) {
+                heap[0].advance(target);
+                siftDown(0);
+            }
+        }
+        return doc = size == 0 ? NO_MORE_DOCS : heap[0].docID();
+    }
+
+    private void siftDown(int i) {
+        DocIdIterator node = heap[i];
+        int d = node.docID();
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heap[child + 1].docID() < heap[child].docID()) child++;
+            if (heap[child].docID() >= d) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = node;
+    }
+
+    @Override
+    public long cost() {
+        return cost;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.ujk.finalproject.engine.search.postings;
+
+// Forward-only cursor over increasing doc ids. A fresh iterator is positioned
+// before the first doc (docID() == -1).
+public abstract class DocIdIterator {
+    public static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+
+    public abstract int docID();
+
+    public abstract int nextDoc();
+
+    // Moves to the first doc >= target (target must be > docID()).
+    public abstract int advance(int target);
+
+    // upper bound on the number of docs this iterator can return
+    public abstract long cost();
+}
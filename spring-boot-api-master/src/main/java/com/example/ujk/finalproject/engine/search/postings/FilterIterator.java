@@ -0,0 +1,42 @@
+package com.example.ujk.finalproject.engine.search.postings;
+
+import java.util.function.IntPredicate;
+
+// Skips the docs of an approximation that fail a (more expensive) check,
+// e.g. phrase verification on top of a conjunction of the phrase terms.
+public final class FilterIterator extends DocIdIterator {
+    private final DocIdIterator approximation;
+    private final IntPredicate accept;
+
+    public FilterIterator(DocIdIterator approximation, IntPredicate accept) {
+        this.approximation = approximation;
+        this.accept = accept;
+    }
+
+    @Override
+    public int docID() {
+        return approximation.docID();
+    }
+
+    @Override
+    public int nextDoc() {
+        return skipRejected(approximation.nextDoc());
+    }
+
+    @Override
+    public int advance(int target) {
+        return skipRejected(approximation.advance(target));
+    }
+
+    private int skipRejected(int doc) {
+        while (doc != NO_MORE_DOCS && !accept.test(doc)) {
+            doc = approximation.nextDoc();
+        }
+        return doc;
+    }
+
+    @Override
+    public long cost() {
+        return approximation.cost();
+    }
+}
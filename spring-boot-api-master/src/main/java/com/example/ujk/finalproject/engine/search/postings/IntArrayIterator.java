@@ -0,0 +1,36 @@
+package com.example.ujk.finalproject.engine.search.postings;
+
+// Iterator over an already materialised, sorted doc id array.
+public final class IntArrayIterator extends DocIdIterator {
+    private final int[] docs;
+    private int pos = -1;
+    private int doc = -1;
+
+    public IntArrayIterator(int[] docs) {
+        this.docs = docs;
+    }
+
+    @Override
+    public int docID() {
+        return doc;
+    }
+
+    @Override
+    public int nextDoc() {
+        return doc = ++pos < docs.length ? docs[pos] : NO_MORE_DOCS;
+    }
+
+    @Override
+    public int advance(int target) {
+        int d;
+        do {
+            d = nextDoc();
+        } while (d < target);
+        return d;
+    }
+
+    @Override
+    public long cost() {
+        return docs.length;
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.ujk.finalproject.engine.search.postings;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Where a term occurs inside each field, for every posting of one Postings list.
+//
+//   header   posting count, then the start of every BLOCK_SIZE-th posting
+//   data     per posting: a byte with one bit per field the term occurs in,
+//            then for each of those fields (in field order) a varint count
+//            and the varint gaps between its positions (the first from 0)
+//
+// A position is the index of the token among the field's analyzed tokens, so
+// dropped stop words leave no gap. Everything stays in one ByteBuffer, read
+// with absolute gets: in a MappedSegment it is a slice of the mapping, so a
+// query that never asks for positions never touches these pages, and one that
+// does decodes at most BLOCK_SIZE postings per lookup.
+public final class Positions {
+
+    static final int BLOCK_SIZE = 16;
+
+    private final ByteBuffer data;   // header, then the encoded postings
+    private final int size;
+    private final int dataStart;
+
+    private Positions(ByteBuffer data) {
+        this.data = data;
+        this.size = data.getInt(0);
+        this.dataStart = 4 + 4 * blocks(size);
+    }
+
+    private static int blocks(int size) {
+        return (size + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Serialized form: the byte length, then the buffer as held in memory.
+    public void writeTo(DataOutput out) throws IOException {
+        byte[] bytes = new byte[data.limit()];
+        data.get(0, bytes);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    // `in` is positioned at a list written by writeTo and is left after its end;
+    // the result shares `in`'s memory rather than copying it
+    public static Positions readFrom(ByteBuffer in) {
+        int length = in.getInt();
+        ByteBuffer slice = in.slice(in.position(), length);
+        in.position(in.position() + length);
+        return new Positions(slice);
+    }
+
+    public long ramBytesUsed() {
+        return data.isDirect() ? 32 : 32 + data.capacity();
+    }
+
+    // a reader is not thread safe; make one per term per search
+    public Reader reader() {
+        return new Reader();
+    }
+
+    // Decodes one posting at a time. Seeking forward within the same block
+    // carries on from the previous posting instead of starting the block over,
+    // so reading the postings of a conjunction in doc order decodes each
+    // posting at most once.
+    public final class Reader {
+        private final int[][] positions = new int[Postings.MAX_FIELDS][4];
+        private final int[] counts = new int[Postings.MAX_FIELDS];
+        private int index = -1;   // posting whose positions are loaded
+        private int next = -1;    // posting that starts at pos
+        private int pos;
+
+        // loads the positions of the posting at `index` (PostingsIterator.index())
+        public void seek(int index) {
+            if (index == this.index) {
+                return;
+            }
+            if (next < 0 || index < next || index / BLOCK_SIZE != next / BLOCK_SIZE) {
+                int block = index / BLOCK_SIZE;
+                pos = dataStart + data.getInt(4 + 4 * block);
+                next = block * BLOCK_SIZE;
+            }
+            for (; next < index; next++) skip();
+            int mask = data.get(pos++);
+            for (int f = 0; f < Postings.MAX_FIELDS; f++) {
+                if ((mask & (1 << f)) == 0) {
+                    counts[f] = 0;
+                    continue;
+                }
+                int count = readVInt();
+                if (positions[f].length < count) positions[f] = new int[Math.max(count, positions[f].length * 2)];
+                int p = 0;
+                for (int i = 0; i < count; i++) {
+                    p += readVInt();
+                    positions[f][i] = p;
+                }
+                counts[f] = count;
+            }
+            this.index = index;
+            next = index + 1;
+        }
+
+        // occurrences in `field` of the posting last seeked to
+        public int count(int field) {
+            return counts[field];
+        }
+
+        // the i-th of them, ascending
+        public int position(int field, int i) {
+            return positions[field][i];
+        }
+
+        private void skip() {
+            int mask = data.get(pos++);
+            for (int fields = Integer.bitCount(mask & 0xFF); fields > 0; fields--) {
+                for (int count = readVInt(); count > 0; count--) {
+                    while (data.get(pos++) < 0) {
+                    }
+                }
+            }
+        }
+
+        private int readVInt() {
+            int result = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = data.get(pos++);
+                result |= (b & 0x7F) << shift;
+                if (b >= 0) return result;
+            }
+        }
+    }
+
+    // Collects the positions of one term while documents are added in
+    // increasing order, and the positions of a document field by field.
+    public static final class Builder {
+        private byte[] out = new byte[16];
+        private int length;
+        private int[] blockStarts = new int[1];
+        private int size;
+        // the document being added: (field << 24 | position) in the order seen
+        private int doc = -1;
+        private int[] pending = new int[2];
+        private int pendingCount;
+
+        public void add(int doc, int field, int position) {
+            if (doc != this.doc) {
+                flush();
+                this.doc = doc;
+            }
+            if (pendingCount == pending.length) pending = Arrays.copyOf(pending, pendingCount * 2);
+            pending[pendingCount++] = field << 24 | Math.min(position, 0xFFFFFF);
+        }
+
+        public Positions build() {
+            flush();
+            int header = 4 + 4 * blocks(size);
+            ByteBuffer data = ByteBuffer.allocate(header + length);
+            data.putInt(size);
+            for (int b = 0; b < blocks(size); b++) data.putInt(blockStarts[b]);
+            data.put(out, 0, length);
+            return new Positions(data.flip());
+        }
+
+        private void flush() {
+            if (pendingCount == 0) {
+                return;
+            }
+            if (size % BLOCK_SIZE == 0) {
+                if (size / BLOCK_SIZE == blockStarts.length) blockStarts = Arrays.copyOf(blockStarts, blockStarts.length * 2);
+                blockStarts[size / BLOCK_SIZE] = length;
+            }
+            ensure(1 + pendingCount * 10);
+            int mask = 0;
+            for (int i = 0; i < pendingCount; i++) mask |= 1 << (pending[i] >>> 24);
+            out[length++] = (byte) mask;
+            // fields arrive in order, each with ascending positions
+            int i = 0;
+            while (i < pendingCount) {
+                int field = pending[i] >>> 24;
+                int end = i;
+                while (end < pendingCount && pending[end] >>> 24 == field) end++;
+                writeVInt(end - i);
+                int previous = 0;
+                for (; i < end; i++) {
+                    int position = pending[i] & 0xFFFFFF;
+                    writeVInt(position - previous);
+                    previous = position;
+                }
+            }
+            size++;
+            pendingCount = 0;
+        }
+
+        private void ensure(int extra) {
+            if (length + extra > out.length) out = Arrays.copyOf(out, Math.max(out.length * 2, length + extra));
+        }
+
+        private void writeVInt(int value) {
+            while ((value & ~0x7F) != 0) {
+                out[length++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out[length++] = (byte) value;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.ujk.finalproject.engine.search.postings;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+// Immutable, sorted doc id list for one term, plus a packed frequency byte per
+// posting (2 bits per field, saturating at 3: BM25 saturates long before that).
+//
+// Short lists are delta + varint encoded in blocks (DeltaPostings), long lists
+// use roaring-style containers (RoaringPostings). Either way a posting costs a
+// few bytes instead of a boxed Integer inside a HashSet.
+//
+// A list built with Positions carries them along (positions()), serialized
+// right after the doc ids; lists from segments written before positions
+// existed have none.
+public abstract class Postings {
+
+    // lists at least this long are stored as roaring containers
+    public static final int ROARING_THRESHOLD = 4096;
+
+    public static final int MAX_FIELDS = 4;
+    static final int MAX_FREQ = 3;
+
+    private static final int ROARING = 1;
+    private static final int HAS_POSITIONS = 2;
+
+    private final byte[] freqs;
+    // set once by encode or readFrom, before the list is handed out
+    private Positions positions;
+
+    protected Postings(byte[] freqs) {
+        this.freqs = freqs;
+    }
+
+    // docs: sorted, distinct, first `size` entries used
+    public static Postings encode(int[] docs, int size, byte[] freqs) {
+        if (size >= ROARING_THRESHOLD) {
+            return RoaringPostings.of(docs, size, freqs);
+        }
+        return DeltaPostings.of(docs, size, freqs);
+    }
+
+    // as above, with the positions of the same `size` postings
+    public static Postings encode(int[] docs, int size, byte[] freqs, Positions positions) {
+        Postings postings = encode(docs, size, freqs);
+        postings.positions = positions;
+        return postings;
+    }
+
+    public static byte packFreq(byte packed, int field, int increment) {
+        int shift = field * 2;
+        int current = (packed >>> shift) & MAX_FREQ;
+        int next = Math.min(MAX_FREQ, current + increment);
+        return (byte) ((packed & ~(MAX_FREQ << shift)) | (next << shift));
+    }
+
+    public int docFreq() {
+        return freqs.length;
+    }
+
+    // frequency of the term in `field` for the posting at `index`
+    public int freq(int index, int field) {
+        return (freqs[index] >>> (field * 2)) & MAX_FREQ;
+    }
+
+    // null when the list was written without positions
+    public Positions positions() {
+        return positions;
+    }
+
+    public abstract PostingsIterator iterator();
+
+    // Serialized form used by on-disk segments: kind, frequencies, then the
+    // encoded doc ids exactly as held in memory, so reading back is a copy
+    // rather than a re-encode, then the positions if there are any.
+    public final void writeTo(DataOutput out) throws IOException {
+        out.writeByte((this instanceof RoaringPostings ? ROARING : 0) | (positions != null ? HAS_POSITIONS : 0));
+        out.writeInt(freqs.length);
+        out.write(freqs);
+        writeBody(out);
+        if (positions != null) {
+            positions.writeTo(out);
+        }
+    }
+
+    // `in` is positioned at the start of a list written by writeTo; it is left after its end
+    public static Postings readFrom(ByteBuffer in) {
+        byte kind = in.get();
+        byte[] freqs = new byte[in.getInt()];
+        in.get(freqs);
+        Postings postings = (kind & ROARING) != 0 ? RoaringPostings.readBody(in, freqs) : DeltaPostings.readBody(in, freqs);
+        if ((kind & HAS_POSITIONS) != 0) {
+            postings.positions = Positions.readFrom(in);
+        }
+        return postings;
+    }
+
+    abstract void writeBody(DataOutput out) throws IOException;
+
+    // Docs present in every list. The rarest two lists are intersected first
+    // (container by container when both are roaring), then the survivors are
+    // probed against the remaining lists with galloping advance() calls.
+    public static int[] intersect(List<Postings> lists) {
+        List<Postings> byFreq = new ArrayList<>(lists);
+        byFreq.sort(Comparator.comparingInt(Postings::docFreq));
+        int[] docs;
+        if (byFreq.size() == 1) {
+            docs = byFreq.get(0).toArray();
+        } else if (byFreq.get(0) instanceof RoaringPostings && byFreq.get(1) instanceof RoaringPostings) {
+            docs = ((RoaringPostings) byFreq.get(0)).and((RoaringPostings) byFreq.get(1));
+        } else {
+            docs = retain(byFreq.get(0).toArray(), byFreq.get(1));
+        }
+        for (int i = 2; i < byFreq.size() && docs.length > 0; i++) {
+            docs = retain(docs, byFreq.get(i));
+        }
+        return docs;
+    }
+
+    public int[] toArray() {
+        int[] docs = new int[docFreq()];
+        PostingsIterator it = iterator();
+        for (int i = 0; i < docs.length; i++) docs[i] = it.nextDoc();
+        return docs;
+    }
+
+    private static int[] retain(int[] docs, Postings postings) {
+        int[] out = new int[docs.length];
+        int n = 0;
+        PostingsIterator it = postings.iterator();
+        for (int doc : docs) {
+            int d = it.docID() < doc ? it.advance(doc) : it.docID();
+            if (d == DocIdIterator.NO_MORE_DOCS) break;
+            if (d == doc) out[n++] = doc;
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    // approximate heap footprint, for sizing reports
+    public long ramBytesUsed() {
+        return 16 + freqs.length + (positions == null ? 0 : positions.ramBytesUsed());
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.ujk.finalproject.engine.search.postings;
+
+// Iterator over one term's postings that also exposes the ordinal of the
+// current doc within the list, which is how frequencies are looked up.
+public abstract class PostingsIterator extends DocIdIterator {
+
+    public abstract int index();
+}
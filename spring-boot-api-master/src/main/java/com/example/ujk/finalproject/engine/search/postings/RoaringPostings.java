@@ -0,0 +1,361 @@
+package com.example.ujk.finalproject.engine.search.postings;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Roaring-style layout for long postings lists: doc ids are split on their high
+// 16 bits into containers. A container with more than ARRAY_MAX docs is a
+// 1024-word bitmap, otherwise a sorted char[] of the low 16 bits. Dense
+// containers therefore cost 8 KB no matter how many docs they hold, and
+// advance() inside a bitmap is a word lookup rather than a decode loop.
+// Bitmaps carry a small rank table (set bits before every 64-word block) so the
+// ordinal needed for frequency lookups is computed only when index() is asked for.
+final class RoaringPostings extends Postings {
+    static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+    private static final int RANK_BLOCK = 64;
+
+    private final char[] keys;
+    private final char[][] arrays;    // null where the container is a bitmap
+    private final long[][] bitmaps;   // null where the container is an array
+    private final char[][] blockRanks; // per bitmap: set bits before each RANK_BLOCK words
+    private final int[] cumulative;   // docs in all previous containers
+    private final int size;
+
+    private RoaringPostings(char[] keys, char[][] arrays, long[][] bitmaps, char[][] blockRanks,
+                            int[] cumulative, int size, byte[] freqs) {
+        super(freqs);
+        this.keys = keys;
+        this.arrays = arrays;
+        this.bitmaps = bitmaps;
+        this.blockRanks = blockRanks;
+        this.cumulative = cumulative;
+        this.size = size;
+    }
+
+    static RoaringPostings of(int[] docs, int size, byte[] freqs) {
+        int containers = 0;
+        for (int i = 0, prevHigh = -1; i < size; i++) {
+            int high = docs[i] >>> 16;
+            if (high != prevHigh) {
+                containers++;
+                prevHigh = high;
+            }
+        }
+        char[] keys = new char[containers];
+        char[][] arrays = new char[containers][];
+        long[][] bitmaps = new long[containers][];
+        char[][] blockRanks = new char[containers][];
+        int[] cumulative = new int[containers];
+
+        int c = 0;
+        int i = 0;
+        while (i < size) {
+            int high = docs[i] >>> 16;
+            int end = i;
+            while (end < size && docs[end] >>> 16 == high) end++;
+            keys[c] = (char) high;
+            cumulative[c] = i;
+            int cardinality = end - i;
+            if (cardinality > ARRAY_MAX) {
+                long[] bitmap = new long[WORDS];
+                for (int j = i; j < end; j++) {
+                    int low = docs[j] & 0xFFFF;
+                    bitmap[low >>> 6] |= 1L << low;
+                }
+                bitmaps[c] = bitmap;
+                blockRanks[c] = ranks(bitmap);
+            } else {
+                char[] array = new char[cardinality];
+                for (int j = i; j < end; j++) {
+                    array[j - i] = (char) (docs[j] & 0xFFFF);
+                }
+                arrays[c] = array;
+            }
+            c++;
+            i = end;
+        }
+        return new RoaringPostings(keys, arrays, bitmaps, blockRanks, cumulative, size, freqs);
+    }
+
+    private static char[] ranks(long[] bitmap) {
+        char[] ranks = new char[WORDS / RANK_BLOCK];
+        int running = 0;
+        for (int w = 0; w < WORDS; w++) {
+            if (w % RANK_BLOCK == 0) ranks[w / RANK_BLOCK] = (char) running;
+            running += Long.bitCount(bitmap[w]);
+        }
+        return ranks;
+    }
+
+    // keys, then per container a kind byte and its chars or words; rank tables
+    // and cumulative counts are cheap to rebuild so they are not stored
+    @Override
+    void writeBody(DataOutput out) throws IOException {
+        out.writeInt(keys.length);
+        for (int c = 0; c < keys.length; c++) {
+            out.writeChar(keys[c]);
+            if (arrays[c] != null) {
+                out.writeByte(0);
+                out.writeInt(arrays[c].length);
+                for (char low : arrays[c]) out.writeChar(low);
+            } else {
+                out.writeByte(1);
+                for (long word : bitmaps[c]) out.writeLong(word);
+            }
+        }
+    }
+
+    static RoaringPostings readBody(ByteBuffer in, byte[] freqs) {
+        int containers = in.getInt();
+        char[] keys = new char[containers];
+        char[][] arrays = new char[containers][];
+        long[][] bitmaps = new long[containers][];
+        char[][] blockRanks = new char[containers][];
+        int[] cumulative = new int[containers];
+        int size = 0;
+        for (int c = 0; c < containers; c++) {
+            keys[c] = in.getChar();
+            cumulative[c] = size;
+            if (in.get() == 0) {
+                char[] array = new char[in.getInt()];
+                in.asCharBuffer().get(array);
+                in.position(in.position() + 2 * array.length);
+                arrays[c] = array;
+                size += array.length;
+            } else {
+                long[] bitmap = new long[WORDS];
+                in.asLongBuffer().get(bitmap);
+                in.position(in.position() + 8 * WORDS);
+                bitmaps[c] = bitmap;
+                blockRanks[c] = ranks(bitmap);
+                for (long word : bitmap) size += Long.bitCount(word);
+            }
+        }
+        return new RoaringPostings(keys, arrays, bitmaps, blockRanks, cumulative, size, freqs);
+    }
+
+    @Override
+    public PostingsIterator iterator() {
+        return new Iterator();
+    }
+
+    // Container-wise intersection: bitmap pairs are ANDed a word at a time (a
+    // loop the JIT vectorises well), array/bitmap pairs are bit probes, and
+    // array pairs use a galloping merge.
+    int[] and(RoaringPostings other) {
+        int[] out = new int[Math.min(size, other.size)];
+        int n = 0;
+        int i = 0, j = 0;
+        while (i < keys.length && j < other.keys.length) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                int high = keys[i] << 16;
+                char[] a1 = arrays[i];
+                char[] a2 = other.arrays[j];
+                if (a1 == null && a2 == null) {
+                    long[] b1 = bitmaps[i];
+                    long[] b2 = other.bitmaps[j];
+                    for (int w = 0; w < WORDS; w++) {
+                        long x = b1[w] & b2[w];
+                        while (x != 0) {
+                            out[n++] = high | (w << 6) | Long.numberOfTrailingZeros(x);
+                            x &= x - 1;
+                        }
+                    }
+                } else if (a1 != null && a2 != null) {
+                    int p = 0;
+                    for (char low : a1) {
+                        p = gallop(a2, p, low);
+                        if (p >= a2.length) break;
+                        if (a2[p] == low) out[n++] = high | low;
+                    }
+                } else {
+                    char[] array = a1 != null ? a1 : a2;
+                    long[] bitmap = a1 != null ? other.bitmaps[j] : bitmaps[i];
+                    for (char low : array) {
+                        if ((bitmap[low >>> 6] & (1L << low)) != 0) out[n++] = high | low;
+                    }
+                }
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    @Override
+    public long ramBytesUsed() {
+        long bytes = super.ramBytesUsed() + 6L * keys.length + 64;
+        for (int c = 0; c < keys.length; c++) {
+            bytes += arrays[c] != null ? 16 + 2L * arrays[c].length : 48 + 8L * WORDS + 2L * WORDS / RANK_BLOCK;
+        }
+        return bytes;
+    }
+
+    private final class Iterator extends PostingsIterator {
+        private int doc = -1;
+        private int container = -1;
+        private int high;
+        // array container
+        private int arrayPos;
+        // bitmap container: current word and its bits above the current doc
+        private int wordIndex;
+        private long word;
+        // ordinal of the current doc, or -1 until index() resolves it
+        private int index = -1;
+
+        @Override
+        public int docID() {
+            return doc;
+        }
+
+        @Override
+        public int index() {
+            if (index < 0) {
+                if (doc == NO_MORE_DOCS) return size;
+                // bitmap: rank of the current bit inside its container
+                long[] bitmap = bitmaps[container];
+                int bit = doc & 63;
+                int rank = blockRanks[container][wordIndex / RANK_BLOCK];
+                for (int w = wordIndex - wordIndex % RANK_BLOCK; w < wordIndex; w++) {
+                    rank += Long.bitCount(bitmap[w]);
+                }
+                rank += Long.bitCount(bitmap[wordIndex] & ((1L << bit) - 1));
+                index = cumulative[container] + rank;
+            }
+            return index;
+        }
+
+        @Override
+        public int nextDoc() {
+            if (container < 0) {
+                if (keys.length == 0) return doc = NO_MORE_DOCS;
+                enter(0);
+            }
+            return nextInContainer();
+        }
+
+        @Override
+        public int advance(int target) {
+            if (doc == NO_MORE_DOCS) return doc;
+            int targetHigh = target >>> 16;
+            if (container < 0 || keys[container] < targetHigh) {
+                int next = seekContainer(Math.max(container, 0), targetHigh);
+                if (next >= keys.length) return exhaust();
+                enter(next);
+                if (keys[next] > targetHigh) return nextInContainer();
+            }
+            int low = target & 0xFFFF;
+            char[] array = arrays[container];
+            if (array != null) {
+                int pos = gallop(array, arrayPos + 1, low);
+                if (pos >= array.length) {
+                    return nextContainer();
+                }
+                arrayPos = pos;
+                index = cumulative[container] + pos;
+                return doc = high | array[pos];
+            }
+            int targetWord = low >>> 6;
+            if (targetWord > wordIndex) {
+                wordIndex = targetWord;
+                word = bitmaps[container][targetWord];
+            }
+            word &= -1L << low;
+            return nextInContainer();
+        }
+
+        private int nextInContainer() {
+            while (true) {
+                char[] array = arrays[container];
+                if (array != null) {
+                    if (++arrayPos < array.length) {
+                        index = cumulative[container] + arrayPos;
+                        return doc = high | array[arrayPos];
+                    }
+                } else {
+                    long[] bitmap = bitmaps[container];
+                    while (word == 0 && wordIndex < WORDS - 1) {
+                        word = bitmap[++wordIndex];
+                    }
+                    if (word != 0) {
+                        int bit = Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                        index = -1;
+                        return doc = high | (wordIndex << 6) | bit;
+                    }
+                }
+                if (container + 1 >= keys.length) return exhaust();
+                enter(container + 1);
+            }
+        }
+
+        private int nextContainer() {
+            if (container + 1 >= keys.length) return exhaust();
+            enter(container + 1);
+            return nextInContainer();
+        }
+
+        private void enter(int c) {
+            container = c;
+            high = keys[c] << 16;
+            arrayPos = -1;
+            wordIndex = -1;
+            word = 0;
+        }
+
+        private int exhaust() {
+            index = size;
+            return doc = NO_MORE_DOCS;
+        }
+
+        // first container index >= from whose key is >= targetHigh
+        private int seekContainer(int from, int targetHigh) {
+            int lo = from;
+            int step = 1;
+            int hi = from;
+            while (hi < keys.length && keys[hi] < targetHigh) {
+                lo = hi + 1;
+                hi += step;
+                step <<= 1;
+            }
+            hi = Math.min(hi, keys.length);
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (keys[mid] < targetHigh) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        @Override
+        public long cost() {
+            return size;
+        }
+    }
+
+    // exponential then binary search for the first position >= from holding a value >= low
+    static int gallop(char[] array, int from, int low) {
+        int lo = from;
+        int step = 1;
+        int hi = from;
+        while (hi < array.length && array[hi] < low) {
+            lo = hi + 1;
+            hi += step;
+            step <<= 1;
+        }
+        hi = Math.min(hi, array.length);
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (array[mid] < low) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
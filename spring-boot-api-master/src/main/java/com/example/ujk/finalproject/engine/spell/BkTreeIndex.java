@@ -0,0 +1,111 @@
+package com.example.ujk.finalproject.engine.spell;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Burkhard-Keller tree over the dictionary. Every child edge is labelled with the
+// distance between the child word and its parent, so by the triangle inequality a
+// query at distance d from a node only needs to descend into edges labelled
+// [d - bound, d + bound]. The bound shrinks to the best distance found so far,
+// which keeps the number of verified candidates small for realistic typos.
+// Each node also records its largest child edge, so the distance to a node is
+// computed with a bound of (best + largest edge) and abandoned early when
+// neither the node nor any of its children can qualify.
+//
+// Nodes are stored in parallel int arrays; node i holds dictionary word i and
+// children are chained through nextSibling.
+public final class BkTreeIndex implements SpellIndex {
+    private static final int NONE = -1;
+
+    private final String[] words;
+    private final int maxDistance;
+    private final boolean transpositions;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final int[] edge;
+    private final int[] maxEdge;
+
+    public BkTreeIndex(List<String> words, int maxDistance, boolean transpositions) {
+        this.words = words.toArray(new String[0]);
+        this.maxDistance = maxDistance;
+        this.transpositions = transpositions;
+        int n = this.words.length;
+        firstChild = new int[n];
+        nextSibling = new int[n];
+        edge = new int[n];
+        maxEdge = new int[n];
+        Arrays.fill(firstChild, NONE);
+        Arrays.fill(nextSibling, NONE);
+        for (int i = 1; i < n; i++) {
+            insert(i);
+        }
+    }
+
+    private void insert(int id) {
+        String word = words[id];
+        int node = 0;
+        while (true) {
+            int d = distance(word, words[node], Integer.MAX_VALUE);
+            if (d == 0) {
+                return; // duplicate, the earlier id wins ties anyway
+            }
+            int child = firstChild[node];
+            while (child != NONE && edge[child] != d) {
+                child = nextSibling[child];
+            }
+            if (child == NONE) {
+                edge[id] = d;
+                nextSibling[id] = firstChild[node];
+                firstChild[node] = id;
+                maxEdge[node] = Math.max(maxEdge[node], d);
+                return;
+            }
+            node = child;
+        }
+    }
+
+    @Override
+    public Correction closest(String word) {
+        if (words.length == 0) {
+            return null;
+        }
+        int best = NONE;
+        int bestDistance = maxDistance;
+        int[] stack = new int[16];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            int bound = (int) Math.min(Integer.MAX_VALUE, (long) bestDistance + maxEdge[node]);
+            int d = distance(word, words[node], bound);
+            if (d > bound) {
+                continue;
+            }
+            if (d < bestDistance || (d == bestDistance && (best == NONE || node < best))) {
+                best = node;
+                bestDistance = d;
+            }
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                if (Math.abs(edge[child] - d) <= bestDistance) {
+                    if (top == stack.length) stack = Arrays.copyOf(stack, top * 2);
+                    stack[top++] = child;
+                }
+            }
+        }
+        return best == NONE ? null : new Correction(words[best], bestDistance);
+    }
+
+    private int distance(String a, String b, int bound) {
+        return EditDistance.bounded(a, b, bound, transpositions);
+    }
+
+    @Override
+    public int maxDistance() {
+        return maxDistance;
+    }
+
+    @Override
+    public int size() {
+        return words.length;
+    }
+}
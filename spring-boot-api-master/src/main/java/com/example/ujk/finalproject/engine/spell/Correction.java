@@ -0,0 +1,20 @@
+package com.example.ujk.finalproject.engine.spell;
+
+// A dictionary word and its edit distance from the queried word.
+public final class Correction {
+    private final String word;
+    private final int distance;
+
+    public Correction(String word, int distance) {
+        this.word = word;
+        this.distance = distance;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public int getDistance() {
+        return distance;
+    }
+}
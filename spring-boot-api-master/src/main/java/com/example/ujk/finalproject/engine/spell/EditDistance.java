@@ -0,0 +1,112 @@
+package com.example.ujk.finalproject.engine.spell;
+
+// Edit distance functions shared by the spell-check indexes.
+//
+// The kernel keeps only the rows it needs (two, or three with transpositions)
+// in a per-thread scratch buffer, so a call allocates nothing once the buffer
+// has grown to the longest word seen. With a threshold it only fills the
+// diagonal band |i - j| <= max (Ukkonen) and stops as soon as a whole row is
+// over the threshold.
+public final class EditDistance {
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private EditDistance() {
+    }
+
+    public static int levenshtein(CharSequence a, CharSequence b) {
+        return bounded(a, b, Integer.MAX_VALUE, false);
+    }
+
+    // Optimal string alignment distance: Levenshtein plus adjacent transpositions ("pyhton").
+    public static int damerau(CharSequence a, CharSequence b) {
+        return bounded(a, b, Integer.MAX_VALUE, true);
+    }
+
+    // Exact distance when it is <= max, otherwise max + 1.
+    public static int bounded(CharSequence a, CharSequence b, int max, boolean transpositions) {
+        if (max < 0) {
+            return 0;
+        }
+        int n = a.length();
+        int m = b.length();
+        if (Math.abs(n - m) > max) {
+            return max + 1;
+        }
+        if (n == 0 || m == 0) {
+            return Math.max(n, m);
+        }
+        // a band wider than the longer word is the full matrix
+        int limit = Math.min(max, Math.max(n, m));
+        int big = limit + 1;
+
+        Scratch scratch = SCRATCH.get();
+        scratch.ensure(m + 1);
+        int[] prevPrev = scratch.r0;
+        int[] prev = scratch.r1;
+        int[] cur = scratch.r2;
+
+        int init = Math.min(m, limit);
+        for (int j = 0; j <= init; j++) prev[j] = j;
+        if (init < m) prev[init + 1] = big;
+
+        for (int i = 1; i <= n; i++) {
+            int from = Math.max(1, i - limit);
+            int to = Math.min(m, i + limit);
+            char ca = a.charAt(i - 1);
+            char caPrev = i > 1 ? a.charAt(i - 2) : 0;
+
+            int rowMin;
+            if (from == 1) {
+                cur[0] = i <= limit ? i : big;
+                rowMin = cur[0];
+            } else {
+                cur[from - 1] = big;
+                rowMin = big;
+            }
+
+            for (int j = from; j <= to; j++) {
+                char cb = b.charAt(j - 1);
+                int v = prev[j - 1] + (ca == cb ? 0 : 1);
+                int del = prev[j] + 1;
+                if (del < v) v = del;
+                int ins = cur[j - 1] + 1;
+                if (ins < v) v = ins;
+                if (transpositions && i > 1 && j > 1 && ca == b.charAt(j - 2) && caPrev == cb) {
+                    int t = prevPrev[j - 2] + 1;
+                    if (t < v) v = t;
+                }
+                if (v > big) v = big;
+                cur[j] = v;
+                if (v < rowMin) rowMin = v;
+            }
+            if (to < m) cur[to + 1] = big;
+            if (rowMin > limit) {
+                return max + 1;
+            }
+
+            int[] tmp = prevPrev;
+            prevPrev = prev;
+            prev = cur;
+            cur = tmp;
+        }
+        int d = prev[m];
+        return d > limit ? max + 1 : d;
+    }
+
+    private static final class Scratch {
+        int[] r0 = new int[32];
+        int[] r1 = new int[32];
+        int[] r2 = new int[32];
+
+        void ensure(int size) {
+            // one spare slot for the band sentinel past the last column
+            if (r0.length < size + 1) {
+                int cap = Math.max(size + 1, r0.length * 2);
+                r0 = new int[cap];
+                r1 = new int[cap];
+                r2 = new int[cap];
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.ujk.finalproject.engine.spell;
+
+import java.util.List;
+
+// Reference implementation: measures the distance to every dictionary word.
+// O(N) distance computations per query, kept for correctness checks and tiny dictionaries.
+public final class LinearScanIndex implements SpellIndex {
+    private final String[] words;
+    private final int maxDistance;
+    private final boolean transpositions;
+
+    public LinearScanIndex(List<String> words, int maxDistance, boolean transpositions) {
+        this.words = words.toArray(new String[0]);
+        this.maxDistance = maxDistance;
+        this.transpositions = transpositions;
+    }
+
+    @Override
+    public Correction closest(String word) {
+        String bestMatch = null;
+        int minDistance = maxDistance == Integer.MAX_VALUE ? maxDistance : maxDistance + 1;
+
+        for (String candidate : words) {
+            // only a strictly better word can replace the current best
+            int bound = minDistance - 1;
+            int distance = EditDistance.bounded(word, candidate, bound, transpositions);
+            if (distance <= bound) {
+                minDistance = distance;
+                bestMatch = candidate;
+                if (distance == 0) break;
+            }
+        }
+        return bestMatch == null ? null : new Correction(bestMatch, minDistance);
+    }
+
+    @Override
+    public int maxDistance() {
+        return maxDistance;
+    }
+
+    @Override
+    public int size() {
+        return words.length;
+    }
+}
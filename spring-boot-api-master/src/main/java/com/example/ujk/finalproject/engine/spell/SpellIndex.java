@@ -0,0 +1,32 @@
+package com.example.ujk.finalproject.engine.spell;
+
+import java.util.List;
+
+// Candidate generation for spelling correction. Implementations return the
+// closest dictionary word within `maxDistance` edits; ties go to the word that
+// appears first in the dictionary, so every implementation agrees with the
+// linear reference scan.
+//
+// With transpositions enabled the metric is optimal string alignment, which is
+// not a strict metric, so BkTreeIndex can in rare cases miss a candidate that
+// the linear scan would find.
+public interface SpellIndex {
+
+    // null when no dictionary word is within maxDistance
+    Correction closest(String word);
+
+    int maxDistance();
+
+    int size();
+
+    static SpellIndex create(String type, List<String> words, int maxDistance, boolean transpositions) {
+        switch (type.toLowerCase()) {
+            case "bk-tree":
+                return new BkTreeIndex(words, maxDistance, transpositions);
+            case "linear":
+                return new LinearScanIndex(words, maxDistance, transpositions);
+            default:
+                throw new IllegalArgumentException("Unknown spell index type: " + type);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.ujk.finalproject.engine.validation;
+
+import com.example.ujk.finalproject.engine.patterns.PatternScanner;
+import com.example.ujk.finalproject.engine.patterns.PatternType;
+import com.example.ujk.finalproject.model.Course;
+
+// Checks one course against every ValidationRule. Stateless and thread-safe.
+//
+// URL and price are the DataValidation page's original checks: an http(s) url
+// without whitespace, and a "$" anywhere in the title. The original email
+// check matched an anchored email regex against "title url", which the space
+// alone made fail for every course; it now passes when the title or the url
+// contains an email, found with PatternScanner.
+public final class CourseValidator {
+
+    private static final int EMAIL = 1 << PatternType.EMAIL.ordinal();
+
+    private final PatternScanner scanner = new PatternScanner();
+
+    // bit i set when the course fails ValidationRule.values()[i]
+    public int failures(Course course) {
+        int failed = 0;
+        if (!isHttpUrl(course.getUrl())) {
+            failed |= ValidationRule.URL.bit();
+        }
+        if (!hasEmail(course.getTitle()) && !hasEmail(course.getUrl())) {
+            failed |= ValidationRule.EMAIL.bit();
+        }
+        if (course.getTitle() == null || !course.getTitle().contains("$")) {
+            failed |= ValidationRule.PRICE.bit();
+        }
+        return failed;
+    }
+
+    private boolean hasEmail(String text) {
+        if (text == null) {
+            return false;
+        }
+        boolean[] found = new boolean[1];
+        scanner.scan(text, EMAIL, (type, start, end) -> found[0] = true);
+        return found[0];
+    }
+
+    // http:// or https:// followed by at least one char and no whitespace
+    static boolean isHttpUrl(String url) {
+        if (url == null) {
+            return false;
+        }
+        int start = url.startsWith("https://") ? 8 : url.startsWith("http://") ? 7 : -1;
+        if (start < 0 || start == url.length()) {
+            return false;
+        }
+        for (int i = start; i < url.length(); i++) {
+            if (Character.isWhitespace(url.charAt(i))) return false;
+        }
+        return true;
+    }
+}
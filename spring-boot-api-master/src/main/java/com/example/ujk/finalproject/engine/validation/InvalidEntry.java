@@ -0,0 +1,49 @@
+package com.example.ujk.finalproject.engine.validation;
+
+public class InvalidEntry {
+
+    private String id;
+    private String type;
+    private String value;
+    private String reason;
+
+    public InvalidEntry(String id, String type, String value, String reason) {
+        this.id = id;
+        this.type = type;
+        this.value = value;
+        this.reason = reason;
+    }
+
+    // the course url
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+}
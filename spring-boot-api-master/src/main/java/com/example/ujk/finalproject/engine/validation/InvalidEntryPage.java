@@ -0,0 +1,31 @@
+package com.example.ujk.finalproject.engine.validation;
+
+import java.util.List;
+
+public class InvalidEntryPage {
+
+    private List<InvalidEntry> entries;
+    // pass back to get the next page; null on the last one
+    private String nextCursor;
+
+    public InvalidEntryPage(List<InvalidEntry> entries, String nextCursor) {
+        this.entries = entries;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<InvalidEntry> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<InvalidEntry> entries) {
+        this.entries = entries;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.ujk.finalproject.engine.validation;
+
+import com.example.ujk.finalproject.engine.search.IndexSegment;
+import com.example.ujk.finalproject.model.Course;
+
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+// Validation results for every doc of one segment, deleted or not. Segments
+// never change, so this is computed once when the segment first shows up.
+final class SegmentValidation {
+
+    private final byte[] failures;      // per doc, CourseValidator bits
+    private final long[] counts;        // failing docs per rule
+    private final int[][] docsByRule;   // failing docs per rule, sorted by url
+
+    private SegmentValidation(byte[] failures, long[] counts, int[][] docsByRule) {
+        this.failures = failures;
+        this.counts = counts;
+        this.docsByRule = docsByRule;
+    }
+
+    static SegmentValidation build(IndexSegment segment, CourseValidator validator) {
+        int maxDoc = segment.maxDoc();
+        ValidationRule[] rules = ValidationRule.values();
+        byte[] failures = new byte[maxDoc];
+        String[] urls = new String[maxDoc];
+        long[] counts = new long[rules.length];
+        for (int doc = 0; doc < maxDoc; doc++) {
+            Course course = segment.document(doc);
+            urls[doc] = course.getUrl();
+            failures[doc] = (byte) validator.failures(course);
+            for (ValidationRule rule : rules) {
+                if ((failures[doc] & rule.bit()) != 0) counts[rule.ordinal()]++;
+            }
+        }
+        int[][] docsByRule = new int[rules.length][];
+        for (ValidationRule rule : rules) {
+            docsByRule[rule.ordinal()] = IntStream.range(0, maxDoc)
+                    .filter(doc -> (failures[doc] & rule.bit()) != 0)
+                    .boxed()
+                    .sorted(Comparator.comparing(doc -> urls[doc]))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+        return new SegmentValidation(failures, counts, docsByRule);
+    }
+
+    int failures(int doc) {
+        return failures[doc];
+    }
+
+    long count(ValidationRule rule) {
+        return counts[rule.ordinal()];
+    }
+
+    int[] docs(ValidationRule rule) {
+        return docsByRule[rule.ordinal()];
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.ujk.finalproject.engine.validation;
+
+import com.example.ujk.finalproject.engine.search.IndexSegment;
+import com.example.ujk.finalproject.engine.search.IndexSnapshot;
+import com.example.ujk.finalproject.engine.search.LiveSegment;
+import com.example.ujk.finalproject.model.Course;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+// Validation results for the catalog, kept up to date snapshot by snapshot.
+//
+// Each segment is validated once, when it first appears (SegmentValidation).
+// Per segment the index also keeps the failing-doc counts over its live docs;
+// when a later snapshot deletes docs from it, only the newly deleted docs are
+// subtracted. Totals are then a sum over segments, computed in update(), so
+// stats() is a field read.
+//
+// Invalid entries are listed in (url, rule) order by merging the per-segment,
+// url-sorted failure lists. The cursor is the last (url, rule) returned, so
+// paging keeps its place across refreshes and merges.
+public final class ValidationIndex {
+
+    private static final Comparator<Source> ORDER = Comparator
+            .comparing((Source s) -> s.url)
+            .thenComparingInt(s -> s.rule.ordinal());
+
+    private final CourseValidator validator;
+    private volatile State state = new State(-1, IndexSnapshot.empty(), new IdentityHashMap<>(),
+            new long[ValidationRule.values().length]);
+
+    public ValidationIndex(CourseValidator validator) {
+        this.validator = validator;
+    }
+
+    // Moves to `snapshot`; older snapshots than the current one are ignored.
+    public synchronized void update(IndexSnapshot snapshot) {
+        State current = state;
+        if (snapshot.version() <= current.version) {
+            return;
+        }
+        Map<IndexSegment, Segment> segments = new IdentityHashMap<>();
+        long[] totals = new long[ValidationRule.values().length];
+        for (LiveSegment live : snapshot.segments()) {
+            Segment previous = current.segments.get(live.segment());
+            Segment next;
+            if (previous == null) {
+                SegmentValidation validation = SegmentValidation.build(live.segment(), validator);
+                long[] invalid = new long[totals.length];
+                for (ValidationRule rule : ValidationRule.values()) invalid[rule.ordinal()] = validation.count(rule);
+                next = new Segment(validation, live, invalid);
+                next.subtract(live.deletedSince(LiveSegment.of(live.segment())));
+            } else if (previous.live == live) {
+                next = previous;
+            } else {
+                next = new Segment(previous.validation, live, previous.invalid.clone());
+                next.subtract(live.deletedSince(previous.live));
+            }
+            segments.put(live.segment(), next);
+            for (int r = 0; r < totals.length; r++) totals[r] += next.invalid[r];
+        }
+        state = new State(snapshot.version(), snapshot, segments, totals);
+    }
+
+    public ValidationStats stats() {
+        return state.stats;
+    }
+
+    // Up to `limit` failures of the given rules, starting after `cursor` (null for the first page).
+    public InvalidEntryPage page(Set<ValidationRule> rules, String cursor, int limit) {
+        State current = state;
+        String afterUrl = "";
+        int afterRule = -1;
+        if (cursor != null && !cursor.isEmpty()) {
+            String decoded = decode(cursor);
+            int colon = decoded.indexOf(':');
+            afterRule = Integer.parseInt(decoded.substring(0, colon));
+            afterUrl = decoded.substring(colon + 1);
+        }
+
+        PriorityQueue<Source> queue = new PriorityQueue<>(ORDER);
+        for (LiveSegment live : current.snapshot.segments()) {
+            Segment segment = current.segments.get(live.segment());
+            for (ValidationRule rule : rules) {
+                Source source = new Source(live, rule, segment.validation.docs(rule));
+                source.pos = source.lowerBound(afterUrl);
+                if (source.advance(afterUrl, afterRule)) queue.add(source);
+            }
+        }
+
+        List<InvalidEntry> entries = new ArrayList<>(Math.min(limit, 1024));
+        String lastUrl = null;
+        int lastRule = -1;
+        while (entries.size() < limit && !queue.isEmpty()) {
+            Source source = queue.poll();
+            ValidationRule rule = source.rule;
+            entries.add(new InvalidEntry(source.url, rule.label(), rule.value(source.course()), rule.reason()));
+            lastUrl = source.url;
+            lastRule = rule.ordinal();
+            source.pos++;
+            if (source.advance(lastUrl, lastRule)) queue.add(source);
+        }
+        String next = queue.isEmpty() || lastUrl == null ? null : encode(lastRule + ":" + lastUrl);
+        return new InvalidEntryPage(entries, next);
+    }
+
+    private static String encode(String cursor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int colon = decoded.indexOf(':');
+        if (colon < 1) {
+            throw new IllegalArgumentException("bad cursor");
+        }
+        return decoded;
+    }
+
+    private static final class State {
+        final long version;     // -1 before the first update
+        final IndexSnapshot snapshot;
+        final Map<IndexSegment, Segment> segments;
+        final ValidationStats stats;
+
+        State(long version, IndexSnapshot snapshot, Map<IndexSegment, Segment> segments, long[] totals) {
+            this.version = version;
+            this.snapshot = snapshot;
+            this.segments = segments;
+            this.stats = new ValidationStats(version, snapshot.numDocs(), totals);
+        }
+    }
+
+    // a segment's validation plus its failing-doc counts over the live docs of `live`
+    private static final class Segment {
+        final SegmentValidation validation;
+        final LiveSegment live;
+        final long[] invalid;
+
+        Segment(SegmentValidation validation, LiveSegment live, long[] invalid) {
+            this.validation = validation;
+            this.live = live;
+            this.invalid = invalid;
+        }
+
+        void subtract(int[] deletedDocs) {
+            for (int doc : deletedDocs) {
+                int failures = validation.failures(doc);
+                for (ValidationRule rule : ValidationRule.values()) {
+                    if ((failures & rule.bit()) != 0) invalid[rule.ordinal()]--;
+                }
+            }
+        }
+    }
+
+    // position in one segment's url-sorted failure list for one rule
+    private static final class Source {
+        final LiveSegment live;
+        final ValidationRule rule;
+        final int[] docs;
+        int pos;
+        String url;
+
+        Source(LiveSegment live, ValidationRule rule, int[] docs) {
+            this.live = live;
+            this.rule = rule;
+            this.docs = docs;
+        }
+
+        Course course() {
+            return live.segment().document(docs[pos]);
+        }
+
+        String urlAt(int i) {
+            return live.segment().url(docs[i]);
+        }
+
+        // first position whose url is >= `url`
+        int lowerBound(String url) {
+            int lo = 0;
+            int hi = docs.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (urlAt(mid).compareTo(url) < 0) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+
+        // moves to the first live doc after (afterUrl, afterRule); false when exhausted
+        boolean advance(String afterUrl, int afterRule) {
+            for (; pos < docs.length; pos++) {
+                if (live.isDeleted(docs[pos])) continue;
+                String candidate = urlAt(pos);
+                int cmp = candidate.compareTo(afterUrl);
+                if (cmp > 0 || (cmp == 0 && rule.ordinal() > afterRule)) {
+                    url = candidate;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.ujk.finalproject.engine.validation;
+
+import com.example.ujk.finalproject.model.Course;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+public enum ValidationRule {
+    URL("URL", "Invalid URL"),
+    EMAIL("Email", "No email found"),
+    PRICE("Price", "No price found");
+
+    private final String label;
+    private final String reason;
+
+    ValidationRule(String label, String reason) {
+        this.label = label;
+        this.reason = reason;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public String reason() {
+        return reason;
+    }
+
+    int bit() {
+        return 1 << ordinal();
+    }
+
+    // the field shown next to a failure
+    public String value(Course course) {
+        String value = this == URL ? course.getUrl() : course.getTitle();
+        return value == null ? "" : value;
+    }
+
+    // "url", "url,price" or "all"
+    public static Set<ValidationRule> parse(String rules) {
+        Set<ValidationRule> result = EnumSet.noneOf(ValidationRule.class);
+        for (String rule : rules.split(",")) {
+            String r = rule.trim().toUpperCase(Locale.ROOT);
+            if (r.isEmpty()) continue;
+            if (r.equals("ALL")) return EnumSet.allOf(ValidationRule.class);
+            result.add(valueOf(r));
+        }
+        return result;
+    }
+}
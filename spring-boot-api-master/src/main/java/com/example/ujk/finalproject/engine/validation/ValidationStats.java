@@ -0,0 +1,32 @@
+package com.example.ujk.finalproject.engine.validation;
+
+// Rule counters over the live docs of one snapshot.
+public final class ValidationStats {
+
+    private final long version;
+    private final long totalRecords;
+    private final long[] invalid;
+
+    ValidationStats(long version, long totalRecords, long[] invalid) {
+        this.version = version;
+        this.totalRecords = totalRecords;
+        this.invalid = invalid;
+    }
+
+    // snapshot version the counters belong to
+    public long version() {
+        return version;
+    }
+
+    public long totalRecords() {
+        return totalRecords;
+    }
+
+    public long invalid(ValidationRule rule) {
+        return invalid[rule.ordinal()];
+    }
+
+    public long valid(ValidationRule rule) {
+        return totalRecords - invalid[rule.ordinal()];
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.ujk.finalproject.metrics;
+
+import com.example.ujk.finalproject.engine.cache.CacheStats;
+import com.example.ujk.finalproject.services.AutoCompleteService;
+import com.example.ujk.finalproject.services.FrequencyCountService;
+import com.example.ujk.finalproject.services.QueryService;
+import com.example.ujk.finalproject.services.SearchService;
+import com.example.ujk.finalproject.services.SpellCheckService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Index size, cache and frequency gauges. Everything here is read when
+// /actuator/prometheus is scraped, from counters the engines keep anyway,
+// so none of it adds work to requests.
+@Component
+public class EngineMetrics implements MeterBinder {
+
+    private final SearchService searchService;
+    private final SpellCheckService spellCheckService;
+    private final AutoCompleteService autoCompleteService;
+    private final FrequencyCountService frequencyService;
+    private final QueryService queryService;
+
+    public EngineMetrics(SearchService searchService,
+                         SpellCheckService spellCheckService,
+                         AutoCompleteService autoCompleteService,
+                         FrequencyCountService frequencyService,
+                         QueryService queryService) {
+        this.searchService = searchService;
+        this.spellCheckService = spellCheckService;
+        this.autoCompleteService = autoCompleteService;
+        this.frequencyService = frequencyService;
+        this.queryService = queryService;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("index.docs", searchService, s -> s.snapshot().numDocs())
+                .description("Live documents in the current index snapshot").register(registry);
+        Gauge.builder("index.max.docs", searchService, s -> s.snapshot().maxDoc())
+                .description("Documents including deleted ones not merged away yet").register(registry);
+        Gauge.builder("index.segments", searchService, s -> s.snapshot().segments().size())
+                .register(registry);
+        Gauge.builder("index.version", searchService, s -> s.snapshot().version())
+                .register(registry);
+        Gauge.builder("index.pending.changes", searchService, SearchService::pendingChanges)
+                .description("Buffered changes not searchable until the next refresh").register(registry);
+
+        bindCache(registry, "search", searchService, SearchService::cacheStats);
+        bindCache(registry, "spellcheck", spellCheckService, SpellCheckService::cacheStats);
+        bindCache(registry, "autocomplete", autoCompleteService, AutoCompleteService::cacheStats);
+
+        FunctionCounter.builder("frequency.dropped", frequencyService, FrequencyCountService::storeDropped)
+                .tag("stage", "store")
+                .description("Searches not persisted because the write-behind queue was full").register(registry);
+        FunctionCounter.builder("frequency.dropped", frequencyService, FrequencyCountService::trendingDropped)
+                .tag("stage", "trending")
+                .description("Searches left out of trending because a buffer was full").register(registry);
+        FunctionCounter.builder("frequency.dropped", queryService, QueryService::droppedUpdates)
+                .tag("stage", "query")
+                .description("Frequency updates from /api/query dropped because the updater fell behind").register(registry);
+    }
+
+    // Same names and tags as Micrometer's own cache binders. Meters only hold
+    // their state object weakly, so it is the service, not a lambda around it.
+    private static <T> void bindCache(MeterRegistry registry, String name, T owner, Function<T, CacheStats> stats) {
+        FunctionCounter.builder("cache.gets", owner, o -> stats.apply(o).getHits())
+                .tags("cache", name, "result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", owner, o -> stats.apply(o).getMisses())
+                .tags("cache", name, "result", "miss").register(registry);
+        FunctionCounter.builder("cache.evictions", owner, o -> stats.apply(o).getEvictions())
+                .tag("cache", name).register(registry);
+        Gauge.builder("cache.size", owner, o -> stats.apply(o).getSize())
+                .tag("cache", name).register(registry);
+        FunctionTimer.builder("cache.loads", owner, o -> stats.apply(o).getLoads(),
+                        o -> stats.apply(o).getTotalLoadNanos(), TimeUnit.NANOSECONDS)
+                .tag("cache", name).register(registry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.ujk.finalproject.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+
+// Timers for the internal stages of a request, all under one metric name:
+// engine_stage_seconds{component="search",stage="scoring"} in Prometheus.
+// They publish histogram buckets from 1 us up, so quantiles can be computed
+// and aggregated on the Prometheus side; recording one is a bucket increment
+// on the calling thread and never blocks.
+public final class StageTimers {
+
+    public static final String NAME = "engine.stage";
+
+    private StageTimers() {
+    }
+
+    public static Timer timer(MeterRegistry registry, String component, String stage) {
+        return Timer.builder(NAME)
+                .description("Time spent in one stage of handling a request")
+                .tag("component", component)
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+    }
+}
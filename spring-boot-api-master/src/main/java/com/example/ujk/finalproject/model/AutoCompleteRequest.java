@@ -1,5 +1,7 @@
 package com.example.ujk.finalproject.model;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 
@@ -12,10 +14,21 @@ public class AutoCompleteRequest {
             message = "word must contain valid characters"
         )
         private String word;
+
+        // optional, defaults to AutoCompleteService.DEFAULT_LIMIT
+        @Min(value = 1, message = "limit must be at least 1")
+        @Max(value = 100, message = "limit must be at most 100")
+        private Integer limit;
     public String getWord() {
         return word;
     }
     public void setWord(String word) {
         this.word = word;
     }
+    public Integer getLimit() {
+        return limit;
+    }
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
 }
\ No newline at end of file
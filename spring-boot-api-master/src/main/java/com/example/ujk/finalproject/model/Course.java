@@ -14,6 +14,9 @@ public class Course {
 
     // Constructor + Getters + Setters
 
+    public Course() {
+    }
+
     public Course(String title, String url, String university, String level, String type, String category, String imageUrl, String scrapedAt) {
         this.title = title;
         this.url = url;
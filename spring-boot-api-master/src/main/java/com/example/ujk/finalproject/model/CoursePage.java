@@ -0,0 +1,42 @@
+package com.example.ujk.finalproject.model;
+
+import java.util.List;
+
+// One page of GET /api/courses, in url order
+public class CoursePage {
+
+    private List<Course> courses;
+    // pass back to get the next page; null on the last one
+    private String nextCursor;
+    private int totalCourses;
+
+    public CoursePage(List<Course> courses, String nextCursor, int totalCourses) {
+        this.courses = courses;
+        this.nextCursor = nextCursor;
+        this.totalCourses = totalCourses;
+    }
+
+    public List<Course> getCourses() {
+        return courses;
+    }
+
+    public void setCourses(List<Course> courses) {
+        this.courses = courses;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public int getTotalCourses() {
+        return totalCourses;
+    }
+
+    public void setTotalCourses(int totalCourses) {
+        this.totalCourses = totalCourses;
+    }
+}
@@ -2,22 +2,22 @@ package com.example.ujk.finalproject.model;
 
 public class FrequencyCountResponse {
     private String word;
-    private int frequency;
+    private long frequency;
     private String message;
     private  int statusCode;
 
-    public FrequencyCountResponse(String word, int frequency, String message) {
+    public FrequencyCountResponse(String word, long frequency, String message) {
         this.word = word;
     }
 
-    public FrequencyCountResponse(String word, int frequency, String message, int statusCode) {
+    public FrequencyCountResponse(String word, long frequency, String message, int statusCode) {
         this.word = word;
         this.frequency = frequency;
         this.message = message;
         this.statusCode = statusCode;
     }
 
-    public FrequencyCountResponse(String word, int frequency) {
+    public FrequencyCountResponse(String word, long frequency) {
         this.word = word;
         this.frequency = frequency;
     }
@@ -25,7 +25,7 @@ public class FrequencyCountResponse {
     public String getWord() {
         return word;
     }
-    public int getFrequency() {
+    public long getFrequency() {
         return frequency;
     }
 
@@ -38,7 +38,7 @@ public class FrequencyCountResponse {
     public void setWord(String word) {
         this.word = word;
     }
-    public void setFrequency(int frequency) {
+    public void setFrequency(long frequency) {
         this.frequency = frequency;
     }
 }
@@ -0,0 +1,43 @@
+package com.example.ujk.finalproject.model;
+
+import java.util.List;
+import java.util.Map;
+
+public class PatternReport {
+
+    private List<PatternResult> results;
+    // courses with at least one match; results holds at most `limit` of them
+    private int totalCount;
+    // matches per pattern type over the whole catalog
+    private Map<String, Long> stats;
+
+    public PatternReport(List<PatternResult> results, int totalCount, Map<String, Long> stats) {
+        this.results = results;
+        this.totalCount = totalCount;
+        this.stats = stats;
+    }
+
+    public List<PatternResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<PatternResult> results) {
+        this.results = results;
+    }
+
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(int totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public Map<String, Long> getStats() {
+        return stats;
+    }
+
+    public void setStats(Map<String, Long> stats) {
+        this.stats = stats;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.ujk.finalproject.model;
+
+import java.util.List;
+import java.util.Map;
+
+public class PatternResult {
+
+    private String courseId;
+    private String title;
+    private String platform;
+    private List<String> matches;
+    private Map<String, List<String>> matchesByType;
+
+    public PatternResult(String courseId, String title, String platform,
+                         List<String> matches, Map<String, List<String>> matchesByType) {
+        this.courseId = courseId;
+        this.title = title;
+        this.platform = platform;
+        this.matches = matches;
+        this.matchesByType = matchesByType;
+    }
+
+    public String getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(String courseId) {
+        this.courseId = courseId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getPlatform() {
+        return platform;
+    }
+
+    public void setPlatform(String platform) {
+        this.platform = platform;
+    }
+
+    public List<String> getMatches() {
+        return matches;
+    }
+
+    public void setMatches(List<String> matches) {
+        this.matches = matches;
+    }
+
+    public Map<String, List<String>> getMatchesByType() {
+        return matchesByType;
+    }
+
+    public void setMatchesByType(Map<String, List<String>> matchesByType) {
+        this.matchesByType = matchesByType;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.ujk.finalproject.model;
+
+import jakarta.validation.constraints.NotBlank;
+
+import java.util.List;
+import java.util.Map;
+
+public class QueryRequest {
+
+        @NotBlank(message = "search is required")
+        private String search;
+
+        // optional: max results (default SearchService.DEFAULT_LIMIT) and "and"/"or" (default "and")
+        private Integer limit;
+        private String operator;
+        // nextCursor of the previous page; absent for the first
+        private String cursor;
+        // optional facet filters, e.g. {"university": ["Coursera", "edX"], "level": ["Beginner"]}:
+        // any of a field's values, and every field; facets: also return facet counts
+        private Map<String, List<String>> filters;
+        private boolean facets;
+
+    public String getSearch() { return search; }
+    public void setSearch(String search) { this.search = search; }
+    public Integer getLimit() { return limit; }
+    public void setLimit(Integer limit) { this.limit = limit; }
+    public String getOperator() { return operator; }
+    public void setOperator(String operator) { this.operator = operator; }
+    public String getCursor() { return cursor; }
+    public void setCursor(String cursor) { this.cursor = cursor; }
+    public Map<String, List<String>> getFilters() { return filters; }
+    public void setFilters(Map<String, List<String>> filters) { this.filters = filters; }
+    public boolean isFacets() { return facets; }
+    public void setFacets(boolean facets) { this.facets = facets; }
+}
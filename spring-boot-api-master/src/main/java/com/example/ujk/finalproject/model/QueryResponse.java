@@ -0,0 +1,88 @@
+package com.example.ujk.finalproject.model;
+
+import com.example.ujk.finalproject.engine.search.FacetValue;
+
+import java.util.List;
+import java.util.Map;
+
+// Result of /api/query: the spelling check and the search on the corrected
+// query, in the field names of SpellCheckResponse and SearchResponse
+public class QueryResponse {
+    private String query;
+    private String correctedWord;
+    private boolean speltCorrectly;
+    private List<Course> courses_found;
+    private int totalHits;
+    // pass back as `cursor` for the next page; null on the last one
+    private String nextCursor;
+    // most frequent values per facet field, when the request asked for facets
+    private Map<String, List<FacetValue>> facets;
+    private int statusCode;
+    private String message;
+
+    public QueryResponse(String query, String correctedWord, boolean speltCorrectly,
+                         List<Course> courses_found, int totalHits) {
+        this.query = query;
+        this.correctedWord = correctedWord;
+        this.speltCorrectly = speltCorrectly;
+        this.courses_found = courses_found;
+        this.totalHits = totalHits;
+        this.statusCode = 200;
+        this.message = "Success";
+    }
+
+    public String getQuery() {
+        return query;
+    }
+    public void setQuery(String query) {
+        this.query = query;
+    }
+    public String getCorrectedWord() {
+        return correctedWord;
+    }
+    public void setCorrectedWord(String correctedWord) {
+        this.correctedWord = correctedWord;
+    }
+    public boolean isSpeltCorrectly() {
+        return speltCorrectly;
+    }
+    public void setSpeltCorrectly(boolean speltCorrectly) {
+        this.speltCorrectly = speltCorrectly;
+    }
+    public List<Course> getCourses_found() {
+        return courses_found;
+    }
+    public void setCourses_found(List<Course> courses_found) {
+        this.courses_found = courses_found;
+    }
+    public int getTotalHits() {
+        return totalHits;
+    }
+    public void setTotalHits(int totalHits) {
+        this.totalHits = totalHits;
+    }
+    public Map<String, List<FacetValue>> getFacets() {
+        return facets;
+    }
+    public void setFacets(Map<String, List<FacetValue>> facets) {
+        this.facets = facets;
+    }
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+    public int getStatusCode() {
+        return statusCode;
+    }
+    public void setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+    }
+    public String getMessage() {
+        return message;
+    }
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.ujk.finalproject.model;
 
+import com.example.ujk.finalproject.engine.search.FacetValue;
+
 import java.util.List;
+import java.util.Map;
 
 public class SearchResponse {
 
 
     private List<Course> courses_found;
+    private int totalHits;
+    // pass back as `cursor` for the next page; null on the last one
+    private String nextCursor;
+    // most frequent values per facet field, when the request asked for facets
+    private Map<String, List<FacetValue>> facets;
     private int statusCode;
     private String message;
 
@@ -26,6 +34,28 @@ public class SearchResponse {
     public void setCourses_found(List<Course> courses_found) {
         this.courses_found = courses_found;
     }
+    public int getTotalHits() {
+        return totalHits;
+    }
+
+    public void setTotalHits(int totalHits) {
+        this.totalHits = totalHits;
+    }
+    public Map<String, List<FacetValue>> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(Map<String, List<FacetValue>> facets) {
+        this.facets = facets;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
     public int getStatusCode() {
         return statusCode;
     }
@@ -1,11 +1,32 @@
 package com.example.ujk.finalproject.services;
+import com.example.ujk.finalproject.engine.autocomplete.CompletionTrie;
+import com.example.ujk.finalproject.engine.cache.CacheStats;
+import com.example.ujk.finalproject.engine.cache.QueryCache;
+import com.example.ujk.finalproject.metrics.StageTimers;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class AutoCompleteService {
+    public static final int DEFAULT_LIMIT = 10;
+
+    private static final Logger log = LoggerFactory.getLogger(AutoCompleteService.class);
+
     // get these values from db later
     private static final List<String> WORDS = List.of(
             "apple", "application", "apply", "applet",
@@ -13,19 +34,84 @@ public class AutoCompleteService {
             "cat", "cater", "category", "catch"
     );
 
+    private final int topK;
+    private volatile CompletionTrie trie;
+    // keyed by "limit|prefix"; every rebuild moves it to a new version
+    private final QueryCache<String, List<String>> completions;
+    private final Timer lookupTimer;
+
+    public AutoCompleteService(@Value("${autocomplete.top-k:10}") int topK,
+                               @Value("${autocomplete.vocabulary-file:}") String vocabularyFile,
+                               @Value("${cache.autocomplete.size:10000}") int cacheSize,
+                               @Value("${cache.shards:16}") int cacheShards,
+                               MeterRegistry registry) {
+        this.topK = topK;
+        this.completions = new QueryCache<>(cacheSize, cacheShards, 0);
+        this.lookupTimer = StageTimers.timer(registry, "autocomplete", "lookup");
+        Map<String, Long> vocabulary = new HashMap<>();
+        for (String w : WORDS) {
+            vocabulary.put(w, 1L);
+        }
+        if (!vocabularyFile.isBlank()) {
+            readVocabulary(Path.of(vocabularyFile), vocabulary);
+        }
+        build(vocabulary);
+    }
+
     public List<String> getCompletions(String prefix) {
-        List<String> results = new ArrayList<>();
+        return getCompletions(prefix, DEFAULT_LIMIT);
+    }
 
+    // Completions ordered by weight (popularity), best first.
+    public List<String> getCompletions(String prefix, int limit) {
         if (prefix == null || prefix.isEmpty()) {
-            return results;
+            return List.of();
         }
+        String word = prefix.toLowerCase();
+        // version before trie: rebuild() writes them in the opposite order, so a
+        // lookup racing it can at worst cache a new result under the old version
+        long version = completions.version();
+        CompletionTrie current = trie;
+        return completions.get(limit + "|" + word, version, key -> {
+            long start = System.nanoTime();
+            List<String> result = List.copyOf(current.complete(word, limit));
+            lookupTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        });
+    }
 
-        for (String w : WORDS) {
-            if (w.startsWith(prefix.toLowerCase())) {
-                results.add(w);
+    // Swaps in a new vocabulary; in-flight lookups keep using the previous trie.
+    public synchronized void rebuild(Map<String, Long> vocabulary) {
+        build(vocabulary);
+    }
+
+    // also run by the constructor, which must not call the overridable rebuild()
+    private void build(Map<String, Long> vocabulary) {
+        long start = System.nanoTime();
+        CompletionTrie next = CompletionTrie.build(vocabulary, topK);
+        trie = next;
+        completions.invalidate(completions.version() + 1);
+        log.info("Autocomplete trie built: {} terms, {} nodes in {} ms",
+                next.size(), next.nodeCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public CacheStats cacheStats() {
+        return completions.stats();
+    }
+
+    // One entry per line: "term" or "term<TAB>weight". Later lines add to earlier weights.
+    private static void readVocabulary(Path file, Map<String, Long> vocabulary) {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                int tab = line.lastIndexOf('\t');
+                String term = tab < 0 ? line : line.substring(0, tab);
+                long weight = tab < 0 ? 1L : Long.parseLong(line.substring(tab + 1).trim());
+                vocabulary.merge(term.trim().toLowerCase(), weight, Long::sum);
             }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read autocomplete vocabulary " + file, e);
         }
-
-        return results;
     }
 }
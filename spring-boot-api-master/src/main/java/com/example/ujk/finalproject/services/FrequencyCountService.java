@@ -1,22 +1,121 @@
 package com.example.ujk.finalproject.services;
 
 
+import com.example.ujk.finalproject.engine.frequency.CountMinSketch;
+import com.example.ujk.finalproject.engine.frequency.FrequencyCounter;
+import com.example.ujk.finalproject.engine.frequency.FrequencyStore;
+import com.example.ujk.finalproject.engine.frequency.FrequencySummary;
+import com.example.ujk.finalproject.engine.frequency.TrendWindow;
+import com.example.ujk.finalproject.engine.frequency.TrendingTerm;
+import com.example.ujk.finalproject.engine.frequency.TrendingTracker;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
 
 @Service
 public class FrequencyCountService {
-    private final ConcurrentHashMap<String, Integer> frequencyMap = new ConcurrentHashMap<>();
+    public static final int DEFAULT_TRENDING = 20;
 
-    public int incrementAndGetFrequency(String word) {
-        return frequencyMap.merge(word.toLowerCase(), 1, Integer::sum);
+    private final FrequencyCounter counter;
+    private final TrendingTracker trending;
+    private final FrequencyStore store;     // null: counts are not persisted
+
+    // frequency.counter: "striped" (default) keeps hot terms fast under
+    // contention, "map" is the plain ConcurrentHashMap, and "sketch" is a
+    // Count-Min Sketch of fixed size that may overcount by up to epsilon times
+    // the total count, except with probability delta. Trending is bounded in
+    // every mode: a term with more than 1 / trending.capacity of the recent
+    // searches is always listed.
+    //
+    // With frequency.store.dir set, counts and trending survive restarts: see
+    // FrequencyStore. Searches are logged every fsync-interval-ms and compacted
+    // into a snapshot every snapshot-interval-ms.
+    public FrequencyCountService(@Value("${frequency.counter:striped}") String counterMode,
+                                 @Value("${frequency.sketch.epsilon:0.0001}") double epsilon,
+                                 @Value("${frequency.sketch.delta:0.001}") double delta,
+                                 @Value("${trending.capacity:1000}") int trendingCapacity,
+                                 @Value("${frequency.store.dir:}") String storeDir,
+                                 @Value("${frequency.store.fsync-interval-ms:200}") long fsyncIntervalMs,
+                                 @Value("${frequency.store.snapshot-interval-ms:300000}") long snapshotIntervalMs,
+                                 @Value("${frequency.store.queue-capacity:1000000}") int queueCapacity)
+            throws IOException {
+        FrequencyCounter counter = FrequencyCounter.create(counterMode, epsilon, delta);
+        TrendingTracker trending = new TrendingTracker(trendingCapacity);
+        if (storeDir.isBlank()) {
+            this.store = null;
+            this.counter = counter;
+            this.trending = trending;
+        } else {
+            // the store keeps the recovered instances as its record of what is on disk
+            this.store = FrequencyStore.open(Path.of(storeDir), counter, trending,
+                    queueCapacity, fsyncIntervalMs, snapshotIntervalMs);
+            this.counter = counter.copy();
+            this.trending = trending.copy(System.currentTimeMillis());
+        }
+    }
+
+    public long incrementAndGetFrequency(String word) {
+        String key = word.toLowerCase(Locale.ROOT);
+        trending.record(key, System.currentTimeMillis());
+        if (store != null) {
+            store.offer(key);
+        }
+        return counter.increment(key);
+    }
+
+    // Most searched terms over the window, highest first
+    public List<TrendingTerm> getTrending(TrendWindow window, int limit) {
+        return trending.top(window, limit, System.currentTimeMillis());
+    }
+
+    // searches the write-behind store had to drop; 0 without a store
+    public long storeDropped() {
+        return store == null ? 0 : store.dropped();
+    }
+
+    public long trendingDropped() {
+        return trending.dropped();
+    }
+
+    // Counts and trending of this instance, for mergeSummary() on another one.
+    // Only the sketch mode has a summary of bounded size.
+    public byte[] exportSummary() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            FrequencySummary.write(out, sketch(), trending, System.currentTimeMillis());
+        }
+        return bytes.toByteArray();
+    }
+
+    // Refused while counts are persisted: the store logs searches, not summaries,
+    // so a merge would be lost on the next restart.
+    public void mergeSummary(InputStream in) throws IOException {
+        if (store != null) {
+            throw new IllegalStateException("Frequency summaries cannot be merged while frequency.store.dir is set");
+        }
+        FrequencySummary.merge(new DataInputStream(in), sketch(), trending, System.currentTimeMillis());
+    }
+
+    private CountMinSketch sketch() {
+        if (!(counter instanceof CountMinSketch)) {
+            throw new IllegalStateException("Frequency summaries need frequency.counter=sketch");
+        }
+        return (CountMinSketch) counter;
     }
 
-    // Return a snapshot of the current frequencies for reporting/trending
-    public Map<String, Integer> getFrequencySnapshot() {
-        return new HashMap<>(frequencyMap);
+    @PreDestroy
+    public void close() {
+        if (store != null) {
+            store.close();
+        }
     }
 }
@@ -0,0 +1,110 @@
+package com.example.ujk.finalproject.services;
+
+import com.example.ujk.finalproject.engine.patterns.PatternScanner;
+import com.example.ujk.finalproject.engine.patterns.PatternType;
+import com.example.ujk.finalproject.engine.search.IndexSnapshot;
+import com.example.ujk.finalproject.metrics.StageTimers;
+import com.example.ujk.finalproject.model.Course;
+import com.example.ujk.finalproject.model.PatternReport;
+import com.example.ujk.finalproject.model.PatternResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Extracts emails, URLs, phone numbers, prices and dates from the catalog.
+// The current snapshot is cut into chunks of CHUNK_DOCS documents that are
+// scanned in parallel; chunk results are merged in doc order, so the rows
+// returned are stable for a given snapshot.
+@Service
+public class PatternService {
+    public static final int DEFAULT_LIMIT = 100;
+
+    private static final int CHUNK_DOCS = 4096;
+
+    private final PatternScanner scanner = new PatternScanner();
+    private final SearchService searchService;
+    private final Timer scanTimer;
+
+    public PatternService(SearchService searchService, MeterRegistry registry) {
+        this.searchService = searchService;
+        this.scanTimer = StageTimers.timer(registry, "patterns", "scan");
+    }
+
+    public PatternReport findPatterns(Set<PatternType> types, int limit) {
+        long start = System.nanoTime();
+        IndexSnapshot snapshot = searchService.snapshot();
+        int mask = PatternType.mask(types);
+        int chunks = (snapshot.maxDoc() + CHUNK_DOCS - 1) / CHUNK_DOCS;
+        List<ChunkResult> scanned = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> scanChunk(snapshot, chunk, mask, limit))
+                .collect(Collectors.toList());
+        scanTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        List<PatternResult> results = new ArrayList<>();
+        long[] counts = new long[PatternType.values().length];
+        int totalCount = 0;
+        for (ChunkResult chunk : scanned) {
+            for (PatternResult row : chunk.rows) {
+                if (results.size() == limit) break;
+                results.add(row);
+            }
+            totalCount += chunk.courses;
+            for (int t = 0; t < counts.length; t++) counts[t] += chunk.counts[t];
+        }
+        Map<String, Long> stats = new LinkedHashMap<>();
+        for (PatternType type : types) stats.put(type.key(), counts[type.ordinal()]);
+        return new PatternReport(results, totalCount, stats);
+    }
+
+    private ChunkResult scanChunk(IndexSnapshot snapshot, int chunk, int mask, int limit) {
+        ChunkResult result = new ChunkResult();
+        int end = Math.min(snapshot.maxDoc(), (chunk + 1) * CHUNK_DOCS);
+        for (int doc = chunk * CHUNK_DOCS; doc < end; doc++) {
+            if (snapshot.isDeleted(doc)) continue;
+            Course course = snapshot.document(doc);
+            Map<PatternType, List<String>> found = new EnumMap<>(PatternType.class);
+            scan(course.getTitle(), mask, found);
+            scan(course.getUrl(), mask, found);
+            scan(course.getUniversity(), mask, found);
+            scan(course.getScrapedAt(), mask, found);
+            if (found.isEmpty()) continue;
+
+            result.courses++;
+            List<String> matches = new ArrayList<>();
+            Map<String, List<String>> byType = new LinkedHashMap<>();
+            for (Map.Entry<PatternType, List<String>> e : found.entrySet()) {
+                result.counts[e.getKey().ordinal()] += e.getValue().size();
+                matches.addAll(e.getValue());
+                byType.put(e.getKey().key(), e.getValue());
+            }
+            if (result.rows.size() < limit) {
+                String platform = course.getUniversity() == null ? course.getType() : course.getUniversity();
+                result.rows.add(new PatternResult(course.getUrl(), course.getTitle(), platform, matches, byType));
+            }
+        }
+        return result;
+    }
+
+    private void scan(String field, int mask, Map<PatternType, List<String>> found) {
+        if (field == null) return;
+        scanner.scan(field, mask, (type, start, end) ->
+                found.computeIfAbsent(type, t -> new ArrayList<>()).add(field.substring(start, end)));
+    }
+
+    private static final class ChunkResult {
+        final List<PatternResult> rows = new ArrayList<>();
+        final long[] counts = new long[PatternType.values().length];
+        int courses;
+    }
+}
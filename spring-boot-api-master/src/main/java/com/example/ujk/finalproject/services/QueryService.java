@@ -0,0 +1,131 @@
+package com.example.ujk.finalproject.services;
+
+import com.example.ujk.finalproject.engine.search.FacetFilter;
+import com.example.ujk.finalproject.engine.search.Query;
+import com.example.ujk.finalproject.engine.search.TopDocs;
+import com.example.ujk.finalproject.model.QueryResponse;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// What the search page used to do in three requests (/api/spellcheck,
+// /api/search, /api/freq), as one: the query is searched as typed, with
+// words the index does not have matched to index terms a few edits away (see
+// IndexSearcher). Such a word makes the query misspelt: it gets a suggestion
+// from the spelling dictionary and the search is not counted; otherwise its
+// frequency is counted. The count runs on a background
+// thread after the response is built; when that thread falls more than
+// queue-capacity searches behind, further counts are dropped, not waited for.
+@Service
+public class QueryService {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryService.class);
+
+    private final SpellCheckService spellCheckService;
+    private final SearchService searchService;
+    private final FrequencyCountService frequencyService;
+    private final ThreadPoolExecutor frequencyUpdater;
+    private final AtomicLong droppedUpdates = new AtomicLong();
+
+    public QueryService(SpellCheckService spellCheckService,
+                        SearchService searchService,
+                        FrequencyCountService frequencyService,
+                        @Value("${query.frequency.queue-capacity:10000}") int queueCapacity) {
+        this.spellCheckService = spellCheckService;
+        this.searchService = searchService;
+        this.frequencyService = frequencyService;
+        this.frequencyUpdater = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "query-frequency");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (r, executor) -> droppedUpdates.incrementAndGet());
+    }
+
+    // cursor: nextCursor of the previous page, null for the first; see
+    // SearchService.searchTopDocs for filter and countFacets
+    public QueryResponse query(String text, int limit, Query.Operator operator, String cursor,
+                               FacetFilter filter, boolean countFacets) {
+        // spelling is checked on the words as typed, against the index; the
+        // dictionary only suggests a replacement for a word the index lacks
+        Query words = searchService.parseWords(text, operator);
+        boolean speltCorrectly = true;
+        List<List<String>> corrected = new ArrayList<>(words.getClauses().size());
+        for (List<String> clause : words.getClauses()) {
+            List<String> terms = new ArrayList<>(clause.size());
+            for (String word : clause) {
+                if (searchService.isIndexed(word)) {
+                    terms.add(word);
+                } else {
+                    speltCorrectly = false;
+                    String closest = spellCheckService.closest(word);
+                    terms.add(closest == null ? word : closest);
+                }
+            }
+            corrected.add(terms);
+        }
+        List<Integer> slops = new ArrayList<>(corrected.size());
+        for (int c = 0; c < corrected.size(); c++) slops.add(words.getSlop(c));
+        String correctedText = toText(new Query(corrected, slops, words.getOperator()));
+        Query query = searchService.parseQuery(text, operator);
+
+        TopDocs topDocs = searchService.searchTopDocs(query, limit, cursor, filter, countFacets);
+        QueryResponse response = new QueryResponse(text, correctedText, speltCorrectly,
+                searchService.toCourses(topDocs), topDocs.getTotalHits());
+        response.setNextCursor(SearchService.nextCursor(topDocs, limit));
+        if (topDocs.getFacets() != null) {
+            response.setFacets(topDocs.getFacets().top(SearchService.FACET_VALUES));
+        }
+
+        // same rule as /api/freq: only correctly spelt searches are counted, and
+        // only once, not again for every further page
+        if (speltCorrectly && !query.isEmpty() && cursor == null) {
+            frequencyUpdater.execute(() -> frequencyService.incrementAndGetFrequency(correctedText));
+        }
+        return response;
+    }
+
+    // frequency updates lost because the background thread was too far behind
+    public long droppedUpdates() {
+        return droppedUpdates.get();
+    }
+
+    // Query text that parses back to `query`: phrases are quoted, with their slop
+    private static String toText(Query query) {
+        StringBuilder out = new StringBuilder();
+        for (int c = 0; c < query.getClauses().size(); c++) {
+            List<String> clause = query.getClauses().get(c);
+            if (out.length() > 0) {
+                out.append(query.getOperator() == Query.Operator.OR ? " OR " : " ");
+            }
+            if (clause.size() == 1) {
+                out.append(clause.get(0));
+            } else {
+                out.append('"').append(String.join(" ", clause)).append('"');
+                if (query.getSlop(c) > 0) out.append('~').append(query.getSlop(c));
+            }
+        }
+        return out.toString();
+    }
+
+    // lets queued counts reach the FrequencyCountService before it closes
+    @PreDestroy
+    public void close() throws InterruptedException {
+        frequencyUpdater.shutdown();
+        if (!frequencyUpdater.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("Gave up on {} queued frequency updates", frequencyUpdater.getQueue().size());
+            frequencyUpdater.shutdownNow();
+        }
+    }
+}
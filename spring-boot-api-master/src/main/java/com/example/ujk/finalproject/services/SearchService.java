@@ -1,17 +1,148 @@
 package com.example.ujk.finalproject.services;
 
+import com.example.ujk.finalproject.engine.cache.CacheStats;
+import com.example.ujk.finalproject.engine.cache.QueryCache;
+import com.example.ujk.finalproject.engine.ingest.CatalogFormat;
+import com.example.ujk.finalproject.engine.ingest.CatalogLoader;
+import com.example.ujk.finalproject.engine.ingest.LoadReport;
+import com.example.ujk.finalproject.engine.search.Analyzer;
+import com.example.ujk.finalproject.engine.search.Bm25;
+import com.example.ujk.finalproject.engine.search.FacetFilter;
+import com.example.ujk.finalproject.engine.search.IndexDirectory;
+import com.example.ujk.finalproject.engine.search.IndexSearcher;
+import com.example.ujk.finalproject.engine.search.IndexSnapshot;
+import com.example.ujk.finalproject.engine.search.IndexWriter;
+import com.example.ujk.finalproject.engine.search.PageCursor;
+import com.example.ujk.finalproject.engine.search.Query;
+import com.example.ujk.finalproject.engine.search.QueryParser;
+import com.example.ujk.finalproject.engine.search.ScoredDoc;
+import com.example.ujk.finalproject.engine.search.TieredMergePolicy;
+import com.example.ujk.finalproject.engine.search.TopDocs;
+import com.example.ujk.finalproject.engine.search.UrlOrderIterator;
+import com.example.ujk.finalproject.engine.search.analysis.LowercaseFilter;
+import com.example.ujk.finalproject.metrics.StageTimers;
 import com.example.ujk.finalproject.model.Course;
+import com.example.ujk.finalproject.model.CoursePage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 @Service
 public class SearchService {
-    private final List<Course> courses = new ArrayList<>();
-    private final Map<String, Set<Integer>> invertedIndex = new ConcurrentHashMap<>();
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_PAGE_SIZE = 1000;
+    // values returned per facet field
+    public static final int FACET_VALUES = 20;
 
-    public SearchService() {
+    private static final Logger log = LoggerFactory.getLogger(SearchService.class);
+
+    private final Analyzer analyzer;
+    private final QueryParser queryParser;
+    // the query's words as typed, lowercased but not stemmed, for spelling
+    private final QueryParser wordParser = new QueryParser(new Analyzer(List.of(new LowercaseFilter())));
+    private final Bm25 bm25;
+    private final IndexWriter writer;
+    private final IndexSearcher searcher;
+    private final QueryCache<String, TopDocs> resultCache;
+    private final Timer tokenizeTimer;
+
+    // bulk import: peak memory is about (max-in-flight + 1) * batch-size courses
+    @Value("${catalog.import.path:}")
+    private String importPath;
+    @Value("${catalog.import.batch-size:10000}")
+    private int importBatchSize;
+    @Value("${catalog.import.max-in-flight:4}")
+    private int importMaxInFlight;
+    // 0: one thread per core
+    @Value("${catalog.import.parallelism:0}")
+    private int importParallelism;
+
+    public SearchService(@Value("${search.bm25.k1:1.2}") float k1,
+                         @Value("${search.bm25.b:0.75}") float b,
+                         @Value("${search.weight.title:3.0}") float titleWeight,
+                         @Value("${search.weight.category:1.5}") float categoryWeight,
+                         @Value("${search.weight.level:0.5}") float levelWeight,
+                         @Value("${search.weight.university:1.0}") float universityWeight,
+                         @Value("${search.analyzer.stop-words:}") List<String> stopWords,
+                         @Value("${search.analyzer.synonyms:}") List<String> synonyms,
+                         @Value("${search.analyzer.stemming:true}") boolean stemming,
+                         @Value("${search.proximity.weight:1.0}") float proximityWeight,
+                         @Value("${search.fuzzy.max-edits:2}") int fuzzyMaxEdits,
+                         @Value("${search.index.dir:}") String indexDir,
+                         @Value("${search.index.max-buffered-docs:5000}") int maxBufferedDocs,
+                         @Value("${search.index.refresh-interval-ms:1000}") long refreshIntervalMs,
+                         @Value("${search.index.merge-factor:10}") int mergeFactor,
+                         @Value("${search.index.max-merged-docs:1000000}") int maxMergedDocs,
+                         @Value("${cache.search.size:10000}") int cacheSize,
+                         @Value("${cache.search.ttl-ms:0}") long cacheTtlMs,
+                         @Value("${cache.shards:16}") int cacheShards,
+                         MeterRegistry registry) throws IOException {
+        this.analyzer = new Analyzer(Analyzer.standard(stopWords, synonymMap(synonyms), stemming));
+        this.queryParser = new QueryParser(analyzer);
+        // order follows CourseField
+        this.bm25 = new Bm25(k1, b, new float[]{titleWeight, categoryWeight, levelWeight, universityWeight});
+        // no index dir: everything stays on the heap and is rebuilt on every start
+        IndexDirectory directory = indexDir.isBlank() ? null : IndexDirectory.open(Path.of(indexDir));
+        this.writer = new IndexWriter(analyzer, directory,
+                new TieredMergePolicy(mergeFactor, 1000, maxMergedDocs, 0.3), maxBufferedDocs, refreshIntervalMs);
+        this.tokenizeTimer = StageTimers.timer(registry, "search", "tokenize");
+        Timer postingsTimer = StageTimers.timer(registry, "search", "postings");
+        Timer scoringTimer = StageTimers.timer(registry, "search", "scoring");
+        this.searcher = new IndexSearcher(bm25, proximityWeight, fuzzyMaxEdits, (postingsNanos, scoringNanos) -> {
+            postingsTimer.record(postingsNanos, TimeUnit.NANOSECONDS);
+            scoringTimer.record(scoringNanos, TimeUnit.NANOSECONDS);
+        });
+        // results are cached per snapshot version; a refresh drops them right away
+        this.resultCache = new QueryCache<>(cacheSize, cacheShards, cacheTtlMs);
+        writer.addListener(snapshot -> resultCache.invalidate(snapshot.version()));
+    }
+
+    // A new, empty index is filled from catalog.import.path, or with the demo catalog.
+    @PostConstruct
+    void loadCatalog() throws IOException {
+        if (writer.snapshot().numDocs() > 0) {
+            return;
+        }
+        if (!importPath.isBlank()) {
+            importCatalog(Path.of(importPath));
+        } else {
+            writer.addOrUpdateAll(mockCourses());
+            writer.refresh();
+        }
+    }
+
+    // "js:javascript" entries
+    private static Map<String, String> synonymMap(List<String> entries) {
+        Map<String, String> synonyms = new LinkedHashMap<>();
+        for (String entry : entries) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2 || parts[0].isBlank() || parts[1].isBlank()) {
+                throw new IllegalArgumentException("search.analyzer.synonyms entries are word:replacement, got: " + entry);
+            }
+            synonyms.put(parts[0].trim().toLowerCase(Locale.ROOT), parts[1].trim().toLowerCase(Locale.ROOT));
+        }
+        return synonyms;
+    }
+
+    private static List<Course> mockCourses() {
+        List<Course> courses = new ArrayList<>();
         // Mock Data (replace later with DB fetch)
         Course c1 = new Course(
                 "Python for Data Science, AI & Development",
@@ -49,44 +180,191 @@ public class SearchService {
             "06/20/2024 10:00:00 AM"
         );
         courses.add(c3);
-        buildIndex();
+        return courses;
+    }
+
+    public List<Course> search(String keyword) {
+        return search(keyword, DEFAULT_LIMIT, Query.Operator.AND);
     }
 
-    private void buildIndex() {
-        for (int i = 0; i < courses.size(); i++) {
-            Course c = courses.get(i);
+    public List<Course> search(String text, int limit, Query.Operator operator) {
+        return toCourses(searchTopDocs(text, limit, operator));
+    }
+
+    // Ranked hits for a free-text query, best first. Terms are combined with `operator`
+    // unless the query itself says OR/AND; quoted text is matched as a phrase, and
+    // a word the index does not have matches the index terms a few edits away.
+    public TopDocs searchTopDocs(String text, int limit, Query.Operator operator) {
+        return searchTopDocs(parseQuery(text, operator), limit);
+    }
+
+    public Query parseQuery(String text, Query.Operator operator) {
+        long start = System.nanoTime();
+        Query query = queryParser.parse(text, operator);
+        tokenizeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return query;
+    }
 
-            String content = (
-                    c.getTitle() + " " +
-                            c.getCategory() + " " +
-                            c.getLevel() + " " +
-                            c.getUniversity()
-            ).toLowerCase();
+    // Same clauses and operator as parseQuery, but with the words as typed
+    // (lowercased only), for spelling suggestions. Never searched with.
+    public Query parseWords(String text, Query.Operator operator) {
+        return wordParser.parse(text, operator);
+    }
 
-            for (String word : content.split("\\W+")) {
-                invertedIndex
-                        .computeIfAbsent(word, k -> new HashSet<>())
-                        .add(i);
+    // whether the index has every term `word` analyzes to; a stop word has none
+    // and counts as indexed
+    public boolean isIndexed(String word) {
+        IndexSnapshot snapshot = writer.snapshot();
+        for (List<String> clause : queryParser.parse(word, Query.Operator.AND).getClauses()) {
+            for (String term : clause) {
+                if (snapshot.docFreq(term) == 0) return false;
             }
         }
+        return true;
     }
 
-    public List<Course> search(String keyword) {
-        keyword = keyword.toLowerCase();
+    public TopDocs searchTopDocs(Query query, int limit) {
+        return searchTopDocs(query, limit, null);
+    }
 
-        Set<Integer> indexes = invertedIndex.get(keyword);
-        if (indexes == null) return Collections.emptyList();
+    // The page of `limit` hits after `cursor`, a nextCursor from an earlier page
+    // (null for the first). Every page is an independent top-`limit` search, so
+    // memory per request is bounded by the page, not by the result set.
+    public TopDocs searchTopDocs(Query query, int limit, String cursor) {
+        return searchTopDocs(query, limit, cursor, FacetFilter.NONE, false);
+    }
+
+    // As above, restricted to `filter`, and with facet counts over every hit
+    // (TopDocs.getFacets) when countFacets is set. An empty query then lists
+    // every course that passes the filter.
+    public TopDocs searchTopDocs(Query query, int limit, String cursor, FacetFilter filter, boolean countFacets) {
+        IndexSnapshot snapshot = writer.snapshot();
+        ScoredDoc after = cursor == null || cursor.isEmpty() ? null : PageCursor.hit(cursor);
+        return resultCache.get(cacheKey(query, limit, after, filter, countFacets), snapshot.version(),
+                key -> searcher.search(snapshot, query, limit, after, filter, countFacets));
+    }
+
+    // cursor for the page after `topDocs`; null once a page comes back short
+    public static String nextCursor(TopDocs topDocs, int limit) {
+        List<ScoredDoc> hits = topDocs.getHits();
+        return hits.isEmpty() || hits.size() < limit ? null : PageCursor.afterHit(hits.get(hits.size() - 1));
+    }
 
-        List<Course> results = new ArrayList<>();
-        for (Integer index : indexes) {
-            results.add(courses.get(index));
+    // "limit|after|filter|facets|operator|clause~slop\0clause~slop\0": the analyzer has already
+    // lowercased and split the terms, and with one clause the operator makes no difference
+    private static String cacheKey(Query query, int limit, ScoredDoc after, FacetFilter filter, boolean countFacets) {
+        StringBuilder key = new StringBuilder().append(limit).append('|');
+        if (after != null) {
+            key.append(Float.floatToIntBits(after.getScore())).append(':').append(after.getUrl());
+        }
+        key.append('|').append(filter).append('|').append(countFacets ? "f" : "").append('|');
+        key.append(query.getClauses().size() > 1 ? query.getOperator().name() : "").append('|');
+        for (int c = 0; c < query.getClauses().size(); c++) {
+            key.append(String.join(" ", query.getClauses().get(c))).append('~').append(query.getSlop(c)).append('\0');
         }
+        return key.toString();
+    }
 
+    public CacheStats cacheStats() {
+        return resultCache.stats();
+    }
+
+    public List<Course> toCourses(TopDocs topDocs) {
+        List<Course> results = new ArrayList<>(topDocs.getHits().size());
+        for (ScoredDoc hit : topDocs.getHits()) {
+            results.add(topDocs.document(hit));
+        }
         return results;
     }
 
-    // Return all courses (used by reporting endpoints)
-    public List<Course> searchAll() {
-        return new ArrayList<>(courses);
+    // Up to `size` courses in url order after `cursor` (null for the first page).
+    // The cursor is the last url, so paging keeps its place across refreshes.
+    public CoursePage listCourses(String cursor, int size) {
+        IndexSnapshot snapshot = writer.snapshot();
+        Iterator<Course> courses = new UrlOrderIterator(snapshot, afterUrl(cursor));
+        List<Course> page = new ArrayList<>(Math.min(size, MAX_PAGE_SIZE));
+        while (page.size() < size && courses.hasNext()) {
+            page.add(courses.next());
+        }
+        String next = courses.hasNext() && !page.isEmpty()
+                ? PageCursor.afterUrl(page.get(page.size() - 1).getUrl()) : null;
+        return new CoursePage(page, next, snapshot.numDocs());
+    }
+
+    // Every course after `cursor`, in url order, one at a time from the current
+    // snapshot; for streaming the catalog without holding it
+    public Iterator<Course> coursesAfter(String cursor) {
+        return new UrlOrderIterator(writer.snapshot(), afterUrl(cursor));
+    }
+
+    private static String afterUrl(String cursor) {
+        return cursor == null || cursor.isEmpty() ? null : PageCursor.url(cursor);
+    }
+
+    // Ingestion: courses are keyed by URL. Changes are buffered and become
+    // searchable on the next refresh, which runs every refresh-interval-ms or
+    // once max-buffered-docs changes are pending.
+    public void addOrUpdate(Course course) {
+        writer.addOrUpdate(course);
+    }
+
+    public void addOrUpdateAll(Collection<Course> courses) {
+        writer.addOrUpdateAll(courses);
+    }
+
+    public void delete(String url) {
+        writer.delete(url);
+    }
+
+    // Streams a CSV or JSON-lines dump into the index; the format comes from the file extension.
+    public LoadReport importCatalog(Path file) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return importCatalog(in, CatalogFormat.fromFileName(file.getFileName().toString()));
+        }
+    }
+
+    public LoadReport importCatalog(InputStream in, CatalogFormat format) throws IOException {
+        return importCatalog(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16), format);
+    }
+
+    private LoadReport importCatalog(BufferedReader in, CatalogFormat format) throws IOException {
+        ForkJoinPool pool = importParallelism > 0 ? new ForkJoinPool(importParallelism) : new ForkJoinPool();
+        long[] lastLog = {System.nanoTime()};
+        try {
+            LoadReport report = new CatalogLoader(writer, pool, importBatchSize, importMaxInFlight)
+                    .load(in, format, progress -> {
+                        if (System.nanoTime() - lastLog[0] > 5_000_000_000L) {
+                            lastLog[0] = System.nanoTime();
+                            log.info("Catalog import: {}", progress);
+                        }
+                    });
+            log.info("Catalog import finished: {}", report);
+            return report;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Publishes pending changes now instead of waiting for the next scheduled refresh.
+    public IndexSnapshot refresh() {
+        return writer.refresh();
+    }
+
+    public IndexSnapshot snapshot() {
+        return writer.snapshot();
+    }
+
+    // see IndexWriter.addListener
+    public void addSnapshotListener(Consumer<IndexSnapshot> listener) {
+        writer.addListener(listener);
+    }
+
+    public int pendingChanges() {
+        return writer.pendingChanges();
+    }
+
+    @PreDestroy
+    public void close() {
+        writer.close();
     }
 }
@@ -1,8 +1,20 @@
 package com.example.ujk.finalproject.services;
 
+import com.example.ujk.finalproject.engine.cache.CacheStats;
+import com.example.ujk.finalproject.engine.cache.QueryCache;
+import com.example.ujk.finalproject.engine.spell.Correction;
+import com.example.ujk.finalproject.engine.spell.SpellIndex;
+import com.example.ujk.finalproject.metrics.StageTimers;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class SpellCheckService {
@@ -13,47 +25,59 @@ public class SpellCheckService {
             "cat", "cater", "category", "catch", "python","java","javascript"
     );
 
+    private final Set<String> dictionary = new HashSet<>(WORDS);
+    private final SpellIndex index;
+    // the dictionary never changes, so everything is cached under version 0
+    private final QueryCache<String, Optional<String>> corrections;
+    private final Timer candidatesTimer;
+
+    public SpellCheckService(@Value("${spellcheck.index:bk-tree}") String indexType,
+                             @Value("${spellcheck.max-edit-distance:2}") int maxEditDistance,
+                             @Value("${spellcheck.transpositions:false}") boolean transpositions,
+                             @Value("${cache.spellcheck.size:10000}") int cacheSize,
+                             @Value("${cache.shards:16}") int cacheShards,
+                             MeterRegistry registry) {
+        this.index = SpellIndex.create(indexType, WORDS, maxEditDistance, transpositions);
+        this.corrections = new QueryCache<>(cacheSize, cacheShards, 0);
+        this.candidatesTimer = StageTimers.timer(registry, "spellcheck", "candidates");
+    }
+
+    // Closest dictionary word within the configured edit distance.
+    // Input is returned unchanged when nothing is close enough.
     public String getCorrectedWord(String input) {
         if (input == null || input.isEmpty()) {
             return "";
         }
 
-        String bestMatch = null;
-        int minDistance = Integer.MAX_VALUE;
-
-        for (String word : WORDS) {
-            int distance = levenshteinDistance(input.toLowerCase(), word.toLowerCase());
-            if (distance < minDistance) {
-                minDistance = distance;
-                bestMatch = word;
-            }
+        String word = input.toLowerCase();
+        if (dictionary.contains(word)) {
+            return word;
         }
-
-        return bestMatch;
+        String corrected = closest(word);
+        return corrected == null ? input : corrected;
     }
 
     public boolean isCorrectlySpelt(String word) {
-        return WORDS.contains(word.toLowerCase());
+        return isKnownWord(word.toLowerCase());
     }
-    // Simple Levenshtein distance
-    private int levenshteinDistance(String a, String b) {
-        int[][] dp = new int[a.length() + 1][b.length() + 1];
-
-        for (int i = 0; i <= a.length(); i++) dp[i][0] = i;
-        for (int j = 0; j <= b.length(); j++) dp[0][j] = j;
-
-        for (int i = 1; i <= a.length(); i++) {
-            for (int j = 1; j <= b.length(); j++) {
-                if (a.charAt(i - 1) == b.charAt(j - 1)) {
-                    dp[i][j] = dp[i - 1][j - 1];
-                } else {
-                    dp[i][j] = 1 + Math.min(
-                            dp[i - 1][j - 1],
-                            Math.min(dp[i - 1][j], dp[i][j - 1])
-                    );
-                }
-            }
-        }
-        return dp[a.length()][b.length()];
+
+    // The two below take a term that is already lowercased, e.g. one from the Analyzer
+    public boolean isKnownWord(String term) {
+        return dictionary.contains(term);
+    }
+
+    // null when nothing is within the configured edit distance
+    public String closest(String term) {
+        return corrections.get(term, 0, t -> {
+            // the edit-distance search; only cache misses get here
+            long start = System.nanoTime();
+            Correction correction = index.closest(t);
+            candidatesTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.ofNullable(correction == null ? null : correction.getWord());
+        }).orElse(null);
+    }
+
+    public CacheStats cacheStats() {
+        return corrections.stats();
     }
-}
\ No newline at end of file
+}
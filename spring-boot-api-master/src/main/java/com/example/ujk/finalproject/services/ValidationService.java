@@ -0,0 +1,60 @@
+package com.example.ujk.finalproject.services;
+
+import com.example.ujk.finalproject.engine.search.IndexSnapshot;
+import com.example.ujk.finalproject.engine.validation.CourseValidator;
+import com.example.ujk.finalproject.engine.validation.InvalidEntryPage;
+import com.example.ujk.finalproject.engine.validation.ValidationIndex;
+import com.example.ujk.finalproject.engine.validation.ValidationRule;
+import com.example.ujk.finalproject.engine.validation.ValidationStats;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Keeps the ValidationIndex in step with the search index. Published snapshots
+// are handed to a background thread, so validating a new segment never holds
+// up a refresh; stats may trail search by that one step. When several
+// snapshots queue up only the newest is applied.
+@Service
+public class ValidationService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    private final ValidationIndex index = new ValidationIndex(new CourseValidator());
+    private final AtomicReference<IndexSnapshot> pending = new AtomicReference<>();
+    private final ExecutorService updater = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "validation-update");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ValidationService(SearchService searchService) {
+        searchService.addSnapshotListener(snapshot -> {
+            pending.set(snapshot);
+            updater.execute(this::applyPending);
+        });
+        index.update(searchService.snapshot());
+    }
+
+    public ValidationStats stats() {
+        return index.stats();
+    }
+
+    public InvalidEntryPage invalidEntries(Set<ValidationRule> rules, String cursor, int limit) {
+        return index.page(rules, cursor, limit);
+    }
+
+    private void applyPending() {
+        IndexSnapshot snapshot = pending.getAndSet(null);
+        if (snapshot != null) {
+            index.update(snapshot);
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        updater.shutdownNow();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.ujk.finalproject.engine.autocomplete;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompletionTrieTest {
+
+    @Test
+    void ordersByWeightThenAlphabetically() {
+        Map<String, Long> vocab = Map.of(
+                "apple", 5L, "application", 9L, "apply", 5L, "applet", 1L, "banana", 100L);
+        CompletionTrie trie = CompletionTrie.build(vocab, 3);
+
+        assertEquals(List.of("application", "apple", "apply"), trie.complete("app", 3));
+        assertEquals(List.of("application", "apple", "apply", "applet"), trie.complete("app", 10));
+        assertEquals(List.of("apple"), trie.complete("apple", 1));
+        assertTrue(trie.complete("apx", 5).isEmpty());
+        assertTrue(trie.complete("applez", 5).isEmpty());
+    }
+
+    @Test
+    void matchesLinearScanOnRandomVocabulary() {
+        Random random = new Random(42);
+        Map<String, Long> vocab = new HashMap<>();
+        for (int i = 0; i < 5_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int len = 1 + random.nextInt(8);
+            for (int j = 0; j < len; j++) sb.append((char) ('a' + random.nextInt(4)));
+            vocab.put(sb.toString(), (long) random.nextInt(50));
+        }
+        CompletionTrie trie = CompletionTrie.build(vocab, 10);
+
+        for (String prefix : List.of("a", "ab", "abc", "dd", "cab", "bbbb", "")) {
+            for (int limit : new int[]{1, 10, 25}) {
+                List<String> expected = vocab.entrySet().stream()
+                        .filter(e -> e.getKey().startsWith(prefix))
+                        .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                                .thenComparing(Map.Entry.comparingByKey(Comparator.naturalOrder())))
+                        .limit(limit)
+                        .map(Map.Entry::getKey)
+                        .collect(Collectors.toList());
+                assertEquals(expected, trie.complete(prefix, limit), prefix + "/" + limit);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.ujk.finalproject.engine.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QueryCacheTest {
+
+    @Test
+    void headQueriesSurviveAScanOfOneOffQueries() {
+        QueryCache<String, String> cache = new QueryCache<>(100, 1, 0);
+        AtomicInteger loads = new AtomicInteger();
+        for (int i = 0; i < 10_000; i++) {
+            cache.get("q" + (i % 20), 0, k -> k + loads.incrementAndGet());
+            cache.get("typo" + i, 0, k -> k);
+        }
+        // each head query is loaded once and then always served from the cache
+        assertEquals(20, loads.get());
+        CacheStats stats = cache.stats();
+        assertEquals(100, stats.getSize());
+        assertTrue(stats.getEvictions() > 9_000);
+        assertEquals(0.5, stats.getHitRate(), 0.01);
+    }
+
+    @Test
+    void newVersionDropsEntriesAndOldLoadsAreNotCached() {
+        QueryCache<String, String> cache = new QueryCache<>(1000, 4, 0);
+        assertEquals("v1", cache.get("java", 1, k -> "v1"));
+        assertEquals("v1", cache.get("java", 1, k -> "reloaded"));
+
+        cache.invalidate(2);
+        assertEquals(0, cache.stats().getSize());
+        // a reader still on version 1 gets its own result, which is not kept
+        assertEquals("stale", cache.get("java", 1, k -> "stale"));
+        assertEquals("v2", cache.get("java", 2, k -> "v2"));
+        assertEquals("v2", cache.get("java", 2, k -> "reloaded"));
+
+        // a caller that sees a newer version first moves the cache along
+        assertEquals("v3", cache.get("java", 3, k -> "v3"));
+        assertEquals(3, cache.version());
+    }
+}
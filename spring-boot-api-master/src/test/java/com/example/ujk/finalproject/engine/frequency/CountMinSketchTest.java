@@ -0,0 +1,67 @@
+package com.example.ujk.finalproject.engine.frequency;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CountMinSketchTest {
+
+    @Test
+    void neverUndercountsAndStaysWithinTheErrorBound() {
+        CountMinSketch sketch = new CountMinSketch(0.001, 0.01);
+        int[] exact = new int[20_000];
+        Random random = new Random(7);
+        int total = 200_000;
+        for (int i = 0; i < total; i++) {
+            int term = random.nextInt(10) == 0 ? random.nextInt(10) : random.nextInt(exact.length);
+            exact[term]++;
+            sketch.increment("t" + term);
+        }
+        int over = 0;
+        for (int t = 0; t < exact.length; t++) {
+            long estimate = sketch.get("t" + t);
+            assertTrue(estimate >= exact[t]);
+            if (estimate - exact[t] > 0.001 * total) over++;
+        }
+        assertTrue(over <= exact.length * 0.01, over + " terms beyond the bound");
+    }
+
+    @Test
+    void summariesMergeAcrossInstances() throws IOException {
+        CountMinSketch a = new CountMinSketch(0.01, 0.01);
+        TrendingTracker trendingA = new TrendingTracker(16);
+        CountMinSketch b = new CountMinSketch(0.01, 0.01);
+        TrendingTracker trendingB = new TrendingTracker(16);
+        for (int i = 0; i < 5; i++) {
+            a.increment("python");
+            trendingA.record("python", 1000);
+        }
+        for (int i = 0; i < 3; i++) {
+            b.increment("python");
+            trendingB.record("python", 1000);
+        }
+        b.increment("java");
+        trendingB.record("java", 1000);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        FrequencySummary.write(new DataOutputStream(bytes), b, trendingB, 1000);
+        FrequencySummary.merge(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), a, trendingA, 1000);
+
+        assertEquals(8, a.get("python"));
+        assertEquals(1, a.get("java"));
+        assertEquals(8.0, trendingA.top(TrendWindow.HOUR, 1, 1000).get(0).getCount(), 1e-9);
+
+        CountMinSketch narrow = new CountMinSketch(0.1, 0.01);
+        assertThrows(IllegalArgumentException.class, () -> FrequencySummary.merge(
+                new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())), narrow, trendingA, 1000));
+    }
+}
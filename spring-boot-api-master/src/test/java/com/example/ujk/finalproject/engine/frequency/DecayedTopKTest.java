@@ -0,0 +1,47 @@
+package com.example.ujk.finalproject.engine.frequency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DecayedTopKTest {
+
+    private static final long HOUR = TrendWindow.HOUR.millis();
+
+    @Test
+    void heavyHittersSurviveAFloodOfOneOffTerms() {
+        DecayedTopK topK = new DecayedTopK(64, HOUR);
+        for (int i = 0; i < 10_000; i++) {
+            topK.offer("typo" + i, i);
+            if (i % 10 == 0) topK.offer("python", i);
+            if (i % 20 == 0) topK.offer("java", i);
+        }
+        assertEquals(64, topK.size());
+        List<TrendingTerm> top = topK.top(2, 10_000);
+        assertEquals(List.of("python", "java"), terms(top));
+        assertTrue(top.get(0).getCount() >= 1000 * Math.exp(-10_000.0 / HOUR));
+        assertEquals(9_990, top.get(0).getLastSeen());
+    }
+
+    @Test
+    void olderSearchesFadeBehindRecentOnes() {
+        DecayedTopK topK = new DecayedTopK(8, HOUR);
+        for (int i = 0; i < 100; i++) topK.offer("old", 0);
+        for (int i = 0; i < 10; i++) topK.offer("new", 5 * HOUR);
+        assertEquals(List.of("new", "old"), terms(topK.top(2, 5 * HOUR)));
+
+        // far enough apart to force a rescale; order and counts still hold
+        topK.offer("new", 200 * HOUR);
+        List<TrendingTerm> top = topK.top(1, 200 * HOUR);
+        assertEquals("new", top.get(0).getTerm());
+        assertEquals(1.0, top.get(0).getCount(), 1e-6);
+    }
+
+    private static List<String> terms(List<TrendingTerm> top) {
+        return top.stream().map(TrendingTerm::getTerm).collect(Collectors.toList());
+    }
+}
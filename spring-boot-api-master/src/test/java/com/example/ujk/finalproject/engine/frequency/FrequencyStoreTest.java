@@ -0,0 +1,67 @@
+package com.example.ujk.finalproject.engine.frequency;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FrequencyStoreTest {
+
+    private static final long HOUR = 3_600_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recoversFromLogAfterACrashAndFromSnapshotAfterClose() throws IOException {
+        FrequencyStore crashed = open(new StripedCounterTable(16), new TrendingTracker(8));
+        for (int i = 0; i < 3; i++) crashed.offer("python");
+        crashed.offer("java");
+        crashed.flush();
+        // a batch torn halfway through by the crash
+        Files.write(dir.resolve("log-1"), new byte[]{0x46, 0x42, 0x41, 0x54, 0, 0}, StandardOpenOption.APPEND);
+
+        StripedCounterTable counts = new StripedCounterTable(16);
+        TrendingTracker trending = new TrendingTracker(8);
+        FrequencyStore recovered = open(counts, trending);
+        assertEquals(3, counts.get("python"));
+        assertEquals(1, counts.get("java"));
+        assertEquals("python", trending.top(TrendWindow.DAY, 1, System.currentTimeMillis()).get(0).getTerm());
+
+        recovered.offer("java");
+        recovered.close();
+
+        StripedCounterTable reopened = new StripedCounterTable(16);
+        open(reopened, new TrendingTracker(8)).close();
+        assertEquals(3, reopened.get("python"));
+        assertEquals(2, reopened.get("java"));
+    }
+
+    @Test
+    void logsBehindATornBatchAreDroppedSoRecoveryConverges() throws IOException {
+        FrequencyStore crashed = open(new StripedCounterTable(16), new TrendingTracker(8));
+        for (int i = 0; i < 3; i++) crashed.offer("python");
+        crashed.flush();
+        // a later log that survived a crash which tore the batch before it
+        Files.copy(dir.resolve("log-1"), dir.resolve("log-2"));
+        Files.write(dir.resolve("log-1"), new byte[]{0x46, 0x42, 0x41, 0x54, 0, 0}, StandardOpenOption.APPEND);
+
+        StripedCounterTable first = new StripedCounterTable(16);
+        open(first, new TrendingTracker(8));
+        assertEquals(3, first.get("python"));
+
+        // crash again: the next start must see the same counts
+        StripedCounterTable second = new StripedCounterTable(16);
+        open(second, new TrendingTracker(8));
+        assertEquals(3, second.get("python"));
+    }
+
+    private FrequencyStore open(FrequencyCounter counts, TrendingTracker trending) throws IOException {
+        return FrequencyStore.open(dir, counts, trending, 1000, HOUR, HOUR);
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.ujk.finalproject.engine.frequency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StripedCounterTableTest {
+
+    @Test
+    void concurrentIncrementsAcrossResizesAreNotLost() throws InterruptedException {
+        // starts tiny so the table doubles many times while threads are counting
+        StripedCounterTable counter = new StripedCounterTable(16);
+        int threads = 8;
+        int keys = 5_000;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int offset = t;
+            Thread worker = new Thread(() -> {
+                long last = 0;
+                for (int i = 0; i < keys; i++) {
+                    counter.increment("k" + ((i + offset * 617) % keys));
+                    long hot = counter.increment("python");
+                    assertTrue(hot > last);
+                    last = hot;
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) worker.join();
+
+        assertEquals(keys + 1, counter.size());
+        assertEquals((long) threads * keys, counter.get("python"));
+        for (int i = 0; i < keys; i++) {
+            assertEquals(threads, counter.get("k" + i));
+        }
+        assertEquals(0, counter.get("java"));
+    }
+}
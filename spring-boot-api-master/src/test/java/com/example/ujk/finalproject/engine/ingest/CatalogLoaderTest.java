@@ -0,0 +1,75 @@
+package com.example.ujk.finalproject.engine.ingest;
+
+import com.example.ujk.finalproject.engine.search.Analyzer;
+import com.example.ujk.finalproject.engine.search.IndexSnapshot;
+import com.example.ujk.finalproject.engine.search.IndexWriter;
+import com.example.ujk.finalproject.engine.search.TieredMergePolicy;
+import com.example.ujk.finalproject.model.Course;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CatalogLoaderTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(3);
+    private final IndexWriter writer;
+
+    CatalogLoaderTest() throws IOException {
+        writer = new IndexWriter(new Analyzer(), null, new TieredMergePolicy(10, 1000, 100_000, 0.3), 1000, 0);
+    }
+
+    @AfterEach
+    void close() {
+        writer.close();
+        pool.shutdown();
+    }
+
+    @Test
+    void csvWithQuotesAndLaterDuplicatesWinning() throws IOException {
+        String csv = "title,URL,university,scraped_at,extra\n"
+                + "\"Python, the basics\",https://a,IBM,10/4/2025 8:09:00 PM,x\n"
+                + "\"Say \"\"hello\"\"\nover two lines\",https://b,,,\n"
+                + "No url,,Udemy,,\n"
+                + "\n"
+                + "Python renamed,https://a,IBM,,\n"
+                + "Java,https://c,Udemy,,\n"
+                + "too,many,fields,in,this,row\n";
+        List<LoadReport> progress = new ArrayList<>();
+        LoadReport report = new CatalogLoader(writer, pool, 2, 2)
+                .load(new BufferedReader(new StringReader(csv)), CatalogFormat.CSV, progress::add);
+
+        assertEquals(5, report.getRecordsRead());
+        assertEquals(1, report.getMissingUrl());
+        assertEquals(1, report.getMalformed());
+        assertEquals(4, report.getDocsIndexed());
+        assertEquals(report.getSegments(), progress.size());
+
+        IndexSnapshot snapshot = writer.snapshot();
+        assertEquals(3, snapshot.numDocs());
+        List<String> titles = new ArrayList<>();
+        for (Course c : snapshot.liveDocuments()) titles.add(c.getTitle());
+        assertEquals(List.of("Say \"hello\"\nover two lines", "Python renamed", "Java"), titles);
+    }
+
+    @Test
+    void jsonLinesSkipsMalformedLines() throws IOException {
+        String jsonl = "{\"title\":\"Python\",\"url\":\"https://a\",\"rating\":4.5}\n"
+                + "{not json\n"
+                + "\n"
+                + "{\"title\":\"Java\",\"url\":\"https://b\"}\n";
+        LoadReport report = new CatalogLoader(writer, pool, 100, 1)
+                .load(new BufferedReader(new StringReader(jsonl)), CatalogFormat.JSONL, r -> { });
+
+        assertEquals(2, report.getDocsIndexed());
+        assertEquals(1, report.getMalformed());
+        assertEquals(2, writer.snapshot().numDocs());
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.ujk.finalproject.engine.patterns;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PatternScannerTest {
+
+    private final PatternScanner scanner = new PatternScanner();
+
+    private List<String> find(String text, int mask) {
+        return scanner.findAll(text, mask).stream()
+                .map(m -> m.getType().key() + ":" + m.getText())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void findsEveryTypeInOnePass() {
+        String text = "Mail help@uni.edu or see https://uni.edu/ml?id=7. Call +1 (555) 123-4567, "
+                + "only $1,299.00 (or 49,99 EUR) until Jan 5, 2026 / 2026-01-15.";
+        assertEquals(List.of(
+                "email:help@uni.edu",
+                "url:https://uni.edu/ml?id=7",
+                "phone:+1 (555) 123-4567",
+                "price:$1,299.00",
+                "price:49,99 EUR",
+                "date:Jan 5, 2026",
+                "date:2026-01-15"), find(text, PatternType.ALL));
+    }
+
+    @Test
+    void maskFiltersWithoutChangingWhatIsConsumed() {
+        // the digits inside the URL are never reported as a phone number
+        String text = "https://example.com/course/5551234567 and 555-123-4567";
+        assertEquals(List.of("phone:555-123-4567"),
+                find(text, PatternType.mask(PatternType.parse("phone"))));
+    }
+
+    @Test
+    void rejectsNearMisses() {
+        assertEquals(List.of(), find("v1.2.3 at user@localhost on 13/13/2025, 42 students, ISBN 123", PatternType.ALL));
+    }
+}
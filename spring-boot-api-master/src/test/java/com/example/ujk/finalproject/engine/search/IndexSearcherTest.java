@@ -0,0 +1,153 @@
+package com.example.ujk.finalproject.engine.search;
+
+import com.example.ujk.finalproject.model.Course;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexSearcherTest {
+
+    private final Analyzer analyzer = new Analyzer();
+    private final QueryParser parser = new QueryParser(analyzer);
+
+    private final List<Course> courses = List.of(
+            course("Python for Data Science", "data-science", "Coursera"),
+            course("Java Programming for Beginners", "programming", "Udemy"),
+            course("Science of Data Pipelines in Python", "data-engineering", "edX"),
+            course("Advanced Java", "programming", "Coursera"));
+
+    private final IndexSnapshot snapshot = IndexSnapshot.of(IndexSegment.build(courses, analyzer));
+    private final IndexSearcher searcher = new IndexSearcher(new Bm25(1.2f, 0.75f, new float[]{3f, 1.5f, 0.5f, 1f}));
+
+    @Test
+    void multiTermQueriesUseAndByDefault() {
+        // both terms in the title beat a title hit plus a category hit
+        assertEquals(List.of(1, 3), docs("java programming", Query.Operator.AND));
+        assertEquals(List.of(), docs("java python", Query.Operator.AND));
+    }
+
+    @Test
+    void orMatchesEitherTerm() {
+        assertEquals(4, docs("java OR python", Query.Operator.AND).size());
+        assertEquals(4, docs("java python", Query.Operator.OR).size());
+    }
+
+    @Test
+    void phrasesRequireAdjacentTerms() {
+        assertEquals(List.of(0), docs("\"data science\"", Query.Operator.AND));
+        assertEquals(2, docs("data science", Query.Operator.AND).size());
+    }
+
+    @Test
+    void slopLetsPhraseTermsSpreadOut() {
+        IndexSnapshot spread = IndexSnapshot.of(IndexSegment.build(List.of(
+                course("Data Analysis for Marine Science", "science", "edX"),
+                course("Science of Data", "science", "edX")), analyzer));
+        assertEquals(List.of(), docs(spread, searcher, "\"data science\""));
+        assertEquals(List.of(), docs(spread, searcher, "\"data science\"~1"));
+        // in order only: "science of data" never matches
+        assertEquals(List.of(0), docs(spread, searcher, "\"data science\"~2"));
+    }
+
+    @Test
+    void termsCloseTogetherRankHigher() {
+        IndexSnapshot titles = IndexSnapshot.of(IndexSegment.build(List.of(
+                course("Intro to Python Tools for Data Science Teams Today", "programming", "edX"),
+                course("Data Tools Science", "programming", "edX"),
+                course("Advanced Java", "programming", "edX")), analyzer));
+        // the shorter title wins on BM25 alone, the adjacent terms win with the boost
+        IndexSearcher bm25Only = new IndexSearcher(new Bm25(1.2f, 0.75f, new float[]{3f, 1.5f, 0.5f, 1f}), 0f,
+                IndexSearcher.DEFAULT_MAX_EDITS, SearchTimer.NOOP);
+        assertEquals(List.of(1, 0), docs(titles, bm25Only, "data science"));
+        assertEquals(List.of(0, 1), docs(titles, searcher, "data science"));
+    }
+
+    @Test
+    void missingTermsMatchIndexTermsAFewEditsAway() {
+        assertEquals(List.of(0, 2), docs("pyhton", Query.Operator.AND));
+        assertEquals(List.of(1, 3), docs("jaav programing", Query.Operator.AND));
+        // phrase terms are not expanded
+        assertEquals(List.of(), docs("\"jaav programming\"", Query.Operator.AND));
+        // the corrected term scores below the exact one
+        float exact = searcher.search(snapshot, parser.parse("python", Query.Operator.AND), 1).getHits().get(0).getScore();
+        float fuzzy = searcher.search(snapshot, parser.parse("pyhton", Query.Operator.AND), 1).getHits().get(0).getScore();
+        assertTrue(fuzzy < exact);
+    }
+
+    @Test
+    void limitKeepsTheBestHits() {
+        TopDocs top = searcher.search(snapshot, parser.parse("coursera python java", Query.Operator.OR), 2);
+        assertEquals(4, top.getTotalHits());
+        assertEquals(2, top.getHits().size());
+    }
+
+    @Test
+    void pagesAfterACursorContinueTheRanking() {
+        Query query = parser.parse("coursera python java", Query.Operator.OR);
+        List<ScoredDoc> all = searcher.search(snapshot, query, 10).getHits();
+        TopDocs first = searcher.search(snapshot, query, 2);
+        TopDocs second = searcher.search(snapshot, query, 2, PageCursor.hit(PageCursor.afterHit(first.getHits().get(1))));
+        assertEquals(4, second.getTotalHits());
+        assertEquals(List.of(all.get(2).getDoc(), all.get(3).getDoc()),
+                second.getHits().stream().map(ScoredDoc::getDoc).collect(Collectors.toList()));
+    }
+
+    @Test
+    void facetFiltersAndCountsInOnePass() {
+        FacetFilter coursera = FacetFilter.of(Map.of("university", List.of("coursera")));
+        TopDocs top = searcher.search(snapshot, parser.parse("java OR python", Query.Operator.AND), 10, null, coursera, true);
+        assertEquals(2, top.getTotalHits());
+        assertEquals(List.of(0, 3), top.getHits().stream().map(ScoredDoc::getDoc).sorted().collect(Collectors.toList()));
+        // the filtered field still counts the other universities, the rest only count hits
+        assertEquals("Coursera=2 Udemy=1 edX=1", counts(top.getFacets().top(FacetField.UNIVERSITY, 10)));
+        assertEquals("data-science=1 programming=1", counts(top.getFacets().top(FacetField.CATEGORY, 10)));
+
+        FacetFilter programming = FacetFilter.of(Map.of("category", List.of("Programming")));
+        assertEquals(2, searcher.search(snapshot, parser.parse("", Query.Operator.AND), 10, null, programming, false).getTotalHits());
+    }
+
+    private static String counts(List<FacetValue> values) {
+        return values.stream().map(v -> v.getValue() + "=" + v.getCount()).collect(Collectors.joining(" "));
+    }
+
+    @Test
+    void urlOrderSkipsDeletedDocsAndResumesAfterAUrl() {
+        IndexSegment first = IndexSegment.build(List.of(course("b"), course("d"), course("a")), analyzer);
+        IndexSegment second = IndexSegment.build(List.of(course("c"), course("e")), analyzer);
+        IndexSnapshot two = new IndexSnapshot(1, List.of(LiveSegment.of(first).withDeletions(new int[]{1}),
+                LiveSegment.of(second)));
+        assertEquals(List.of("a", "b", "c", "e"), urls(new UrlOrderIterator(two, null)));
+        assertEquals(List.of("c", "e"), urls(new UrlOrderIterator(two, "b")));
+        assertEquals(List.of("e"), urls(new UrlOrderIterator(two, "d")));
+    }
+
+    private static List<String> urls(UrlOrderIterator it) {
+        List<String> urls = new ArrayList<>();
+        it.forEachRemaining(c -> urls.add(c.getUrl()));
+        return urls;
+    }
+
+    private static Course course(String url) {
+        return new Course("Course " + url, url, "Coursera", "Beginner", "Course", "programming", null, null);
+    }
+
+    private List<Integer> docs(IndexSnapshot snapshot, IndexSearcher searcher, String text) {
+        return searcher.search(snapshot, parser.parse(text, Query.Operator.AND), 10).getHits().stream()
+                .map(ScoredDoc::getDoc).collect(Collectors.toList());
+    }
+
+    private List<Integer> docs(String text, Query.Operator operator) {
+        return searcher.search(snapshot, parser.parse(text, operator), 10).getHits().stream()
+                .map(ScoredDoc::getDoc).collect(Collectors.toList());
+    }
+
+    private static Course course(String title, String category, String university) {
+        return new Course(title, "https://example.com/" + title.hashCode(), university, "Beginner", "Course", category, null, null);
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.ujk.finalproject.engine.search;
+
+import com.example.ujk.finalproject.engine.search.analysis.LowercaseFilter;
+import com.example.ujk.finalproject.model.Course;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexWriterTest {
+
+    private final Analyzer analyzer = new Analyzer();
+    private final QueryParser parser = new QueryParser(analyzer);
+    private final IndexSearcher searcher = new IndexSearcher(new Bm25(1.2f, 0.75f, new float[]{3f, 1.5f, 0.5f, 1f}));
+    private final IndexWriter writer = newWriter(null);
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void close() {
+        writer.close();
+    }
+
+    @Test
+    void changesAreInvisibleUntilRefresh() {
+        writer.addOrUpdate(course("a", "Python Basics"));
+        assertEquals(List.of(), titles("python"));
+
+        writer.refresh();
+        assertEquals(List.of("Python Basics"), titles("python"));
+    }
+
+    @Test
+    void updateReplacesTheDocWithTheSameUrl() {
+        writer.addOrUpdate(course("a", "Python Basics"));
+        writer.refresh();
+        writer.addOrUpdate(course("a", "Java Basics"));
+        writer.refresh();
+
+        assertEquals(List.of(), titles("python"));
+        assertEquals(List.of("Java Basics"), titles("basics"));
+        assertEquals(1, writer.snapshot().numDocs());
+    }
+
+    @Test
+    void deletedDocsDisappearAndOldSnapshotsStayIntact() {
+        writer.addOrUpdate(course("a", "Python Basics"));
+        writer.addOrUpdate(course("b", "Python Advanced"));
+        IndexSnapshot before = writer.refresh();
+
+        writer.delete("a");
+        writer.refresh();
+
+        assertEquals(List.of("Python Advanced"), titles("python"));
+        TopDocs old = searcher.search(before, parser.parse("python", Query.Operator.AND), 10);
+        assertEquals(2, old.getTotalHits());
+    }
+
+    @Test
+    void mergesKeepSegmentCountBounded() {
+        for (int i = 0; i < 10; i++) {
+            writer.addOrUpdate(course("u" + i, "Course number " + i));
+            if (i % 2 == 0) writer.delete("u" + (i - 1));
+            writer.refresh();
+        }
+        while (writer.maybeMerge()) {
+            // merge until the policy is satisfied
+        }
+        IndexSnapshot snapshot = writer.snapshot();
+        assertTrue(snapshot.segments().size() < 3);
+        assertEquals(6, snapshot.numDocs());
+        assertEquals(6, searcher.search(snapshot, parser.parse("course", Query.Operator.AND), 10).getTotalHits());
+
+        // merged docs can still be updated
+        writer.addOrUpdate(course("u9", "Renamed"));
+        writer.refresh();
+        assertEquals(5, titles("course").size());
+    }
+
+    @Test
+    void browsePagesByUrlAcrossRefreshesAndMerges() {
+        for (int i = 1; i <= 8; i++) {
+            writer.addOrUpdate(course("u" + i, "Python Basics"));
+            if (i % 2 == 0) writer.refresh();
+        }
+        // every hit of a browse scores 0, so only the tie-break orders them
+        TopDocs first = browse(null);
+        assertEquals(List.of("u1", "u2"), urls(first));
+
+        // dropping the first segment moves every doc id down by two
+        writer.delete("u1");
+        writer.delete("u2");
+        writer.refresh();
+        TopDocs second = browse(first);
+        assertEquals(List.of("u3", "u4"), urls(second));
+
+        while (writer.maybeMerge()) {
+            // merge until the policy is satisfied
+        }
+        assertEquals(1, writer.snapshot().segments().size());
+        TopDocs third = browse(second);
+        assertEquals(List.of("u5", "u6"), urls(third));
+        assertEquals(List.of("u7", "u8"), urls(browse(third)));
+    }
+
+    private TopDocs browse(TopDocs previous) {
+        ScoredDoc after = previous == null ? null
+                : PageCursor.hit(PageCursor.afterHit(previous.getHits().get(previous.getHits().size() - 1)));
+        return searcher.search(writer.snapshot(), parser.parse("", Query.Operator.AND), 2, after,
+                FacetFilter.of(Map.of("university", List.of("Coursera"))), false);
+    }
+
+    private static List<String> urls(TopDocs top) {
+        return top.getHits().stream().map(hit -> top.document(hit).getUrl()).collect(Collectors.toList());
+    }
+
+    @Test
+    void committedSegmentsReopenFromDisk() throws IOException {
+        try (IndexWriter disk = newWriter(IndexDirectory.open(dir))) {
+            disk.addOrUpdate(course("a", "Python Basics"));
+            disk.addOrUpdate(course("b", "Python Advanced"));
+            disk.refresh();
+            disk.delete("a");
+            disk.addOrUpdate(course("c", "Data Science in Python"));
+            disk.refresh();
+        }
+        try (IndexWriter reopened = newWriter(IndexDirectory.open(dir))) {
+            IndexSnapshot snapshot = reopened.snapshot();
+            assertEquals(2, snapshot.numDocs());
+            assertTrue(snapshot.segments().get(0).segment() instanceof MappedSegment);
+            TopDocs top = searcher.search(snapshot, parser.parse("python", Query.Operator.AND), 10);
+            assertEquals(List.of("Python Advanced", "Data Science in Python"),
+                    top.getHits().stream().map(hit -> top.document(hit).getTitle()).collect(Collectors.toList()));
+            // phrases are checked against the positions stored in the file
+            assertEquals(1, searcher.search(snapshot, parser.parse("\"data science\"", Query.Operator.AND), 10).getTotalHits());
+            assertEquals(0, searcher.search(snapshot, parser.parse("\"science data\"", Query.Operator.AND), 10).getTotalHits());
+
+            // deletes still find docs in mapped segments
+            reopened.delete("b");
+            reopened.refresh();
+            assertEquals(1, reopened.snapshot().numDocs());
+        }
+    }
+
+    @Test
+    void changingTheAnalyzerRebuildsAStoredIndex() throws IOException {
+        Analyzer unstemmed = new Analyzer(List.of(new LowercaseFilter()));
+        try (IndexWriter disk = new IndexWriter(unstemmed, IndexDirectory.open(dir),
+                new TieredMergePolicy(3, 1, 1000, 0.5), 1000, 0)) {
+            disk.addOrUpdate(course("a", "Programming Languages"));
+            disk.refresh();
+        }
+        try (IndexWriter reopened = newWriter(IndexDirectory.open(dir))) {
+            TopDocs top = searcher.search(reopened.snapshot(), parser.parse("program", Query.Operator.AND), 10);
+            assertEquals(1, top.getTotalHits());
+        }
+    }
+
+    private IndexWriter newWriter(IndexDirectory directory) {
+        try {
+            return new IndexWriter(analyzer, directory, new TieredMergePolicy(3, 1, 1000, 0.5), 1000, 0);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private List<String> titles(String text) {
+        TopDocs top = searcher.search(writer.snapshot(), parser.parse(text, Query.Operator.AND), 10);
+        return top.getHits().stream().map(hit -> top.document(hit).getTitle()).collect(Collectors.toList());
+    }
+
+    private static Course course(String url, String title) {
+        return new Course(title, url, "Coursera", "Beginner", "Course", "programming", null, null);
+    }
+}
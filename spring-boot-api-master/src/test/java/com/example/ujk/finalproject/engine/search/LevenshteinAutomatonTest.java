@@ -0,0 +1,48 @@
+package com.example.ujk.finalproject.engine.search;
+
+import com.example.ujk.finalproject.engine.search.analysis.LowercaseFilter;
+import com.example.ujk.finalproject.engine.spell.EditDistance;
+import com.example.ujk.finalproject.model.Course;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LevenshteinAutomatonTest {
+
+    @Test
+    void intersectFindsEveryTermWithinTheDistance() {
+        Random random = new Random(11);
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            courses.add(new Course(word(random), "u" + i, null, null, null, null, null, null));
+        }
+        IndexSegment segment = IndexSegment.build(courses, new Analyzer(List.of(new LowercaseFilter())));
+
+        for (int q = 0; q < 200; q++) {
+            String query = word(random);
+            for (int maxEdits = 1; maxEdits <= 2; maxEdits++) {
+                Map<String, Integer> expected = new TreeMap<>();
+                for (String term : segment.terms()) {
+                    int distance = EditDistance.bounded(query, term, maxEdits, true);
+                    if (distance <= maxEdits) expected.put(term, distance);
+                }
+                Map<String, Integer> actual = new TreeMap<>();
+                new LevenshteinAutomaton(query, maxEdits, true).intersect(segment, actual::put);
+                assertEquals(expected, actual, query);
+            }
+        }
+    }
+
+    // short words over a small alphabet, so there are plenty of near misses
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 2 + random.nextInt(6); i > 0; i--) word.append((char) ('a' + random.nextInt(5)));
+        return word.toString();
+    }
+}
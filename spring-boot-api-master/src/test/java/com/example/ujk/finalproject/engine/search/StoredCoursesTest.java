@@ -0,0 +1,50 @@
+package com.example.ujk.finalproject.engine.search;
+
+import com.example.ujk.finalproject.model.Course;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StoredCoursesTest {
+
+    @Test
+    void everyFieldComesBackAsItWasStored() {
+        List<Course> courses = new ArrayList<>();
+        String[] times = {"10/4/2025 8:09:00 PM", "01/15/2024 9:00:00 AM", "2024-06-20T10:00:00",
+                "2024-06-20T10:00:00.123", "yesterday", "", null};
+        for (int i = 0; i < 40; i++) {
+            courses.add(new Course("Course " + i + (i % 3 == 0 ? " é" : ""),
+                    i == 7 ? null : "https://www.coursera.org/learn/course-" + (i * 37 % 40),
+                    i % 5 == 0 ? null : "University " + i % 4, "Beginner", "Course", "cat" + i % 2,
+                    "https://img.example/" + i + ".jpg", times[i % times.length]));
+        }
+        StoredCourses stored = StoredCourses.of(courses);
+
+        for (int doc = 0; doc < courses.size(); doc++) {
+            Course expected = courses.get(doc);
+            Course actual = stored.course(doc);
+            assertEquals(expected.getTitle(), actual.getTitle());
+            assertEquals(expected.getUrl(), actual.getUrl());
+            assertEquals(expected.getUniversity(), actual.getUniversity());
+            assertEquals(expected.getLevel(), actual.getLevel());
+            assertEquals(expected.getType(), actual.getType());
+            assertEquals(expected.getCategory(), actual.getCategory());
+            assertEquals(expected.getImageUrl(), actual.getImageUrl());
+            assertEquals(expected.getScrapedAt(), actual.getScrapedAt());
+            assertEquals(doc, stored.findDoc(expected.getUrl()));
+        }
+        assertEquals(-1, stored.findDoc("https://www.coursera.org/learn/course-40"));
+        assertEquals(-1, stored.findDoc("https://www.coursera.org/learn/course-"));
+
+        String previous = null;
+        for (int rank = 0; rank < courses.size(); rank++) {
+            String url = stored.url(stored.docByUrl(rank));
+            if (rank > 1) assertTrue(previous.compareTo(url) < 0);
+            previous = url;
+        }
+    }
+}
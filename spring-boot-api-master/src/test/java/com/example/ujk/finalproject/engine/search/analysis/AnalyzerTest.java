@@ -0,0 +1,55 @@
+package com.example.ujk.finalproject.engine.search.analysis;
+
+import com.example.ujk.finalproject.engine.search.Analyzer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class AnalyzerTest {
+
+    private final Analyzer analyzer = new Analyzer(Analyzer.standard(Set.of("the", "for", "of"),
+            Map.of("js", "javascript"), true));
+
+    @Test
+    void stemsDropsStopWordsAndAppliesSynonyms() {
+        assertEquals(List.of("program", "program", "program"), analyzer.analyze("Programming programs PROGRAM"));
+        assertEquals(List.of("machin", "learn", "beginn"), analyzer.analyze("Machine Learning for the Beginners"));
+        assertEquals(List.of("javascript", "javascript", "node"), analyzer.analyze("JS / JavaScript & Node"));
+        assertEquals(List.of("python3", "c", "data_sci"), analyzer.analyze("python3, C of data_sci"));
+        assertEquals(List.of(), analyzer.analyze("  -- the "));
+    }
+
+    @Test
+    void porterStemsTheReferenceExamples() {
+        Analyzer porter = new Analyzer(List.of(new LowercaseFilter(), new PorterStemFilter()));
+        String[][] cases = {{"caresses", "caress"}, {"ponies", "poni"}, {"agreed", "agre"}, {"hopping", "hop"},
+                {"filing", "file"}, {"happy", "happi"}, {"relational", "relat"}, {"conditional", "condit"},
+                {"generalization", "gener"}, {"hopefulness", "hope"}, {"electrical", "electr"},
+                {"adjustment", "adjust"}, {"controlling", "control"}, {"development", "develop"}};
+        for (String[] c : cases) {
+            assertEquals(List.of(c[1]), porter.analyze(c[0]), c[0]);
+        }
+    }
+
+    @Test
+    void theIdChangesWithTheConfiguration() {
+        assertEquals(analyzer.id(), new Analyzer(Analyzer.standard(Set.of("of", "for", "the"),
+                Map.of("js", "javascript"), true)).id());
+        assertNotEquals(analyzer.id(), new Analyzer(Analyzer.standard(Set.of("the"), Map.of(), true)).id());
+    }
+
+    @Test
+    void internerGivesEachDistinctTermOneId() {
+        TermInterner terms = new TermInterner();
+        for (int i = 0; i < 1000; i++) assertEquals(i, terms.intern("term" + i));
+        for (int i = 0; i < 1000; i++) assertEquals(i, terms.intern(("term" + i).toCharArray(), ("term" + i).length()));
+        assertEquals(1000, terms.size());
+        assertEquals("term123", terms.term(123));
+        assertEquals(-1, terms.find("nope".toCharArray(), 4));
+    }
+}
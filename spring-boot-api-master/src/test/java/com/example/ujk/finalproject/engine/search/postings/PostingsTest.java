@@ -0,0 +1,122 @@
+package com.example.ujk.finalproject.engine.search.postings;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PostingsTest {
+
+    private final Random random = new Random(3);
+
+    @Test
+    void iteratesAndAdvancesLikeASortedSet() {
+        // sparse delta lists, mixed roaring containers and dense bitmaps
+        for (int[] shape : new int[][]{{50, 10_000}, {3_000, 1_000_000}, {20_000, 300_000}, {150_000, 200_000}}) {
+            TreeSet<Integer> expected = randomSet(shape[0], shape[1]);
+            Postings postings = encode(expected);
+            assertEquals(expected.size(), postings.docFreq());
+
+            List<Integer> iterated = new ArrayList<>();
+            PostingsIterator it = postings.iterator();
+            for (int doc = it.nextDoc(); doc != DocIdIterator.NO_MORE_DOCS; doc = it.nextDoc()) {
+                assertEquals(iterated.size(), it.index());
+                assertEquals(iterated.size() % 4, postings.freq(it.index(), 0));
+                iterated.add(doc);
+            }
+            assertEquals(new ArrayList<>(expected), iterated);
+
+            it = postings.iterator();
+            int target = 0;
+            while (true) {
+                target += 1 + random.nextInt(Math.max(1, shape[1] / 200));
+                Integer ceiling = expected.ceiling(target);
+                int doc = it.advance(target);
+                if (ceiling == null) {
+                    assertEquals(DocIdIterator.NO_MORE_DOCS, doc);
+                    break;
+                }
+                assertEquals(ceiling.intValue(), doc);
+                assertEquals(expected.headSet(ceiling).size(), it.index());
+                target = doc;
+            }
+        }
+    }
+
+    @Test
+    void serializedFormReadsBackUnchanged() throws IOException {
+        for (int[] shape : new int[][]{{300, 10_000}, {20_000, 300_000}, {150_000, 200_000}}) {
+            Postings postings = encode(randomSet(shape[0], shape[1]));
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            postings.writeTo(new DataOutputStream(bytes));
+            bytes.write(42);
+
+            ByteBuffer in = ByteBuffer.wrap(bytes.toByteArray());
+            Postings read = Postings.readFrom(in);
+            assertEquals(42, in.get());
+            assertArrayEquals(postings.toArray(), read.toArray());
+            for (int i = 0; i < postings.docFreq(); i++) {
+                assertEquals(postings.freq(i, 0), read.freq(i, 0));
+            }
+            assertEquals(postings.iterator().advance(shape[1] / 2), read.iterator().advance(shape[1] / 2));
+        }
+    }
+
+    @Test
+    void conjunctionAndDisjunctionMatchSetOperations() {
+        TreeSet<Integer> a = randomSet(20_000, 100_000);
+        TreeSet<Integer> b = randomSet(400, 100_000);
+        TreeSet<Integer> c = randomSet(60_000, 100_000);
+
+        TreeSet<Integer> and = new TreeSet<>(a);
+        and.retainAll(b);
+        and.retainAll(c);
+        assertEquals(new ArrayList<>(and), drain(new ConjunctionIterator(
+                List.of(encode(a).iterator(), encode(b).iterator(), encode(c).iterator()))));
+
+        assertEquals(new ArrayList<>(and), toList(Postings.intersect(List.of(encode(a), encode(b), encode(c)))));
+        TreeSet<Integer> ac = new TreeSet<>(a);
+        ac.retainAll(c);
+        assertEquals(new ArrayList<>(ac), toList(Postings.intersect(List.of(encode(c), encode(a)))));
+
+        TreeSet<Integer> or = new TreeSet<>(a);
+        or.addAll(b);
+        or.addAll(c);
+        assertEquals(new ArrayList<>(or), drain(new DisjunctionIterator(
+                List.of(encode(a).iterator(), encode(b).iterator(), encode(c).iterator()))));
+    }
+
+    private TreeSet<Integer> randomSet(int size, int maxDoc) {
+        TreeSet<Integer> set = new TreeSet<>();
+        while (set.size() < size) set.add(random.nextInt(maxDoc));
+        return set;
+    }
+
+    private static Postings encode(TreeSet<Integer> set) {
+        int[] docs = set.stream().mapToInt(Integer::intValue).toArray();
+        byte[] freqs = new byte[docs.length];
+        for (int i = 0; i < docs.length; i++) freqs[i] = Postings.packFreq((byte) 0, 0, i % 4);
+        return Postings.encode(docs, docs.length, freqs);
+    }
+
+    private static List<Integer> toList(int[] docs) {
+        List<Integer> out = new ArrayList<>();
+        for (int d : docs) out.add(d);
+        return out;
+    }
+
+    private static List<Integer> drain(DocIdIterator it) {
+        List<Integer> out = new ArrayList<>();
+        for (int doc = it.nextDoc(); doc != DocIdIterator.NO_MORE_DOCS; doc = it.nextDoc()) out.add(doc);
+        return out;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.ujk.finalproject.engine.spell;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SpellIndexTest {
+
+    @Test
+    void bkTreeAgreesWithLinearScan() {
+        Random random = new Random(7);
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            words.add(randomWord(random, 3, 10));
+        }
+        for (int maxDistance = 0; maxDistance <= 3; maxDistance++) {
+            SpellIndex reference = new LinearScanIndex(words, maxDistance, false);
+            SpellIndex bkTree = new BkTreeIndex(words, maxDistance, false);
+            for (int q = 0; q < 300; q++) {
+                String query = q % 2 == 0 ? mutate(random, words.get(random.nextInt(words.size()))) : randomWord(random, 2, 12);
+                Correction expected = reference.closest(query);
+                Correction actual = bkTree.closest(query);
+                if (expected == null) {
+                    assertNull(actual, query);
+                } else {
+                    assertEquals(expected.getWord(), actual.getWord(), query);
+                    assertEquals(expected.getDistance(), actual.getDistance(), query);
+                }
+            }
+        }
+    }
+
+    @Test
+    void respectsMaxDistance() {
+        SpellIndex index = new BkTreeIndex(List.of("python", "java", "javascript"), 2, false);
+        assertEquals("python", index.closest("pyton").getWord());
+        assertEquals("java", index.closest("jav").getWord());
+        assertNull(index.closest("kotlin"));
+    }
+
+    @Test
+    void boundedKernelMatchesFullMatrix() {
+        Random random = new Random(11);
+        for (int i = 0; i < 5_000; i++) {
+            String a = randomWord(random, 0, 14);
+            String b = random.nextBoolean() ? mutate(random, a) : randomWord(random, 0, 14);
+            int full = matrix(a, b);
+            assertEquals(full, EditDistance.levenshtein(a, b), a + "/" + b);
+            for (int max = 0; max <= 4; max++) {
+                int expected = full <= max ? full : max + 1;
+                assertEquals(expected, EditDistance.bounded(a, b, max, false), a + "/" + b + "/" + max);
+            }
+        }
+        assertEquals(1, EditDistance.damerau("pyhton", "python"));
+        assertEquals(2, EditDistance.levenshtein("pyhton", "python"));
+        assertEquals(1, EditDistance.bounded("ca", "ac", 1, true));
+    }
+
+    private static int matrix(String a, String b) {
+        int[][] dp = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) dp[i][0] = i;
+        for (int j = 0; j <= b.length(); j++) dp[0][j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                dp[i][j] = Math.min(dp[i - 1][j - 1] + cost, Math.min(dp[i - 1][j], dp[i][j - 1]) + 1);
+            }
+        }
+        return dp[a.length()][b.length()];
+    }
+
+    private static String randomWord(Random random, int min, int max) {
+        int len = min + random.nextInt(max - min + 1);
+        StringBuilder sb = new StringBuilder(len);
+        for (int i = 0; i < len; i++) sb.append((char) ('a' + random.nextInt(6)));
+        return sb.toString();
+    }
+
+    private static String mutate(Random random, String word) {
+        StringBuilder sb = new StringBuilder(word);
+        if (sb.length() == 0) return "a";
+        int edits = 1 + random.nextInt(2);
+        for (int e = 0; e < edits && sb.length() > 1; e++) {
+            int pos = random.nextInt(sb.length());
+            switch (random.nextInt(3)) {
+                case 0 -> sb.deleteCharAt(pos);
+                case 1 -> sb.insert(pos, (char) ('a' + random.nextInt(6)));
+                default -> sb.setCharAt(pos, (char) ('a' + random.nextInt(6)));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.ujk.finalproject.engine.validation;
+
+import com.example.ujk.finalproject.engine.search.Analyzer;
+import com.example.ujk.finalproject.engine.search.IndexWriter;
+import com.example.ujk.finalproject.engine.search.TieredMergePolicy;
+import com.example.ujk.finalproject.model.Course;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ValidationIndexTest {
+
+    private final IndexWriter writer;
+    private final ValidationIndex index = new ValidationIndex(new CourseValidator());
+
+    ValidationIndexTest() throws IOException {
+        writer = new IndexWriter(new Analyzer(), null, new TieredMergePolicy(10, 1000, 100_000, 0.3), 1000, 0);
+        writer.addListener(index::update);
+    }
+
+    @AfterEach
+    void close() {
+        writer.close();
+    }
+
+    @Test
+    void countersFollowUpdatesAndDeletes() {
+        writer.addOrUpdate(course("https://a", "Python for $49"));
+        writer.addOrUpdate(course("https://b", "Java"));
+        writer.addOrUpdate(course("ftp://c", "Go"));
+        writer.refresh();
+        ValidationStats stats = index.stats();
+        assertEquals(3, stats.totalRecords());
+        assertEquals(1, stats.invalid(ValidationRule.URL));
+        assertEquals(2, stats.invalid(ValidationRule.PRICE));
+
+        // fixing one course and deleting another only touches those two
+        writer.addOrUpdate(course("https://b", "Java for $10"));
+        writer.delete("ftp://c");
+        writer.refresh();
+        stats = index.stats();
+        assertEquals(2, stats.totalRecords());
+        assertEquals(0, stats.invalid(ValidationRule.URL));
+        assertEquals(0, stats.invalid(ValidationRule.PRICE));
+        assertEquals(2, stats.invalid(ValidationRule.EMAIL));
+    }
+
+    @Test
+    void emailIsFoundAnywhereAndPriceIsADollarSign() {
+        writer.addOrUpdate(course("https://a", "Save $ now"));
+        writer.addOrUpdate(course("https://b", "Only 49 USD, ask help@example.com"));
+        writer.refresh();
+        ValidationStats stats = index.stats();
+        assertEquals(1, stats.invalid(ValidationRule.PRICE));
+        assertEquals(1, stats.invalid(ValidationRule.EMAIL));
+        assertEquals(List.of("https://a Email", "https://b Price"),
+                index.page(EnumSet.of(ValidationRule.EMAIL, ValidationRule.PRICE), null, 10).getEntries().stream()
+                        .map(e -> e.getId() + " " + e.getType()).toList());
+    }
+
+    @Test
+    void pagesWalkAllSegmentsInUrlOrder() {
+        for (String url : List.of("https://d", "https://a", "https://e")) writer.addOrUpdate(course(url, "x"));
+        writer.refresh();
+        for (String url : List.of("https://c", "https://b")) writer.addOrUpdate(course(url, "y"));
+        writer.refresh();
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            InvalidEntryPage page = index.page(EnumSet.of(ValidationRule.EMAIL, ValidationRule.PRICE), cursor, 3);
+            page.getEntries().forEach(e -> seen.add(e.getId() + " " + e.getType()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        List<String> expected = new ArrayList<>();
+        for (String url : List.of("https://a", "https://b", "https://c", "https://d", "https://e")) {
+            expected.add(url + " Email");
+            expected.add(url + " Price");
+        }
+        assertEquals(expected, seen);
+        assertNull(index.page(EnumSet.of(ValidationRule.URL), null, 3).getNextCursor());
+    }
+
+    private static Course course(String url, String title) {
+        Course course = new Course();
+        course.setUrl(url);
+        course.setTitle(title);
+        return course;
+    }
+}
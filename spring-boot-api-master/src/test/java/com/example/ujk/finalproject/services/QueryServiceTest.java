@@ -0,0 +1,40 @@
+package com.example.ujk.finalproject.services;
+
+import com.example.ujk.finalproject.engine.search.FacetFilter;
+import com.example.ujk.finalproject.engine.search.Query;
+import com.example.ujk.finalproject.model.QueryResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// the demo catalog, kept on the heap
+@SpringBootTest(properties = {"search.index.dir=", "frequency.store.dir=", "catalog.import.path="})
+class QueryServiceTest {
+
+    @Autowired
+    private QueryService queryService;
+
+    @Test
+    void indexWordsOutsideTheDictionaryAreSearchedAsTyped() {
+        QueryResponse response = query("data science");
+        assertTrue(response.isSpeltCorrectly());
+        assertEquals("data science", response.getCorrectedWord());
+        assertEquals("Python for Data Science, AI & Development", response.getCourses_found().get(0).getTitle());
+    }
+
+    @Test
+    void misspeltWordsStillFindIndexTermsAndGetASuggestion() {
+        QueryResponse response = query("pyhton");
+        assertFalse(response.isSpeltCorrectly());
+        assertEquals("python", response.getCorrectedWord());
+        assertEquals(1, response.getTotalHits());
+    }
+
+    private QueryResponse query(String text) {
+        return queryService.query(text, 10, Query.Operator.AND, null, FacetFilter.NONE, false);
+    }
+}
@@ -23,9 +23,12 @@ export type SearchResponse = {
   message: string;
 };
 
-interface SpellCheckResponse {
+interface QueryResponse {
+  query: string;
   correctedWord: string;
   speltCorrectly: boolean;
+  courses_found: CourseType[];
+  totalHits: number;
   statusCode: number;
   message: string;
 }
@@ -38,6 +41,8 @@ const SearchResults = () => {
 
   const [showCorrectionAlert, setShowCorrectionAlert] = useState(false);
   const [currpageRes, setCurrpageRes] = useState<number>(1);
+  // pageCursors[n - 1] fetches page n; page 1 needs none
+  const [pageCursors, setPageCursors] = useState<(string | null)[]>([null]);
   const [courses, setCourses] = useState<CourseType[]>([]);
   const [suggestions, setSuggestions] = useState<string[]>([]);
   const [loading, setLoading] = useState(false);
@@ -86,34 +91,20 @@ const SearchResults = () => {
     setShowAutocomplete(false);
     setAutocompleteResults([]);
     try {
-      // Spell check first
-      // search for course
-      // update frequency
-      const spellCheckRes: { data: SpellCheckResponse } = await axios.post(
-        "http://localhost:8080/api/spellcheck",
+      // spell check, search and frequency update in one request
+      const queryRes: { data: QueryResponse } = await axios.post(
+        "http://localhost:8080/api/query",
         {
-          word: searchQuery,
+          search: searchQuery,
         }
       );
-      if (!spellCheckRes.data.speltCorrectly) {
+      if (!queryRes.data.speltCorrectly) {
         setShowCorrectionAlert(true);
-        setSuggestions([spellCheckRes.data.correctedWord]);
+        setSuggestions([queryRes.data.correctedWord]);
       } else {
         setShowCorrectionAlert(false);
         setSuggestions([]);
-
-        //call search and frequency update only if spelling is correct
-        const searchRes = await axios.post("http://localhost:8080/api/search", {
-          search: searchQuery,
-        });
-        setCourses(searchRes.data.courses_found);
-        const frequencyRes = await axios.post(
-          "http://localhost:8080/api/freq",
-          {
-            word: searchQuery,
-          }
-        );
-        console.log("frequency res", frequencyRes);
+        setCourses(queryRes.data.courses_found);
       }
     } catch (error) {
       console.error("Error fetching results:", error);
@@ -152,11 +143,17 @@ const SearchResults = () => {
 
   const getAllCourses = async (pageNumber = 1) => {
     try {
+      const cursor = pageCursors[pageNumber - 1];
       const res = await axios.get("http://localhost:8080/api/courses", {
-        params: { page: pageNumber, size: 12 },
+        params: { size: 12, ...(cursor ? { cursor } : {}) },
       });
       console.log("courses:", res);
       setAllCourses(res.data.courses);
+      setPageCursors((cursors) => {
+        const next = cursors.slice(0, pageNumber);
+        next[pageNumber] = res.data.nextCursor;
+        return next;
+      });
     } catch (error) {
       console.error("Error fetching all courses:", error);
     }
@@ -291,9 +288,11 @@ const SearchResults = () => {
                 <Button onClick={handlePrevPageClick}>Prev</Button>
               </div>
             )}
-            <div>
-              <Button onClick={handleNextPageClick}>Next</Button>
-            </div>
+            {pageCursors[currpageRes] && (
+              <div>
+                <Button onClick={handleNextPageClick}>Next</Button>
+              </div>
+            )}
           </div>
         )}
       </div>